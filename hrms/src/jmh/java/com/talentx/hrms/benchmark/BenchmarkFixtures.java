@@ -0,0 +1,156 @@
+package com.talentx.hrms.benchmark;
+
+import com.talentx.hrms.entity.attendance.Holiday;
+import com.talentx.hrms.entity.core.Department;
+import com.talentx.hrms.entity.core.Location;
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.core.User;
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.enums.EmploymentStatus;
+import com.talentx.hrms.entity.enums.EmploymentType;
+import com.talentx.hrms.entity.enums.HolidayType;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Deterministic in-memory fixtures shared by the benchmarks.
+ * Every fixture is derived from a fixed seed so results are comparable between runs.
+ */
+public final class BenchmarkFixtures {
+
+    public static final long SEED = 20240101L;
+
+    // Average department size; departments form a tree with this branching factor
+    public static final int EMPLOYEES_PER_DEPARTMENT = 25;
+    public static final int DEPARTMENT_BRANCHING = 5;
+
+    private static final String[] FIRST_NAMES = {"James", "Mary", "Robert", "Patricia", "John", "Jennifer",
+        "Michael", "Linda", "David", "Elizabeth", "Priya", "Arjun", "Wei", "Mei", "Carlos", "Lucia"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia",
+        "Miller", "Davis", "Sharma", "Patel", "Chen", "Wang", "Rodriguez", "Martinez", "Lee", "Walker"};
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Organization organization() {
+        Organization organization = new Organization("Benchmark Corp");
+        organization.setId(1L);
+        return organization;
+    }
+
+    /**
+     * Departments for an organization of the given size, linked into a tree in breadth-first order
+     */
+    public static List<Department> departments(Organization organization, int employeeCount) {
+        int count = Math.max(1, employeeCount / EMPLOYEES_PER_DEPARTMENT);
+        List<Department> departments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Department department = new Department("Department " + i, "D" + i, organization);
+            department.setId((long) i + 1);
+            department.setDescription("Benchmark department " + i);
+            department.setCostCenter("CC-" + (i % 100));
+            if (i > 0) {
+                department.setParentDepartment(departments.get((i - 1) / DEPARTMENT_BRANCHING));
+            }
+            departments.add(department);
+        }
+        return departments;
+    }
+
+    /**
+     * Active employees with departments, locations, managers and user accounts populated
+     */
+    public static List<Employee> employees(Organization organization, List<Department> departments, int count) {
+        Random random = new Random(SEED);
+        List<Location> locations = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Location location = new Location("Office " + i, organization);
+            location.setId((long) i + 1);
+            locations.add(location);
+        }
+
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Employee employee = new Employee();
+            employee.setId((long) i + 1);
+            employee.setOrganization(organization);
+            employee.setEmployeeNumber(String.format("EMP%07d", i + 1));
+            employee.setFirstName(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+            employee.setMiddleName(random.nextInt(4) == 0 ? "A." : null);
+            employee.setLastName(LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            employee.setEmail("employee" + (i + 1) + "@benchmark.example");
+            employee.setEmploymentStatus(EmploymentStatus.ACTIVE);
+            employee.setHireDate(LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3000)));
+            employee.setJobTitle("Engineer " + (i % 7));
+            employee.setDepartment(departments.get(i % departments.size()));
+            employee.setLocation(locations.get(i % locations.size()));
+            employee.setSalaryCurrency("USD");
+
+            if (random.nextInt(5) == 0) {
+                employee.setEmploymentType(EmploymentType.PART_TIME);
+                employee.setHourlyRate(BigDecimal.valueOf(1500 + random.nextInt(4000), 2));
+            } else {
+                employee.setEmploymentType(EmploymentType.FULL_TIME);
+                employee.setSalaryAmount(BigDecimal.valueOf(300_000 + random.nextInt(1_200_000), 2));
+            }
+
+            if (i > 0) {
+                employee.setManager(employees.get(random.nextInt(Math.min(i, 1000))));
+            }
+
+            User user = new User("user" + (i + 1), employee.getEmail(), "hash", organization);
+            user.setId((long) i + 1);
+            employee.setUser(user);
+
+            employees.add(employee);
+        }
+        return employees;
+    }
+
+    /**
+     * Public holidays for the given years, about one per month
+     */
+    public static List<Holiday> holidays(Organization organization, int fromYear, int toYear) {
+        Random random = new Random(SEED);
+        List<Holiday> holidays = new ArrayList<>();
+        long id = 1;
+        for (int year = fromYear; year <= toYear; year++) {
+            for (int month = 1; month <= 12; month++) {
+                Holiday holiday = new Holiday(organization, LocalDate.of(year, month, 1 + random.nextInt(28)),
+                    "Holiday " + year + "-" + month, HolidayType.NATIONAL);
+                holiday.setId(id++);
+                holidays.add(holiday);
+            }
+        }
+        return holidays;
+    }
+
+    /**
+     * Repository stand-in backed by the given method handlers.
+     * Calls to any other method fail so a benchmark never silently measures a no-op.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T repository(Class<T> type, Map<String, Function<Object[], Object>> handlers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = handlers.get(method.getName());
+            if (handler != null) {
+                return handler.apply(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + " benchmark stub";
+                };
+            }
+            throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+        });
+    }
+}
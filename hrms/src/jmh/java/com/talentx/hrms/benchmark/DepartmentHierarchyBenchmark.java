@@ -0,0 +1,75 @@
+package com.talentx.hrms.benchmark;
+
+import com.talentx.hrms.dto.organization.DepartmentTreeRow;
+import com.talentx.hrms.entity.core.Department;
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.repository.DepartmentRepository;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.OrganizationRepository;
+import com.talentx.hrms.repository.UserRepository;
+import com.talentx.hrms.service.organization.DepartmentService;
+import com.talentx.hrms.service.organization.DepartmentTreeIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Department hierarchy tree building (DepartmentService.buildHierarchyNode via getDepartmentHierarchy),
+ * from a cached tree snapshot and with the snapshot reloaded on every call.
+ * The department count scales with the employee count at {@link BenchmarkFixtures#EMPLOYEES_PER_DEPARTMENT}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DepartmentHierarchyBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int employees;
+
+    private DepartmentService departmentService;
+    private DepartmentTreeIndex departmentTreeIndex;
+    private Long organizationId;
+
+    @Setup
+    public void setUp() {
+        Organization organization = BenchmarkFixtures.organization();
+        organizationId = organization.getId();
+        List<Department> departments = BenchmarkFixtures.departments(organization, employees);
+
+        List<DepartmentTreeRow> rows = new ArrayList<>(departments.size());
+        for (Department department : departments) {
+            Long parentId = department.getParentDepartment() != null ? department.getParentDepartment().getId() : null;
+            rows.add(new DepartmentTreeRow(department.getId(), parentId, department.getName(), department.getCode(),
+                department.getDescription(), department.getCostCenter(), null, null, null));
+        }
+
+        DepartmentRepository departmentRepository = BenchmarkFixtures.repository(DepartmentRepository.class, Map.of(
+            "findTreeRowsByOrganizationId", args -> rows));
+        OrganizationRepository organizationRepository = BenchmarkFixtures.repository(OrganizationRepository.class,
+            Map.of("findById", args -> Optional.of(organization)));
+
+        departmentTreeIndex = new DepartmentTreeIndex(departmentRepository, 300);
+        departmentService = new DepartmentService(departmentRepository, organizationRepository,
+            BenchmarkFixtures.repository(UserRepository.class, Map.of()),
+            BenchmarkFixtures.repository(EmployeeRepository.class, Map.of()),
+            departmentTreeIndex);
+    }
+
+    @Benchmark
+    public Object buildHierarchy() {
+        return departmentService.getDepartmentHierarchy(organizationId);
+    }
+
+    @Benchmark
+    public Object buildHierarchyWithReload() {
+        departmentTreeIndex.invalidate(organizationId);
+        return departmentService.getDepartmentHierarchy(organizationId);
+    }
+}
@@ -0,0 +1,66 @@
+package com.talentx.hrms.benchmark;
+
+import com.talentx.hrms.dto.employee.EmployeeListRow;
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity and projection to response mapping for a full employee listing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int employees;
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+    private List<Employee> fixture;
+    private List<EmployeeListRow> rows;
+
+    @Setup
+    public void setUp() {
+        Organization organization = BenchmarkFixtures.organization();
+        fixture = BenchmarkFixtures.employees(organization,
+            BenchmarkFixtures.departments(organization, employees), employees);
+        rows = fixture.stream().map(EmployeeMapperBenchmark::row).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void toResponse(Blackhole blackhole) {
+        for (Employee employee : fixture) {
+            blackhole.consume(employeeMapper.toResponse(employee));
+        }
+    }
+
+    @Benchmark
+    public void toResponseFromProjection(Blackhole blackhole) {
+        for (EmployeeListRow row : rows) {
+            blackhole.consume(employeeMapper.toResponse(row));
+        }
+    }
+
+    private static EmployeeListRow row(Employee e) {
+        return new EmployeeListRow(e.getId(), e.getEmployeeNumber(), e.getFirstName(), e.getMiddleName(),
+            e.getLastName(), e.getWorkEmail(), e.getPersonalEmail(), e.getPhoneNumber(), e.getMobileNumber(),
+            e.getDateOfBirth(), e.getGender(), e.getNationality(), e.getMaritalStatus(), e.getHireDate(),
+            e.getTerminationDate(), e.getEmploymentStatus(), e.getEmploymentType(), e.getJobTitle(),
+            e.getJobLevel(), e.getSalaryAmount(), e.getSalaryCurrency(), e.getProbationEndDate(),
+            e.getOrganization().getId(), e.getOrganization().getName(),
+            e.getDepartment() != null ? e.getDepartment().getId() : null,
+            e.getDepartment() != null ? e.getDepartment().getName() : null,
+            e.getDepartment() != null ? e.getDepartment().getCode() : null,
+            null, null, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,55 @@
+package com.talentx.hrms.benchmark;
+
+import com.talentx.hrms.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token parsing in JwtUtil.extractClaim, the per-request cost of JWT authentication.
+ * Each invocation parses the next token from a pool of one token per employee.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParsingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int employees;
+
+    private JwtUtil jwtUtil;
+    private String[] tokens;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+
+        tokens = new String[employees];
+        for (int i = 0; i < employees; i++) {
+            User user = new User("user" + (i + 1), "password", List.of());
+            tokens[i] = jwtUtil.generateToken(user, Map.of("organizationId", 1L, "employeeId", (long) i + 1));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public String extractSubject(Cursor cursor) {
+        String token = tokens[cursor.next];
+        cursor.next = cursor.next + 1 == tokens.length ? 0 : cursor.next + 1;
+        return jwtUtil.extractClaim(token, Claims::getSubject);
+    }
+}
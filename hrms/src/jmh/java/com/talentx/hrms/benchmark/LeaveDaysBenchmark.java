@@ -0,0 +1,78 @@
+package com.talentx.hrms.benchmark;
+
+import com.talentx.hrms.entity.attendance.Holiday;
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.repository.HolidayRepository;
+import com.talentx.hrms.repository.LeaveCalendarRepository;
+import com.talentx.hrms.repository.OrganizationRepository;
+import com.talentx.hrms.service.holiday.HolidayService;
+import com.talentx.hrms.service.holiday.WorkingDayCalendarIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Working-day counting for one leave request per employee
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaveDaysBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int employees;
+
+    private HolidayService holidayService;
+    private Long organizationId;
+    private LocalDate[] startDates;
+    private LocalDate[] endDates;
+
+    @Setup
+    public void setUp() {
+        Organization organization = BenchmarkFixtures.organization();
+        organizationId = organization.getId();
+        List<Holiday> holidays = BenchmarkFixtures.holidays(organization, 2024, 2026);
+
+        OrganizationRepository organizationRepository = BenchmarkFixtures.repository(OrganizationRepository.class,
+            Map.of("findById", args -> Optional.of(organization)));
+        HolidayRepository holidayRepository = BenchmarkFixtures.repository(HolidayRepository.class,
+            Map.of("findHolidayDatesByOrganizationId", args -> {
+                LocalDate start = (LocalDate) args[1];
+                LocalDate end = (LocalDate) args[2];
+                return holidays.stream()
+                    .map(Holiday::getHolidayDate)
+                    .filter(date -> !date.isBefore(start) && !date.isAfter(end))
+                    .toList();
+            }));
+        LeaveCalendarRepository leaveCalendarRepository = BenchmarkFixtures.repository(LeaveCalendarRepository.class,
+            Map.of("findDayTypesByOrganizationId", args -> List.of()));
+        holidayService = new HolidayService(holidayRepository, organizationRepository,
+            new WorkingDayCalendarIndex(holidayRepository, leaveCalendarRepository));
+
+        Random random = new Random(BenchmarkFixtures.SEED);
+        startDates = new LocalDate[employees];
+        endDates = new LocalDate[employees];
+        LocalDate base = LocalDate.of(2024, 1, 1);
+        for (int i = 0; i < employees; i++) {
+            startDates[i] = base.plusDays(random.nextInt(700));
+            endDates[i] = startDates[i].plusDays(random.nextInt(15));
+        }
+    }
+
+    @Benchmark
+    public long calculateLeaveDays() {
+        long total = 0;
+        for (int i = 0; i < startDates.length; i++) {
+            total += holidayService.calculateLeaveDays(organizationId, startDates[i], endDates[i]);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,64 @@
+package com.talentx.hrms.benchmark;
+
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.payroll.PayrollRun;
+import com.talentx.hrms.entity.payroll.Payslip;
+import com.talentx.hrms.service.payroll.AttendanceHours;
+import com.talentx.hrms.service.payroll.PayrollRuleSet;
+import com.talentx.hrms.service.payroll.PayslipCalculator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payslip calculation for every employee of an organization, as done by a payroll run
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayslipCalculationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int employees;
+
+    private final PayslipCalculator calculator = new PayslipCalculator();
+    private PayrollRun payrollRun;
+    private List<Employee> fixture;
+    private AttendanceHours attendanceHours;
+    private PayrollRuleSet ruleSet;
+
+    @Setup
+    public void setUp() {
+        Organization organization = BenchmarkFixtures.organization();
+        fixture = BenchmarkFixtures.employees(organization,
+            BenchmarkFixtures.departments(organization, employees), employees);
+
+        payrollRun = new PayrollRun();
+        payrollRun.setOrganization(organization);
+
+        Random random = new Random(BenchmarkFixtures.SEED);
+        attendanceHours = new AttendanceHours(employees);
+        for (Employee employee : fixture) {
+            BigDecimal total = BigDecimal.valueOf(14_000 + random.nextInt(4_000), 2);
+            BigDecimal overtime = random.nextInt(3) == 0 ? BigDecimal.valueOf(random.nextInt(1_500), 2) : null;
+            attendanceHours.add(employee.getId(), true, total, overtime);
+        }
+
+        ruleSet = PayrollRuleSet.defaults();
+    }
+
+    @Benchmark
+    public void calculatePayslips(Blackhole blackhole) {
+        for (Employee employee : fixture) {
+            blackhole.consume(calculator.calculate(new Payslip(payrollRun, employee), attendanceHours, ruleSet));
+        }
+    }
+}
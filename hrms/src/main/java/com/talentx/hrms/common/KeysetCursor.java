@@ -0,0 +1,89 @@
+package com.talentx.hrms.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: the value of the sort key and the id that breaks ties.
+ *
+ * Clients see only the opaque encoded form. The sort the cursor was issued for is encoded with it,
+ * so a cursor from one listing cannot be replayed against a listing sorted differently.
+ */
+public final class KeysetCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final String sort;
+    private final String value;
+    private final Long id;
+
+    private KeysetCursor(String sort, String value, Long id) {
+        this.sort = sort;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Cursor after a row with the given sort key value and id; the value may be null for listings
+     * sorted by id only
+     */
+    public static KeysetCursor of(String sort, Object value, Long id) {
+        return new KeysetCursor(sort, value != null ? value.toString() : null, id);
+    }
+
+    /**
+     * Decode a cursor issued for the given sort
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    public static KeysetCursor decode(String cursor, String expectedSort) {
+        try {
+            String decoded = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(expectedSort)) {
+                throw new IllegalArgumentException("Invalid pagination cursor");
+            }
+            return new KeysetCursor(parts[0], parts[1].isEmpty() ? null : parts[1], Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            // Also covers bad Base64 and NumberFormatException
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sort + "|" + (value != null ? value : "") + "|" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Instant getInstant() {
+        try {
+            return Instant.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+    }
+
+    public LocalDate getLocalDate() {
+        try {
+            return LocalDate.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid pagination cursor");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor{sort='" + sort + "', value='" + value + "', id=" + id + "}";
+    }
+}
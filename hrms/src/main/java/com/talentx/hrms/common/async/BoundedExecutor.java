@@ -0,0 +1,143 @@
+package com.talentx.hrms.common.async;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread pool for one class of background work, with a bounded queue and a fixed overload policy.
+ *
+ * When both the pool and the queue are full a task is either run on the submitting thread, which
+ * slows the caller down instead of growing the backlog, or discarded. Tasks submitted as sheddable
+ * are sampled once the queue is full: only one in every {@code sampleRate} of them is accepted.
+ */
+public class BoundedExecutor extends ThreadPoolTaskExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoundedExecutor.class);
+
+    /**
+     * What to do with a task that neither the pool nor the queue can take
+     */
+    public enum OverloadPolicy {
+        CALLER_RUNS,
+        DISCARD
+    }
+
+    private final String name;
+    private final OverloadPolicy overloadPolicy;
+    private final int queueCapacity;
+    private final int sampleRate;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final AtomicLong sheddableCounter = new AtomicLong();
+
+    public BoundedExecutor(String name, int coreSize, int maxSize, int queueCapacity,
+                           OverloadPolicy overloadPolicy, int sampleRate) {
+        this.name = name;
+        this.overloadPolicy = overloadPolicy;
+        this.queueCapacity = Math.max(0, queueCapacity);
+        this.sampleRate = Math.max(1, sampleRate);
+
+        setThreadNamePrefix(name + "-");
+        setCorePoolSize(Math.max(1, coreSize));
+        setMaxPoolSize(Math.max(Math.max(1, coreSize), maxSize));
+        setQueueCapacity(this.queueCapacity);
+        setRejectedExecutionHandler(new OverloadHandler());
+        setWaitForTasksToCompleteOnShutdown(true);
+        setAwaitTerminationSeconds(30);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        submitted.increment();
+        super.execute(task);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        submitted.increment();
+        return super.submit(task);
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        submitted.increment();
+        return super.submit(task);
+    }
+
+    /**
+     * Submit a task that may be dropped under load, e.g. a low severity audit event
+     */
+    public void executeSheddable(Runnable task) {
+        if (isSaturated() && sheddableCounter.getAndIncrement() % sampleRate != 0) {
+            sampledOut.increment();
+            return;
+        }
+        execute(task);
+    }
+
+    /**
+     * Whether the queue is full, so that further tasks need extra threads or the overload policy
+     */
+    public boolean isSaturated() {
+        ThreadPoolExecutor executor = getThreadPoolExecutor();
+        return executor.getQueue().remainingCapacity() == 0;
+    }
+
+    /**
+     * Pool, queue and rejection counters
+     */
+    public Map<String, Object> getStatistics() {
+        ThreadPoolExecutor executor = getThreadPoolExecutor();
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("name", name);
+        statistics.put("overloadPolicy", overloadPolicy.name());
+        statistics.put("activeThreads", executor.getActiveCount());
+        statistics.put("poolSize", executor.getPoolSize());
+        statistics.put("maxPoolSize", executor.getMaximumPoolSize());
+        statistics.put("queueDepth", executor.getQueue().size());
+        statistics.put("queueCapacity", queueCapacity);
+        statistics.put("submitted", submitted.sum());
+        statistics.put("completed", executor.getCompletedTaskCount());
+        statistics.put("callerRuns", callerRuns.sum());
+        statistics.put("discarded", discarded.sum());
+        statistics.put("sampledOut", sampledOut.sum());
+        return statistics;
+    }
+
+    private class OverloadHandler implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (overloadPolicy == OverloadPolicy.CALLER_RUNS && !executor.isShutdown()) {
+                callerRuns.increment();
+                task.run();
+                return;
+            }
+
+            long count = discarded.sum();
+            discarded.increment();
+            // Log the first rejection and then every thousandth to avoid flooding the log under load
+            if (count % 1000 == 0) {
+                logger.warn("Executor {} is overloaded, discarded {} tasks so far", name, count + 1);
+            }
+        }
+    }
+}
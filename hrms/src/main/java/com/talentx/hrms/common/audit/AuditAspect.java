@@ -1,19 +1,17 @@
 package com.talentx.hrms.common.audit;
 
 import com.talentx.hrms.service.audit.AuditLogService;
+import com.talentx.hrms.service.audit.AuditSnapshot;
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.annotation.AfterReturning;
-import org.aspectj.lang.annotation.AfterThrowing;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
-import org.aspectj.lang.annotation.Before;
-import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.lang.reflect.Method;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -29,38 +27,30 @@ public class AuditAspect {
     @Autowired
     private AuditLogService auditLogService;
     
-    private final ThreadLocal<Map<String, Object>> auditContext = new ThreadLocal<>();
-    
     /**
-     * Before method execution - capture initial state
+     * Run the method and log the outcome. The caller, request and timing are captured here on the
+     * request thread; the audit executor only serializes and writes the event.
      */
-    @Before("@annotation(auditable)")
-    public void beforeAuditableMethod(JoinPoint joinPoint, Auditable auditable) {
+    @Around("@annotation(auditable)")
+    public Object auditMethod(ProceedingJoinPoint joinPoint, Auditable auditable) throws Throwable {
+        long startTime = System.nanoTime();
+        Object result;
         try {
-            Map<String, Object> context = new HashMap<>();
-            context.put("startTime", System.currentTimeMillis());
-            context.put("method", joinPoint.getSignature().getName());
-            context.put("args", joinPoint.getArgs());
-            context.put("auditable", auditable);
-            
-            auditContext.set(context);
-            
-        } catch (Exception e) {
-            logger.warn("Failed to capture audit context: {}", e.getMessage());
+            result = joinPoint.proceed();
+        } catch (Throwable exception) {
+            logFailure(joinPoint, auditable, exception, elapsedMillis(startTime));
+            throw exception;
         }
+        logSuccess(joinPoint, auditable, result, elapsedMillis(startTime));
+        return result;
     }
     
     /**
-     * After successful method execution - log the operation
+     * Log a successful operation
      */
-    @AfterReturning(pointcut = "@annotation(auditable)", returning = "result")
-    public void afterAuditableMethodSuccess(JoinPoint joinPoint, Auditable auditable, Object result) {
+    private void logSuccess(JoinPoint joinPoint, Auditable auditable, Object result, long durationMs) {
         try {
-            Map<String, Object> context = auditContext.get();
-            if (context == null) {
-                return;
-            }
-            
+            AuditSnapshot snapshot = auditLogService.captureSnapshot(durationMs);
             String entityId = extractEntityId(joinPoint.getArgs(), result);
             String entityName = extractEntityName(result);
             
@@ -70,6 +60,7 @@ public class AuditAspect {
                 Object newValues = extractNewValues(result);
                 
                 auditLogService.logDataChange(
+                    snapshot,
                     auditable.action(),
                     auditable.entityType(),
                     entityId,
@@ -85,6 +76,7 @@ public class AuditAspect {
                 additionalData.put("entityName", entityName);
                 
                 auditLogService.logSystemEvent(
+                    snapshot,
                     auditable.action(),
                     auditable.description().isEmpty() ? 
                         "Executed " + auditable.action() + " on " + auditable.entityType() : 
@@ -96,22 +88,15 @@ public class AuditAspect {
             
         } catch (Exception e) {
             logger.warn("Failed to log audit event: {}", e.getMessage());
-        } finally {
-            auditContext.remove();
         }
     }
     
     /**
-     * After method throws exception - log the failure
+     * Log a failed operation
      */
-    @AfterThrowing(pointcut = "@annotation(auditable)", throwing = "exception")
-    public void afterAuditableMethodFailure(JoinPoint joinPoint, Auditable auditable, Throwable exception) {
+    private void logFailure(JoinPoint joinPoint, Auditable auditable, Throwable exception, long durationMs) {
         try {
-            Map<String, Object> context = auditContext.get();
-            if (context == null) {
-                return;
-            }
-            
+            AuditSnapshot snapshot = auditLogService.captureSnapshot(durationMs);
             String entityId = extractEntityId(joinPoint.getArgs(), null);
             
             Map<String, Object> additionalData = new HashMap<>();
@@ -121,6 +106,7 @@ public class AuditAspect {
             additionalData.put("exceptionType", exception.getClass().getSimpleName());
             
             auditLogService.logSystemEvent(
+                snapshot,
                 auditable.action() + "_FAILED",
                 "Failed to execute " + auditable.action() + " on " + auditable.entityType() + ": " + exception.getMessage(),
                 "HIGH",
@@ -129,13 +115,15 @@ public class AuditAspect {
             
         } catch (Exception e) {
             logger.warn("Failed to log audit failure event: {}", e.getMessage());
-        } finally {
-            auditContext.remove();
         }
     }
     
     // Helper methods
     
+    private long elapsedMillis(long startTime) {
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+    
     private boolean isDataModificationAction(String action) {
         return "CREATE".equalsIgnoreCase(action) || 
                "UPDATE".equalsIgnoreCase(action) || 
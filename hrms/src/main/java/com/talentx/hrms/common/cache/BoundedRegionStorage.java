@@ -0,0 +1,152 @@
+package com.talentx.hrms.common.cache;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Storage of one second-level cache region: a least-recently-used map bounded by entry count whose
+ * entries expire a fixed time after they were written.
+ *
+ * Regions hold small, read-mostly reference data, so a single lock per region is enough; what
+ * matters is that memory stays bounded and that rows changed outside Hibernate age out.
+ */
+public class BoundedRegionStorage implements DomainDataStorageAccess {
+
+    private final String regionName;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+
+    private final LinkedHashMap<Object, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    private record Entry(Object value, long writtenAt) {
+    }
+
+    /**
+     * @param maxEntries entries kept before the least recently used one is evicted
+     * @param ttl time an entry stays valid after it was written, or null or zero to keep entries until evicted
+     */
+    public BoundedRegionStorage(String regionName, int maxEntries, Duration ttl) {
+        this(regionName, maxEntries, ttl, System::nanoTime);
+    }
+
+    BoundedRegionStorage(String regionName, int maxEntries, Duration ttl, LongSupplier clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache region " + regionName + " must allow at least one entry");
+        }
+        this.regionName = regionName;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl != null ? ttl.toNanos() : 0L;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                if (size() > BoundedRegionStorage.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && isExpired(entry)) {
+                entries.remove(key);
+                expirations.increment();
+                entry = null;
+            }
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value();
+        }
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        synchronized (entries) {
+            entries.put(key, new Entry(value, clock.getAsLong()));
+        }
+        puts.increment();
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            return entry != null && !isExpired(entry);
+        }
+    }
+
+    @Override
+    public void evictData() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @Override
+    public void evictData(Object key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public void release() {
+        evictData();
+    }
+
+    public String getRegionName() {
+        return regionName;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Size, limits and hit, miss, put, eviction and expiration counters of the region
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("size", size());
+        statistics.put("maxEntries", maxEntries);
+        statistics.put("ttlSeconds", ttlNanos / 1_000_000_000L);
+        statistics.put("hits", hitCount);
+        statistics.put("misses", missCount);
+        statistics.put("hitRate", requests == 0 ? 0.0 : (double) hitCount / requests);
+        statistics.put("puts", puts.sum());
+        statistics.put("evictions", evictions.sum());
+        statistics.put("expirations", expirations.sum());
+        return statistics;
+    }
+
+    private boolean isExpired(Entry entry) {
+        return ttlNanos > 0 && clock.getAsLong() - entry.writtenAt() >= ttlNanos;
+    }
+}
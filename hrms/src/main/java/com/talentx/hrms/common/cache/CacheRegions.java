@@ -0,0 +1,24 @@
+package com.talentx.hrms.common.cache;
+
+/**
+ * Names of the second-level cache regions for tenant reference data. Limits per region are configured
+ * with {@code cache.second-level.regions}.
+ */
+public final class CacheRegions {
+
+    public static final String ORGANIZATION = "reference.organization";
+    public static final String DEPARTMENT = "reference.department";
+    public static final String LOCATION = "reference.location";
+    public static final String LEAVE_TYPE = "reference.leave-type";
+    public static final String HOLIDAY = "reference.holiday";
+    public static final String SHIFT = "reference.shift";
+    public static final String SKILL = "reference.skill";
+    public static final String PERMISSION = "reference.permission";
+    public static final String ROLE = "reference.role";
+    public static final String ROLE_PERMISSION = "reference.role-permission";
+    public static final String ROLE_PERMISSIONS = "reference.role-permissions";
+    public static final String COMPLIANCE_JURISDICTION = "reference.compliance-jurisdiction";
+
+    private CacheRegions() {
+    }
+}
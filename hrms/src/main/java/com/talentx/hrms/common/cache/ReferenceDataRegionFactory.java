@@ -0,0 +1,144 @@
+package com.talentx.hrms.common.cache;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hibernate region factory that keeps every second-level cache region in process, bounded by entry count
+ * and expiring entries a fixed time after they were written.
+ *
+ * Hibernate's own concurrency strategies (read-write soft locks, collection eviction on update) run on top
+ * of the storage, so this class only decides how much each region may hold and for how long. Limits come
+ * from the {@code hrms.cache.*} properties that DatabaseConfig passes through.
+ */
+public class ReferenceDataRegionFactory extends RegionFactoryTemplate {
+
+    public static final String DEFAULT_MAX_ENTRIES = "hrms.cache.default_max_entries";
+    public static final String DEFAULT_TTL_SECONDS = "hrms.cache.default_ttl_seconds";
+    public static final String REGIONS = "hrms.cache.regions";
+
+    private static final int FALLBACK_MAX_ENTRIES = 1000;
+    private static final long FALLBACK_TTL_SECONDS = 600;
+    private static final int TIMESTAMPS_MAX_ENTRIES = 10_000;
+
+    private final Map<String, BoundedRegionStorage> storages = new ConcurrentHashMap<>();
+
+    private volatile RegionLimits defaultLimits = new RegionLimits(FALLBACK_MAX_ENTRIES, FALLBACK_TTL_SECONDS);
+    private volatile Map<String, RegionLimits> regionLimits = Map.of();
+
+    /**
+     * Entry bound and time to live of one region
+     */
+    public record RegionLimits(int maxEntries, long ttlSeconds) {
+    }
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        int maxEntries = intValue(configValues.get(DEFAULT_MAX_ENTRIES), FALLBACK_MAX_ENTRIES);
+        long ttlSeconds = longValue(configValues.get(DEFAULT_TTL_SECONDS), FALLBACK_TTL_SECONDS);
+        defaultLimits = new RegionLimits(maxEntries, ttlSeconds);
+
+        Object regions = configValues.get(REGIONS);
+        regionLimits = regions != null ? parseRegionLimits(regions.toString()) : Map.of();
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        storages.values().forEach(BoundedRegionStorage::release);
+        storages.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        String regionName = regionConfig.getRegionName();
+        RegionLimits limits = regionLimits.getOrDefault(regionName, defaultLimits);
+        return storages.computeIfAbsent(regionName, name ->
+            new BoundedRegionStorage(name, limits.maxEntries(), Duration.ofSeconds(limits.ttlSeconds())));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        RegionLimits limits = regionLimits.getOrDefault(regionName, defaultLimits);
+        return storages.computeIfAbsent(regionName, name ->
+            new BoundedRegionStorage(name, limits.maxEntries(), Duration.ofSeconds(limits.ttlSeconds())));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        // Update timestamps must outlive any cached query result, so they never expire
+        return storages.computeIfAbsent(regionName, name ->
+            new BoundedRegionStorage(name, TIMESTAMPS_MAX_ENTRIES, null));
+    }
+
+    /**
+     * Statistics of every region created so far, keyed by region name
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> regions = new TreeMap<>();
+        storages.forEach((name, storage) -> regions.put(name, storage.getStatistics()));
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", true);
+        statistics.put("defaultMaxEntries", defaultLimits.maxEntries());
+        statistics.put("defaultTtlSeconds", defaultLimits.ttlSeconds());
+        statistics.put("regions", regions);
+        return statistics;
+    }
+
+    /**
+     * Parse region limits written as {@code name=maxEntries/ttlSeconds} pairs separated by commas
+     *
+     * @throws IllegalArgumentException if an entry is malformed
+     */
+    public static Map<String, RegionLimits> parseRegionLimits(String spec) {
+        Map<String, RegionLimits> limits = new LinkedHashMap<>();
+        if (spec == null || spec.isBlank()) {
+            return limits;
+        }
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int equals = trimmed.indexOf('=');
+            int slash = trimmed.indexOf('/', equals + 1);
+            if (equals <= 0 || slash < 0) {
+                throw new IllegalArgumentException("Invalid cache region limits: " + trimmed);
+            }
+            try {
+                String name = trimmed.substring(0, equals).trim();
+                int maxEntries = Integer.parseInt(trimmed.substring(equals + 1, slash).trim());
+                long ttlSeconds = Long.parseLong(trimmed.substring(slash + 1).trim());
+                if (maxEntries < 1 || ttlSeconds < 0) {
+                    throw new IllegalArgumentException("Invalid cache region limits: " + trimmed);
+                }
+                limits.put(name, new RegionLimits(maxEntries, ttlSeconds));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cache region limits: " + trimmed);
+            }
+        }
+        return limits;
+    }
+
+    private static int intValue(Object value, int defaultValue) {
+        return value != null ? Integer.parseInt(value.toString().trim()) : defaultValue;
+    }
+
+    private static long longValue(Object value, long defaultValue) {
+        return value != null ? Long.parseLong(value.toString().trim()) : defaultValue;
+    }
+}
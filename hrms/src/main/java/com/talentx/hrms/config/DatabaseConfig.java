@@ -1,5 +1,6 @@
 package com.talentx.hrms.config;
 
+import com.talentx.hrms.common.cache.ReferenceDataRegionFactory;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
@@ -58,6 +59,18 @@ public class DatabaseConfig {
     @Value("${spring.datasource.hikari.leak-detection-threshold:60000}")
     private long leakDetectionThreshold;
 
+    @Value("${cache.second-level.enabled:true}")
+    private boolean secondLevelCacheEnabled;
+
+    @Value("${cache.second-level.default-max-entries:1000}")
+    private int cacheDefaultMaxEntries;
+
+    @Value("${cache.second-level.default-ttl-seconds:600}")
+    private long cacheDefaultTtlSeconds;
+
+    @Value("${cache.second-level.regions:}")
+    private String cacheRegions;
+
     /**
      * Configures HikariCP DataSource with connection pooling settings.
      * HikariCP is a high-performance JDBC connection pool.
@@ -152,9 +165,18 @@ public class DatabaseConfig {
         properties.setProperty("hibernate.connection.provider_disables_autocommit", "true");
         properties.setProperty("hibernate.query.fail_on_pagination_over_collection_fetch", "true");
         
-        // Cache settings (disabled for now, can be enabled later with proper cache configuration)
-        properties.setProperty("hibernate.cache.use_second_level_cache", "false");
+        // Cache settings: only entities marked @Cacheable (tenant reference data) use the second-level cache.
+        // Query results are not cached; lookups by id and cached collections cover the reference reads.
+        properties.setProperty("hibernate.cache.use_second_level_cache", String.valueOf(secondLevelCacheEnabled));
         properties.setProperty("hibernate.cache.use_query_cache", "false");
+        if (secondLevelCacheEnabled) {
+            properties.setProperty("hibernate.cache.region.factory_class", ReferenceDataRegionFactory.class.getName());
+            properties.setProperty("jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+            properties.setProperty("hibernate.cache.auto_evict_collection_cache", "true");
+            properties.setProperty(ReferenceDataRegionFactory.DEFAULT_MAX_ENTRIES, String.valueOf(cacheDefaultMaxEntries));
+            properties.setProperty(ReferenceDataRegionFactory.DEFAULT_TTL_SECONDS, String.valueOf(cacheDefaultTtlSeconds));
+            properties.setProperty(ReferenceDataRegionFactory.REGIONS, cacheRegions);
+        }
         
         // Validation
         properties.setProperty("hibernate.validator.apply_to_ddl", "false");
@@ -0,0 +1,53 @@
+package com.talentx.hrms.config;
+
+import com.talentx.hrms.common.async.BoundedExecutor;
+import com.talentx.hrms.common.async.BoundedExecutor.OverloadPolicy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bounded executors for background work, one per workload so that a backlog in one cannot starve the others
+ */
+@Configuration
+public class ExecutorConfig {
+
+    public static final String AUDIT_EXECUTOR = "auditExecutor";
+    public static final String COMPLIANCE_EXECUTOR = "complianceExecutor";
+    public static final String NOTIFICATION_EXECUTOR = "notificationExecutor";
+
+    /**
+     * Audit writes. Overload runs the write on the caller; low severity events are sampled first.
+     */
+    @Bean(name = AUDIT_EXECUTOR)
+    public BoundedExecutor auditExecutor(
+            @Value("${executor.audit.core-size:2}") int coreSize,
+            @Value("${executor.audit.max-size:4}") int maxSize,
+            @Value("${executor.audit.queue-capacity:5000}") int queueCapacity,
+            @Value("${executor.audit.low-severity-sample-rate:10}") int sampleRate) {
+        return new BoundedExecutor("audit", coreSize, maxSize, queueCapacity, OverloadPolicy.CALLER_RUNS, sampleRate);
+    }
+
+    /**
+     * Automated compliance runs and rule evaluation helpers. Overload discards the task; the next trigger
+     * covers the same rules, and an evaluation finishes its chunks on the calling thread.
+     */
+    @Bean(name = COMPLIANCE_EXECUTOR)
+    public BoundedExecutor complianceExecutor(
+            @Value("${executor.compliance.core-size:4}") int coreSize,
+            @Value("${executor.compliance.max-size:4}") int maxSize,
+            @Value("${executor.compliance.queue-capacity:10}") int queueCapacity) {
+        return new BoundedExecutor("compliance", coreSize, maxSize, queueCapacity, OverloadPolicy.DISCARD, 1);
+    }
+
+    /**
+     * Notification delivery. Overload runs the delivery on the caller.
+     */
+    @Bean(name = NOTIFICATION_EXECUTOR)
+    public BoundedExecutor notificationExecutor(
+            @Value("${executor.notification.core-size:2}") int coreSize,
+            @Value("${executor.notification.max-size:4}") int maxSize,
+            @Value("${executor.notification.queue-capacity:1000}") int queueCapacity) {
+        return new BoundedExecutor("notification", coreSize, maxSize, queueCapacity, OverloadPolicy.CALLER_RUNS, 1);
+    }
+}
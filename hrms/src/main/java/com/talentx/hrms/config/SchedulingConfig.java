@@ -0,0 +1,13 @@
+package com.talentx.hrms.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration for scheduled background tasks
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Enables @Scheduled methods such as the permission version refresh
+}
@@ -1,9 +1,11 @@
 package com.talentx.hrms.controller.attendance;
 
 import com.talentx.hrms.common.ApiResponse;
+import com.talentx.hrms.common.CursorPage;
 import com.talentx.hrms.dto.attendance.*;
 import com.talentx.hrms.entity.enums.AttendanceStatus;
 import com.talentx.hrms.service.attendance.AttendanceService;
+import com.talentx.hrms.service.attendance.CheckInIngestion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -21,6 +23,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/attendance")
@@ -28,10 +31,12 @@ import java.util.List;
 public class AttendanceController {
 
     private final AttendanceService attendanceService;
+    private final CheckInIngestion checkInIngestion;
 
     @Autowired
-    public AttendanceController(AttendanceService attendanceService) {
+    public AttendanceController(AttendanceService attendanceService, CheckInIngestion checkInIngestion) {
         this.attendanceService = attendanceService;
+        this.checkInIngestion = checkInIngestion;
     }
 
     /**
@@ -52,6 +57,42 @@ public class AttendanceController {
         }
     }
 
+    /**
+     * Accept a check-in for background persistence
+     * POST /api/attendance/check-in/ingest
+     */
+    @PostMapping("/check-in/ingest")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Queue employee check-in", description = "Validate a check-in against today's roster and persist it in the background; a retry with the same Idempotency-Key returns the original receipt")
+    public ResponseEntity<ApiResponse<CheckInReceipt>> ingestCheckIn(
+            @Valid @RequestBody CheckInRequest request,
+            @Parameter(description = "Key that identifies retries of the same check-in") @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        try {
+            CheckInReceipt receipt = checkInIngestion.ingest(request, idempotencyKey);
+            String message = receipt.replayed() ? "Check-in was already accepted" : "Check-in accepted";
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(message, receipt));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get check-in ingestion statistics
+     * GET /api/attendance/check-in/ingest/statistics
+     */
+    @GetMapping("/check-in/ingest/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get check-in ingestion statistics", description = "Get queue depth, write and reconciliation counters of the check-in ingestion path")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getCheckInIngestionStatistics() {
+        return ResponseEntity.ok(ApiResponse.success("Check-in ingestion statistics retrieved successfully",
+            checkInIngestion.getStatistics()));
+    }
+
     /**
      * Check out an employee
      * POST /api/attendance/check-out
@@ -96,6 +137,21 @@ public class AttendanceController {
         return ResponseEntity.ok(ApiResponse.success("Attendance records retrieved successfully", records));
     }
 
+    /**
+     * Get attendance records with keyset pagination, latest date first
+     * GET /api/attendance/records/keyset
+     */
+    @GetMapping("/records/keyset")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'MANAGER')")
+    @Operation(summary = "Get attendance records by cursor", description = "Retrieve attendance records latest first, continuing from the cursor of the previous page without counting all rows")
+    public ResponseEntity<ApiResponse<CursorPage<AttendanceRecordResponse>>> getAttendanceRecordsByCursor(
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        
+        CursorPage<AttendanceRecordResponse> records = attendanceService.getAttendanceRecords(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Attendance records retrieved successfully", records));
+    }
+
     /**
      * Get attendance records for a specific employee
      * GET /api/attendance/employee/{id}
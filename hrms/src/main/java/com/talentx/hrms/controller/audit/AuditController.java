@@ -1,7 +1,9 @@
 package com.talentx.hrms.controller.audit;
 
 import com.talentx.hrms.common.ApiResponse;
+import com.talentx.hrms.common.CursorPage;
 import com.talentx.hrms.common.PaginationRequest;
+import com.talentx.hrms.common.async.BoundedExecutor;
 import com.talentx.hrms.entity.analytics.AuditLog;
 import com.talentx.hrms.service.audit.AuditLogService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -32,10 +34,12 @@ import java.util.Map;
 public class AuditController {
 
     private final AuditLogService auditLogService;
+    private final List<BoundedExecutor> executors;
 
     @Autowired
-    public AuditController(AuditLogService auditLogService) {
+    public AuditController(AuditLogService auditLogService, List<BoundedExecutor> executors) {
         this.auditLogService = auditLogService;
+        this.executors = executors;
     }
 
     /**
@@ -87,6 +91,25 @@ public class AuditController {
         }
     }
 
+    /**
+     * Query audit logs with keyset pagination, newest first
+     */
+    @GetMapping("/keyset")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER')")
+    @Operation(summary = "Query audit logs by cursor", description = "Get audit logs newest first, continuing from the cursor of the previous page without counting all rows")
+    public ResponseEntity<ApiResponse<CursorPage<AuditLog>>> getAuditLogsByCursor(
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        
+        try {
+            CursorPage<AuditLog> auditLogs = auditLogService.getAuditLogs(cursor, size);
+            return ResponseEntity.ok(ApiResponse.success("Audit logs retrieved successfully", auditLogs));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     /**
      * Get audit trail for a specific entity
      */
@@ -366,5 +389,28 @@ public class AuditController {
                 .body(ApiResponse.error(e.getMessage()));
         }
     }
-}
 
+    /**
+     * Get background executor statistics (admin only)
+     */
+    @GetMapping("/executors")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Background executor statistics", description = "Get queue depth, active threads and rejection counts of the audit, compliance and notification executors (admin only)")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getExecutorStatistics() {
+        List<Map<String, Object>> statistics = executors.stream()
+            .map(BoundedExecutor::getStatistics)
+            .toList();
+        return ResponseEntity.ok(ApiResponse.success("Executor statistics retrieved successfully", statistics));
+    }
+
+    /**
+     * Get audit write-behind pipeline statistics (admin only)
+     */
+    @GetMapping("/pipeline")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Audit pipeline statistics", description = "Get queue depth, batch and failure counts of the audit write-behind pipeline (admin only)")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPipelineStatistics() {
+        Map<String, Object> statistics = auditLogService.getPipelineStatistics();
+        return ResponseEntity.ok(ApiResponse.success("Audit pipeline statistics retrieved successfully", statistics));
+    }
+}
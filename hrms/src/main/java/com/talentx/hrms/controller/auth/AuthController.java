@@ -198,5 +198,15 @@ public class AuthController {
                 .body(ApiResponse.error(e.getMessage()));
         }
     }
-}
 
+    /**
+     * Get principal cache statistics (admin function)
+     */
+    @GetMapping("/principal-cache")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Principal cache statistics", description = "Get hit, miss and eviction counts of the authenticated principal cache (admin only)")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPrincipalCacheStatistics() {
+        Map<String, Object> statistics = authService.getPrincipalCacheStatistics();
+        return ResponseEntity.ok(ApiResponse.success("Principal cache statistics retrieved successfully", statistics));
+    }
+}
@@ -10,6 +10,7 @@ import com.talentx.hrms.entity.core.Organization;
 import com.talentx.hrms.mapper.ComplianceMapper;
 import com.talentx.hrms.repository.ComplianceJurisdictionRepository;
 import com.talentx.hrms.repository.OrganizationRepository;
+import com.talentx.hrms.service.compliance.ComplianceCheckScheduler;
 import com.talentx.hrms.service.compliance.ComplianceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -23,6 +24,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -34,16 +36,19 @@ public class ComplianceController {
     private final ComplianceMapper complianceMapper;
     private final ComplianceJurisdictionRepository jurisdictionRepository;
     private final OrganizationRepository organizationRepository;
+    private final ComplianceCheckScheduler complianceCheckScheduler;
 
     @Autowired
     public ComplianceController(ComplianceService complianceService,
                               ComplianceMapper complianceMapper,
                               ComplianceJurisdictionRepository jurisdictionRepository,
-                              OrganizationRepository organizationRepository) {
+                              OrganizationRepository organizationRepository,
+                              ComplianceCheckScheduler complianceCheckScheduler) {
         this.complianceService = complianceService;
         this.complianceMapper = complianceMapper;
         this.jurisdictionRepository = jurisdictionRepository;
         this.organizationRepository = organizationRepository;
+        this.complianceCheckScheduler = complianceCheckScheduler;
     }
 
     // ===== JURISDICTION ENDPOINTS =====
@@ -376,5 +381,39 @@ public class ComplianceController {
         
         return ResponseEntity.ok(ApiResponse.success("Violation alerts retrieved successfully", responses));
     }
+
+    /**
+     * Run due automated checks now
+     */
+    @PostMapping("/checks/automated/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Run automated checks", description = "Plan due automated compliance checks and execute them in the background on this node")
+    public ResponseEntity<ApiResponse<Void>> runAutomatedChecks() {
+        complianceCheckScheduler.requestRun();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Automated compliance checks started", null));
+    }
+
+    /**
+     * Get automated check scheduler statistics
+     */
+    @GetMapping("/scheduler/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get scheduler statistics", description = "Get work unit planning, lease and execution counters of this node")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSchedulerStatistics() {
+        return ResponseEntity.ok(ApiResponse.success("Scheduler statistics retrieved successfully",
+                complianceCheckScheduler.getStatistics()));
+    }
+
+    /**
+     * Get rule engine statistics
+     */
+    @GetMapping("/engine/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get rule engine statistics", description = "Get compiled expression, snapshot and evaluation counters of the compliance rule engine")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRuleEngineStatistics() {
+        return ResponseEntity.ok(ApiResponse.success("Rule engine statistics retrieved successfully",
+                complianceService.getRuleEngineStatistics()));
+    }
 }
 
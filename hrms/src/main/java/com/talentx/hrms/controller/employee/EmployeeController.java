@@ -175,6 +175,69 @@ public class EmployeeController {
         return ResponseEntity.ok(ApiResponse.success("Direct reports retrieved successfully", directReports));
     }
 
+    /**
+     * Get everyone reporting to a manager at any depth
+     */
+    @GetMapping("/{managerId}/all-reports")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'MANAGER')")
+    @Operation(summary = "Get all reports", description = "Get employees who report to a manager directly or through other managers")
+    public ResponseEntity<ApiResponse<Page<EmployeeResponse>>> getAllReports(
+            @PathVariable Long managerId,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort field") @RequestParam(required = false) String sortBy,
+            @Parameter(description = "Sort direction (asc/desc)") @RequestParam(defaultValue = "asc") String sortDirection) {
+        
+        PaginationRequest paginationRequest = new PaginationRequest(page, size, sortBy, sortDirection);
+        Page<EmployeeResponse> reports = employeeService.getAllReports(managerId, paginationRequest);
+        
+        return ResponseEntity.ok(ApiResponse.success("Reports retrieved successfully", reports));
+    }
+
+    /**
+     * Get a manager's span of control
+     */
+    @GetMapping("/{managerId}/span-of-control")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'MANAGER')")
+    @Operation(summary = "Get span of control", description = "Get direct and total report counts and management levels below a manager")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSpanOfControl(@PathVariable Long managerId) {
+        Map<String, Object> spanOfControl = employeeService.getSpanOfControl(managerId);
+        return ResponseEntity.ok(ApiResponse.success("Span of control retrieved successfully", spanOfControl));
+    }
+
+    /**
+     * Check whether an employee is in a manager's reporting line
+     */
+    @GetMapping("/{managerId}/reports/{employeeId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'MANAGER')")
+    @Operation(summary = "Check reporting line", description = "Check whether an employee reports to a manager at any depth")
+    public ResponseEntity<ApiResponse<Boolean>> isInReportingLine(@PathVariable Long managerId, @PathVariable Long employeeId) {
+        boolean inReportingLine = employeeService.isInReportingLine(managerId, employeeId);
+        return ResponseEntity.ok(ApiResponse.success("Reporting line checked successfully", inReportingLine));
+    }
+
+    /**
+     * Get reporting-line snapshot statistics
+     */
+    @GetMapping("/reporting-lines/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get reporting-line statistics", description = "Retrieve hit, load and invalidation counters of the in-memory reporting lines")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getReportingLineStatistics() {
+        return ResponseEntity.ok(ApiResponse.success("Reporting-line statistics retrieved successfully",
+            employeeService.getReportingLineStatistics()));
+    }
+
+    /**
+     * Get employee search index statistics
+     */
+    @GetMapping("/search/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get search index statistics", description = "Retrieve size, query and snapshot counters of the employee search index")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getSearchIndexStatistics() {
+        return ResponseEntity.ok(ApiResponse.success("Search index statistics retrieved successfully",
+            employeeService.getSearchIndexStatistics()));
+    }
+
     /**
      * Get employees on probation
      */
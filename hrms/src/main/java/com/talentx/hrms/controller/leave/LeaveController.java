@@ -224,6 +224,19 @@ public class LeaveController {
         return ResponseEntity.ok(ApiResponse.success("Leave balance retrieved successfully", leaveBalance));
     }
 
+    /**
+     * Get the ledger entries behind an employee's leave balances
+     */
+    @GetMapping("/balance/{employeeId}/ledger")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'MANAGER') or @leaveService.isCurrentUser(#employeeId)")
+    @Operation(summary = "Get leave ledger", description = "Get accrual, carry forward, pending and used entries of an employee's leave balances for a year")
+    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getLeaveLedger(
+            @PathVariable Long employeeId,
+            @RequestParam(required = false) Integer year) {
+        List<Map<String, Object>> ledger = leaveService.getLeaveLedger(employeeId, year);
+        return ResponseEntity.ok(ApiResponse.success("Leave ledger retrieved successfully", ledger));
+    }
+
     /**
      * Get current user's leave balance
      */
@@ -264,6 +277,17 @@ public class LeaveController {
         return ResponseEntity.ok(ApiResponse.success("Leave statistics retrieved successfully", statistics));
     }
 
+    /**
+     * Rebuild leave statistics
+     */
+    @PostMapping("/statistics/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild leave statistics", description = "Recompute the leave calendar and statistics counters from the leave requests")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> rebuildLeaveStatistics() {
+        Map<String, Object> result = leaveService.rebuildLeaveStatistics();
+        return ResponseEntity.ok(ApiResponse.success("Leave statistics rebuilt successfully", result));
+    }
+
     /**
      * Get leave types
      */
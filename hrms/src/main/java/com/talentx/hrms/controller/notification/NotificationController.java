@@ -2,14 +2,18 @@ package com.talentx.hrms.controller.notification;
 
 import com.talentx.hrms.common.ApiResponse;
 import com.talentx.hrms.entity.analytics.SystemNotification;
+import com.talentx.hrms.security.CurrentUserContext;
+import com.talentx.hrms.service.notification.NotificationPushHub;
 import com.talentx.hrms.service.notification.NotificationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -23,10 +27,27 @@ import java.util.Map;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationPushHub notificationPushHub;
+    private final CurrentUserContext currentUserContext;
 
     @Autowired
-    public NotificationController(NotificationService notificationService) {
+    public NotificationController(NotificationService notificationService, NotificationPushHub notificationPushHub,
+                                  CurrentUserContext currentUserContext) {
         this.notificationService = notificationService;
+        this.notificationPushHub = notificationPushHub;
+        this.currentUserContext = currentUserContext;
+    }
+
+    /**
+     * Stream notifications and unread counts to the current user
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Stream notifications", description = "Server-sent events with the current user's new notifications " +
+               "and unread count; reconnects resume after the Last-Event-ID header")
+    public SseEmitter streamNotifications(
+            @Parameter(description = "Id of the last notification received") @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return notificationPushHub.subscribe(currentUserContext.getUserId(), lastEventId);
     }
 
     /**
@@ -188,10 +209,11 @@ public class NotificationController {
      */
     @PutMapping("/{id}/read")
     @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'MANAGER', 'EMPLOYEE')")
-    @Operation(summary = "Mark notification as read", description = "Mark a specific notification as read")
+    @Operation(summary = "Mark notification as read", description = "Mark a specific notification as read; " +
+               "organization-wide notifications are marked read for the current user")
     public ResponseEntity<ApiResponse<Void>> markAsRead(@PathVariable Long id) {
         try {
-            notificationService.markAsRead(id);
+            notificationService.markAsRead(id, currentUserContext.getUserId());
             return ResponseEntity.ok(ApiResponse.success("Notification marked as read successfully"));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
@@ -262,6 +284,17 @@ public class NotificationController {
         }
     }
 
+    /**
+     * Get notification push statistics (admin only)
+     */
+    @GetMapping("/stream/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get notification push statistics", description = "Open streams, replays and unread counter hit rate on this node")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getPushStatistics() {
+        return ResponseEntity.ok(ApiResponse.success("Notification push statistics retrieved successfully",
+            notificationPushHub.getStatistics()));
+    }
+
     /**
      * Cleanup expired notifications (admin only)
      */
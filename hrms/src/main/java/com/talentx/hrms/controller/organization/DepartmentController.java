@@ -17,6 +17,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/departments")
@@ -205,5 +206,67 @@ public class DepartmentController {
                 .body(ApiResponse.error(e.getMessage()));
         }
     }
-}
 
+    /**
+     * Get a department and everything below it as a hierarchy tree
+     * GET /api/departments/{id}/hierarchy
+     */
+    @GetMapping("/{id}/hierarchy")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Get department subtree", description = "Retrieve a department and all of its sub-departments as a hierarchy tree")
+    public ResponseEntity<ApiResponse<DepartmentService.DepartmentHierarchyNode>> getDepartmentSubtree(@PathVariable Long id) {
+        try {
+            DepartmentService.DepartmentHierarchyNode subtree = departmentService.getDepartmentSubtree(id);
+            return ResponseEntity.ok(ApiResponse.success("Department subtree retrieved successfully", subtree));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get all departments below a department as a flat list
+     * GET /api/departments/{id}/descendants
+     */
+    @GetMapping("/{id}/descendants")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Get department descendants", description = "Retrieve a department and all departments below it at any depth")
+    public ResponseEntity<ApiResponse<List<DepartmentResponse>>> getDepartmentDescendants(@PathVariable Long id) {
+        try {
+            List<DepartmentResponse> departments = departmentService.getDepartmentsInSubtree(id);
+            return ResponseEntity.ok(ApiResponse.success("Department descendants retrieved successfully", departments));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get the parent chain of a department
+     * GET /api/departments/{id}/ancestors
+     */
+    @GetMapping("/{id}/ancestors")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Get department ancestors", description = "Retrieve the parent departments from the root down to the department's direct parent")
+    public ResponseEntity<ApiResponse<List<DepartmentService.DepartmentHierarchyNode>>> getDepartmentAncestors(@PathVariable Long id) {
+        try {
+            List<DepartmentService.DepartmentHierarchyNode> ancestors = departmentService.getDepartmentAncestors(id);
+            return ResponseEntity.ok(ApiResponse.success("Department ancestors retrieved successfully", ancestors));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get department tree cache statistics
+     * GET /api/departments/hierarchy/statistics
+     */
+    @GetMapping("/hierarchy/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get department tree statistics", description = "Retrieve hit, load and invalidation counters of the in-memory department trees")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getTreeStatistics() {
+        return ResponseEntity.ok(ApiResponse.success("Department tree statistics retrieved successfully",
+            departmentService.getTreeStatistics()));
+    }
+}
@@ -239,5 +239,17 @@ public class OrganizationController {
         
         return ResponseEntity.ok(ApiResponse.success("Organization statistics retrieved successfully", statisticsMap));
     }
+
+    /**
+     * Get reference data cache statistics
+     * GET /api/organizations/cache/statistics
+     */
+    @GetMapping("/cache/statistics")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get reference data cache statistics", description = "Get size, hit and miss counts of each second-level cache region")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getReferenceCacheStatistics() {
+        Map<String, Object> statistics = organizationService.getReferenceCacheStatistics();
+        return ResponseEntity.ok(ApiResponse.success("Cache statistics retrieved successfully", statistics));
+    }
 }
 
@@ -1,10 +1,13 @@
 package com.talentx.hrms.controller.payroll;
 
 import com.talentx.hrms.common.ApiResponse;
+import com.talentx.hrms.common.CursorPage;
 import com.talentx.hrms.common.PaginationRequest;
+import com.talentx.hrms.dto.payroll.PayrollRuleDTO;
 import com.talentx.hrms.dto.payroll.PayrollRunDTO;
 import com.talentx.hrms.entity.enums.PayrollStatus;
 import com.talentx.hrms.entity.payroll.PayrollRun;
+import com.talentx.hrms.service.payroll.PayrollRuleService;
 import com.talentx.hrms.service.payroll.PayrollService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -33,10 +36,12 @@ import java.util.Map;
 public class PayrollController {
 
     private final PayrollService payrollService;
+    private final PayrollRuleService payrollRuleService;
 
     @Autowired
-    public PayrollController(PayrollService payrollService) {
+    public PayrollController(PayrollService payrollService, PayrollRuleService payrollRuleService) {
         this.payrollService = payrollService;
+        this.payrollRuleService = payrollRuleService;
     }
 
     /**
@@ -60,6 +65,20 @@ public class PayrollController {
         return ResponseEntity.ok(ApiResponse.success("Payroll runs retrieved successfully", payrollRuns));
     }
 
+    /**
+     * Get payroll runs with keyset pagination, newest first
+     */
+    @GetMapping("/runs/keyset")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'PAYROLL_ADMIN')")
+    @Operation(summary = "Get payroll runs by cursor", description = "Retrieve payroll runs newest first, continuing from the cursor of the previous page without counting all rows")
+    public ResponseEntity<ApiResponse<CursorPage<PayrollRunDTO>>> getPayrollRunsByCursor(
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "10") int size) {
+        
+        CursorPage<PayrollRunDTO> payrollRuns = payrollService.getPayrollRuns(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Payroll runs retrieved successfully", payrollRuns));
+    }
+
     /**
      * Get payroll run by ID
      */
@@ -126,6 +145,22 @@ public class PayrollController {
         }
     }
 
+    /**
+     * Resume payroll run
+     */
+    @PostMapping("/runs/{id}/resume")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'PAYROLL_ADMIN')")
+    @Operation(summary = "Resume payroll run", description = "Resume an interrupted payroll run from its last committed chunk")
+    public ResponseEntity<ApiResponse<PayrollRunDTO>> resumePayrollRun(@PathVariable Long id) {
+        try {
+            PayrollRunDTO payrollRun = payrollService.resumePayrollRun(id);
+            return ResponseEntity.ok(ApiResponse.success("Payroll run resumed successfully", payrollRun));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     /**
      * Approve payroll run
      */
@@ -200,6 +235,20 @@ public class PayrollController {
         return ResponseEntity.ok(ApiResponse.success("Payslips retrieved successfully", payslips));
     }
 
+    /**
+     * Get employee payslips for a payroll run with keyset pagination
+     */
+    @GetMapping("/runs/{id}/payslips/keyset")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'PAYROLL_ADMIN')")
+    @Operation(summary = "Get payslips by cursor", description = "Get payslips for a specific payroll run, continuing from the cursor of the previous page")
+    public ResponseEntity<ApiResponse<CursorPage<Map<String, Object>>>> getPayslipsByCursor(
+            @PathVariable Long id,
+            @Parameter(description = "Cursor returned with the previous page") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") int size) {
+        CursorPage<Map<String, Object>> payslips = payrollService.getPayslips(id, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Payslips retrieved successfully", payslips));
+    }
+
     /**
      * Get employee payslip by ID
      */
@@ -333,5 +382,65 @@ public class PayrollController {
         List<Map<String, Object>> calendar = payrollService.getPayrollCalendar(year);
         return ResponseEntity.ok(ApiResponse.success("Payroll calendar retrieved successfully", calendar));
     }
-}
 
+    /**
+     * Get payroll rules
+     */
+    @GetMapping("/rules")
+    @PreAuthorize("hasAnyRole('ADMIN', 'HR_MANAGER', 'PAYROLL_ADMIN')")
+    @Operation(summary = "Get payroll rules", description = "Get the organization's earning, deduction and tax rules in calculation order")
+    public ResponseEntity<ApiResponse<List<PayrollRuleDTO>>> getPayrollRules() {
+        List<PayrollRuleDTO> rules = payrollRuleService.getPayrollRules();
+        return ResponseEntity.ok(ApiResponse.success("Payroll rules retrieved successfully", rules));
+    }
+
+    /**
+     * Create payroll rule
+     */
+    @PostMapping("/rules")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PAYROLL_ADMIN')")
+    @Operation(summary = "Create payroll rule", description = "Create an earning, deduction or tax rule for the organization")
+    public ResponseEntity<ApiResponse<PayrollRuleDTO>> createPayrollRule(@Valid @RequestBody PayrollRuleDTO ruleDTO) {
+        try {
+            PayrollRuleDTO rule = payrollRuleService.createPayrollRule(ruleDTO);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Payroll rule created successfully", rule));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Update payroll rule
+     */
+    @PutMapping("/rules/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PAYROLL_ADMIN')")
+    @Operation(summary = "Update payroll rule", description = "Update an existing payroll rule")
+    public ResponseEntity<ApiResponse<PayrollRuleDTO>> updatePayrollRule(
+            @PathVariable Long id, @Valid @RequestBody PayrollRuleDTO ruleDTO) {
+        try {
+            PayrollRuleDTO rule = payrollRuleService.updatePayrollRule(id, ruleDTO);
+            return ResponseEntity.ok(ApiResponse.success("Payroll rule updated successfully", rule));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Delete payroll rule
+     */
+    @DeleteMapping("/rules/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'PAYROLL_ADMIN')")
+    @Operation(summary = "Delete payroll rule", description = "Delete a payroll rule")
+    public ResponseEntity<ApiResponse<Void>> deletePayrollRule(@PathVariable Long id) {
+        try {
+            payrollRuleService.deletePayrollRule(id);
+            return ResponseEntity.ok(ApiResponse.success("Payroll rule deleted successfully"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.talentx.hrms.dto.attendance;
+
+import com.talentx.hrms.entity.enums.AttendanceStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Acknowledgement of a check-in accepted for background persistence. A request repeated with the same
+ * idempotency key gets the original receipt back with replayed set.
+ */
+public record CheckInReceipt(
+    String idempotencyKey,
+    Long employeeId,
+    LocalDate attendanceDate,
+    LocalTime checkInTime,
+    AttendanceStatus status,
+    boolean holiday,
+    boolean replayed
+) {
+
+    public CheckInReceipt replay() {
+        return new CheckInReceipt(idempotencyKey, employeeId, attendanceDate, checkInTime, status, holiday, true);
+    }
+}
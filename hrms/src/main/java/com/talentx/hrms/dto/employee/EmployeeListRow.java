@@ -0,0 +1,52 @@
+package com.talentx.hrms.dto.employee;
+
+import com.talentx.hrms.entity.enums.EmploymentStatus;
+import com.talentx.hrms.entity.enums.EmploymentType;
+import com.talentx.hrms.entity.enums.Gender;
+import com.talentx.hrms.entity.enums.MaritalStatus;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+
+/**
+ * The columns of one employee that list responses show, with the names of the organization, department,
+ * location, manager and user account already joined in
+ */
+public record EmployeeListRow(
+    Long id,
+    String employeeNumber,
+    String firstName,
+    String middleName,
+    String lastName,
+    String workEmail,
+    String personalEmail,
+    String phoneNumber,
+    String mobileNumber,
+    Date dateOfBirth,
+    Gender gender,
+    String nationality,
+    MaritalStatus maritalStatus,
+    Date hireDate,
+    Date terminationDate,
+    EmploymentStatus employmentStatus,
+    EmploymentType employmentType,
+    String jobTitle,
+    String jobLevel,
+    BigDecimal salaryAmount,
+    String salaryCurrency,
+    Date probationEndDate,
+    Long organizationId,
+    String organizationName,
+    Long departmentId,
+    String departmentName,
+    String departmentCode,
+    Long locationId,
+    String locationName,
+    Long managerId,
+    String managerFirstName,
+    String managerMiddleName,
+    String managerLastName,
+    String managerEmployeeNumber,
+    Long userId,
+    String username) {
+}
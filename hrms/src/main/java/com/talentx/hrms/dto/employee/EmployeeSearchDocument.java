@@ -0,0 +1,35 @@
+package com.talentx.hrms.dto.employee;
+
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.enums.EmploymentStatus;
+import com.talentx.hrms.entity.enums.EmploymentType;
+
+/**
+ * The searchable fields of one employee as held by the employee search index
+ */
+public record EmployeeSearchDocument(
+    Long id,
+    Long organizationId,
+    String firstName,
+    String lastName,
+    String employeeNumber,
+    String jobTitle,
+    Long departmentId,
+    Long locationId,
+    EmploymentStatus employmentStatus,
+    EmploymentType employmentType) {
+
+    public static EmployeeSearchDocument from(Employee employee) {
+        return new EmployeeSearchDocument(
+            employee.getId(),
+            employee.getOrganization().getId(),
+            employee.getFirstName(),
+            employee.getLastName(),
+            employee.getEmployeeNumber(),
+            employee.getJobTitle(),
+            employee.getDepartment() != null ? employee.getDepartment().getId() : null,
+            employee.getLocation() != null ? employee.getLocation().getId() : null,
+            employee.getEmploymentStatus(),
+            employee.getEmploymentType());
+    }
+}
@@ -0,0 +1,16 @@
+package com.talentx.hrms.dto.organization;
+
+/**
+ * One department as loaded for the in-memory department tree, without any associations
+ */
+public record DepartmentTreeRow(
+    Long id,
+    Long parentId,
+    String name,
+    String code,
+    String description,
+    String costCenter,
+    Long managerId,
+    String managerName,
+    String path) {
+}
@@ -0,0 +1,122 @@
+package com.talentx.hrms.dto.payroll;
+
+import com.talentx.hrms.entity.enums.PayrollRuleBasis;
+import com.talentx.hrms.entity.enums.PayrollRuleStage;
+import com.talentx.hrms.entity.enums.PayrollRuleType;
+import com.talentx.hrms.entity.enums.PayslipComponent;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public class PayrollRuleDTO {
+
+    private Long id;
+
+    @NotNull(message = "Payslip component is required")
+    private PayslipComponent component;
+
+    @NotNull(message = "Calculation type is required")
+    private PayrollRuleType calculationType;
+
+    private PayrollRuleBasis basis;
+
+    @DecimalMin(value = "0.0", message = "Rate must not be negative")
+    private BigDecimal rate;
+
+    @DecimalMin(value = "0.0", message = "Amount must not be negative")
+    private BigDecimal amount;
+
+    private Integer calculationOrder;
+
+    @Size(max = 500, message = "Description must not exceed 500 characters")
+    private String description;
+
+    private PayrollRuleStage stage;
+    private Boolean active;
+
+    // Constructors
+    public PayrollRuleDTO() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public PayslipComponent getComponent() {
+        return component;
+    }
+
+    public void setComponent(PayslipComponent component) {
+        this.component = component;
+    }
+
+    public PayrollRuleType getCalculationType() {
+        return calculationType;
+    }
+
+    public void setCalculationType(PayrollRuleType calculationType) {
+        this.calculationType = calculationType;
+    }
+
+    public PayrollRuleBasis getBasis() {
+        return basis;
+    }
+
+    public void setBasis(PayrollRuleBasis basis) {
+        this.basis = basis;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Integer getCalculationOrder() {
+        return calculationOrder;
+    }
+
+    public void setCalculationOrder(Integer calculationOrder) {
+        this.calculationOrder = calculationOrder;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public PayrollRuleStage getStage() {
+        return stage;
+    }
+
+    public void setStage(PayrollRuleStage stage) {
+        this.stage = stage;
+    }
+
+    public Boolean getActive() {
+        return active;
+    }
+
+    public void setActive(Boolean active) {
+        this.active = active;
+    }
+}
@@ -235,5 +235,19 @@ public class PayrollRunDTO {
     
     public String getNotes() { return notes; }
     public void setNotes(String notes) { this.notes = notes; }
+    
+    // Processing progress
+    private Integer employeesTotal;
+    private Integer employeesProcessed;
+    private Integer chunksCompleted;
+    
+    public Integer getEmployeesTotal() { return employeesTotal; }
+    public void setEmployeesTotal(Integer employeesTotal) { this.employeesTotal = employeesTotal; }
+    
+    public Integer getEmployeesProcessed() { return employeesProcessed; }
+    public void setEmployeesProcessed(Integer employeesProcessed) { this.employeesProcessed = employeesProcessed; }
+    
+    public Integer getChunksCompleted() { return chunksCompleted; }
+    public void setChunksCompleted(Integer chunksCompleted) { this.chunksCompleted = chunksCompleted; }
 }
 
@@ -109,6 +109,13 @@ public class AuditLog extends BaseEntity {
     @Column(name = "retention_days")
     private Integer retentionDays;
 
+    @Size(max = 64, message = "Request ID must not exceed 64 characters")
+    @Column(name = "request_id", length = 64)
+    private String requestId;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "organization_id")
     private Organization organization;
@@ -326,6 +333,22 @@ public class AuditLog extends BaseEntity {
         this.retentionDays = retentionDays;
     }
 
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(String requestId) {
+        this.requestId = requestId;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
     public Organization getOrganization() {
         return organization;
     }
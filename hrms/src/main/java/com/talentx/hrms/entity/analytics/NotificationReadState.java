@@ -0,0 +1,98 @@
+package com.talentx.hrms.entity.analytics;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.util.BitSet;
+
+/**
+ * A user's read state of their organization's organization-wide notifications, which are stored once
+ * and not copied per user. Every notification with a sequence up to the watermark is read; above it,
+ * bit i of the bitmap is set when the notification with sequence watermark + 1 + i is read.
+ */
+@Entity
+@Table(name = "notification_read_states", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id"})
+})
+@Getter
+@Setter
+public class NotificationReadState {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long userId;
+
+    @Column(name = "organization_id", nullable = false)
+    private Long organizationId;
+
+    @Column(name = "watermark", nullable = false)
+    private Long watermark = 0L;
+
+    @Column(name = "read_bitmap", columnDefinition = "BLOB")
+    private byte[] readBitmap;
+
+    // Constructors
+    public NotificationReadState() {}
+
+    public NotificationReadState(Long userId, Long organizationId) {
+        this.userId = userId;
+        this.organizationId = organizationId;
+    }
+
+    // Helper methods
+    public boolean isRead(long sequence) {
+        return sequence <= watermark || bits().get(offset(sequence));
+    }
+
+    /**
+     * Mark one sequence read; returns false if it already was
+     */
+    public boolean markRead(long sequence) {
+        if (isRead(sequence)) {
+            return false;
+        }
+        BitSet bits = bits();
+        bits.set(offset(sequence));
+        store(bits);
+        return true;
+    }
+
+    /**
+     * Mark every sequence up to {@code sequence} read, keeping the bits above it
+     */
+    public void advanceTo(long sequence) {
+        if (sequence <= watermark) {
+            return;
+        }
+        BitSet bits = bits();
+        int shift = (int) Math.min(Integer.MAX_VALUE, sequence - watermark);
+        store(shift >= bits.length() ? new BitSet() : bits.get(shift, bits.length()));
+        watermark = sequence;
+    }
+
+    /**
+     * Sequences above the watermark that are read, ascending
+     */
+    public long[] readAboveWatermark() {
+        return bits().stream().mapToLong(bit -> watermark + 1 + bit).toArray();
+    }
+
+    private int offset(long sequence) {
+        long offset = sequence - watermark - 1;
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Notification sequence " + sequence + " is too far above the watermark");
+        }
+        return (int) offset;
+    }
+
+    private BitSet bits() {
+        return readBitmap == null ? new BitSet() : BitSet.valueOf(readBitmap);
+    }
+
+    private void store(BitSet bits) {
+        readBitmap = bits.isEmpty() ? null : bits.toByteArray();
+    }
+}
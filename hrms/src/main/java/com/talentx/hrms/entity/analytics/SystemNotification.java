@@ -14,7 +14,10 @@ import java.time.Instant;
     @Index(name = "idx_notification_user", columnList = "user_id"),
     @Index(name = "idx_notification_read", columnList = "is_read"),
     @Index(name = "idx_notification_created", columnList = "created_at"),
-    @Index(name = "idx_notification_type", columnList = "notification_type")
+    @Index(name = "idx_notification_type", columnList = "notification_type"),
+    @Index(name = "idx_notification_org_global", columnList = "organization_id, global_sequence")
+}, uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"organization_id", "global_sequence"})
 })
 public class SystemNotification extends BaseEntity {
 
@@ -56,6 +59,14 @@ public class SystemNotification extends BaseEntity {
     @Column(name = "expires_at")
     private Instant expiresAt;
 
+    // Position of an organization-wide notification in its organization's stream; null for personal notifications
+    @Column(name = "global_sequence")
+    private Long globalSequence;
+
+    // Read state of an organization-wide notification for the user it is listed for; not persisted
+    @Transient
+    private Boolean readByRecipient;
+
     // Constructors
     public SystemNotification() {}
 
@@ -119,7 +130,7 @@ public class SystemNotification extends BaseEntity {
     }
 
     public Boolean getIsRead() {
-        return isRead;
+        return readByRecipient != null ? readByRecipient : isRead;
     }
 
     public void setIsRead(Boolean isRead) {
@@ -145,13 +156,29 @@ public class SystemNotification extends BaseEntity {
         this.expiresAt = expiresAt;
     }
 
+    public Long getGlobalSequence() {
+        return globalSequence;
+    }
+
+    public void setGlobalSequence(Long globalSequence) {
+        this.globalSequence = globalSequence;
+    }
+
     // Helper methods
     public boolean isExpired() {
         return expiresAt != null && Instant.now().isAfter(expiresAt);
     }
 
     public boolean isUnread() {
-        return !isRead;
+        return !getIsRead();
+    }
+
+    public boolean isGlobal() {
+        return user == null;
+    }
+
+    public void setReadByRecipient(boolean readByRecipient) {
+        this.readByRecipient = readByRecipient;
     }
 
     public void markAsRead() {
@@ -14,6 +14,8 @@ import java.time.LocalTime;
 @Entity
 @Table(name = "attendance_records", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"employee_id", "attendance_date"})
+}, indexes = {
+    @Index(name = "idx_attendance_records_date", columnList = "attendance_date, id")
 })
 public class AttendanceRecord extends BaseEntity {
 
@@ -190,8 +192,7 @@ public class AttendanceRecord extends BaseEntity {
 
     // Helper methods
     public boolean isPresent() {
-        return status == AttendanceStatus.PRESENT || status == AttendanceStatus.LATE || 
-               status == AttendanceStatus.HALF_DAY;
+        return status != null && status.countsAsPresent();
     }
 
     public boolean isFullDay() {
@@ -1,15 +1,20 @@
 package com.talentx.hrms.entity.attendance;
 
+import com.talentx.hrms.common.cache.CacheRegions;
 import com.talentx.hrms.entity.core.Organization;
 import com.talentx.hrms.entity.enums.HolidayType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDate;
 import java.time.Instant;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.HOLIDAY)
 @Table(name = "holidays", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"organization_id", "holiday_date"})
 })
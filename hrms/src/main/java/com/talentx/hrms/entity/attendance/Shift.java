@@ -1,8 +1,11 @@
 package com.talentx.hrms.entity.attendance;
 
+import com.talentx.hrms.common.cache.CacheRegions;
 import com.talentx.hrms.entity.core.Organization;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import java.math.BigDecimal;
@@ -14,6 +17,8 @@ import java.util.List;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SHIFT)
 @Table(name = "shifts")
 public class Shift {
 
@@ -11,7 +11,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "compliance_checks")
+@Table(name = "compliance_checks", indexes = {
+    @Index(name = "idx_compliance_checks_next_check", columnList = "rule_id, organization_id, next_check_date"),
+    @Index(name = "idx_compliance_checks_org_date", columnList = "organization_id, check_date")
+})
 @Getter
 @Setter
 public class ComplianceCheck extends BaseEntity {
@@ -58,6 +61,10 @@ public class ComplianceCheck extends BaseEntity {
     @Column(name = "resolution_notes", columnDefinition = "TEXT")
     private String resolutionNotes;
 
+    // Date the next automated check of this rule and organization is due; null for one-off checks
+    @Column(name = "next_check_date")
+    private LocalDate nextCheckDate;
+
     // Constructors
     public ComplianceCheck() {}
 
@@ -215,14 +222,6 @@ public class ComplianceCheck extends BaseEntity {
         // This field doesn't exist in database schema
     }
 
-    public LocalDate getNextCheckDate() {
-        return null; // This field doesn't exist in database schema
-    }
-
-    public void setNextCheckDate(LocalDate nextCheckDate) {
-        // This field doesn't exist in database schema
-    }
-
     // Additional backward compatibility methods
     // Additional backward compatibility methods
     public LocalDateTime getCheckedAt() {
@@ -1,15 +1,20 @@
 package com.talentx.hrms.entity.compliance;
 
 import com.talentx.hrms.common.BaseEntity;
+import com.talentx.hrms.common.cache.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.COMPLIANCE_JURISDICTION)
 @Table(name = "compliance_jurisdictions")
 @Getter
 @Setter
@@ -38,6 +38,10 @@ public class ComplianceRule extends BaseEntity {
     @Column(name = "rule_data", columnDefinition = "JSON")
     private String ruleData;
 
+    // Check expression evaluated per employee by the compliance rule engine, e.g. "avg_weekly_hours <= 48"
+    @Column(name = "check_query", columnDefinition = "TEXT")
+    private String checkQuery;
+
     @Column(name = "effective_date")
     private LocalDate effectiveDate;
 
@@ -51,6 +55,13 @@ public class ComplianceRule extends BaseEntity {
     @Column(name = "is_active", nullable = false)
     private Boolean isActive = true;
 
+    // Automated checks of the rule are scheduled every checkFrequencyDays when enabled
+    @Column(name = "auto_check_enabled", nullable = false)
+    private Boolean autoCheckEnabled = false;
+
+    @Column(name = "check_frequency_days")
+    private Integer checkFrequencyDays;
+
     @OneToMany(mappedBy = "rule", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ComplianceCheck> complianceChecks = new ArrayList<>();
 
@@ -177,30 +188,6 @@ public class ComplianceRule extends BaseEntity {
         // This field doesn't exist in database schema
     }
 
-    public Integer getCheckFrequencyDays() {
-        return null; // This field doesn't exist in database schema
-    }
-
-    public void setCheckFrequencyDays(Integer checkFrequencyDays) {
-        // This field doesn't exist in database schema
-    }
-
-    public Boolean getAutoCheckEnabled() {
-        return false; // This field doesn't exist in database schema
-    }
-
-    public void setAutoCheckEnabled(Boolean autoCheckEnabled) {
-        // This field doesn't exist in database schema
-    }
-
-    public String getCheckQuery() {
-        return null; // This field doesn't exist in database schema
-    }
-
-    public void setCheckQuery(String checkQuery) {
-        // This field doesn't exist in database schema
-    }
-
     public String getReferenceUrl() {
         return sourceUrl;
     }
@@ -231,7 +218,7 @@ public class ComplianceRule extends BaseEntity {
     }
 
     public boolean needsPeriodicCheck() {
-        return false; // This functionality doesn't exist in database schema
+        return Boolean.TRUE.equals(autoCheckEnabled) && checkFrequencyDays != null && checkFrequencyDays > 0;
     }
 
     public Organization getOrganization() {
@@ -0,0 +1,90 @@
+package com.talentx.hrms.entity.compliance;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A batch of due automated checks for one organization, planned for a day. Nodes claim a unit by
+ * taking its lease with a conditional update; a lease that is not completed before it expires can be
+ * claimed again by another node, up to the scheduler's attempt limit.
+ */
+@Entity
+@Table(name = "compliance_work_units", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"organization_id", "plan_date", "unit_index"})
+}, indexes = {
+    @Index(name = "idx_compliance_work_units_claim", columnList = "status, lease_expires_at")
+})
+@Getter
+@Setter
+public class ComplianceWorkUnit {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    @Column(name = "plan_date", nullable = false, updatable = false)
+    private LocalDate planDate;
+
+    @Column(name = "unit_index", nullable = false, updatable = false)
+    private Integer unitIndex;
+
+    // Comma-separated ids of the rules planned in this unit
+    @Column(name = "rule_ids", nullable = false, updatable = false, columnDefinition = "TEXT")
+    private String ruleIds;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    @Column(name = "lease_owner", length = 200)
+    private String leaseOwner;
+
+    @Column(name = "lease_expires_at")
+    private Instant leaseExpiresAt;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "checks_recorded")
+    private Integer checksRecorded;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Constructors
+    public ComplianceWorkUnit() {}
+
+    public ComplianceWorkUnit(Long organizationId, LocalDate planDate, Integer unitIndex, List<Long> ruleIds) {
+        this.organizationId = organizationId;
+        this.planDate = planDate;
+        this.unitIndex = unitIndex;
+        this.ruleIds = ruleIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    // Helper methods
+    public List<Long> getRuleIdList() {
+        if (ruleIds == null || ruleIds.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(ruleIds.split(",")).map(Long::valueOf).toList();
+    }
+
+    public enum Status {
+        PENDING,
+        LEASED,
+        DONE,
+        FAILED
+    }
+}
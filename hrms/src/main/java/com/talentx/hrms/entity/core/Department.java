@@ -1,16 +1,23 @@
 package com.talentx.hrms.entity.core;
 
+import com.talentx.hrms.common.cache.CacheRegions;
 import com.talentx.hrms.entity.employee.Employee;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.DEPARTMENT)
 @Table(name = "departments", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"code", "organization_id"})
+}, indexes = {
+    @Index(name = "idx_departments_path", columnList = "organization_id, path")
 })
 public class Department {
 
@@ -38,6 +45,11 @@ public class Department {
     @JoinColumn(name = "parent_department_id")
     private Department parentDepartment;
 
+    // Ids from the root down to this department, e.g. "/1/5/12/", so a subtree is a prefix match;
+    // written only by the DepartmentRepository path updates so saving a cached copy cannot undo a move
+    @Column(name = "path", length = 500, updatable = false)
+    private String path;
+
     @OneToMany(mappedBy = "parentDepartment", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Department> subDepartments = new ArrayList<>();
 
@@ -129,6 +141,14 @@ public class Department {
         this.parentDepartment = parentDepartment;
     }
 
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
     public List<Department> getSubDepartments() {
         return subDepartments;
     }
@@ -1,15 +1,20 @@
 package com.talentx.hrms.entity.core;
 
+import com.talentx.hrms.common.cache.CacheRegions;
 import com.talentx.hrms.entity.enums.CompanySize;
 import com.talentx.hrms.entity.enums.SubscriptionTier;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ORGANIZATION)
 @Table(name = "organizations")
 public class Organization {
 
@@ -66,6 +71,16 @@ public class Organization {
     @Column(name = "deleted_at")
     private Timestamp deletedAt;
 
+    // Incremented whenever role or permission grants in the organization change; only the
+    // OrganizationRepository increment queries write it, so saving a stale copy cannot roll it back
+    @Column(name = "permission_version", nullable = false, updatable = false)
+    private Long permissionVersion = 0L;
+
+    // Sequence of the organization's latest organization-wide notification; written only by
+    // OrganizationRepository.incrementNotificationSequence so a stale save cannot hand a sequence out twice
+    @Column(name = "notification_sequence", nullable = false, updatable = false)
+    private Long notificationSequence = 0L;
+
     @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Department> departments = new ArrayList<>();
 
@@ -204,6 +219,14 @@ public class Organization {
         this.deletedAt = deletedAt;
     }
 
+    public Long getPermissionVersion() {
+        return permissionVersion;
+    }
+
+    public Long getNotificationSequence() {
+        return notificationSequence;
+    }
+
     public List<Department> getDepartments() {
         return departments;
     }
@@ -24,6 +24,8 @@ import java.util.List;
 @Entity
 @Table(name = "employees", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "employee_number" })
+}, indexes = {
+        @Index(name = "idx_employees_reporting_path", columnList = "organization_id, reporting_path")
 })
 public class Employee {
 
@@ -161,6 +163,10 @@ public class Employee {
     @JoinColumn(name = "manager_id")
     private Employee manager;
 
+    // Ids from the top of the reporting line down to this employee, e.g. "/1/5/12/"
+    @Column(name = "reporting_path", length = 500)
+    private String reportingPath;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "location_id")
     private Location location;
@@ -490,6 +496,14 @@ public class Employee {
         this.manager = manager;
     }
 
+    public String getReportingPath() {
+        return reportingPath;
+    }
+
+    public void setReportingPath(String reportingPath) {
+        this.reportingPath = reportingPath;
+    }
+
     public Location getLocation() {
         return location;
     }
@@ -21,5 +21,9 @@ public enum AttendanceStatus {
     public String getDisplayName() {
         return displayName;
     }
+
+    public boolean countsAsPresent() {
+        return this == PRESENT || this == LATE || this == HALF_DAY;
+    }
 }
 
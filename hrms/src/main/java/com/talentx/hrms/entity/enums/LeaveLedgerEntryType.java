@@ -0,0 +1,18 @@
+package com.talentx.hrms.entity.enums;
+
+public enum LeaveLedgerEntryType {
+    ACCRUAL("Accrual"),
+    CARRY_FORWARD("Carry Forward"),
+    PENDING("Pending"),
+    USED("Used");
+
+    private final String displayName;
+
+    LeaveLedgerEntryType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,17 @@
+package com.talentx.hrms.entity.enums;
+
+public enum PayrollRuleBasis {
+    BASIC_SALARY("Basic Salary"),
+    GROSS_PAY("Gross Pay"),
+    TAXABLE_PAY("Taxable Pay");
+
+    private final String displayName;
+
+    PayrollRuleBasis(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -0,0 +1,18 @@
+package com.talentx.hrms.entity.enums;
+
+public enum PayrollRuleStage {
+    EARNING("Earning"),
+    PRE_TAX_DEDUCTION("Pre-Tax Deduction"),
+    TAX("Tax"),
+    POST_TAX_DEDUCTION("Post-Tax Deduction");
+
+    private final String displayName;
+
+    PayrollRuleStage(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
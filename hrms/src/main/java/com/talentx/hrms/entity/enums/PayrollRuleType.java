@@ -0,0 +1,16 @@
+package com.talentx.hrms.entity.enums;
+
+public enum PayrollRuleType {
+    FIXED_AMOUNT("Fixed Amount"),
+    PERCENTAGE("Percentage");
+
+    private final String displayName;
+
+    PayrollRuleType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
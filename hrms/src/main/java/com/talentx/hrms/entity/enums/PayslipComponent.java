@@ -0,0 +1,35 @@
+package com.talentx.hrms.entity.enums;
+
+public enum PayslipComponent {
+    BONUS("Bonus", PayrollRuleStage.EARNING),
+    COMMISSION("Commission", PayrollRuleStage.EARNING),
+    ALLOWANCES("Allowances", PayrollRuleStage.EARNING),
+    REIMBURSEMENTS("Reimbursements", PayrollRuleStage.EARNING),
+    HEALTH_INSURANCE("Health Insurance", PayrollRuleStage.PRE_TAX_DEDUCTION),
+    DENTAL_INSURANCE("Dental Insurance", PayrollRuleStage.PRE_TAX_DEDUCTION),
+    VISION_INSURANCE("Vision Insurance", PayrollRuleStage.PRE_TAX_DEDUCTION),
+    RETIREMENT_401K("Retirement 401(k)", PayrollRuleStage.PRE_TAX_DEDUCTION),
+    FEDERAL_TAX("Federal Tax", PayrollRuleStage.TAX),
+    STATE_TAX("State Tax", PayrollRuleStage.TAX),
+    SOCIAL_SECURITY_TAX("Social Security Tax", PayrollRuleStage.TAX),
+    MEDICARE_TAX("Medicare Tax", PayrollRuleStage.TAX),
+    UNEMPLOYMENT_TAX("Unemployment Tax", PayrollRuleStage.TAX),
+    LIFE_INSURANCE("Life Insurance", PayrollRuleStage.POST_TAX_DEDUCTION),
+    OTHER_DEDUCTIONS("Other Deductions", PayrollRuleStage.POST_TAX_DEDUCTION);
+
+    private final String displayName;
+    private final PayrollRuleStage stage;
+
+    PayslipComponent(String displayName, PayrollRuleStage stage) {
+        this.displayName = displayName;
+        this.stage = stage;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public PayrollRuleStage getStage() {
+        return stage;
+    }
+}
@@ -0,0 +1,59 @@
+package com.talentx.hrms.entity.leave;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDate;
+
+/**
+ * Read model row: how many leave requests of a department and leave type cover a date. Maintained
+ * incrementally by the leave service; a key is spread over a few slot rows so that concurrent
+ * approvals for the same day do not queue on one row, and readers add the slots up.
+ *
+ * A department id of 0 stands for employees without a department.
+ */
+@Entity
+@Table(name = "leave_daily_occupancy", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"organization_id", "leave_date", "department_id", "leave_type_id", "slot"})
+})
+@Getter
+@Setter
+public class LeaveDailyOccupancy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    @Column(name = "department_id", nullable = false, updatable = false)
+    private Long departmentId;
+
+    @Column(name = "leave_type_id", nullable = false, updatable = false)
+    private Long leaveTypeId;
+
+    @Column(name = "leave_date", nullable = false, updatable = false)
+    private LocalDate leaveDate;
+
+    @Column(name = "slot", nullable = false, updatable = false)
+    private Integer slot;
+
+    @Column(name = "approved_count", nullable = false)
+    private Integer approvedCount = 0;
+
+    @Column(name = "pending_count", nullable = false)
+    private Integer pendingCount = 0;
+
+    // Constructors
+    public LeaveDailyOccupancy() {}
+
+    public LeaveDailyOccupancy(Long organizationId, Long departmentId, Long leaveTypeId, LocalDate leaveDate,
+                               Integer slot) {
+        this.organizationId = organizationId;
+        this.departmentId = departmentId;
+        this.leaveTypeId = leaveTypeId;
+        this.leaveDate = leaveDate;
+        this.slot = slot;
+    }
+}
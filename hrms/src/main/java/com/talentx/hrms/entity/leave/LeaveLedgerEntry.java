@@ -0,0 +1,66 @@
+package com.talentx.hrms.entity.leave;
+
+import com.talentx.hrms.common.BaseEntity;
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.enums.LeaveLedgerEntryType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import java.math.BigDecimal;
+
+/**
+ * One append-only movement of an employee's leave balance. The signed days of all entries of a
+ * type add up to the matching counter of the {@link LeaveBalance} summary row.
+ */
+@Entity
+@Table(name = "leave_ledger_entries", indexes = {
+    @Index(name = "idx_leave_ledger_balance", columnList = "employee_id, leave_type_id, year"),
+    @Index(name = "idx_leave_ledger_request", columnList = "leave_request_id")
+})
+@Getter
+@Setter
+public class LeaveLedgerEntry extends BaseEntity {
+
+    @NotNull(message = "Employee is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", nullable = false, updatable = false)
+    private Employee employee;
+
+    @NotNull(message = "Leave type is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "leave_type_id", nullable = false, updatable = false)
+    private LeaveType leaveType;
+
+    @NotNull(message = "Year is required")
+    @Column(name = "year", nullable = false, updatable = false)
+    private Integer year;
+
+    @NotNull(message = "Entry type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, updatable = false)
+    private LeaveLedgerEntryType entryType;
+
+    @NotNull(message = "Days are required")
+    @Column(name = "days", precision = 5, scale = 2, nullable = false, updatable = false)
+    private BigDecimal days;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "leave_request_id", updatable = false)
+    private LeaveRequest leaveRequest;
+
+    @Column(name = "description", updatable = false)
+    private String description;
+
+    // Constructors
+    public LeaveLedgerEntry() {}
+
+    public LeaveLedgerEntry(Employee employee, LeaveType leaveType, Integer year,
+                            LeaveLedgerEntryType entryType, BigDecimal days) {
+        this.employee = employee;
+        this.leaveType = leaveType;
+        this.year = year;
+        this.entryType = entryType;
+        this.days = days;
+    }
+}
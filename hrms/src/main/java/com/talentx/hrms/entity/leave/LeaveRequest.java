@@ -1,6 +1,7 @@
 package com.talentx.hrms.entity.leave;
 
 import com.talentx.hrms.common.BaseEntity;
+import com.talentx.hrms.entity.core.Department;
 import com.talentx.hrms.entity.employee.Employee;
 import com.talentx.hrms.entity.enums.LeaveStatus;
 import jakarta.persistence.*;
@@ -29,6 +30,11 @@ public class LeaveRequest extends BaseEntity {
     @JoinColumn(name = "leave_type_id", nullable = false)
     private LeaveType leaveType;
 
+    // Department of the employee when the request was made; the leave statistics are keyed by it
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "department_id")
+    private Department department;
+
     @NotNull(message = "Start date is required")
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
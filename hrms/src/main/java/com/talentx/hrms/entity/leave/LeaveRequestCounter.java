@@ -0,0 +1,64 @@
+package com.talentx.hrms.entity.leave;
+
+import com.talentx.hrms.entity.enums.LeaveStatus;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.math.BigDecimal;
+
+/**
+ * Read model row: number of leave requests and their days per department, leave type, year and status.
+ * Maintained incrementally by the leave service and spread over slot rows like {@link LeaveDailyOccupancy}.
+ *
+ * A department id of 0 stands for employees without a department.
+ */
+@Entity
+@Table(name = "leave_request_counters", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"organization_id", "year", "department_id", "leave_type_id", "status", "slot"})
+})
+@Getter
+@Setter
+public class LeaveRequestCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "organization_id", nullable = false, updatable = false)
+    private Long organizationId;
+
+    @Column(name = "department_id", nullable = false, updatable = false)
+    private Long departmentId;
+
+    @Column(name = "leave_type_id", nullable = false, updatable = false)
+    private Long leaveTypeId;
+
+    @Column(name = "year", nullable = false, updatable = false)
+    private Integer year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, updatable = false)
+    private LeaveStatus status;
+
+    @Column(name = "slot", nullable = false, updatable = false)
+    private Integer slot;
+
+    @Column(name = "request_count", nullable = false)
+    private Long requestCount = 0L;
+
+    @Column(name = "total_days", precision = 9, scale = 2, nullable = false)
+    private BigDecimal totalDays = BigDecimal.ZERO;
+
+    // Constructors
+    public LeaveRequestCounter() {}
+
+    public LeaveRequestCounter(Long organizationId, Long departmentId, Long leaveTypeId, Integer year,
+                               LeaveStatus status, Integer slot) {
+        this.organizationId = organizationId;
+        this.departmentId = departmentId;
+        this.leaveTypeId = leaveTypeId;
+        this.year = year;
+        this.status = status;
+        this.slot = slot;
+    }
+}
@@ -1,12 +1,15 @@
 package com.talentx.hrms.entity.leave;
 
 import com.talentx.hrms.common.BaseEntity;
+import com.talentx.hrms.common.cache.CacheRegions;
 import com.talentx.hrms.entity.core.Organization;
 import com.talentx.hrms.entity.enums.LeaveTypeCategory;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 import java.math.BigDecimal;
@@ -14,6 +17,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.LEAVE_TYPE)
 @Table(name = "leave_types", uniqueConstraints = {
         @UniqueConstraint(columnNames = { "organization_id", "code" })
 })
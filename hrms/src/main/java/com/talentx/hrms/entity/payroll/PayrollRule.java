@@ -0,0 +1,138 @@
+package com.talentx.hrms.entity.payroll;
+
+import com.talentx.hrms.common.BaseEntity;
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.enums.PayrollRuleBasis;
+import com.talentx.hrms.entity.enums.PayrollRuleStage;
+import com.talentx.hrms.entity.enums.PayrollRuleType;
+import com.talentx.hrms.entity.enums.PayslipComponent;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "payroll_rules", indexes = {
+        @Index(name = "idx_payroll_rules_org", columnList = "organization_id")
+})
+public class PayrollRule extends BaseEntity {
+
+    @NotNull(message = "Organization is required")
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "organization_id", nullable = false)
+    private Organization organization;
+
+    @NotNull(message = "Payslip component is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "component", nullable = false)
+    private PayslipComponent component;
+
+    @NotNull(message = "Calculation type is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "calculation_type", nullable = false)
+    private PayrollRuleType calculationType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "basis")
+    private PayrollRuleBasis basis;
+
+    // Fraction of the basis for PERCENTAGE rules, e.g. 0.0145 for 1.45%
+    @Column(name = "rate", precision = 10, scale = 6)
+    private BigDecimal rate;
+
+    // Amount for FIXED_AMOUNT rules
+    @Column(name = "amount", precision = 15, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "calculation_order")
+    private Integer calculationOrder = 0;
+
+    @Size(max = 500, message = "Description must not exceed 500 characters")
+    @Column(name = "description")
+    private String description;
+
+    // Constructors
+    public PayrollRule() {}
+
+    public PayrollRule(Organization organization, PayslipComponent component,
+                       PayrollRuleType calculationType, PayrollRuleBasis basis) {
+        this.organization = organization;
+        this.component = component;
+        this.calculationType = calculationType;
+        this.basis = basis;
+    }
+
+    // Getters and Setters
+    public Organization getOrganization() {
+        return organization;
+    }
+
+    public void setOrganization(Organization organization) {
+        this.organization = organization;
+    }
+
+    public PayslipComponent getComponent() {
+        return component;
+    }
+
+    public void setComponent(PayslipComponent component) {
+        this.component = component;
+    }
+
+    public PayrollRuleType getCalculationType() {
+        return calculationType;
+    }
+
+    public void setCalculationType(PayrollRuleType calculationType) {
+        this.calculationType = calculationType;
+    }
+
+    public PayrollRuleBasis getBasis() {
+        return basis;
+    }
+
+    public void setBasis(PayrollRuleBasis basis) {
+        this.basis = basis;
+    }
+
+    public BigDecimal getRate() {
+        return rate;
+    }
+
+    public void setRate(BigDecimal rate) {
+        this.rate = rate;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public Integer getCalculationOrder() {
+        return calculationOrder;
+    }
+
+    public void setCalculationOrder(Integer calculationOrder) {
+        this.calculationOrder = calculationOrder;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    // Helper methods
+    public PayrollRuleStage getStage() {
+        return component != null ? component.getStage() : null;
+    }
+
+    public boolean isPercentage() {
+        return calculationType == PayrollRuleType.PERCENTAGE;
+    }
+}
@@ -14,7 +14,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "payroll_runs")
+@Table(name = "payroll_runs", indexes = {
+    @Index(name = "idx_payroll_runs_org_created", columnList = "organization_id, created_at, id")
+})
 public class PayrollRun extends BaseEntity {
 
     @NotBlank(message = "Payroll run name is required")
@@ -58,6 +60,19 @@ public class PayrollRun extends BaseEntity {
     @Column(name = "employee_count")
     private Integer employeeCount = 0;
 
+    // Chunked processing progress (used to resume an interrupted run)
+    @Column(name = "employees_total")
+    private Integer employeesTotal = 0;
+
+    @Column(name = "employees_processed")
+    private Integer employeesProcessed = 0;
+
+    @Column(name = "chunks_completed")
+    private Integer chunksCompleted = 0;
+
+    @Column(name = "last_processed_employee_id")
+    private Long lastProcessedEmployeeId;
+
     @Column(name = "processed_at")
     private Instant processedAt;
 
@@ -192,6 +207,38 @@ public class PayrollRun extends BaseEntity {
         this.employeeCount = employeeCount;
     }
 
+    public Integer getEmployeesTotal() {
+        return employeesTotal;
+    }
+
+    public void setEmployeesTotal(Integer employeesTotal) {
+        this.employeesTotal = employeesTotal;
+    }
+
+    public Integer getEmployeesProcessed() {
+        return employeesProcessed;
+    }
+
+    public void setEmployeesProcessed(Integer employeesProcessed) {
+        this.employeesProcessed = employeesProcessed;
+    }
+
+    public Integer getChunksCompleted() {
+        return chunksCompleted;
+    }
+
+    public void setChunksCompleted(Integer chunksCompleted) {
+        this.chunksCompleted = chunksCompleted;
+    }
+
+    public Long getLastProcessedEmployeeId() {
+        return lastProcessedEmployeeId;
+    }
+
+    public void setLastProcessedEmployeeId(Long lastProcessedEmployeeId) {
+        this.lastProcessedEmployeeId = lastProcessedEmployeeId;
+    }
+
     public Instant getProcessedAt() {
         return processedAt;
     }
@@ -277,6 +324,11 @@ public class PayrollRun extends BaseEntity {
         return status == PayrollStatus.DRAFT || status == PayrollStatus.ERROR;
     }
 
+    public boolean canBeResumed() {
+        return status == PayrollStatus.PROCESSING
+            || (status == PayrollStatus.ERROR && lastProcessedEmployeeId != null);
+    }
+
     public boolean canBeApproved() {
         return status == PayrollStatus.CALCULATED;
     }
@@ -314,5 +366,31 @@ public class PayrollRun extends BaseEntity {
         
         this.employeeCount = payslips.size();
     }
+
+    public void resetProgress() {
+        this.totalGrossPay = BigDecimal.ZERO;
+        this.totalDeductions = BigDecimal.ZERO;
+        this.totalTaxes = BigDecimal.ZERO;
+        this.totalNetPay = BigDecimal.ZERO;
+        this.employeesProcessed = 0;
+        this.chunksCompleted = 0;
+        this.lastProcessedEmployeeId = null;
+    }
+
+    /**
+     * Fold a committed chunk of payslips into the running totals and advance the resume cursor.
+     * Employees of the chunk that already had a payslip are not counted again.
+     */
+    public void recordChunk(List<Payslip> chunkPayslips, Long lastEmployeeId) {
+        for (Payslip payslip : chunkPayslips) {
+            this.totalGrossPay = this.totalGrossPay.add(payslip.getGrossPay());
+            this.totalDeductions = this.totalDeductions.add(payslip.getTotalDeductions());
+            this.totalTaxes = this.totalTaxes.add(payslip.getTotalTaxes());
+            this.totalNetPay = this.totalNetPay.add(payslip.getNetPay());
+        }
+        this.employeesProcessed = this.employeesProcessed + chunkPayslips.size();
+        this.chunksCompleted = this.chunksCompleted + 1;
+        this.lastProcessedEmployeeId = lastEmployeeId;
+    }
 }
 
@@ -1,13 +1,18 @@
 package com.talentx.hrms.entity.security;
 
+import com.talentx.hrms.common.cache.CacheRegions;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PERMISSION)
 @Table(name = "permissions", uniqueConstraints = {
     @UniqueConstraint(columnNames = "name"),
     @UniqueConstraint(columnNames = "code")
@@ -1,14 +1,19 @@
 package com.talentx.hrms.entity.security;
 
+import com.talentx.hrms.common.cache.CacheRegions;
 import com.talentx.hrms.entity.core.Organization;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLE)
 @Table(name = "roles", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"organization_id", "code"})
 })
@@ -48,6 +53,7 @@ public class Role {
     private List<UserRole> userRoles = new ArrayList<>();
 
     @OneToMany(mappedBy = "role", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLE_PERMISSIONS)
     private List<RolePermission> rolePermissions = new ArrayList<>();
 
     // Constructors
@@ -1,10 +1,15 @@
 package com.talentx.hrms.entity.security;
 
 import com.talentx.hrms.common.BaseEntity;
+import com.talentx.hrms.common.cache.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.Instant;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.ROLE_PERMISSION)
 @Table(name = "role_permissions", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"role_id", "permission_id"})
 })
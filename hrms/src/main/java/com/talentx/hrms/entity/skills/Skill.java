@@ -1,11 +1,16 @@
 package com.talentx.hrms.entity.skills;
 
 import com.talentx.hrms.common.BaseEntity;
+import com.talentx.hrms.common.cache.CacheRegions;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.SKILL)
 @Table(name = "skills")
 @Getter
 @Setter
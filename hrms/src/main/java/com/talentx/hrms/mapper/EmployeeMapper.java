@@ -1,5 +1,6 @@
 package com.talentx.hrms.mapper;
 
+import com.talentx.hrms.dto.employee.EmployeeListRow;
 import com.talentx.hrms.dto.employee.EmployeeResponse;
 import com.talentx.hrms.entity.employee.Employee;
 import com.talentx.hrms.entity.enums.EmploymentStatus;
@@ -92,6 +93,78 @@ public class EmployeeMapper {
         return response;
     }
     
+    /**
+     * Map a list projection; fills the same fields as the entity mapping without touching any association
+     */
+    public EmployeeResponse toResponse(EmployeeListRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        EmployeeResponse response = new EmployeeResponse();
+        
+        // Basic employee information
+        response.setId(row.id());
+        response.setEmployeeNumber(row.employeeNumber());
+        response.setFirstName(row.firstName());
+        response.setMiddleName(row.middleName());
+        response.setLastName(row.lastName());
+        response.setFullName(buildFullName(row.firstName(), row.middleName(), row.lastName()));
+        response.setEmail(row.workEmail() != null ? row.workEmail() : row.personalEmail());
+        response.setPhone(row.phoneNumber());
+        response.setMobile(row.mobileNumber());
+        response.setDateOfBirth(row.dateOfBirth());
+        response.setGender(row.gender());
+        response.setNationality(row.nationality());
+        response.setMaritalStatus(row.maritalStatus());
+        
+        // Employment information
+        response.setHireDate(row.hireDate());
+        response.setTerminationDate(row.terminationDate());
+        response.setEmploymentStatus(row.employmentStatus());
+        response.setEmploymentType(row.employmentType());
+        response.setJobTitle(row.jobTitle());
+        response.setJobLevel(row.jobLevel());
+        response.setSalary(row.salaryAmount());
+        response.setSalaryCurrency(row.salaryCurrency());
+        response.setProbationEndDate(row.probationEndDate());
+        
+        // Status flags
+        response.setActive(row.employmentStatus() == EmploymentStatus.ACTIVE);
+        
+        // Organization information
+        response.setOrganizationId(row.organizationId());
+        response.setOrganizationName(row.organizationName());
+        
+        // Department information
+        if (row.departmentId() != null) {
+            response.setDepartmentId(row.departmentId());
+            response.setDepartmentName(row.departmentName());
+            response.setDepartmentCode(row.departmentCode());
+        }
+        
+        // Location information
+        if (row.locationId() != null) {
+            response.setLocationId(row.locationId());
+            response.setLocationName(row.locationName());
+        }
+        
+        // Manager information
+        if (row.managerId() != null) {
+            response.setManagerId(row.managerId());
+            response.setManagerName(buildFullName(row.managerFirstName(), row.managerMiddleName(), row.managerLastName()));
+            response.setManagerEmployeeNumber(row.managerEmployeeNumber());
+        }
+        
+        // User account information
+        if (row.userId() != null) {
+            response.setUserId(row.userId());
+            response.setUsername(row.username());
+        }
+        
+        return response;
+    }
+    
     private String buildFullName(String firstName, String middleName, String lastName) {
         StringBuilder fullName = new StringBuilder();
         
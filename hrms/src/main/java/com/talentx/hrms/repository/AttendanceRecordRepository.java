@@ -119,6 +119,30 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
                      @Param("startDate") LocalDate startDate,
                      @Param("endDate") LocalDate endDate);
 
+       // Get hours per employee and status for an organization in date range (bulk payroll aggregation)
+       @Query("SELECT ar.employee.id, ar.status, SUM(ar.totalHours), SUM(ar.overtimeHours) FROM AttendanceRecord ar " +
+                     "WHERE ar.employee.organization = :organization AND ar.attendanceDate BETWEEN :startDate AND :endDate " +
+                     "GROUP BY ar.employee.id, ar.status")
+       List<Object[]> sumHoursByEmployeeAndStatusForOrganization(@Param("organization") Organization organization,
+                     @Param("startDate") LocalDate startDate,
+                     @Param("endDate") LocalDate endDate);
+
+       // Get hours per status for a single employee in date range
+       @Query("SELECT ar.employee.id, ar.status, SUM(ar.totalHours), SUM(ar.overtimeHours) FROM AttendanceRecord ar " +
+                     "WHERE ar.employee = :employee AND ar.attendanceDate BETWEEN :startDate AND :endDate " +
+                     "GROUP BY ar.employee.id, ar.status")
+       List<Object[]> sumHoursByStatusForEmployee(@Param("employee") Employee employee,
+                     @Param("startDate") LocalDate startDate,
+                     @Param("endDate") LocalDate endDate);
+
+       // Get days and hours per employee and status for an organization in date range (compliance snapshot)
+       @Query("SELECT ar.employee.id, ar.status, COUNT(ar), SUM(ar.totalHours), SUM(ar.overtimeHours), " +
+                     "MAX(ar.totalHours) FROM AttendanceRecord ar WHERE ar.employee.organization.id = :organizationId " +
+                     "AND ar.attendanceDate BETWEEN :startDate AND :endDate GROUP BY ar.employee.id, ar.status")
+       List<Object[]> findComplianceTotals(@Param("organizationId") Long organizationId,
+                     @Param("startDate") LocalDate startDate,
+                     @Param("endDate") LocalDate endDate);
+
        // Get total overtime hours by employee in date range
        @Query("SELECT SUM(ar.overtimeHours) FROM AttendanceRecord ar WHERE ar.employee = :employee AND " +
                      "ar.attendanceDate BETWEEN :startDate AND :endDate")
@@ -170,5 +194,22 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
        List<Object[]> getDailyAttendanceSummaryByOrganization(@Param("organization") Organization organization,
                      @Param("startDate") LocalDate startDate,
                      @Param("endDate") LocalDate endDate);
-}
 
+       // First keyset page of attendance records, latest date first
+       @Query("SELECT ar FROM AttendanceRecord ar JOIN FETCH ar.employee " +
+                     "ORDER BY ar.attendanceDate DESC, ar.id DESC")
+       List<AttendanceRecord> findLatest(Pageable pageable);
+
+       // Keyset page of attendance records strictly after (attendance date, id) in latest-first order
+       @Query("SELECT ar FROM AttendanceRecord ar JOIN FETCH ar.employee " +
+                     "WHERE ar.attendanceDate < :attendanceDate OR (ar.attendanceDate = :attendanceDate AND ar.id < :id) " +
+                     "ORDER BY ar.attendanceDate DESC, ar.id DESC")
+       List<AttendanceRecord> findLatestBefore(@Param("attendanceDate") LocalDate attendanceDate,
+                     @Param("id") Long id,
+                     Pageable pageable);
+
+       // Employees who have checked in on a date
+       @Query("SELECT ar.employee.id FROM AttendanceRecord ar WHERE ar.attendanceDate = :date AND " +
+                     "ar.checkInTime IS NOT NULL")
+       List<Long> findCheckedInEmployeeIds(@Param("date") LocalDate date);
+}
@@ -111,5 +111,17 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
      */
     @Query("SELECT a FROM AuditLog a WHERE a.severity IN ('HIGH', 'CRITICAL') ORDER BY a.timestamp DESC")
     List<AuditLog> findHighSeverityEventsOrderByTimestampDesc(Pageable pageable);
+    
+    /**
+     * First keyset page of audit logs, newest first
+     */
+    @Query("SELECT a FROM AuditLog a ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLog> findLatest(Pageable pageable);
+    
+    /**
+     * Keyset page of audit logs strictly after (timestamp, id) in newest-first order
+     */
+    @Query("SELECT a FROM AuditLog a WHERE a.timestamp < :timestamp OR (a.timestamp = :timestamp AND a.id < :id) " +
+           "ORDER BY a.timestamp DESC, a.id DESC")
+    List<AuditLog> findLatestBefore(@Param("timestamp") Instant timestamp, @Param("id") Long id, Pageable pageable);
 }
-
@@ -99,6 +99,14 @@ public interface ComplianceCheckRepository extends JpaRepository<ComplianceCheck
                                                                @Param("startDate") LocalDate startDate, 
                                                                @Param("endDate") LocalDate endDate);
     
+    // Check counts of an organization in a date range grouped by (status, resolved, severity, rule category)
+    @Query("SELECT c.status, c.resolved, c.severity, r.ruleCategory, COUNT(c) FROM ComplianceCheck c JOIN c.rule r " +
+           "WHERE c.organization.id = :organizationId AND c.checkDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY c.status, c.resolved, c.severity, r.ruleCategory")
+    List<Object[]> countReportGroups(@Param("organizationId") Long organizationId,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate);
+    
     // Find latest check for a rule
     @Query("SELECT c FROM ComplianceCheck c WHERE c.complianceRule = :rule " +
            "ORDER BY c.checkDate DESC, c.checkedAt DESC")
@@ -192,5 +200,21 @@ public interface ComplianceCheckRepository extends JpaRepository<ComplianceCheck
     boolean existsByComplianceRuleAndEmployeeAndCheckDate(ComplianceRule complianceRule, 
                                                          Employee employee, 
                                                          LocalDate checkDate);
+    
+    // Due (rule id, organization id) pairs of active auto-checked rules: no check of the pair is scheduled after today
+    @Query("SELECT r.id, o.id FROM ComplianceRule r, Organization o WHERE r.isActive = true AND " +
+           "r.autoCheckEnabled = true AND r.checkFrequencyDays > 0 AND " +
+           "(r.effectiveDate IS NULL OR r.effectiveDate <= :today) AND (r.expiryDate IS NULL OR r.expiryDate >= :today) AND " +
+           "o.isActive = true AND NOT EXISTS (SELECT c.id FROM ComplianceCheck c WHERE c.rule = r AND " +
+           "c.organization = o AND c.nextCheckDate > :today) ORDER BY o.id, r.id")
+    List<Object[]> findDueRuleOrganizationPairs(@Param("today") LocalDate today);
+    
+    // Ids of the rules due for one organization (same conditions as findDueRuleOrganizationPairs)
+    @Query("SELECT r.id FROM ComplianceRule r WHERE r.isActive = true AND r.autoCheckEnabled = true AND " +
+           "r.checkFrequencyDays > 0 AND " +
+           "(r.effectiveDate IS NULL OR r.effectiveDate <= :today) AND (r.expiryDate IS NULL OR r.expiryDate >= :today) AND " +
+           "NOT EXISTS (SELECT c.id FROM ComplianceCheck c WHERE c.rule = r AND " +
+           "c.organization.id = :organizationId AND c.nextCheckDate > :today)")
+    List<Long> findDueRuleIdsForOrganization(@Param("organizationId") Long organizationId,
+                                             @Param("today") LocalDate today);
 }
-
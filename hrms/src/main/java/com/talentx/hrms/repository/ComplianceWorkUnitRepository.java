@@ -0,0 +1,72 @@
+package com.talentx.hrms.repository;
+
+import com.talentx.hrms.entity.compliance.ComplianceWorkUnit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ComplianceWorkUnitRepository extends JpaRepository<ComplianceWorkUnit, Long> {
+
+    // Units planned for a day, in every status
+    List<ComplianceWorkUnit> findByPlanDate(LocalDate planDate);
+
+    // Ids of units that are pending, or whose lease expired with attempts left, oldest first
+    @Query("SELECT u.id FROM ComplianceWorkUnit u WHERE u.attempts < :maxAttempts AND (u.status = 'PENDING' OR " +
+           "(u.status = 'LEASED' AND u.leaseExpiresAt < :now)) ORDER BY u.id")
+    List<Long> findClaimableIds(@Param("now") Instant now,
+                                @Param("maxAttempts") int maxAttempts,
+                                Pageable pageable);
+
+    // Take the lease of a unit if it is still claimable; returns 0 when another node got it first
+    @Modifying
+    @Query("UPDATE ComplianceWorkUnit u SET u.status = :leased, u.leaseOwner = :owner, " +
+           "u.leaseExpiresAt = :expiresAt, u.attempts = u.attempts + 1 WHERE u.id = :id AND " +
+           "u.attempts < :maxAttempts AND (u.status = 'PENDING' OR (u.status = 'LEASED' AND u.leaseExpiresAt < :now))")
+    int claim(@Param("id") Long id,
+              @Param("owner") String owner,
+              @Param("now") Instant now,
+              @Param("expiresAt") Instant expiresAt,
+              @Param("maxAttempts") int maxAttempts,
+              @Param("leased") ComplianceWorkUnit.Status leased);
+
+    // Mark a unit done; returns 0 when the lease was lost to another node
+    @Modifying
+    @Query("UPDATE ComplianceWorkUnit u SET u.status = :done, u.checksRecorded = :checksRecorded, " +
+           "u.completedAt = :completedAt, u.leaseExpiresAt = null, u.lastError = null WHERE u.id = :id AND " +
+           "u.leaseOwner = :owner AND u.status = 'LEASED'")
+    int complete(@Param("id") Long id,
+                 @Param("owner") String owner,
+                 @Param("checksRecorded") int checksRecorded,
+                 @Param("completedAt") Instant completedAt,
+                 @Param("done") ComplianceWorkUnit.Status done);
+
+    // Give up a lease after a failure: PENDING for another attempt, or FAILED once attempts are used up
+    @Modifying
+    @Query("UPDATE ComplianceWorkUnit u SET u.status = :status, u.leaseOwner = null, u.leaseExpiresAt = null, " +
+           "u.lastError = :lastError WHERE u.id = :id AND u.leaseOwner = :owner AND u.status = 'LEASED'")
+    int release(@Param("id") Long id,
+                @Param("owner") String owner,
+                @Param("status") ComplianceWorkUnit.Status status,
+                @Param("lastError") String lastError);
+
+    // Fail units whose last lease expired with no attempts left (their node died every time)
+    @Modifying
+    @Query("UPDATE ComplianceWorkUnit u SET u.status = :failed, u.lastError = 'Lease expired' WHERE " +
+           "u.status = 'LEASED' AND u.leaseExpiresAt < :now AND u.attempts >= :maxAttempts")
+    int failExpired(@Param("now") Instant now,
+                    @Param("maxAttempts") int maxAttempts,
+                    @Param("failed") ComplianceWorkUnit.Status failed);
+
+    // Remove units of past days
+    @Modifying
+    @Query("DELETE FROM ComplianceWorkUnit u WHERE u.planDate < :planDate")
+    int deleteByPlanDateBefore(@Param("planDate") LocalDate planDate);
+}
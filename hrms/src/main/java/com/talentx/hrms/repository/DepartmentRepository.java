@@ -1,11 +1,13 @@
 package com.talentx.hrms.repository;
 
+import com.talentx.hrms.dto.organization.DepartmentTreeRow;
 import com.talentx.hrms.entity.core.Department;
 import com.talentx.hrms.entity.core.Organization;
 import com.talentx.hrms.entity.core.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -64,5 +66,34 @@ public interface DepartmentRepository extends JpaRepository<Department, Long> {
     
     // Check if department code exists in organization
     boolean existsByCodeAndOrganization(String code, Organization organization);
+    
+    // Load the whole department tree of an organization as flat rows in one query
+    @Query("SELECT new com.talentx.hrms.dto.organization.DepartmentTreeRow(d.id, p.id, d.name, d.code, " +
+           "d.description, d.costCenter, m.id, u.username, d.path) FROM Department d " +
+           "LEFT JOIN d.parentDepartment p LEFT JOIN d.manager m LEFT JOIN m.user u " +
+           "WHERE d.organization.id = :organizationId ORDER BY d.id")
+    List<DepartmentTreeRow> findTreeRowsByOrganizationId(@Param("organizationId") Long organizationId);
+    
+    // Find a department and all departments below it by materialized path
+    @Query("SELECT d FROM Department d WHERE d.organization.id = :organizationId " +
+           "AND d.path LIKE CONCAT(:path, '%') ORDER BY d.path")
+    List<Department> findSubtreeByPath(@Param("organizationId") Long organizationId, @Param("path") String path);
+    
+    // Move a subtree by rewriting the path prefix of every department in it
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Department d SET d.path = CONCAT(:newPrefix, SUBSTRING(d.path, :oldPrefixLength + 1)) " +
+           "WHERE d.organization.id = :organizationId AND d.path LIKE CONCAT(:oldPrefix, '%')")
+    int replacePathPrefix(@Param("organizationId") Long organizationId,
+                          @Param("oldPrefix") String oldPrefix,
+                          @Param("oldPrefixLength") int oldPrefixLength,
+                          @Param("newPrefix") String newPrefix);
+    
+    // Set the materialized path of a single department
+    @Modifying
+    @Query("UPDATE Department d SET d.path = :path WHERE d.id = :id")
+    int updatePath(@Param("id") Long id, @Param("path") String path);
+    
+    // Organizations with departments whose materialized path has not been computed yet
+    @Query("SELECT DISTINCT d.organization.id FROM Department d WHERE d.path IS NULL")
+    List<Long> findOrganizationIdsWithMissingPaths();
 }
-
@@ -98,6 +98,15 @@ public interface EmployeeExitRepository extends JpaRepository<EmployeeExit, Long
                                              @Param("manager") Employee manager, 
                                              Pageable pageable);
 
+    // Find exits requiring approval by anyone up the reporting line or the department manager
+    @Query("SELECT e FROM EmployeeExit e JOIN e.employee emp LEFT JOIN emp.department d " +
+           "WHERE emp.organization = :organization AND e.status = 'INITIATED' AND " +
+           "((emp.reportingPath LIKE CONCAT(:path, '%') AND emp.reportingPath <> :path) OR d.manager = :manager)")
+    Page<EmployeeExit> findPendingInReportingLine(@Param("organization") Organization organization,
+                                                  @Param("manager") Employee manager,
+                                                  @Param("path") String path,
+                                                  Pageable pageable);
+
     // Find exits with upcoming last working day
     @Query("SELECT e FROM EmployeeExit e WHERE e.employee.organization = :organization AND " +
            "e.status = 'APPROVED' AND e.lastWorkingDay BETWEEN CURRENT_DATE AND :endDate")
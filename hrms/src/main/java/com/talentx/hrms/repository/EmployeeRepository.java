@@ -1,5 +1,7 @@
 package com.talentx.hrms.repository;
 
+import com.talentx.hrms.dto.employee.EmployeeListRow;
+import com.talentx.hrms.dto.employee.EmployeeSearchDocument;
 import com.talentx.hrms.entity.core.Department;
 import com.talentx.hrms.entity.core.Location;
 import com.talentx.hrms.entity.core.Organization;
@@ -10,18 +12,42 @@ import com.talentx.hrms.entity.enums.EmploymentType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
+       // Columns of the list responses with the associated names joined in one statement
+       String LIST_ROW_SELECT = "SELECT new com.talentx.hrms.dto.employee.EmployeeListRow(" +
+                     "e.id, e.employeeNumber, e.firstName, e.middleName, e.lastName, e.workEmail, e.personalEmail, " +
+                     "e.phoneNumber, e.mobileNumber, e.dateOfBirth, e.gender, e.nationality, e.maritalStatus, " +
+                     "e.hireDate, e.terminationDate, e.employmentStatus, e.employmentType, e.jobTitle, e.jobLevel, " +
+                     "e.salaryAmount, e.salaryCurrency, e.probationEndDate, o.id, o.name, d.id, d.name, d.code, " +
+                     "l.id, l.name, m.id, m.firstName, m.middleName, m.lastName, m.employeeNumber, u.id, u.username) " +
+                     "FROM Employee e JOIN e.organization o LEFT JOIN e.department d LEFT JOIN e.location l " +
+                     "LEFT JOIN e.manager m LEFT JOIN e.user u ";
+
+       // Filters of the comprehensive employee search
+       String SEARCH_CRITERIA = "(:name IS NULL OR LOWER(e.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
+                     "LOWER(e.lastName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
+                     "LOWER(CONCAT(e.firstName, ' ', e.lastName)) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
+                     "(:employeeNumber IS NULL OR LOWER(e.employeeNumber) LIKE LOWER(CONCAT('%', :employeeNumber, '%'))) AND " +
+                     "(:jobTitle IS NULL OR LOWER(e.jobTitle) LIKE LOWER(CONCAT('%', :jobTitle, '%'))) AND " +
+                     "(:department IS NULL OR e.department = :department) AND " +
+                     "(:location IS NULL OR e.location = :location) AND " +
+                     "(:employmentStatus IS NULL OR e.employmentStatus = :employmentStatus) AND " +
+                     "(:employmentType IS NULL OR e.employmentType = :employmentType)";
+
        // Find by employee number and organization
        Optional<Employee> findByEmployeeNumberAndOrganization(String employeeNumber, Organization organization);
 
@@ -60,6 +86,17 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
        @Query("SELECT e FROM Employee e WHERE e.organization = :organization AND e.employmentStatus = 'ACTIVE'")
        List<Employee> findActiveByOrganization(@Param("organization") Organization organization);
 
+       // Find the next chunk of active employees after the given id (keyset paging for payroll runs)
+       @Query("SELECT e FROM Employee e WHERE e.organization = :organization AND e.employmentStatus = 'ACTIVE' AND " +
+                     "e.id > :afterId ORDER BY e.id")
+       List<Employee> findActiveByOrganizationAfterId(@Param("organization") Organization organization,
+                     @Param("afterId") Long afterId,
+                     Pageable pageable);
+
+       // Count active employees by organization
+       @Query("SELECT COUNT(e) FROM Employee e WHERE e.organization = :organization AND e.employmentStatus = 'ACTIVE'")
+       long countActiveByOrganization(@Param("organization") Organization organization);
+
        // Find employees by employment type
        List<Employee> findByOrganizationAndEmploymentType(Organization organization, EmploymentType employmentType);
 
@@ -89,17 +126,7 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
                      Pageable pageable);
 
        // Find employees with comprehensive search
-       @Query("SELECT e FROM Employee e WHERE e.organization = :organization AND " +
-                     "(:name IS NULL OR LOWER(e.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
-                     "LOWER(e.lastName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
-                     "LOWER(CONCAT(e.firstName, ' ', e.lastName)) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
-                     "(:employeeNumber IS NULL OR LOWER(e.employeeNumber) LIKE LOWER(CONCAT('%', :employeeNumber, '%'))) AND "
-                     +
-                     "(:jobTitle IS NULL OR LOWER(e.jobTitle) LIKE LOWER(CONCAT('%', :jobTitle, '%'))) AND " +
-                     "(:department IS NULL OR e.department = :department) AND " +
-                     "(:location IS NULL OR e.location = :location) AND " +
-                     "(:employmentStatus IS NULL OR e.employmentStatus = :employmentStatus) AND " +
-                     "(:employmentType IS NULL OR e.employmentType = :employmentType)")
+       @Query("SELECT e FROM Employee e WHERE e.organization = :organization AND " + SEARCH_CRITERIA)
        Page<Employee> findBySearchCriteria(@Param("organization") Organization organization,
                      @Param("name") String name,
                      @Param("employeeNumber") String employeeNumber,
@@ -200,5 +227,130 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
 
        // Find employee by user
        Optional<Employee> findByUser(User user);
-}
 
+       // Load the reporting lines of an organization as (id, manager id, reporting path) rows
+       @Query("SELECT e.id, m.id, e.reportingPath FROM Employee e LEFT JOIN e.manager m " +
+                     "WHERE e.organization.id = :organizationId ORDER BY e.id")
+       List<Object[]> findReportingRowsByOrganizationId(@Param("organizationId") Long organizationId);
+
+       // Find everyone reporting to a manager at any depth by reporting path prefix
+       @Query("SELECT e FROM Employee e WHERE e.organization.id = :organizationId AND " +
+                     "e.reportingPath LIKE CONCAT(:path, '%') AND e.reportingPath <> :path")
+       Page<Employee> findAllReportsByReportingPath(@Param("organizationId") Long organizationId,
+                     @Param("path") String path, Pageable pageable);
+
+       // Count everyone reporting to a manager at any depth
+       @Query("SELECT COUNT(e) FROM Employee e WHERE e.organization.id = :organizationId AND " +
+                     "e.reportingPath LIKE CONCAT(:path, '%') AND e.reportingPath <> :path")
+       long countAllReportsByReportingPath(@Param("organizationId") Long organizationId, @Param("path") String path);
+
+       // Move a reporting line by rewriting the path prefix of everyone in it
+       @Modifying(flushAutomatically = true)
+       @Query("UPDATE Employee e SET e.reportingPath = CONCAT(:newPrefix, SUBSTRING(e.reportingPath, :oldPrefixLength + 1)) " +
+                     "WHERE e.organization.id = :organizationId AND e.reportingPath LIKE CONCAT(:oldPrefix, '%')")
+       int replaceReportingPathPrefix(@Param("organizationId") Long organizationId,
+                     @Param("oldPrefix") String oldPrefix,
+                     @Param("oldPrefixLength") int oldPrefixLength,
+                     @Param("newPrefix") String newPrefix);
+
+       // Set the reporting path of a single employee
+       @Modifying
+       @Query("UPDATE Employee e SET e.reportingPath = :path WHERE e.id = :id")
+       int updateReportingPath(@Param("id") Long id, @Param("path") String path);
+
+       // Organizations with employees whose reporting path has not been computed yet
+       @Query("SELECT DISTINCT e.organization.id FROM Employee e WHERE e.reportingPath IS NULL")
+       List<Long> findOrganizationIdsWithMissingReportingPaths();
+
+       // Load the searchable fields of employees changed since a point in time
+       @Query("SELECT new com.talentx.hrms.dto.employee.EmployeeSearchDocument(e.id, e.organization.id, e.firstName, " +
+                     "e.lastName, e.employeeNumber, e.jobTitle, d.id, l.id, e.employmentStatus, e.employmentType) " +
+                     "FROM Employee e LEFT JOIN e.department d LEFT JOIN e.location l " +
+                     "WHERE e.updatedAt IS NULL OR e.updatedAt >= :since")
+       List<EmployeeSearchDocument> findSearchDocumentsUpdatedSince(@Param("since") Timestamp since);
+
+       // Ids of all employees
+       @Query("SELECT e.id FROM Employee e")
+       List<Long> findAllIds();
+
+       // List rows of the employees with the given ids
+       @Query(LIST_ROW_SELECT + "WHERE e.id IN :ids")
+       List<EmployeeListRow> findListRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+       // List rows of the employees with the given ids with database-side sorting and paging
+       @Query(value = LIST_ROW_SELECT + "WHERE e.id IN :ids",
+                     countQuery = "SELECT COUNT(e) FROM Employee e WHERE e.id IN :ids")
+       Page<EmployeeListRow> findListRowsByIdIn(@Param("ids") Collection<Long> ids, Pageable pageable);
+
+       // List rows of an organization's employees
+       @Query(value = LIST_ROW_SELECT + "WHERE e.organization = :organization",
+                     countQuery = "SELECT COUNT(e) FROM Employee e WHERE e.organization = :organization")
+       Page<EmployeeListRow> findListRowsByOrganization(@Param("organization") Organization organization,
+                     Pageable pageable);
+
+       // List rows of a department's employees
+       @Query(value = LIST_ROW_SELECT + "WHERE e.department = :department",
+                     countQuery = "SELECT COUNT(e) FROM Employee e WHERE e.department = :department")
+       Page<EmployeeListRow> findListRowsByDepartment(@Param("department") Department department, Pageable pageable);
+
+       // List rows of a manager's direct reports
+       @Query(LIST_ROW_SELECT + "WHERE e.manager = :manager")
+       List<EmployeeListRow> findListRowsByManager(@Param("manager") Employee manager);
+
+       // List rows of everyone reporting to a manager at any depth by reporting path prefix
+       @Query(value = LIST_ROW_SELECT + "WHERE e.organization.id = :organizationId AND " +
+                     "e.reportingPath LIKE CONCAT(:path, '%') AND e.reportingPath <> :path",
+                     countQuery = "SELECT COUNT(e) FROM Employee e WHERE e.organization.id = :organizationId AND " +
+                     "e.reportingPath LIKE CONCAT(:path, '%') AND e.reportingPath <> :path")
+       Page<EmployeeListRow> findListRowsByReportingPath(@Param("organizationId") Long organizationId,
+                     @Param("path") String path, Pageable pageable);
+
+       // List rows of employees matching the search criteria
+       @Query(value = LIST_ROW_SELECT + "WHERE e.organization = :organization AND " + SEARCH_CRITERIA,
+                     countQuery = "SELECT COUNT(e) FROM Employee e WHERE e.organization = :organization AND " +
+                     SEARCH_CRITERIA)
+       Page<EmployeeListRow> findListRowsBySearchCriteria(@Param("organization") Organization organization,
+                     @Param("name") String name,
+                     @Param("employeeNumber") String employeeNumber,
+                     @Param("jobTitle") String jobTitle,
+                     @Param("department") Department department,
+                     @Param("location") Location location,
+                     @Param("employmentStatus") EmploymentStatus employmentStatus,
+                     @Param("employmentType") EmploymentType employmentType,
+                     Pageable pageable);
+
+       // List rows of employees on probation
+       @Query(LIST_ROW_SELECT + "WHERE e.organization = :organization AND " +
+                     "e.probationEndDate IS NOT NULL AND e.probationEndDate > CURRENT_DATE")
+       List<EmployeeListRow> findListRowsOnProbation(@Param("organization") Organization organization);
+
+       // List rows of employees with upcoming probation end dates
+       @Query(LIST_ROW_SELECT + "WHERE e.organization = :organization AND " +
+                     "e.probationEndDate BETWEEN CURRENT_DATE AND :endDate")
+       List<EmployeeListRow> findListRowsWithUpcomingProbationEnd(@Param("organization") Organization organization,
+                     @Param("endDate") LocalDate endDate);
+
+       // List rows of employees with birthdays in month
+       @Query(LIST_ROW_SELECT + "WHERE e.organization = :organization AND MONTH(e.dateOfBirth) = :month")
+       List<EmployeeListRow> findListRowsByBirthdayMonth(@Param("organization") Organization organization,
+                     @Param("month") int month);
+
+       // List rows of managers (employees who have direct reports)
+       @Query(LIST_ROW_SELECT + "WHERE e.organization = :organization AND " +
+                     "EXISTS (SELECT dr FROM Employee dr WHERE dr.manager = e)")
+       List<EmployeeListRow> findListRowsOfManagers(@Param("organization") Organization organization);
+
+       // Employee and organization ids of active employees, for the attendance roster
+       @Query("SELECT e.id, e.organization.id FROM Employee e WHERE e.employmentStatus = 'ACTIVE'")
+       List<Object[]> findActiveRosterRows();
+
+       // Employee and organization id of one employee, for the attendance roster
+       @Query("SELECT e.id, e.organization.id FROM Employee e WHERE e.id = :id")
+       List<Object[]> findRosterRowsById(@Param("id") Long id);
+
+       // Wage, tenure and statutory-id facts of an organization's active employees, for the compliance snapshot
+       @Query("SELECT e.id, e.employeeNumber, e.salaryAmount, e.hourlyRate, e.hireDate, e.dateOfBirth, e.pfNumber, " +
+                     "e.uanNumber FROM Employee e WHERE e.organization.id = :organizationId AND " +
+                     "e.employmentStatus = 'ACTIVE' ORDER BY e.id")
+       List<Object[]> findComplianceRowsByOrganizationId(@Param("organizationId") Long organizationId);
+}
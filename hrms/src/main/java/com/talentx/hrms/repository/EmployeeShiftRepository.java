@@ -106,4 +106,17 @@ public interface EmployeeShiftRepository extends JpaRepository<EmployeeShift, Lo
     List<EmployeeShift> findExpiringSoon(@Param("organization") Organization organization,
                                          @Param("startDate") LocalDate startDate,
                                          @Param("endDate") LocalDate endDate);
+
+    // Employee id, shift start time and grace period of the assignments in effect on a date, oldest first
+    @Query("SELECT es.employee.id, s.startTime, s.gracePeriodMinutes FROM EmployeeShift es JOIN es.shift s " +
+           "WHERE es.effectiveFrom <= :date AND (es.effectiveTo IS NULL OR es.effectiveTo >= :date) " +
+           "ORDER BY es.effectiveFrom")
+    List<Object[]> findRosterRowsByDate(@Param("date") LocalDate date);
+
+    // Shift start time and grace period of an employee's assignments in effect on a date, oldest first
+    @Query("SELECT es.employee.id, s.startTime, s.gracePeriodMinutes FROM EmployeeShift es JOIN es.shift s " +
+           "WHERE es.employee.id = :employeeId AND es.effectiveFrom <= :date AND " +
+           "(es.effectiveTo IS NULL OR es.effectiveTo >= :date) ORDER BY es.effectiveFrom")
+    List<Object[]> findRosterRowsByEmployeeIdAndDate(@Param("employeeId") Long employeeId,
+                                                     @Param("date") LocalDate date);
 }
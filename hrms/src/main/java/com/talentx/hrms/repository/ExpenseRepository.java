@@ -155,6 +155,15 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
            "(e.employee.manager = :manager OR e.employee.department.manager = :manager)")
     Page<Expense> findPendingForApproval(@Param("organization") Organization organization, @Param("manager") Employee manager, Pageable pageable);
 
+    // Find expenses requiring approval by anyone up the reporting line or the department manager
+    @Query("SELECT e FROM Expense e JOIN e.employee emp LEFT JOIN emp.department d " +
+           "WHERE e.organization = :organization AND e.status = 'SUBMITTED' AND " +
+           "((emp.reportingPath LIKE CONCAT(:path, '%') AND emp.reportingPath <> :path) OR d.manager = :manager)")
+    Page<Expense> findPendingInReportingLine(@Param("organization") Organization organization,
+                                             @Param("manager") Employee manager,
+                                             @Param("path") String path,
+                                             Pageable pageable);
+
     // Find expenses by month and year
     @Query("SELECT e FROM Expense e WHERE e.organization = :organization AND " +
            "YEAR(e.expenseDate) = :year AND MONTH(e.expenseDate) = :month")
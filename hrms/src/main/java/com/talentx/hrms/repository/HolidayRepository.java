@@ -94,6 +94,13 @@ public interface HolidayRepository extends JpaRepository<Holiday, Long> {
     long countMandatoryByOrganizationAndYear(@Param("organization") Organization organization,
                                              @Param("year") int year);
     
+    // Holiday dates of an organization in a date range, for the working-day calendar
+    @Query("SELECT h.holidayDate FROM Holiday h WHERE h.organization.id = :organizationId AND " +
+           "h.holidayDate BETWEEN :startDate AND :endDate")
+    List<LocalDate> findHolidayDatesByOrganizationId(@Param("organizationId") Long organizationId,
+                                                     @Param("startDate") LocalDate startDate,
+                                                     @Param("endDate") LocalDate endDate);
+    
     // Find holidays by month
     @Query("SELECT h FROM Holiday h WHERE h.organization = :organization AND " +
            "YEAR(h.holidayDate) = :year AND MONTH(h.holidayDate) = :month ORDER BY h.holidayDate")
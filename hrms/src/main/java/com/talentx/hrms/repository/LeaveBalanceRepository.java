@@ -4,15 +4,18 @@ import com.talentx.hrms.entity.core.Organization;
 import com.talentx.hrms.entity.employee.Employee;
 import com.talentx.hrms.entity.leave.LeaveBalance;
 import com.talentx.hrms.entity.leave.LeaveType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,27 +46,23 @@ public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long
     
     // Find leave balances with remaining days greater than zero
     @Query("SELECT lb FROM LeaveBalance lb WHERE lb.employee.organization = :organization AND " +
-           "(lb.allocatedDays + lb.carryForwardDays + lb.adjustmentDays - lb.usedDays - lb.pendingDays) > 0")
+           "(lb.allocatedDays + lb.carriedForwardDays - lb.usedDays - lb.pendingDays) > 0")
     List<LeaveBalance> findWithRemainingDaysByOrganization(@Param("organization") Organization organization);
     
     // Find leave balances with no remaining days
     @Query("SELECT lb FROM LeaveBalance lb WHERE lb.employee.organization = :organization AND " +
-           "(lb.allocatedDays + lb.carryForwardDays + lb.adjustmentDays - lb.usedDays - lb.pendingDays) <= 0")
+           "(lb.allocatedDays + lb.carriedForwardDays - lb.usedDays - lb.pendingDays) <= 0")
     List<LeaveBalance> findWithNoRemainingDaysByOrganization(@Param("organization") Organization organization);
     
     // Find leave balances by employee with remaining days
     @Query("SELECT lb FROM LeaveBalance lb WHERE lb.employee = :employee AND " +
-           "(lb.allocatedDays + lb.carryForwardDays + lb.adjustmentDays - lb.usedDays - lb.pendingDays) > 0")
+           "(lb.allocatedDays + lb.carriedForwardDays - lb.usedDays - lb.pendingDays) > 0")
     List<LeaveBalance> findByEmployeeWithRemainingDays(@Param("employee") Employee employee);
     
     // Find leave balances with carry forward days
-    @Query("SELECT lb FROM LeaveBalance lb WHERE lb.employee.organization = :organization AND lb.carryForwardDays > 0")
+    @Query("SELECT lb FROM LeaveBalance lb WHERE lb.employee.organization = :organization AND lb.carriedForwardDays > 0")
     List<LeaveBalance> findWithCarryForwardDaysByOrganization(@Param("organization") Organization organization);
     
-    // Find leave balances with adjustments
-    @Query("SELECT lb FROM LeaveBalance lb WHERE lb.employee.organization = :organization AND lb.adjustmentDays != 0")
-    List<LeaveBalance> findWithAdjustmentsByOrganization(@Param("organization") Organization organization);
-    
     // Find leave balances by department
     @Query("SELECT lb FROM LeaveBalance lb WHERE lb.employee.department.id = :departmentId AND lb.year = :year")
     List<LeaveBalance> findByDepartmentAndYear(@Param("departmentId") Long departmentId, @Param("year") Integer year);
@@ -80,21 +79,44 @@ public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long
     @Query("SELECT SUM(lb.pendingDays) FROM LeaveBalance lb WHERE lb.employee.organization = :organization AND lb.year = :year")
     BigDecimal getTotalPendingDaysByOrganizationAndYear(@Param("organization") Organization organization, @Param("year") Integer year);
     
-    // Update used days
+    // Reserve pending days only while enough days remain; returns 0 when the balance is missing or insufficient
     @Modifying
-    @Query("UPDATE LeaveBalance lb SET lb.usedDays = :usedDays WHERE lb.employee = :employee AND lb.leaveType = :leaveType AND lb.year = :year")
-    void updateUsedDays(@Param("employee") Employee employee, 
-                       @Param("leaveType") LeaveType leaveType, 
-                       @Param("year") Integer year, 
-                       @Param("usedDays") BigDecimal usedDays);
-    
-    // Update pending days
+    @Query("UPDATE LeaveBalance lb SET lb.pendingDays = COALESCE(lb.pendingDays, 0) + :days, " +
+           "lb.version = COALESCE(lb.version, 0) + 1, lb.updatedAt = :now " +
+           "WHERE lb.employee.id = :employeeId AND lb.leaveType.id = :leaveTypeId AND lb.year = :year AND " +
+           "(COALESCE(lb.allocatedDays, 0) + COALESCE(lb.carriedForwardDays, 0) - COALESCE(lb.usedDays, 0) " +
+           "- COALESCE(lb.pendingDays, 0)) >= :days")
+    int reservePendingDays(@Param("employeeId") Long employeeId,
+                           @Param("leaveTypeId") Long leaveTypeId,
+                           @Param("year") Integer year,
+                           @Param("days") BigDecimal days,
+                           @Param("now") Instant now);
+    
+    // Add signed deltas to the balance counters in place; returns 0 when the balance is missing
     @Modifying
-    @Query("UPDATE LeaveBalance lb SET lb.pendingDays = :pendingDays WHERE lb.employee = :employee AND lb.leaveType = :leaveType AND lb.year = :year")
-    void updatePendingDays(@Param("employee") Employee employee, 
-                          @Param("leaveType") LeaveType leaveType, 
-                          @Param("year") Integer year, 
-                          @Param("pendingDays") BigDecimal pendingDays);
+    @Query("UPDATE LeaveBalance lb SET " +
+           "lb.allocatedDays = COALESCE(lb.allocatedDays, 0) + :allocatedDelta, " +
+           "lb.carriedForwardDays = COALESCE(lb.carriedForwardDays, 0) + :carriedForwardDelta, " +
+           "lb.pendingDays = COALESCE(lb.pendingDays, 0) + :pendingDelta, " +
+           "lb.usedDays = COALESCE(lb.usedDays, 0) + :usedDelta, " +
+           "lb.version = COALESCE(lb.version, 0) + 1, lb.updatedAt = :now " +
+           "WHERE lb.employee.id = :employeeId AND lb.leaveType.id = :leaveTypeId AND lb.year = :year")
+    int applyDeltas(@Param("employeeId") Long employeeId,
+                    @Param("leaveTypeId") Long leaveTypeId,
+                    @Param("year") Integer year,
+                    @Param("allocatedDelta") BigDecimal allocatedDelta,
+                    @Param("carriedForwardDelta") BigDecimal carriedForwardDelta,
+                    @Param("pendingDelta") BigDecimal pendingDelta,
+                    @Param("usedDelta") BigDecimal usedDelta,
+                    @Param("now") Instant now);
+    
+    // Lock a balance row until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT lb FROM LeaveBalance lb WHERE lb.employee.id = :employeeId AND lb.leaveType.id = :leaveTypeId AND " +
+           "lb.year = :year")
+    Optional<LeaveBalance> findForUpdate(@Param("employeeId") Long employeeId,
+                                         @Param("leaveTypeId") Long leaveTypeId,
+                                         @Param("year") Integer year);
     
     // Count leave balances by organization and year
     long countByEmployeeOrganizationAndYear(Organization organization, Integer year);
@@ -109,16 +131,25 @@ public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long
     // Find leave balances that need carry forward processing
     @Query("SELECT lb FROM LeaveBalance lb WHERE lb.employee.organization = :organization AND lb.year = :year AND " +
            "lb.leaveType.isCarryForward = true AND " +
-           "(lb.allocatedDays + lb.carryForwardDays + lb.adjustmentDays - lb.usedDays - lb.pendingDays) > 0")
+           "(lb.allocatedDays + lb.carriedForwardDays - lb.usedDays - lb.pendingDays) > 0")
     List<LeaveBalance> findEligibleForCarryForward(@Param("organization") Organization organization, @Param("year") Integer year);
     
     // Get leave balance summary by employee and year
     @Query("SELECT lb.leaveType.name, lb.allocatedDays, lb.usedDays, lb.pendingDays, " +
-           "(lb.allocatedDays + lb.carryForwardDays + lb.adjustmentDays - lb.usedDays - lb.pendingDays) as remainingDays " +
+           "(lb.allocatedDays + lb.carriedForwardDays - lb.usedDays - lb.pendingDays) as remainingDays " +
            "FROM LeaveBalance lb WHERE lb.employee = :employee AND lb.year = :year")
     List<Object[]> getLeaveBalanceSummaryByEmployeeAndYear(@Param("employee") Employee employee, @Param("year") Integer year);
     
     // Check if leave balance exists
     boolean existsByEmployeeAndLeaveTypeAndYear(Employee employee, LeaveType leaveType, Integer year);
+    
+    // Check if leave balance exists by ids
+    boolean existsByEmployeeIdAndLeaveTypeIdAndYear(Long employeeId, Long leaveTypeId, Integer year);
+
+    // Per-employee balance totals across leave types for a year (compliance snapshot)
+    @Query("SELECT lb.employee.id, SUM(lb.allocatedDays), SUM(lb.carriedForwardDays), SUM(lb.usedDays), " +
+           "SUM(lb.pendingDays) FROM LeaveBalance lb WHERE lb.employee.organization.id = :organizationId AND " +
+           "lb.year = :year GROUP BY lb.employee.id")
+    List<Object[]> findComplianceTotals(@Param("organizationId") Long organizationId, @Param("year") Integer year);
 }
 
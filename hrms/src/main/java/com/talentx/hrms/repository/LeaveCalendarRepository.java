@@ -92,6 +92,13 @@ public interface LeaveCalendarRepository extends JpaRepository<LeaveCalendar, Lo
        List<LeaveCalendar> getYearlyCalendar(@Param("organization") Organization organization,
                      @Param("year") int year);
 
+       // Day types of an organization in a date range as (calendarDate, dayType), for the working-day calendar
+       @Query("SELECT lc.calendarDate, lc.dayType FROM LeaveCalendar lc WHERE lc.organization.id = :organizationId AND " +
+                     "lc.calendarDate BETWEEN :startDate AND :endDate")
+       List<Object[]> findDayTypesByOrganizationId(@Param("organizationId") Long organizationId,
+                     @Param("startDate") LocalDate startDate,
+                     @Param("endDate") LocalDate endDate);
+
        // Check if holiday exists for organization and date
        boolean existsByOrganizationAndCalendarDate(Organization organization, LocalDate calendarDate);
 }
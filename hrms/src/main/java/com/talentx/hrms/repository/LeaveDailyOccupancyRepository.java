@@ -0,0 +1,59 @@
+package com.talentx.hrms.repository;
+
+import com.talentx.hrms.entity.leave.LeaveDailyOccupancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface LeaveDailyOccupancyRepository extends JpaRepository<LeaveDailyOccupancy, Long> {
+
+    // Dates of a range that already have a row for the department, leave type and slot
+    @Query("SELECT o.leaveDate FROM LeaveDailyOccupancy o WHERE o.organizationId = :organizationId AND " +
+           "o.departmentId = :departmentId AND o.leaveTypeId = :leaveTypeId AND o.slot = :slot AND " +
+           "o.leaveDate BETWEEN :startDate AND :endDate")
+    List<LocalDate> findExistingDates(@Param("organizationId") Long organizationId,
+                                      @Param("departmentId") Long departmentId,
+                                      @Param("leaveTypeId") Long leaveTypeId,
+                                      @Param("slot") Integer slot,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    // Add to the counts of every date of a range in one statement
+    @Modifying
+    @Query("UPDATE LeaveDailyOccupancy o SET o.approvedCount = o.approvedCount + :approvedDelta, " +
+           "o.pendingCount = o.pendingCount + :pendingDelta WHERE o.organizationId = :organizationId AND " +
+           "o.departmentId = :departmentId AND o.leaveTypeId = :leaveTypeId AND o.slot = :slot AND " +
+           "o.leaveDate BETWEEN :startDate AND :endDate")
+    int applyDeltas(@Param("organizationId") Long organizationId,
+                    @Param("departmentId") Long departmentId,
+                    @Param("leaveTypeId") Long leaveTypeId,
+                    @Param("slot") Integer slot,
+                    @Param("startDate") LocalDate startDate,
+                    @Param("endDate") LocalDate endDate,
+                    @Param("approvedDelta") int approvedDelta,
+                    @Param("pendingDelta") int pendingDelta);
+
+    // Approved and pending counts per date and leave type: date, leave type id, approved, pending
+    @Query("SELECT o.leaveDate, o.leaveTypeId, SUM(o.approvedCount), SUM(o.pendingCount) " +
+           "FROM LeaveDailyOccupancy o WHERE o.organizationId = :organizationId AND " +
+           "(:departmentId IS NULL OR o.departmentId = :departmentId) AND " +
+           "o.leaveDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY o.leaveDate, o.leaveTypeId " +
+           "HAVING SUM(o.approvedCount) > 0 OR SUM(o.pendingCount) > 0 " +
+           "ORDER BY o.leaveDate, o.leaveTypeId")
+    List<Object[]> findDailyCounts(@Param("organizationId") Long organizationId,
+                                   @Param("departmentId") Long departmentId,
+                                   @Param("startDate") LocalDate startDate,
+                                   @Param("endDate") LocalDate endDate);
+
+    // Drop an organization's rows before they are rebuilt
+    @Modifying
+    @Query("DELETE FROM LeaveDailyOccupancy o WHERE o.organizationId = :organizationId")
+    int deleteByOrganizationId(@Param("organizationId") Long organizationId);
+}
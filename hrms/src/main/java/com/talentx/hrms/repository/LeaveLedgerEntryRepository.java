@@ -0,0 +1,19 @@
+package com.talentx.hrms.repository;
+
+import com.talentx.hrms.entity.leave.LeaveLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface LeaveLedgerEntryRepository extends JpaRepository<LeaveLedgerEntry, Long> {
+
+    // Entries of an employee's balances for a year in the order they were written
+    @Query("SELECT le FROM LeaveLedgerEntry le JOIN FETCH le.leaveType WHERE le.employee.id = :employeeId AND " +
+           "le.year = :year ORDER BY le.id")
+    List<LeaveLedgerEntry> findByEmployeeIdAndYear(@Param("employeeId") Long employeeId,
+                                                   @Param("year") Integer year);
+}
@@ -0,0 +1,53 @@
+package com.talentx.hrms.repository;
+
+import com.talentx.hrms.entity.enums.LeaveStatus;
+import com.talentx.hrms.entity.leave.LeaveRequestCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface LeaveRequestCounterRepository extends JpaRepository<LeaveRequestCounter, Long> {
+
+    // Check whether the counter row of a key exists
+    boolean existsByOrganizationIdAndYearAndDepartmentIdAndLeaveTypeIdAndStatusAndSlot(Long organizationId,
+                                                                                     Integer year,
+                                                                                     Long departmentId,
+                                                                                     Long leaveTypeId,
+                                                                                     LeaveStatus status,
+                                                                                     Integer slot);
+
+    // Add to the request count and days of a key
+    @Modifying
+    @Query("UPDATE LeaveRequestCounter c SET c.requestCount = c.requestCount + :countDelta, " +
+           "c.totalDays = c.totalDays + :daysDelta WHERE c.organizationId = :organizationId AND " +
+           "c.year = :year AND c.departmentId = :departmentId AND c.leaveTypeId = :leaveTypeId AND " +
+           "c.status = :status AND c.slot = :slot")
+    int applyDeltas(@Param("organizationId") Long organizationId,
+                    @Param("year") Integer year,
+                    @Param("departmentId") Long departmentId,
+                    @Param("leaveTypeId") Long leaveTypeId,
+                    @Param("status") LeaveStatus status,
+                    @Param("slot") Integer slot,
+                    @Param("countDelta") long countDelta,
+                    @Param("daysDelta") BigDecimal daysDelta);
+
+    // Request counts and days of a year per leave type and status: leave type id, status, count, days
+    @Query("SELECT c.leaveTypeId, c.status, SUM(c.requestCount), SUM(c.totalDays) " +
+           "FROM LeaveRequestCounter c WHERE c.organizationId = :organizationId AND c.year = :year AND " +
+           "(:departmentId IS NULL OR c.departmentId = :departmentId) " +
+           "GROUP BY c.leaveTypeId, c.status")
+    List<Object[]> findYearTotals(@Param("organizationId") Long organizationId,
+                                  @Param("year") Integer year,
+                                  @Param("departmentId") Long departmentId);
+
+    // Drop an organization's rows before they are rebuilt
+    @Modifying
+    @Query("DELETE FROM LeaveRequestCounter c WHERE c.organizationId = :organizationId")
+    int deleteByOrganizationId(@Param("organizationId") Long organizationId);
+}
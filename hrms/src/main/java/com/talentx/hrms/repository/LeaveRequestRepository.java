@@ -8,6 +8,7 @@ import com.talentx.hrms.entity.leave.LeaveType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -84,6 +85,11 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.manager = :manager AND lr.status = 'PENDING'")
     List<LeaveRequest> findPendingByManager(@Param("manager") Employee manager);
     
+    // Find pending leave requests of everyone in a manager's reporting line, at any depth
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.organization.id = :organizationId AND " +
+           "lr.employee.reportingPath LIKE CONCAT(:path, '%') AND lr.employee.reportingPath <> :path AND lr.status = 'PENDING'")
+    List<LeaveRequest> findPendingInReportingLine(@Param("organizationId") Long organizationId, @Param("path") String path);
+    
     // Find leave requests by department
     @Query("SELECT lr FROM LeaveRequest lr WHERE lr.employee.department.id = :departmentId")
     Page<LeaveRequest> findByDepartmentId(@Param("departmentId") Long departmentId, Pageable pageable);
@@ -143,5 +149,23 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
                                            @Param("startDate") LocalDate startDate,
                                            @Param("endDate") LocalDate endDate,
                                            Pageable pageable);
+    
+    // Record the employee's current department on requests made before departments were recorded
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LeaveRequest lr SET lr.department = " +
+           "(SELECT e.department FROM Employee e WHERE e.id = lr.employee.id) " +
+           "WHERE lr.department IS NULL AND lr.employee.id IN " +
+           "(SELECT e.id FROM Employee e WHERE e.organization.id = :organizationId)")
+    int recordMissingDepartments(@Param("organizationId") Long organizationId);
+    
+    // Fields the leave statistics are built from: id, department id, leave type id, status, start date,
+    // end date and total days
+    @Query("SELECT lr.id, lr.department.id, lr.leaveType.id, lr.status, lr.startDate, lr.endDate, lr.totalDays " +
+           "FROM LeaveRequest lr WHERE lr.employee.organization.id = :organizationId")
+    List<Object[]> findStatisticsRowsByOrganizationId(@Param("organizationId") Long organizationId);
+    
+    // Organizations with leave requests but no leave statistics yet
+    @Query("SELECT DISTINCT lr.employee.organization.id FROM LeaveRequest lr WHERE NOT EXISTS " +
+           "(SELECT c.id FROM LeaveRequestCounter c WHERE c.organizationId = lr.employee.organization.id)")
+    List<Long> findOrganizationIdsWithoutStatistics();
 }
-
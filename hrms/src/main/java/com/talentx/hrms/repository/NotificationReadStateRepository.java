@@ -0,0 +1,23 @@
+package com.talentx.hrms.repository;
+
+import com.talentx.hrms.entity.analytics.NotificationReadState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface NotificationReadStateRepository extends JpaRepository<NotificationReadState, Long> {
+
+    // Read state of a user
+    Optional<NotificationReadState> findByUserId(Long userId);
+
+    // Lock a user's read state until the transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM NotificationReadState s WHERE s.userId = :userId")
+    Optional<NotificationReadState> findForUpdate(@Param("userId") Long userId);
+}
@@ -5,6 +5,7 @@ import com.talentx.hrms.entity.enums.CompanySize;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -62,5 +63,27 @@ public interface OrganizationRepository extends JpaRepository<Organization, Long
     // Find organizations with locations
     @Query("SELECT DISTINCT o FROM Organization o LEFT JOIN FETCH o.locations WHERE o.id = :id")
     Optional<Organization> findByIdWithLocations(@Param("id") Long id);
+    
+    // Permission versions of all organizations as (id, version) pairs
+    @Query("SELECT o.id, o.permissionVersion FROM Organization o")
+    List<Object[]> findPermissionVersions();
+    
+    // Increment the permission version of an organization
+    @Modifying
+    @Query("UPDATE Organization o SET o.permissionVersion = o.permissionVersion + 1 WHERE o.id = :id")
+    int incrementPermissionVersion(@Param("id") Long id);
+    
+    // Increment the permission version of every organization, e.g. when a shared system role changes
+    @Modifying
+    @Query("UPDATE Organization o SET o.permissionVersion = o.permissionVersion + 1")
+    int incrementAllPermissionVersions();
+    
+    // Take the next organization-wide notification sequence; the row stays locked until the transaction ends
+    @Modifying
+    @Query("UPDATE Organization o SET o.notificationSequence = o.notificationSequence + 1 WHERE o.id = :id")
+    int incrementNotificationSequence(@Param("id") Long id);
+    
+    // Sequence of the latest organization-wide notification of an organization
+    @Query("SELECT o.notificationSequence FROM Organization o WHERE o.id = :id")
+    Long findNotificationSequence(@Param("id") Long id);
 }
-
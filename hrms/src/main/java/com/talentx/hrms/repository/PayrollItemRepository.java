@@ -168,5 +168,14 @@ public interface PayrollItemRepository extends JpaRepository<PayrollItem, Long>
     // Find unique item types by organization
     @Query("SELECT DISTINCT pi.itemType FROM PayrollItem pi WHERE pi.payslip.employee.organization = :organization")
     List<String> findUniqueItemTypesByOrganization(@Param("organization") Organization organization);
+    
+    // Per-employee earning, deduction and tax totals of a payslip month (compliance snapshot)
+    @Query("SELECT pi.payslip.employee.id, " +
+           "SUM(CASE WHEN pi.itemType = 'EARNING' THEN pi.amount ELSE 0 END), " +
+           "SUM(CASE WHEN pi.itemType = 'DEDUCTION' THEN pi.amount ELSE 0 END), " +
+           "SUM(CASE WHEN pi.itemType = 'TAX' THEN pi.amount ELSE 0 END) " +
+           "FROM PayrollItem pi WHERE pi.payslip.employee.organization.id = :organizationId AND " +
+           "pi.payslip.payslipMonth = :month GROUP BY pi.payslip.employee.id")
+    List<Object[]> findComplianceTotals(@Param("organizationId") Long organizationId, @Param("month") String month);
 }
 
@@ -0,0 +1,22 @@
+package com.talentx.hrms.repository;
+
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.payroll.PayrollRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PayrollRuleRepository extends JpaRepository<PayrollRule, Long> {
+
+    // Find all payroll rules by organization
+    List<PayrollRule> findByOrganizationOrderByCalculationOrderAsc(Organization organization);
+
+    // Find active payroll rules by organization id in calculation order
+    @Query("SELECT pr FROM PayrollRule pr WHERE pr.organization.id = :organizationId AND pr.active = true " +
+           "ORDER BY pr.calculationOrder, pr.id")
+    List<PayrollRule> findActiveByOrganizationId(@Param("organizationId") Long organizationId);
+}
@@ -166,5 +166,18 @@ public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
     List<PayrollRun> findByOrganizationAndYearAndMonth(@Param("organization") Organization organization,
                                                       @Param("year") int year,
                                                       @Param("month") int month);
+    
+    // First keyset page of an organization's payroll runs, newest first
+    @Query("SELECT pr FROM PayrollRun pr WHERE pr.organization = :organization " +
+           "ORDER BY pr.createdAt DESC, pr.id DESC")
+    List<PayrollRun> findKeysetFirstPageByOrganization(@Param("organization") Organization organization, Pageable pageable);
+    
+    // Keyset page of an organization's payroll runs strictly after (created at, id) in newest-first order
+    @Query("SELECT pr FROM PayrollRun pr WHERE pr.organization = :organization AND " +
+           "(pr.createdAt < :createdAt OR (pr.createdAt = :createdAt AND pr.id < :id)) " +
+           "ORDER BY pr.createdAt DESC, pr.id DESC")
+    List<PayrollRun> findLatestByOrganizationBefore(@Param("organization") Organization organization,
+                                                    @Param("createdAt") Instant createdAt,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
 }
-
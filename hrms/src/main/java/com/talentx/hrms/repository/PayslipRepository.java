@@ -13,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -146,6 +147,11 @@ public interface PayslipRepository extends JpaRepository<Payslip, Long> {
     
     // Check if payslip exists for payroll run and employee
     boolean existsByPayrollRunAndEmployee(PayrollRun payrollRun, Employee employee);
+
+    // Find which of the given employees already have a payslip in the payroll run
+    @Query("SELECT p.employee.id FROM Payslip p WHERE p.payrollRun = :payrollRun AND p.employee.id IN :employeeIds")
+    List<Long> findEmployeeIdsByPayrollRunAndEmployeeIdIn(@Param("payrollRun") PayrollRun payrollRun,
+                                                          @Param("employeeIds") Collection<Long> employeeIds);
     
     // Find payslips with payroll items
     @Query("SELECT DISTINCT p FROM Payslip p LEFT JOIN FETCH p.payrollItems WHERE p.id = :id")
@@ -188,5 +194,15 @@ public interface PayslipRepository extends JpaRepository<Payslip, Long> {
                    "FROM payslips p JOIN employees e ON p.employee_id = e.id " +
                    "WHERE e.organization_id = :organizationId", nativeQuery = true)
     BigDecimal getMedianGrossPayByOrganization(@Param("organizationId") Long organizationId);
-}
+    
+    // Keyset page of a payroll run's payslips with ids greater than the given one
+    @Query("SELECT p FROM Payslip p JOIN FETCH p.employee WHERE p.payrollRun.id = :payrollRunId AND p.id > :afterId " +
+           "ORDER BY p.id")
+    List<Payslip> findByPayrollRunIdAfter(@Param("payrollRunId") Long payrollRunId,
+                                          @Param("afterId") Long afterId,
+                                          Pageable pageable);
 
+    // Latest payslip month (YYYY-MM) of an organization
+    @Query("SELECT MAX(p.payslipMonth) FROM Payslip p WHERE p.employee.organization.id = :organizationId")
+    String findLatestPayslipMonth(@Param("organizationId") Long organizationId);
+}
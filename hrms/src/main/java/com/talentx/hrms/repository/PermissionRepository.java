@@ -37,5 +37,8 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
     
     // Count permissions
     long count();
+    
+    // Permission ids and names as (id, name) pairs
+    @Query("SELECT p.id, p.name FROM Permission p")
+    List<Object[]> findAllIdsAndNames();
 }
-
@@ -32,6 +32,14 @@ public interface SystemNotificationRepository extends JpaRepository<SystemNotifi
     @Query("SELECT n FROM SystemNotification n WHERE n.user.id = :userId AND n.isRead = false ORDER BY n.createdAt DESC")
     List<SystemNotification> findUnreadByUserId(@Param("userId") Long userId, Pageable pageable);
     
+    /**
+     * Find unread notifications of a user created after a notification id, oldest first (stream resume)
+     */
+    @Query("SELECT n FROM SystemNotification n WHERE n.user.id = :userId AND n.isRead = false AND n.id > :afterId ORDER BY n.id")
+    List<SystemNotification> findUnreadByUserIdAfter(@Param("userId") Long userId,
+                                                     @Param("afterId") Long afterId,
+                                                     Pageable pageable);
+    
     /**
      * Count unread notifications for a user
      */
@@ -112,11 +120,64 @@ public interface SystemNotificationRepository extends JpaRepository<SystemNotifi
     List<SystemNotification> findByUserIdIn(@Param("userIds") List<Long> userIds, Pageable pageable);
     
     /**
-     * Find global notifications (notifications without specific user)
+     * Find global notifications (notifications without specific user), newest first
      */
-    @Query("SELECT n FROM SystemNotification n WHERE n.user IS NULL AND n.organization.id = :organizationId ORDER BY n.createdAt DESC")
+    @Query("SELECT n FROM SystemNotification n WHERE n.organization.id = :organizationId AND n.globalSequence IS NOT NULL " +
+           "ORDER BY n.globalSequence DESC")
     List<SystemNotification> findGlobalNotificationsByOrganization(@Param("organizationId") Long organizationId, Pageable pageable);
     
+    /**
+     * Find global notifications of an organization above a sequence, newest first
+     */
+    @Query("SELECT n FROM SystemNotification n WHERE n.organization.id = :organizationId AND n.globalSequence > :sequence " +
+           "ORDER BY n.globalSequence DESC")
+    List<SystemNotification> findGlobalAbove(@Param("organizationId") Long organizationId,
+                                             @Param("sequence") Long sequence,
+                                             Pageable pageable);
+    
+    /**
+     * Find sequences of global notifications of an organization above a sequence, ascending
+     */
+    @Query("SELECT n.globalSequence FROM SystemNotification n WHERE n.organization.id = :organizationId AND " +
+           "n.globalSequence > :sequence ORDER BY n.globalSequence")
+    List<Long> findGlobalSequencesAbove(@Param("organizationId") Long organizationId,
+                                        @Param("sequence") Long sequence,
+                                        Pageable pageable);
+    
+    /**
+     * Count global notifications of an organization above a sequence
+     */
+    @Query("SELECT COUNT(n) FROM SystemNotification n WHERE n.organization.id = :organizationId AND n.globalSequence > :sequence")
+    long countGlobalAbove(@Param("organizationId") Long organizationId, @Param("sequence") Long sequence);
+    
+    /**
+     * Count global notifications of an organization that still exist among the given sequences
+     */
+    @Query("SELECT COUNT(n) FROM SystemNotification n WHERE n.organization.id = :organizationId AND n.globalSequence IN :sequences")
+    long countGlobalSequencesIn(@Param("organizationId") Long organizationId, @Param("sequences") List<Long> sequences);
+    
+    /**
+     * Find global notifications of an organization created after a notification id, oldest first (stream resume)
+     */
+    @Query("SELECT n FROM SystemNotification n WHERE n.organization.id = :organizationId AND n.globalSequence IS NOT NULL AND " +
+           "n.id > :afterId ORDER BY n.id")
+    List<SystemNotification> findGlobalAfterId(@Param("organizationId") Long organizationId,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+    
+    /**
+     * Find (id, organization id) of global notifications created before they were sequenced, oldest first
+     */
+    @Query("SELECT n.id, n.organization.id FROM SystemNotification n WHERE n.user IS NULL AND n.globalSequence IS NULL ORDER BY n.id")
+    List<Object[]> findUnsequencedGlobalNotifications();
+    
+    /**
+     * Assign the sequence of a global notification
+     */
+    @Modifying
+    @Query("UPDATE SystemNotification n SET n.globalSequence = :sequence WHERE n.id = :id")
+    int assignGlobalSequence(@Param("id") Long id, @Param("sequence") Long sequence);
+    
     /**
      * Count notifications by type and organization
      */
@@ -0,0 +1,41 @@
+package com.talentx.hrms.security;
+
+import com.talentx.hrms.entity.core.User;
+import com.talentx.hrms.entity.security.Role;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Single place where services report changes that affect what an authenticated user may do.
+ * Drops cached principals and, for tokens with embedded authorities, bumps the permission version.
+ */
+@Component
+public class AuthorizationChanges {
+
+    private final PrincipalCache principalCache;
+    private final PermissionVersionRegistry permissionVersions;
+
+    @Autowired
+    public AuthorizationChanges(PrincipalCache principalCache, PermissionVersionRegistry permissionVersions) {
+        this.principalCache = principalCache;
+        this.permissionVersions = permissionVersions;
+    }
+
+    /**
+     * A user's roles, credentials or account state changed
+     */
+    public void userChanged(User user) {
+        principalCache.invalidateUser(user.getUsername());
+        if (user.getOrganization() != null) {
+            permissionVersions.increment(user.getOrganization().getId());
+        }
+    }
+
+    /**
+     * A role's name or permissions changed. System roles without an organization affect every organization.
+     */
+    public void roleChanged(Role role) {
+        principalCache.invalidateAll();
+        permissionVersions.increment(role.getOrganization() != null ? role.getOrganization().getId() : null);
+    }
+}
@@ -0,0 +1,133 @@
+package com.talentx.hrms.security;
+
+import com.talentx.hrms.entity.core.User;
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.UserRepository;
+import com.talentx.hrms.service.auth.UserDetailsServiceImpl.CustomUserPrincipal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Optional;
+
+/**
+ * The authenticated user, their organization and their employee record, resolved at most once per request.
+ *
+ * Ids come straight from the authenticated principal. The user and employee entities are loaded on
+ * first use and kept as request attributes, so they stay attached to the request's persistence
+ * context. Outside of a web request (scheduled and asynchronous work) every call resolves afresh.
+ */
+@Component
+public class CurrentUserContext {
+
+    private static final String ATTRIBUTE = CurrentUserContext.class.getName() + ".RESOLVED";
+
+    private final UserRepository userRepository;
+    private final EmployeeRepository employeeRepository;
+
+    @Autowired
+    public CurrentUserContext(UserRepository userRepository, EmployeeRepository employeeRepository) {
+        this.userRepository = userRepository;
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Get the current user entity
+     */
+    public User getUser() {
+        Resolved resolved = resolved();
+        if (resolved.user == null) {
+            resolved.user = userRepository.findByUsername(resolved.username)
+                .orElseThrow(() -> new RuntimeException("Current user not found"));
+        }
+        return resolved.user;
+    }
+
+    /**
+     * Get the current user's id, without a query when the principal carries it
+     */
+    public Long getUserId() {
+        Object principal = authentication().getPrincipal();
+        if (principal instanceof CustomUserPrincipal custom) {
+            return custom.getUserId();
+        }
+        if (principal instanceof TokenPrincipal token) {
+            return token.getUserId();
+        }
+        return getUser().getId();
+    }
+
+    /**
+     * Get the current user's organization id, without a query when the principal carries it
+     */
+    public Long getOrganizationId() {
+        Object principal = authentication().getPrincipal();
+        if (principal instanceof CustomUserPrincipal custom) {
+            return custom.getOrganizationId();
+        }
+        if (principal instanceof TokenPrincipal token) {
+            return token.getOrganizationId();
+        }
+        User user = getUser();
+        return user.getOrganization() != null ? user.getOrganization().getId() : null;
+    }
+
+    /**
+     * Get the employee record linked to the current user, if any
+     */
+    public Optional<Employee> getEmployee() {
+        Resolved resolved = resolved();
+        if (!resolved.employeeResolved) {
+            resolved.employee = employeeRepository.findByUser(getUser()).orElse(null);
+            resolved.employeeResolved = true;
+        }
+        return Optional.ofNullable(resolved.employee);
+    }
+
+    /**
+     * Get the id of the employee record linked to the current user, or null if there is none
+     */
+    public Long getEmployeeId() {
+        return getEmployee().map(Employee::getId).orElse(null);
+    }
+
+    private Resolved resolved() {
+        String username = authentication().getName();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return new Resolved(username);
+        }
+
+        // Re-resolve if the authentication changed during the request, e.g. on login
+        Object cached = attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof Resolved resolved && resolved.username.equals(username)) {
+            return resolved;
+        }
+        Resolved resolved = new Resolved(username);
+        attributes.setAttribute(ATTRIBUTE, resolved, RequestAttributes.SCOPE_REQUEST);
+        return resolved;
+    }
+
+    private Authentication authentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RuntimeException("No authenticated user found");
+        }
+        return authentication;
+    }
+
+    private static final class Resolved {
+        private final String username;
+        private User user;
+        private Employee employee;
+        private boolean employeeResolved;
+
+        private Resolved(String username) {
+            this.username = username;
+        }
+    }
+}
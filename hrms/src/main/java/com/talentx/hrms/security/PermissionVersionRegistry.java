@@ -0,0 +1,122 @@
+package com.talentx.hrms.security;
+
+import com.talentx.hrms.repository.OrganizationRepository;
+import com.talentx.hrms.repository.PermissionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of each organization's permission version and of the permission catalog.
+ *
+ * Tokens with embedded authorities carry the permission version they were issued under, so the
+ * request path can check them without a query. The copy is reloaded after local changes commit and
+ * periodically to pick up changes made on other nodes.
+ */
+@Component
+public class PermissionVersionRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(PermissionVersionRegistry.class);
+
+    private final OrganizationRepository organizationRepository;
+    private final PermissionRepository permissionRepository;
+
+    // Replaced wholesale on refresh, never mutated after publication
+    private volatile Map<Long, Long> versions = Map.of();
+    private volatile Map<Long, String> permissionNames = Map.of();
+    private volatile Map<String, Long> permissionIds = Map.of();
+
+    @Autowired
+    public PermissionVersionRegistry(OrganizationRepository organizationRepository,
+                                     PermissionRepository permissionRepository) {
+        this.organizationRepository = organizationRepository;
+        this.permissionRepository = permissionRepository;
+    }
+
+    /**
+     * Current permission version of an organization, or null if it is not known yet
+     */
+    public Long getVersion(Long organizationId) {
+        return versions.get(organizationId);
+    }
+
+    /**
+     * Name of a permission id, or null if unknown
+     */
+    public String getPermissionName(long permissionId) {
+        return permissionNames.get(permissionId);
+    }
+
+    /**
+     * Id of a permission authority name, or null if unknown
+     */
+    public Long getPermissionId(String authority) {
+        return permissionIds.get(authority);
+    }
+
+    /**
+     * Invalidate tokens issued for an organization. Must be called inside the changing transaction.
+     */
+    public void increment(Long organizationId) {
+        if (organizationId == null) {
+            organizationRepository.incrementAllPermissionVersions();
+        } else {
+            organizationRepository.incrementPermissionVersion(organizationId);
+        }
+        refreshAfterCommit();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.jwt.permission-version-refresh-ms:5000}",
+               initialDelayString = "${security.jwt.permission-version-refresh-ms:5000}")
+    public void refresh() {
+        try {
+            Map<Long, Long> loadedVersions = new HashMap<>();
+            for (Object[] row : organizationRepository.findPermissionVersions()) {
+                loadedVersions.put((Long) row[0], row[1] != null ? (Long) row[1] : 0L);
+            }
+
+            List<Object[]> permissions = permissionRepository.findAllIdsAndNames();
+            Map<Long, String> loadedNames = new HashMap<>(permissions.size() * 2);
+            Map<String, Long> loadedIds = new HashMap<>(permissions.size() * 2);
+            for (Object[] row : permissions) {
+                if (row[1] == null) {
+                    continue;
+                }
+                String authority = ((String) row[1]).toUpperCase();
+                loadedNames.put((Long) row[0], authority);
+                loadedIds.put(authority, (Long) row[0]);
+            }
+
+            permissionNames = loadedNames;
+            permissionIds = loadedIds;
+            versions = loadedVersions;
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot; stale versions only cause fallbacks to database lookups
+            logger.warn("Failed to refresh permission versions: {}", e.getMessage());
+        }
+    }
+
+    private void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh();
+                }
+            });
+        } else {
+            refresh();
+        }
+    }
+}
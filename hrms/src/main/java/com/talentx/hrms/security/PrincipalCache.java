@@ -0,0 +1,138 @@
+package com.talentx.hrms.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, time-limited cache of authenticated principals keyed by username and token id.
+ *
+ * Loading a principal walks the user's roles and their permissions, which costs several queries on
+ * every authenticated request. Entries expire after a fixed TTL and are dropped explicitly when a
+ * user's roles, password or account state change, or when a role's permissions change.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public PrincipalCache(@Value("${security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${security.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlNanos = Math.max(0, ttlSeconds) * 1_000_000_000L;
+        this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * Get the cached principal for a token, loading it when absent or expired
+     */
+    public UserDetails get(String username, String tokenId, Supplier<UserDetails> loader) {
+        if (ttlNanos == 0) {
+            misses.increment();
+            return loader.get();
+        }
+
+        Key key = new Key(username, tokenId);
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.expiresAt() < 0) {
+            hits.increment();
+            return entry.principal();
+        }
+
+        misses.increment();
+        UserDetails principal = loader.get();
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(key, new Entry(principal, now + ttlNanos));
+        return principal;
+    }
+
+    /**
+     * Drop all cached principals of a user, e.g. after a role assignment or password change
+     */
+    public void invalidateUser(String username) {
+        if (username != null) {
+            afterCommit(() -> entries.keySet().removeIf(key -> key.username().equals(username)));
+        }
+    }
+
+    /**
+     * Drop all cached principals, e.g. after a role's permissions change
+     */
+    public void invalidateAll() {
+        afterCommit(entries::clear);
+    }
+
+    /**
+     * Hit, miss and eviction counters
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("size", entries.size());
+        statistics.put("maxSize", maxSize);
+        statistics.put("ttlSeconds", ttlNanos / 1_000_000_000L);
+        statistics.put("hits", hitCount);
+        statistics.put("misses", missCount);
+        statistics.put("hitRate", requests == 0 ? 0.0 : (double) hitCount / requests);
+        statistics.put("evictions", evictions.sum());
+        statistics.put("invalidations", invalidations.sum());
+        return statistics;
+    }
+
+    // Remove expired entries, then the entries closest to expiry until there is room
+    private void evict(long now) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+
+        int excess = entries.size() - maxSize + 1;
+        if (excess > 0) {
+            entries.entrySet().stream()
+                .sorted((a, b) -> Long.compare(a.getValue().expiresAt(), b.getValue().expiresAt()))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+        }
+        evictions.add(Math.max(0, before - entries.size()));
+    }
+
+    // Invalidate now, and again after commit so that a concurrent reload cannot cache the old state
+    private void afterCommit(Runnable invalidation) {
+        invalidations.increment();
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    private record Key(String username, String tokenId) {
+    }
+
+    private record Entry(UserDetails principal, long expiresAt) {
+    }
+}
@@ -0,0 +1,127 @@
+package com.talentx.hrms.security;
+
+import com.talentx.hrms.service.auth.UserDetailsServiceImpl.CustomUserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes a user's authorities into JWT claims and rebuilds them on the request path.
+ *
+ * Roles are embedded by name and permissions as a bitset over permission ids, together with the
+ * user id, organization id and the organization's permission version at issue time. A token whose
+ * version no longer matches is not trusted and the caller falls back to loading the user.
+ */
+@Component
+public class TokenAuthorities {
+
+    static final String USER_ID = "uid";
+    static final String ORGANIZATION_ID = "oid";
+    static final String PERMISSION_VERSION = "pv";
+    static final String ROLES = "roles";
+    static final String PERMISSIONS = "perms";
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final PermissionVersionRegistry permissionVersions;
+    private final boolean enabled;
+
+    @Autowired
+    public TokenAuthorities(PermissionVersionRegistry permissionVersions,
+                            @Value("${security.jwt.embed-authorities:false}") boolean enabled) {
+        this.permissionVersions = permissionVersions;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Claims to embed for a freshly authenticated user. Empty when the mode is disabled or the
+     * authorities cannot be encoded, in which case the token is authorized by database lookup.
+     */
+    public Map<String, Object> claimsFor(UserDetails userDetails) {
+        if (!enabled || !(userDetails instanceof CustomUserPrincipal principal)) {
+            return Map.of();
+        }
+
+        Long organizationId = principal.getOrganizationId();
+        Long version = permissionVersions.getVersion(organizationId);
+        if (version == null) {
+            return Map.of();
+        }
+
+        List<String> roles = new ArrayList<>();
+        BitSet permissions = new BitSet();
+        for (GrantedAuthority authority : principal.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name.startsWith(ROLE_PREFIX)) {
+                roles.add(name.substring(ROLE_PREFIX.length()));
+            } else {
+                Long permissionId = permissionVersions.getPermissionId(name);
+                if (permissionId == null || permissionId > Integer.MAX_VALUE) {
+                    return Map.of();
+                }
+                permissions.set(permissionId.intValue());
+            }
+        }
+
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID, principal.getUserId());
+        claims.put(ORGANIZATION_ID, organizationId);
+        claims.put(PERMISSION_VERSION, version);
+        claims.put(ROLES, roles);
+        claims.put(PERMISSIONS, Base64.getUrlEncoder().withoutPadding().encodeToString(permissions.toByteArray()));
+        return claims;
+    }
+
+    /**
+     * Principal from embedded claims, or null when the token has none or they are out of date
+     */
+    public TokenPrincipal toPrincipal(Claims claims) {
+        if (!enabled || claims.get(PERMISSION_VERSION) == null) {
+            return null;
+        }
+
+        Long organizationId = claims.get(ORGANIZATION_ID, Long.class);
+        Long version = claims.get(PERMISSION_VERSION, Long.class);
+        if (organizationId == null || !version.equals(permissionVersions.getVersion(organizationId))) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        Object roles = claims.get(ROLES);
+        if (roles instanceof Collection<?> roleNames) {
+            for (Object role : roleNames) {
+                authorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + role));
+            }
+        }
+
+        String encoded = claims.get(PERMISSIONS, String.class);
+        if (encoded != null) {
+            BitSet permissions = BitSet.valueOf(Base64.getUrlDecoder().decode(encoded));
+            for (int id = permissions.nextSetBit(0); id >= 0; id = permissions.nextSetBit(id + 1)) {
+                String name = permissionVersions.getPermissionName(id);
+                if (name == null) {
+                    return null;
+                }
+                authorities.add(new SimpleGrantedAuthority(name));
+            }
+        }
+
+        return new TokenPrincipal(claims.getSubject(), claims.get(USER_ID, Long.class), organizationId, authorities);
+    }
+}
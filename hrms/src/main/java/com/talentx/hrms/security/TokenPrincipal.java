@@ -0,0 +1,49 @@
+package com.talentx.hrms.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * Principal rebuilt from the authorities embedded in a JWT, without loading the user
+ */
+public class TokenPrincipal implements UserDetails {
+
+    private final String username;
+    private final Long userId;
+    private final Long organizationId;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public TokenPrincipal(String username, Long userId, Long organizationId,
+                          Collection<? extends GrantedAuthority> authorities) {
+        this.username = username;
+        this.userId = userId;
+        this.organizationId = organizationId;
+        this.authorities = authorities;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    // Credentials are never part of a token
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+}
@@ -0,0 +1,182 @@
+package com.talentx.hrms.service.attendance;
+
+import com.talentx.hrms.entity.enums.AttendanceStatus;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.EmployeeShiftRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory roster of one day: the organization and shift of every active employee, so that a check-in
+ * can be validated and classified without touching the database.
+ *
+ * The roster is loaded with two queries the first time a day is asked for. Employees missing from it, such
+ * as new hires, are looked up on their first check-in and added. Shift changes invalidate the whole roster,
+ * now and again once the changing transaction completes.
+ */
+@Component
+public class AttendanceRoster {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeShiftRepository employeeShiftRepository;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Object loadLock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public AttendanceRoster(EmployeeRepository employeeRepository,
+                            EmployeeShiftRepository employeeShiftRepository) {
+        this.employeeRepository = employeeRepository;
+        this.employeeShiftRepository = employeeShiftRepository;
+    }
+
+    /**
+     * An employee's organization and the shift in effect for the day, if any
+     */
+    public record Entry(Long employeeId, Long organizationId, LocalTime shiftStart, int gracePeriodMinutes) {
+
+        /**
+         * Late when checking in more than the grace period after the shift starts
+         */
+        public AttendanceStatus statusFor(LocalTime checkInTime) {
+            if (shiftStart == null) {
+                return AttendanceStatus.PRESENT;
+            }
+            long minutesLate = checkInTime.until(shiftStart, ChronoUnit.MINUTES);
+            return minutesLate < -gracePeriodMinutes ? AttendanceStatus.LATE : AttendanceStatus.PRESENT;
+        }
+    }
+
+    private record Snapshot(LocalDate date, long generation, Map<Long, Entry> entries) {}
+
+    /**
+     * Roster entry of an employee for a date, or empty if the employee does not exist
+     */
+    public Optional<Entry> getEntry(Long employeeId, LocalDate date) {
+        Snapshot snapshot = snapshot(date);
+        Entry entry = snapshot.entries().get(employeeId);
+        if (entry != null) {
+            hits.increment();
+            return Optional.of(entry);
+        }
+
+        misses.increment();
+        Optional<Entry> loaded = loadEntry(employeeId, date);
+        loaded.ifPresent(found -> snapshot.entries().putIfAbsent(employeeId, found));
+        return loaded;
+    }
+
+    /**
+     * Drop the roster now and again once the current transaction completes, so that a roster loaded from
+     * uncommitted or rolled back shift assignments is not kept
+     */
+    public void invalidate() {
+        invalidations.increment();
+        generation.incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                }
+            });
+        }
+    }
+
+    /**
+     * Roster size, hit, miss, load and invalidation counters
+     */
+    public Map<String, Object> getStatistics() {
+        Snapshot snapshot = current.get();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("date", snapshot != null ? snapshot.date() : null);
+        statistics.put("employees", snapshot != null ? snapshot.entries().size() : 0);
+        statistics.put("hits", hits.sum());
+        statistics.put("misses", misses.sum());
+        statistics.put("loads", loads.sum());
+        statistics.put("invalidations", invalidations.sum());
+        return statistics;
+    }
+
+    private Snapshot snapshot(LocalDate date) {
+        Snapshot snapshot = current.get();
+        if (isCurrent(snapshot, date)) {
+            return snapshot;
+        }
+
+        synchronized (loadLock) {
+            snapshot = current.get();
+            if (isCurrent(snapshot, date)) {
+                return snapshot;
+            }
+            // A roster invalidated while loading keeps its old generation and is loaded again next time
+            long loadGeneration = generation.get();
+            snapshot = new Snapshot(date, loadGeneration, load(date));
+            current.set(snapshot);
+            loads.increment();
+            return snapshot;
+        }
+    }
+
+    private boolean isCurrent(Snapshot snapshot, LocalDate date) {
+        return snapshot != null && snapshot.date().equals(date) && snapshot.generation() == generation.get();
+    }
+
+    private Map<Long, Entry> load(LocalDate date) {
+        Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        Map<Long, Object[]> shifts = shiftsByEmployee(employeeShiftRepository.findRosterRowsByDate(date));
+        for (Object[] row : employeeRepository.findActiveRosterRows()) {
+            Long employeeId = (Long) row[0];
+            entries.put(employeeId, entry(employeeId, (Long) row[1], shifts.get(employeeId)));
+        }
+        return entries;
+    }
+
+    private Optional<Entry> loadEntry(Long employeeId, LocalDate date) {
+        List<Object[]> employees = employeeRepository.findRosterRowsById(employeeId);
+        if (employees.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<Long, Object[]> shifts = shiftsByEmployee(
+            employeeShiftRepository.findRosterRowsByEmployeeIdAndDate(employeeId, date));
+        return Optional.of(entry(employeeId, (Long) employees.get(0)[1], shifts.get(employeeId)));
+    }
+
+    // Rows are ordered by effective date, so the latest assignment of an employee wins
+    private static Map<Long, Object[]> shiftsByEmployee(List<Object[]> rows) {
+        Map<Long, Object[]> shifts = new HashMap<>();
+        for (Object[] row : rows) {
+            shifts.put((Long) row[0], row);
+        }
+        return shifts;
+    }
+
+    private static Entry entry(Long employeeId, Long organizationId, Object[] shift) {
+        if (shift == null || shift[1] == null) {
+            return new Entry(employeeId, organizationId, null, 0);
+        }
+        int gracePeriodMinutes = shift[2] != null ? (Integer) shift[2] : 0;
+        return new Entry(employeeId, organizationId, (LocalTime) shift[1], gracePeriodMinutes);
+    }
+}
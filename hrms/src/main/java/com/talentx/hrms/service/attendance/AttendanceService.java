@@ -1,5 +1,7 @@
 package com.talentx.hrms.service.attendance;
 
+import com.talentx.hrms.common.CursorPage;
+import com.talentx.hrms.common.KeysetCursor;
 import com.talentx.hrms.common.exception.EntityNotFoundException;
 import com.talentx.hrms.common.exception.ValidationException;
 import com.talentx.hrms.dto.attendance.*;
@@ -12,7 +14,8 @@ import com.talentx.hrms.entity.enums.AttendanceStatus;
 import com.talentx.hrms.repository.AttendanceRecordRepository;
 import com.talentx.hrms.repository.EmployeeRepository;
 import com.talentx.hrms.repository.EmployeeShiftRepository;
-import com.talentx.hrms.repository.LeaveCalendarRepository;
+import com.talentx.hrms.service.holiday.WorkingDayCalendarIndex;
+import com.talentx.hrms.util.PaginationUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -30,6 +33,8 @@ import java.util.Optional;
 @Transactional
 public class AttendanceService {
     
+    private static final String KEYSET_SORT = "attendanceDate,desc";
+    
     @Autowired
     private AttendanceRecordRepository attendanceRecordRepository;
     
@@ -40,7 +45,7 @@ public class AttendanceService {
     private EmployeeShiftRepository employeeShiftRepository;
     
     @Autowired
-    private LeaveCalendarRepository leaveCalendarRepository;
+    private WorkingDayCalendarIndex workingDayCalendarIndex;
     
     /**
      * Check in an employee
@@ -95,8 +100,9 @@ public class AttendanceService {
         }
         
         // Check if today is a holiday or weekend
-        boolean isHoliday = leaveCalendarRepository.isHoliday(employee.getOrganization(), today);
-        boolean isWeekend = today.getDayOfWeek() == DayOfWeek.SATURDAY || today.getDayOfWeek() == DayOfWeek.SUNDAY;
+        Long organizationId = employee.getOrganization().getId();
+        boolean isHoliday = workingDayCalendarIndex.isHoliday(organizationId, today);
+        boolean isWeekend = workingDayCalendarIndex.isWeekend(organizationId, today);
         
         // Note: AttendanceRecord doesn't have isHoliday/isWeekend fields in database schema
         
@@ -231,6 +237,25 @@ public class AttendanceService {
             .map(this::mapToResponse);
     }
     
+    /**
+     * Get attendance records latest date first, one keyset page after the given cursor (null for the
+     * first page)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AttendanceRecordResponse> getAttendanceRecords(String cursor, int size) {
+        Pageable pageable = PaginationUtils.createKeysetPageable(size);
+        List<AttendanceRecord> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = attendanceRecordRepository.findLatest(pageable);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor, KEYSET_SORT);
+            rows = attendanceRecordRepository.findLatestBefore(position.getLocalDate(), position.getId(), pageable);
+        }
+        return CursorPage.of(rows, PaginationUtils.normalizeSize(size),
+                record -> KeysetCursor.of(KEYSET_SORT, record.getAttendanceDate(), record.getId()).encode())
+            .map(this::mapToResponse);
+    }
+    
     /**
      * Get attendance records for a specific employee
      */
@@ -0,0 +1,458 @@
+package com.talentx.hrms.service.attendance;
+
+import com.talentx.hrms.common.exception.EntityNotFoundException;
+import com.talentx.hrms.common.exception.ValidationException;
+import com.talentx.hrms.dto.attendance.CheckInReceipt;
+import com.talentx.hrms.dto.attendance.CheckInRequest;
+import com.talentx.hrms.repository.AttendanceRecordRepository;
+import com.talentx.hrms.service.holiday.WorkingDayCalendarIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * High-throughput check-in path for clock-in peaks.
+ *
+ * A punch is validated against the in-memory {@link AttendanceRoster} and the working-day calendar, recorded
+ * under its idempotency key for the day and accepted into a bounded queue; the caller gets a receipt without
+ * waiting for the database. A single flusher thread writes the queue in JDBC batches. Per batch it looks up
+ * the day's existing rows once: new punches are inserted, rows created without a check-in (for example marked
+ * absent) get the check-in filled in, and punches for employees who already checked in elsewhere are counted
+ * as duplicates and left alone. A batch that fails is retried row by row so that one bad punch cannot sink
+ * the rest, and a punch that cannot be written is released so the employee can check in again.
+ *
+ * Punches still queued when the process dies are lost; the queue is drained on shutdown.
+ */
+@Component
+public class CheckInIngestion {
+
+    private static final Logger logger = LoggerFactory.getLogger(CheckInIngestion.class);
+
+    private static final String INSERT_SQL = "INSERT INTO attendance_records (employee_id, attendance_date, " +
+        "check_in_time, status, check_in_location, notes, created_at, updated_at, version, active) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, TRUE)";
+
+    private static final String FILL_IN_SQL = "UPDATE attendance_records SET check_in_time = ?, status = ?, " +
+        "check_in_location = ?, notes = ?, updated_at = ?, version = version + 1 " +
+        "WHERE employee_id = ? AND attendance_date = ? AND check_in_time IS NULL";
+
+    private static final String EXISTING_SQL = "SELECT employee_id, check_in_time FROM attendance_records " +
+        "WHERE attendance_date = ? AND employee_id IN (%s)";
+
+    // Instants are stored in UTC, as Hibernate does for the entity's Instant columns. Only used by the
+    // flusher thread.
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+    record Punch(CheckInReceipt receipt, String location, String notes) {}
+
+    // Punches accepted for one day, by idempotency key and by employee
+    private record Day(LocalDate date, Map<String, CheckInReceipt> receipts, Map<Long, String> checkedIn) {}
+
+    private final AttendanceRoster attendanceRoster;
+    private final WorkingDayCalendarIndex workingDayCalendarIndex;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final Clock clock;
+    private final BlockingQueue<Punch> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final long drainTimeoutMillis;
+
+    private final AtomicReference<Day> today = new AtomicReference<>();
+    private final Object dayLock = new Object();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder busy = new LongAdder();
+    private final LongAdder inserted = new LongAdder();
+    private final LongAdder filledIn = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @Autowired
+    public CheckInIngestion(AttendanceRoster attendanceRoster,
+                            WorkingDayCalendarIndex workingDayCalendarIndex,
+                            AttendanceRecordRepository attendanceRecordRepository,
+                            JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${attendance.ingest.capacity:50000}") int capacity,
+                            @Value("${attendance.ingest.batch-size:500}") int batchSize,
+                            @Value("${attendance.ingest.flush-interval-ms:100}") long flushIntervalMillis,
+                            @Value("${attendance.ingest.offer-timeout-ms:20}") long offerTimeoutMillis,
+                            @Value("${attendance.ingest.drain-timeout-ms:10000}") long drainTimeoutMillis) {
+        this(attendanceRoster, workingDayCalendarIndex, attendanceRecordRepository, jdbcTemplate,
+            transactionManager, Clock.systemDefaultZone(), capacity, batchSize, flushIntervalMillis,
+            offerTimeoutMillis, drainTimeoutMillis);
+    }
+
+    CheckInIngestion(AttendanceRoster attendanceRoster,
+                     WorkingDayCalendarIndex workingDayCalendarIndex,
+                     AttendanceRecordRepository attendanceRecordRepository,
+                     JdbcTemplate jdbcTemplate,
+                     PlatformTransactionManager transactionManager,
+                     Clock clock,
+                     int capacity,
+                     int batchSize,
+                     long flushIntervalMillis,
+                     long offerTimeoutMillis,
+                     long drainTimeoutMillis) {
+        this.attendanceRoster = attendanceRoster;
+        this.workingDayCalendarIndex = workingDayCalendarIndex;
+        this.attendanceRecordRepository = attendanceRecordRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.offerTimeoutMillis = Math.max(0, offerTimeoutMillis);
+        this.drainTimeoutMillis = Math.max(0, drainTimeoutMillis);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = Thread.ofPlatform().name("check-in-flusher").daemon(true).start(this::flushLoop);
+    }
+
+    /**
+     * Drain the queue to the database before the application context goes away
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            try {
+                flusher.join(drainTimeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (flusher.isAlive()) {
+                logger.warn("Check-in flusher did not drain within {} ms, {} punches left in memory", drainTimeoutMillis, queue.size());
+                flusher.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Accept a check-in for background persistence. Without an idempotency key the employee and date are
+     * the key, so a repeated punch is answered with the first receipt.
+     *
+     * @throws EntityNotFoundException if the employee does not exist
+     * @throws ValidationException if the employee has already checked in today under another key
+     * @throws IllegalStateException if the queue stayed full; the punch was not accepted and can be retried
+     */
+    public CheckInReceipt ingest(CheckInRequest request, String idempotencyKey) {
+        if (!running) {
+            throw new IllegalStateException("Check-in ingestion is not running");
+        }
+
+        Long employeeId = request.getEmployeeId();
+        LocalDate date = LocalDate.now(clock);
+        LocalTime checkInTime = request.getCheckInTime() != null ? request.getCheckInTime() : LocalTime.now(clock);
+        String key = idempotencyKey != null && !idempotencyKey.isBlank()
+            ? idempotencyKey : employeeId + "@" + date;
+        Day day = day(date);
+
+        CheckInReceipt previous = day.receipts().get(key);
+        if (previous != null) {
+            return replay(previous, employeeId);
+        }
+
+        AttendanceRoster.Entry entry = attendanceRoster.getEntry(employeeId, date)
+            .orElseThrow(() -> new EntityNotFoundException("Employee not found with id: " + employeeId));
+        CheckInReceipt receipt = new CheckInReceipt(key, employeeId, date, checkInTime,
+            entry.statusFor(checkInTime), workingDayCalendarIndex.isHoliday(entry.organizationId(), date), false);
+
+        previous = day.receipts().putIfAbsent(key, receipt);
+        if (previous != null) {
+            return replay(previous, employeeId);
+        }
+        if (day.checkedIn().putIfAbsent(employeeId, key) != null) {
+            day.receipts().remove(key, receipt);
+            rejected.increment();
+            throw new ValidationException("Employee has already checked in today");
+        }
+
+        if (!offer(new Punch(receipt, request.getLocation(), request.getNotes()))) {
+            release(receipt);
+            busy.increment();
+            throw new IllegalStateException("Check-in queue is full, please retry");
+        }
+        accepted.increment();
+        return receipt;
+    }
+
+    /**
+     * Queue, throughput and reconciliation counters
+     */
+    public Map<String, Object> getStatistics() {
+        Day day = today.get();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("queueDepth", queue.size());
+        statistics.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        statistics.put("batchSize", batchSize);
+        statistics.put("flushIntervalMs", flushIntervalMillis);
+        statistics.put("checkedInToday", day != null ? day.checkedIn().size() : 0);
+        statistics.put("accepted", accepted.sum());
+        statistics.put("replayed", replayed.sum());
+        statistics.put("rejected", rejected.sum());
+        statistics.put("busy", busy.sum());
+        statistics.put("inserted", inserted.sum());
+        statistics.put("filledIn", filledIn.sum());
+        statistics.put("duplicates", duplicates.sum());
+        statistics.put("failed", failed.sum());
+        statistics.put("batches", batches.sum());
+        statistics.put("roster", attendanceRoster.getStatistics());
+        return statistics;
+    }
+
+    private CheckInReceipt replay(CheckInReceipt previous, Long employeeId) {
+        if (!previous.employeeId().equals(employeeId)) {
+            throw new ValidationException("Idempotency key was already used for another employee");
+        }
+        replayed.increment();
+        return previous.replay();
+    }
+
+    // The day's punches, started from the check-ins already in the database when the day changes
+    private Day day(LocalDate date) {
+        Day day = today.get();
+        if (day != null && day.date().equals(date)) {
+            return day;
+        }
+
+        synchronized (dayLock) {
+            day = today.get();
+            if (day != null && day.date().equals(date)) {
+                return day;
+            }
+            Map<Long, String> checkedIn = new ConcurrentHashMap<>();
+            for (Long employeeId : attendanceRecordRepository.findCheckedInEmployeeIds(date)) {
+                checkedIn.put(employeeId, "");
+            }
+            day = new Day(date, new ConcurrentHashMap<>(), checkedIn);
+            today.set(day);
+            return day;
+        }
+    }
+
+    // Forget a punch that was not written, so that the employee can check in again
+    private void release(CheckInReceipt receipt) {
+        Day day = today.get();
+        if (day != null && day.date().equals(receipt.attendanceDate())) {
+            day.receipts().remove(receipt.idempotencyKey(), receipt);
+            day.checkedIn().remove(receipt.employeeId(), receipt.idempotencyKey());
+        }
+    }
+
+    private boolean offer(Punch punch) {
+        try {
+            return queue.offer(punch, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void flushLoop() {
+        List<Punch> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Punch first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    Punch next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Check-in flusher failed: {}", e.getMessage(), e);
+                batch.clear();
+            }
+        }
+    }
+
+    void write(List<Punch> batch) {
+        Map<LocalDate, List<Punch>> byDate = new LinkedHashMap<>();
+        for (Punch punch : batch) {
+            byDate.computeIfAbsent(punch.receipt().attendanceDate(), date -> new ArrayList<>()).add(punch);
+        }
+        byDate.forEach(this::writeDay);
+    }
+
+    // One lookup of the day's existing rows, then one batch of inserts and one of fill-ins in a transaction
+    private void writeDay(LocalDate date, List<Punch> punches) {
+        List<Punch> inserts = new ArrayList<>();
+        List<Punch> fillIns = new ArrayList<>();
+        List<Punch> checkedIn = new ArrayList<>();
+        try {
+            batchTransaction.executeWithoutResult(status -> {
+                inserts.clear();
+                fillIns.clear();
+                checkedIn.clear();
+                Map<Long, Boolean> existing = findExisting(date, punches);
+                for (Punch punch : punches) {
+                    Boolean hasCheckIn = existing.get(punch.receipt().employeeId());
+                    if (hasCheckIn == null) {
+                        inserts.add(punch);
+                    } else if (!hasCheckIn) {
+                        fillIns.add(punch);
+                    } else {
+                        checkedIn.add(punch);
+                    }
+                }
+
+                if (!inserts.isEmpty()) {
+                    jdbcTemplate.batchUpdate(INSERT_SQL, inserts, inserts.size(), this::bindInsert);
+                }
+                if (!fillIns.isEmpty()) {
+                    jdbcTemplate.batchUpdate(FILL_IN_SQL, fillIns, fillIns.size(), this::bindFillIn);
+                }
+            });
+            inserted.add(inserts.size());
+            filledIn.add(fillIns.size());
+            checkedIn.forEach(this::duplicate);
+            batches.increment();
+        } catch (DataAccessException e) {
+            logger.warn("Check-in batch of {} for {} failed, writing one by one: {}", punches.size(), date, e.getMessage());
+            for (Punch punch : punches) {
+                writeOne(punch);
+            }
+        }
+    }
+
+    // One transaction per statement: the pool does not autocommit, and a failed row must not roll back the others
+    private void writeOne(Punch punch) {
+        try {
+            batchTransaction.executeWithoutResult(status ->
+                jdbcTemplate.update(INSERT_SQL, statement -> bindInsert(statement, punch)));
+            inserted.increment();
+        } catch (DuplicateKeyException e) {
+            try {
+                Integer updated = batchTransaction.execute(status ->
+                    jdbcTemplate.update(FILL_IN_SQL, statement -> bindFillIn(statement, punch)));
+                if (updated != null && updated > 0) {
+                    filledIn.increment();
+                } else {
+                    duplicate(punch);
+                }
+            } catch (DataAccessException | TransactionException fillInFailure) {
+                fail(punch, fillInFailure);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            fail(punch, e);
+        }
+    }
+
+    private Map<Long, Boolean> findExisting(LocalDate date, List<Punch> punches) {
+        List<Object> parameters = new ArrayList<>(punches.size() + 1);
+        parameters.add(date);
+        for (Punch punch : punches) {
+            parameters.add(punch.receipt().employeeId());
+        }
+        String sql = String.format(EXISTING_SQL, String.join(", ", Collections.nCopies(punches.size(), "?")));
+
+        Map<Long, Boolean> existing = new HashMap<>();
+        jdbcTemplate.query(sql, (RowCallbackHandler) resultSet ->
+            existing.put(resultSet.getLong(1), resultSet.getObject(2) != null), parameters.toArray());
+        return existing;
+    }
+
+    private void duplicate(Punch punch) {
+        duplicates.increment();
+        CheckInReceipt receipt = punch.receipt();
+        logger.info("Check-in {} of employee {} on {} ignored, the employee had already checked in",
+            receipt.idempotencyKey(), receipt.employeeId(), receipt.attendanceDate());
+    }
+
+    private void fail(Punch punch, RuntimeException e) {
+        failed.increment();
+        CheckInReceipt receipt = punch.receipt();
+        release(receipt);
+        logger.error("Dropping check-in {} of employee {} on {}: {}", receipt.idempotencyKey(),
+            receipt.employeeId(), receipt.attendanceDate(), e.getMessage());
+    }
+
+    private void bindInsert(PreparedStatement statement, Punch punch) throws SQLException {
+        CheckInReceipt receipt = punch.receipt();
+        Timestamp now = Timestamp.from(Instant.now());
+        statement.setLong(1, receipt.employeeId());
+        statement.setObject(2, receipt.attendanceDate());
+        statement.setObject(3, receipt.checkInTime());
+        statement.setString(4, receipt.status().name());
+        statement.setString(5, punch.location());
+        statement.setString(6, punch.notes());
+        statement.setTimestamp(7, now, UTC);
+        statement.setTimestamp(8, now, UTC);
+    }
+
+    private void bindFillIn(PreparedStatement statement, Punch punch) throws SQLException {
+        CheckInReceipt receipt = punch.receipt();
+        statement.setObject(1, receipt.checkInTime());
+        statement.setString(2, receipt.status().name());
+        statement.setString(3, punch.location());
+        statement.setString(4, punch.notes());
+        statement.setTimestamp(5, Timestamp.from(Instant.now()), UTC);
+        statement.setLong(6, receipt.employeeId());
+        statement.setObject(7, receipt.attendanceDate());
+    }
+}
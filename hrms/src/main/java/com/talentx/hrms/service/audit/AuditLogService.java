@@ -1,27 +1,37 @@
 package com.talentx.hrms.service.audit;
 
+import com.talentx.hrms.common.CursorPage;
+import com.talentx.hrms.common.KeysetCursor;
+import com.talentx.hrms.common.async.BoundedExecutor;
+import com.talentx.hrms.config.ExecutorConfig;
 import com.talentx.hrms.entity.analytics.AuditLog;
-import com.talentx.hrms.entity.core.User;
 import com.talentx.hrms.repository.AuditLogRepository;
-import com.talentx.hrms.service.auth.AuthService;
+import com.talentx.hrms.security.CurrentUserContext;
+import com.talentx.hrms.util.PaginationUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service for tracking data changes and user activities through audit logging
@@ -32,150 +42,212 @@ public class AuditLogService {
     
     private static final Logger logger = LoggerFactory.getLogger(AuditLogService.class);
     
+    private static final String REQUEST_ID_HEADER = "X-Request-ID";
+    private static final String REQUEST_ID_ATTRIBUTE = AuditLogService.class.getName() + ".REQUEST_ID";
+    private static final String KEYSET_SORT = "timestamp,desc";
+    
     private final AuditLogRepository auditLogRepository;
-    private final AuthService authService;
+    private final CurrentUserContext currentUserContext;
     private final ObjectMapper objectMapper;
+    private final BoundedExecutor auditExecutor;
+    private final AuditWriteBehind auditWriteBehind;
     
     @Autowired
     public AuditLogService(AuditLogRepository auditLogRepository,
-                          AuthService authService,
-                          ObjectMapper objectMapper) {
+                          CurrentUserContext currentUserContext,
+                          ObjectMapper objectMapper,
+                          @Qualifier(ExecutorConfig.AUDIT_EXECUTOR) BoundedExecutor auditExecutor,
+                          AuditWriteBehind auditWriteBehind) {
         this.auditLogRepository = auditLogRepository;
-        this.authService = authService;
+        this.currentUserContext = currentUserContext;
         this.objectMapper = objectMapper;
+        this.auditExecutor = auditExecutor;
+        this.auditWriteBehind = auditWriteBehind;
     }
     
     /**
      * Log a data change operation
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logDataChange(String action, String entityType, String entityId, 
                              String entityName, Object oldValues, Object newValues) {
-        try {
-            User currentUser = getCurrentUser();
-            
-            AuditLog auditLog = new AuditLog(currentUser, action, entityType, entityId);
-            auditLog.setEntityName(entityName);
-            auditLog.setOldValues(serializeToJson(oldValues));
-            auditLog.setNewValues(serializeToJson(newValues));
-            auditLog.setStatus("SUCCESS");
-            auditLog.setSeverity(determineSeverity(action, entityType));
-            auditLog.setModule(determineModule(entityType));
-            
-            enrichWithRequestInfo(auditLog);
-            
-            auditLogRepository.save(auditLog);
-            
-        } catch (Exception e) {
-            logger.error("Failed to log data change: {}", e.getMessage(), e);
-        }
+        logDataChange(captureSnapshot(null), action, entityType, entityId, entityName, oldValues, newValues);
+    }
+    
+    /**
+     * Log a data change operation for a caller captured earlier
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void logDataChange(AuditSnapshot snapshot, String action, String entityType, String entityId, 
+                             String entityName, Object oldValues, Object newValues) {
+        String severity = determineSeverity(action, entityType);
+        submit(severity, () -> {
+            try {
+                AuditLog auditLog = new AuditLog(action, entityType, entityId);
+                auditLog.setEntityName(entityName);
+                auditLog.setOldValues(serializeToJson(oldValues));
+                auditLog.setNewValues(serializeToJson(newValues));
+                auditLog.setStatus("SUCCESS");
+                auditLog.setSeverity(severity);
+                auditLog.setModule(determineModule(entityType));
+                
+                auditWriteBehind.enqueue(AuditRecord.from(auditLog, snapshot));
+                
+            } catch (Exception e) {
+                logger.error("Failed to log data change: {}", e.getMessage(), e);
+            }
+        });
     }
     
     /**
      * Log a user authentication event
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logAuthentication(String username, String action, boolean success, String errorMessage) {
-        try {
-            AuditLog auditLog = new AuditLog();
-            auditLog.setTimestamp(Instant.now());
-            auditLog.setUsername(username);
-            auditLog.setAction(action);
-            auditLog.setEntityType("User");
-            auditLog.setStatus(success ? "SUCCESS" : "FAILURE");
-            auditLog.setSeverity(success ? "LOW" : "MEDIUM");
-            auditLog.setModule("AUTHENTICATION");
-            auditLog.setErrorMessage(errorMessage);
-            
-            enrichWithRequestInfo(auditLog);
-            
-            auditLogRepository.save(auditLog);
-            
-        } catch (Exception e) {
-            logger.error("Failed to log authentication event: {}", e.getMessage(), e);
-        }
+        AuditSnapshot snapshot = captureSnapshot(null);
+        String severity = success ? "LOW" : "MEDIUM";
+        submit(severity, () -> {
+            try {
+                AuditLog auditLog = new AuditLog();
+                auditLog.setUsername(username);
+                auditLog.setAction(action);
+                auditLog.setEntityType("User");
+                auditLog.setStatus(success ? "SUCCESS" : "FAILURE");
+                auditLog.setSeverity(severity);
+                auditLog.setModule("AUTHENTICATION");
+                auditLog.setErrorMessage(errorMessage);
+                
+                auditWriteBehind.enqueue(AuditRecord.from(auditLog, snapshot));
+                
+            } catch (Exception e) {
+                logger.error("Failed to log authentication event: {}", e.getMessage(), e);
+            }
+        });
     }
     
     /**
      * Log a security event (access denied, permission violations, etc.)
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logSecurityEvent(String action, String description, String severity) {
-        try {
-            User currentUser = getCurrentUser();
-            
-            AuditLog auditLog = new AuditLog();
-            auditLog.setTimestamp(Instant.now());
-            auditLog.setUser(currentUser);
-            auditLog.setUsername(currentUser != null ? currentUser.getUsername() : "anonymous");
-            auditLog.setAction(action);
-            auditLog.setEntityType("Security");
-            auditLog.setDescription(description);
-            auditLog.setStatus("FAILURE");
-            auditLog.setSeverity(severity);
-            auditLog.setModule("SECURITY");
-            
-            enrichWithRequestInfo(auditLog);
-            
-            auditLogRepository.save(auditLog);
-            
-        } catch (Exception e) {
-            logger.error("Failed to log security event: {}", e.getMessage(), e);
-        }
+        AuditSnapshot snapshot = captureSnapshot(null);
+        submit(severity, () -> {
+            try {
+                AuditLog auditLog = new AuditLog();
+                auditLog.setUsername(snapshot.username() != null ? snapshot.username() : "anonymous");
+                auditLog.setAction(action);
+                auditLog.setEntityType("Security");
+                auditLog.setDescription(description);
+                auditLog.setStatus("FAILURE");
+                auditLog.setSeverity(severity);
+                auditLog.setModule("SECURITY");
+                
+                auditWriteBehind.enqueue(AuditRecord.from(auditLog, snapshot));
+                
+            } catch (Exception e) {
+                logger.error("Failed to log security event: {}", e.getMessage(), e);
+            }
+        });
     }
     
     /**
      * Log a system event (startup, shutdown, configuration changes, etc.)
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logSystemEvent(String action, String description, String severity, Map<String, Object> additionalData) {
-        try {
-            AuditLog auditLog = new AuditLog();
-            auditLog.setTimestamp(Instant.now());
-            auditLog.setAction(action);
-            auditLog.setEntityType("System");
-            auditLog.setDescription(description);
-            auditLog.setStatus("SUCCESS");
-            auditLog.setSeverity(severity);
-            auditLog.setModule("SYSTEM");
-            auditLog.setAdditionalData(serializeToJson(additionalData));
-            
-            auditLogRepository.save(auditLog);
-            
-        } catch (Exception e) {
-            logger.error("Failed to log system event: {}", e.getMessage(), e);
-        }
+        logSystemEvent(captureSnapshot(null), action, description, severity, additionalData);
+    }
+    
+    /**
+     * Log a system event for a caller captured earlier
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void logSystemEvent(AuditSnapshot snapshot, String action, String description, String severity,
+                               Map<String, Object> additionalData) {
+        submit(severity, () -> {
+            try {
+                AuditLog auditLog = new AuditLog();
+                auditLog.setAction(action);
+                auditLog.setEntityType("System");
+                auditLog.setDescription(description);
+                auditLog.setStatus("SUCCESS");
+                auditLog.setSeverity(severity);
+                auditLog.setModule("SYSTEM");
+                auditLog.setAdditionalData(serializeToJson(additionalData));
+                
+                auditWriteBehind.enqueue(AuditRecord.from(auditLog, snapshot));
+                
+            } catch (Exception e) {
+                logger.error("Failed to log system event: {}", e.getMessage(), e);
+            }
+        });
     }
     
     /**
      * Log a compliance event
      */
-    @Async
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logComplianceEvent(String action, String ruleCode, String violationType, 
                                   String entityType, String entityId, String description) {
-        try {
-            User currentUser = getCurrentUser();
-            
-            AuditLog auditLog = new AuditLog(currentUser, action, entityType, entityId);
-            auditLog.setDescription(description);
-            auditLog.setStatus("SUCCESS");
-            auditLog.setSeverity("HIGH");
-            auditLog.setModule("COMPLIANCE");
-            auditLog.setSubModule(ruleCode);
-            
-            Map<String, Object> additionalData = Map.of(
-                "ruleCode", ruleCode,
-                "violationType", violationType
-            );
-            auditLog.setAdditionalData(serializeToJson(additionalData));
-            
-            enrichWithRequestInfo(auditLog);
-            
-            auditLogRepository.save(auditLog);
-            
-        } catch (Exception e) {
-            logger.error("Failed to log compliance event: {}", e.getMessage(), e);
+        AuditSnapshot snapshot = captureSnapshot(null);
+        submit("HIGH", () -> {
+            try {
+                AuditLog auditLog = new AuditLog(action, entityType, entityId);
+                auditLog.setDescription(description);
+                auditLog.setStatus("SUCCESS");
+                auditLog.setSeverity("HIGH");
+                auditLog.setModule("COMPLIANCE");
+                auditLog.setSubModule(ruleCode);
+                
+                Map<String, Object> additionalData = Map.of(
+                    "ruleCode", ruleCode,
+                    "violationType", violationType
+                );
+                auditLog.setAdditionalData(serializeToJson(additionalData));
+                
+                auditWriteBehind.enqueue(AuditRecord.from(auditLog, snapshot));
+                
+            } catch (Exception e) {
+                logger.error("Failed to log compliance event: {}", e.getMessage(), e);
+            }
+        });
+    }
+    
+    /**
+     * Capture the current caller, request and timing. Must run on the request thread.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AuditSnapshot captureSnapshot(Long durationMs) {
+        Long userId = null;
+        String username = null;
+        Long organizationId = null;
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserDetails) {
+            username = authentication.getName();
+            try {
+                userId = currentUserContext.getUserId();
+                organizationId = currentUserContext.getOrganizationId();
+            } catch (RuntimeException e) {
+                // User removed while the request was in flight; keep the username only
+            }
+        }
+        
+        String ipAddress = null;
+        String userAgent = null;
+        String sessionId = null;
+        String requestId = null;
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            ipAddress = getClientIpAddress(request);
+            userAgent = request.getHeader("User-Agent");
+            HttpSession session = request.getSession(false);
+            sessionId = session != null ? session.getId() : null;
+            requestId = getRequestId(request);
         }
+        
+        return new AuditSnapshot(Instant.now(), userId, username, organizationId,
+            ipAddress, userAgent, sessionId, requestId, durationMs);
     }
     
     /**
@@ -186,6 +258,23 @@ public class AuditLogService {
         return auditLogRepository.findAll(pageable);
     }
     
+    /**
+     * Get audit logs newest first, one keyset page after the given cursor (null for the first page)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLog> getAuditLogs(String cursor, int size) {
+        Pageable pageable = PaginationUtils.createKeysetPageable(size);
+        List<AuditLog> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = auditLogRepository.findLatest(pageable);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor, KEYSET_SORT);
+            rows = auditLogRepository.findLatestBefore(position.getInstant(), position.getId(), pageable);
+        }
+        return CursorPage.of(rows, PaginationUtils.normalizeSize(size),
+            log -> KeysetCursor.of(KEYSET_SORT, log.getTimestamp(), log.getId()).encode());
+    }
+    
     /**
      * Get audit logs for a specific entity
      */
@@ -241,27 +330,24 @@ public class AuditLogService {
         }
     }
     
-    // Helper methods
-    
-    private User getCurrentUser() {
-        try {
-            return authService.getCurrentUser();
-        } catch (Exception e) {
-            return null; // Anonymous user or system operation
-        }
+    /**
+     * Get write-behind pipeline statistics
+     */
+    public Map<String, Object> getPipelineStatistics() {
+        return auditWriteBehind.getStatistics();
     }
     
-    private void enrichWithRequestInfo(AuditLog auditLog) {
-        try {
-            ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-            if (attributes != null) {
-                HttpServletRequest request = attributes.getRequest();
-                auditLog.setIpAddress(getClientIpAddress(request));
-                auditLog.setUserAgent(request.getHeader("User-Agent"));
-                auditLog.setSessionId(request.getSession(false) != null ? request.getSession().getId() : null);
-            }
-        } catch (Exception e) {
-            // Ignore if request context is not available
+    // Helper methods
+    
+    // Hand the write to the audit executor; low severity events may be sampled out under load. When
+    // records are spooled, the write runs on the caller's thread so the event is on disk before it returns.
+    private void submit(String severity, Runnable write) {
+        if (auditWriteBehind.getDurability() == AuditWriteBehind.Durability.SPOOL) {
+            write.run();
+        } else if ("LOW".equalsIgnoreCase(severity)) {
+            auditExecutor.executeSheddable(write);
+        } else {
+            auditExecutor.execute(write);
         }
     }
     
@@ -279,6 +365,18 @@ public class AuditLogService {
         return request.getRemoteAddr();
     }
     
+    // One id per request, taken from the X-Request-ID header when the client or proxy sent one
+    private String getRequestId(HttpServletRequest request) {
+        Object requestId = request.getAttribute(REQUEST_ID_ATTRIBUTE);
+        if (requestId == null) {
+            String header = request.getHeader(REQUEST_ID_HEADER);
+            requestId = header != null && !header.isBlank() && header.length() <= 64
+                ? header : UUID.randomUUID().toString();
+            request.setAttribute(REQUEST_ID_ATTRIBUTE, requestId);
+        }
+        return requestId.toString();
+    }
+    
     private String serializeToJson(Object object) {
         if (object == null) {
             return null;
@@ -0,0 +1,73 @@
+package com.talentx.hrms.service.audit;
+
+import com.talentx.hrms.entity.analytics.AuditLog;
+
+import java.time.Instant;
+
+/**
+ * Flat, immutable copy of an audit log row as written by the audit pipeline.
+ *
+ * Holds only ids for the user and organization so that it can be written by JDBC and spooled to disk
+ * without touching the persistence context.
+ */
+public record AuditRecord(
+    Instant timestamp,
+    Long userId,
+    String username,
+    String userRole,
+    Long organizationId,
+    String action,
+    String entityType,
+    String entityId,
+    String entityName,
+    String oldValues,
+    String newValues,
+    String changes,
+    String ipAddress,
+    String userAgent,
+    String sessionId,
+    String module,
+    String subModule,
+    String severity,
+    String status,
+    String errorMessage,
+    String additionalData,
+    String description,
+    Boolean sensitive,
+    Integer retentionDays,
+    String requestId,
+    Long durationMs) {
+
+    /**
+     * Combine an unsaved audit log entity with the caller captured when the event happened
+     */
+    public static AuditRecord from(AuditLog auditLog, AuditSnapshot snapshot) {
+        return new AuditRecord(
+            snapshot.timestamp(),
+            snapshot.userId(),
+            auditLog.getUsername() != null ? auditLog.getUsername() : snapshot.username(),
+            auditLog.getUserRole(),
+            snapshot.organizationId(),
+            auditLog.getAction(),
+            auditLog.getEntityType(),
+            auditLog.getEntityId(),
+            auditLog.getEntityName(),
+            auditLog.getOldValues(),
+            auditLog.getNewValues(),
+            auditLog.getChanges(),
+            snapshot.ipAddress(),
+            snapshot.userAgent(),
+            snapshot.sessionId(),
+            auditLog.getModule(),
+            auditLog.getSubModule(),
+            auditLog.getSeverity(),
+            auditLog.getStatus(),
+            auditLog.getErrorMessage(),
+            auditLog.getAdditionalData(),
+            auditLog.getDescription(),
+            auditLog.getIsSensitive(),
+            auditLog.getRetentionDays(),
+            snapshot.requestId(),
+            snapshot.durationMs());
+    }
+}
@@ -0,0 +1,21 @@
+package com.talentx.hrms.service.audit;
+
+import java.time.Instant;
+
+/**
+ * Who performed an audited operation and from where, captured on the calling thread.
+ *
+ * Audit records are built and written on other threads, where neither the security context nor the
+ * request is available, so everything they need about the caller is copied here first.
+ */
+public record AuditSnapshot(
+    Instant timestamp,
+    Long userId,
+    String username,
+    Long organizationId,
+    String ipAddress,
+    String userAgent,
+    String sessionId,
+    String requestId,
+    Long durationMs) {
+}
@@ -0,0 +1,445 @@
+package com.talentx.hrms.service.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for audit log rows.
+ *
+ * Records are accepted into a bounded in-memory queue and a single flusher thread inserts them in
+ * JDBC batches, each committed in its own transaction, either when a batch is full or when the
+ * flush interval has passed since its first record. In SPOOL mode each record is also appended and
+ * fsynced to a local file on the caller's thread before it is accepted. The file is truncated once
+ * everything in it has been written and is replayed on startup, so a crash can repeat a record but
+ * not lose one. In BEST_EFFORT mode records still queued when the process dies are lost.
+ */
+@Component
+public class AuditWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditWriteBehind.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs (timestamp, user_id, username, user_role, " +
+        "organization_id, action, entity_type, entity_id, entity_name, old_values, new_values, changes, " +
+        "ip_address, user_agent, session_id, module, sub_module, severity, status, error_message, " +
+        "additional_data, description, is_sensitive, retention_days, request_id, duration_ms, created_at, updated_at, " +
+        "version, active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, TRUE)";
+
+    // Instants are stored in UTC, as Hibernate does for the entity's Instant columns. Only used by the
+    // flusher thread and by the startup replay that runs before it.
+    private static final Calendar UTC = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+    private static final int MAX_BATCH_ATTEMPTS = 3;
+
+    /**
+     * Whether a record must be on local disk before it is accepted
+     */
+    public enum Durability {
+        BEST_EFFORT,
+        SPOOL
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<AuditRecord> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+    private final long drainTimeoutMillis;
+    private final Durability durability;
+    private final Path spoolFile;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder spoolOnly = new LongAdder();
+
+    // Producers that have queued a record but not yet spooled it; the spool is not truncated meanwhile
+    private final AtomicInteger pendingAppends = new AtomicInteger();
+    private final Object spoolLock = new Object();
+    private FileChannel spool;
+    // Set when a spooled record may not be in the database, so the spool must be kept for replay
+    private volatile boolean retainSpool;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    @Autowired
+    public AuditWriteBehind(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            @Value("${audit.write-behind.capacity:20000}") int capacity,
+                            @Value("${audit.write-behind.batch-size:500}") int batchSize,
+                            @Value("${audit.write-behind.flush-interval-ms:200}") long flushIntervalMillis,
+                            @Value("${audit.write-behind.offer-timeout-ms:50}") long offerTimeoutMillis,
+                            @Value("${audit.write-behind.drain-timeout-ms:10000}") long drainTimeoutMillis,
+                            @Value("${audit.write-behind.durability:BEST_EFFORT}") Durability durability,
+                            @Value("${audit.write-behind.spool-file:data/audit/audit-spool.jsonl}") String spoolFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(1, flushIntervalMillis);
+        this.offerTimeoutMillis = Math.max(0, offerTimeoutMillis);
+        this.drainTimeoutMillis = Math.max(0, drainTimeoutMillis);
+        this.durability = durability;
+        this.spoolFile = Path.of(spoolFile);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (durability == Durability.SPOOL) {
+            openSpool();
+        }
+        running = true;
+        flusher = Thread.ofPlatform().name("audit-flusher").daemon(true).start(this::flushLoop);
+    }
+
+    /**
+     * Drain the queue to the database before the application context goes away
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            try {
+                flusher.join(drainTimeoutMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (flusher.isAlive()) {
+                logger.warn("Audit flusher did not drain within {} ms, {} records left in memory", drainTimeoutMillis, queue.size());
+                flusher.interrupt();
+            }
+        }
+        closeSpool();
+    }
+
+    /**
+     * Accept a record for writing. Returns false if it was dropped because the buffer stayed full.
+     */
+    public boolean enqueue(AuditRecord record) {
+        if (!running) {
+            dropped.increment();
+            return false;
+        }
+
+        if (durability == Durability.BEST_EFFORT) {
+            if (offer(record)) {
+                accepted.increment();
+                return true;
+            }
+            dropped.increment();
+            return false;
+        }
+
+        pendingAppends.incrementAndGet();
+        try {
+            boolean queued = offer(record);
+            if (!queued) {
+                // Kept on disk only and written on the next startup
+                retainSpool = true;
+                spoolOnly.increment();
+            }
+            append(record);
+            accepted.increment();
+            return true;
+        } finally {
+            pendingAppends.decrementAndGet();
+        }
+    }
+
+    /**
+     * Whether records are spooled to disk before they are accepted
+     */
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Queue, throughput and failure counters
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("durability", durability.name());
+        statistics.put("queueDepth", queue.size());
+        statistics.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        statistics.put("batchSize", batchSize);
+        statistics.put("flushIntervalMs", flushIntervalMillis);
+        statistics.put("accepted", accepted.sum());
+        statistics.put("written", written.sum());
+        statistics.put("batches", batches.sum());
+        statistics.put("failed", failed.sum());
+        statistics.put("dropped", dropped.sum());
+        statistics.put("spoolOnly", spoolOnly.sum());
+        return statistics;
+    }
+
+    private boolean offer(AuditRecord record) {
+        try {
+            return queue.offer(record, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void flushLoop() {
+        List<AuditRecord> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    compactSpool();
+                    continue;
+                }
+
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    AuditRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                write(batch);
+                batch.clear();
+                compactSpool();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                logger.error("Audit flusher failed: {}", e.getMessage(), e);
+                batch.clear();
+            }
+        }
+    }
+
+    // Insert a batch, retrying transient failures, then row by row so that one bad row cannot sink the rest
+    void write(List<AuditRecord> batch) throws InterruptedException {
+        for (int attempt = 1; attempt <= MAX_BATCH_ATTEMPTS; attempt++) {
+            try {
+                insert(batch);
+                written.add(batch.size());
+                batches.increment();
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Audit batch of {} failed (attempt {}): {}", batch.size(), attempt, e.getMessage());
+                if (attempt < MAX_BATCH_ATTEMPTS) {
+                    Thread.sleep(flushIntervalMillis * attempt);
+                }
+            }
+        }
+
+        for (AuditRecord record : batch) {
+            try {
+                insert(List.of(record));
+                written.increment();
+            } catch (RuntimeException e) {
+                failed.increment();
+                if (durability == Durability.SPOOL) {
+                    retainSpool = true;
+                }
+                logger.error("Dropping audit record {} {} {}: {}", record.action(), record.entityType(), record.entityId(), e.getMessage());
+            }
+        }
+    }
+
+    // The pool hands out connections with autocommit off, so the batch must be committed explicitly
+    private void insert(List<AuditRecord> records) {
+        batchTransaction.executeWithoutResult(status ->
+            jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), this::bind));
+    }
+
+    private void bind(PreparedStatement statement, AuditRecord record) throws SQLException {
+        Instant now = Instant.now();
+        int i = 1;
+        statement.setTimestamp(i++, Timestamp.from(record.timestamp()), UTC);
+        setLong(statement, i++, record.userId());
+        statement.setString(i++, record.username());
+        statement.setString(i++, record.userRole());
+        setLong(statement, i++, record.organizationId());
+        statement.setString(i++, record.action());
+        statement.setString(i++, record.entityType());
+        statement.setString(i++, record.entityId());
+        statement.setString(i++, record.entityName());
+        statement.setString(i++, record.oldValues());
+        statement.setString(i++, record.newValues());
+        statement.setString(i++, record.changes());
+        statement.setString(i++, record.ipAddress());
+        statement.setString(i++, record.userAgent());
+        statement.setString(i++, record.sessionId());
+        statement.setString(i++, record.module());
+        statement.setString(i++, record.subModule());
+        statement.setString(i++, record.severity());
+        statement.setString(i++, record.status());
+        statement.setString(i++, record.errorMessage());
+        statement.setString(i++, record.additionalData());
+        statement.setString(i++, record.description());
+        statement.setBoolean(i++, Boolean.TRUE.equals(record.sensitive()));
+        if (record.retentionDays() != null) {
+            statement.setInt(i++, record.retentionDays());
+        } else {
+            statement.setNull(i++, Types.INTEGER);
+        }
+        statement.setString(i++, record.requestId());
+        setLong(statement, i++, record.durationMs());
+        statement.setTimestamp(i++, Timestamp.from(now), UTC);
+        statement.setTimestamp(i, Timestamp.from(now), UTC);
+    }
+
+    private void setLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value != null) {
+            statement.setLong(index, value);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+
+    // ===== SPOOL FILE =====
+
+    private void openSpool() {
+        try {
+            if (spoolFile.getParent() != null) {
+                Files.createDirectories(spoolFile.getParent());
+            }
+            replaySpool();
+            spool = FileChannel.open(spoolFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open audit spool file " + spoolFile, e);
+        }
+    }
+
+    // Write records left over from a previous run before accepting new ones
+    private void replaySpool() throws IOException {
+        if (!Files.exists(spoolFile)) {
+            return;
+        }
+
+        List<AuditRecord> records = new ArrayList<>();
+        for (String line : Files.readAllLines(spoolFile, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                records.add(objectMapper.readValue(line, AuditRecord.class));
+            } catch (JsonProcessingException e) {
+                // A torn last line from a crash mid-append was never acknowledged
+                logger.warn("Skipping unreadable audit spool line: {}", e.getOriginalMessage());
+            }
+        }
+
+        if (!records.isEmpty()) {
+            logger.info("Replaying {} audit records from {}", records.size(), spoolFile);
+            try {
+                for (int from = 0; from < records.size(); from += batchSize) {
+                    write(records.subList(from, Math.min(records.size(), from + batchSize)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                retainSpool = true;
+            }
+        }
+
+        if (!retainSpool) {
+            Files.write(spoolFile, new byte[0], StandardOpenOption.TRUNCATE_EXISTING);
+        }
+    }
+
+    private void append(AuditRecord record) {
+        byte[] line;
+        try {
+            line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize audit record", e);
+        }
+
+        synchronized (spoolLock) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    spool.write(buffer);
+                }
+                spool.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot append to audit spool file " + spoolFile, e);
+            }
+        }
+    }
+
+    // Everything spooled so far is in the database once the queue is empty and no producer is mid-append
+    private void compactSpool() {
+        if (spool == null || retainSpool) {
+            return;
+        }
+        synchronized (spoolLock) {
+            try {
+                if (queue.isEmpty() && pendingAppends.get() == 0 && spool.size() > 0) {
+                    spool.truncate(0);
+                    spool.force(true);
+                }
+            } catch (IOException e) {
+                logger.warn("Cannot truncate audit spool file {}: {}", spoolFile, e.getMessage());
+            }
+        }
+    }
+
+    private void closeSpool() {
+        if (spool == null) {
+            return;
+        }
+        compactSpool();
+        synchronized (spoolLock) {
+            try {
+                spool.close();
+            } catch (IOException e) {
+                logger.warn("Cannot close audit spool file {}: {}", spoolFile, e.getMessage());
+            }
+        }
+    }
+}
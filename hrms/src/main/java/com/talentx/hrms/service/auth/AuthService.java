@@ -3,9 +3,14 @@ package com.talentx.hrms.service.auth;
 import com.talentx.hrms.dto.auth.JwtResponse;
 import com.talentx.hrms.dto.auth.LoginRequest;
 import com.talentx.hrms.entity.core.User;
+import com.talentx.hrms.entity.employee.Employee;
 import com.talentx.hrms.entity.security.UserRole;
 import com.talentx.hrms.repository.UserRepository;
 import com.talentx.hrms.security.JwtUtil;
+import com.talentx.hrms.security.AuthorizationChanges;
+import com.talentx.hrms.security.CurrentUserContext;
+import com.talentx.hrms.security.PrincipalCache;
+import com.talentx.hrms.security.TokenAuthorities;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -20,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.sql.Timestamp;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -32,18 +38,30 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil jwtUtil;
     private final UserDetailsServiceImpl userDetailsService;
+    private final AuthorizationChanges authorizationChanges;
+    private final PrincipalCache principalCache;
+    private final TokenAuthorities tokenAuthorities;
+    private final CurrentUserContext currentUserContext;
 
     @Autowired
     public AuthService(AuthenticationManager authenticationManager,
                       UserRepository userRepository,
                       PasswordEncoder passwordEncoder,
                       JwtUtil jwtUtil,
-                      UserDetailsServiceImpl userDetailsService) {
+                      UserDetailsServiceImpl userDetailsService,
+                      AuthorizationChanges authorizationChanges,
+                      PrincipalCache principalCache,
+                      TokenAuthorities tokenAuthorities,
+                      CurrentUserContext currentUserContext) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.authorizationChanges = authorizationChanges;
+        this.principalCache = principalCache;
+        this.tokenAuthorities = tokenAuthorities;
+        this.currentUserContext = currentUserContext;
     }
 
     /**
@@ -68,7 +86,7 @@ public class AuthService {
             validateUserAccount(user);
 
             // Generate JWT token
-            String token = jwtUtil.generateToken(userDetails);
+            String token = jwtUtil.generateToken(userDetails, tokenAuthorities.claimsFor(userDetails));
             
             // Update user login information
             user.recordSuccessfulLogin();
@@ -125,13 +143,21 @@ public class AuthService {
      * Get current authenticated user
      */
     public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
-        }
-        throw new RuntimeException("No authenticated user found");
+        return currentUserContext.getUser();
+    }
+
+    /**
+     * Get current user's organization id
+     */
+    public Long getCurrentOrganizationId() {
+        return currentUserContext.getOrganizationId();
+    }
+
+    /**
+     * Get the employee record linked to the current user
+     */
+    public Optional<Employee> getCurrentEmployee() {
+        return currentUserContext.getEmployee();
     }
 
     /**
@@ -165,6 +191,7 @@ public class AuthService {
         user.setMustChangePassword(false);
         
         userRepository.save(user);
+        authorizationChanges.userChanged(user);
     }
 
     /**
@@ -183,6 +210,7 @@ public class AuthService {
         user.setAccountLocked(false);
         
         userRepository.save(user);
+        authorizationChanges.userChanged(user);
     }
 
     /**
@@ -194,6 +222,7 @@ public class AuthService {
         
         user.setAccountLocked(true);
         userRepository.save(user);
+        authorizationChanges.userChanged(user);
     }
 
     /**
@@ -206,6 +235,15 @@ public class AuthService {
         user.setAccountLocked(false);
         user.resetFailedLoginAttempts();
         userRepository.save(user);
+        authorizationChanges.userChanged(user);
+    }
+
+    /**
+     * Get authenticated principal cache statistics
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getPrincipalCacheStatistics() {
+        return principalCache.getStatistics();
     }
 
     /**
@@ -275,7 +313,7 @@ public class AuthService {
             User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new BadCredentialsException("User not found"));
             
-            String newToken = jwtUtil.generateToken(userDetails);
+            String newToken = jwtUtil.generateToken(userDetails, tokenAuthorities.claimsFor(userDetails));
             
             List<String> roles = user.getUserRoles().stream()
                 .map(userRole -> userRole.getRole().getName())
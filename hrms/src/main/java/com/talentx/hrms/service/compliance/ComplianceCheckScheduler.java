@@ -0,0 +1,307 @@
+package com.talentx.hrms.service.compliance;
+
+import com.talentx.hrms.config.ExecutorConfig;
+import com.talentx.hrms.entity.compliance.ComplianceWorkUnit;
+import com.talentx.hrms.repository.ComplianceCheckRepository;
+import com.talentx.hrms.repository.ComplianceWorkUnitRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cluster-safe scheduler for automated compliance checks.
+ *
+ * Planning runs one set-based query for every due (rule, organization) pair, i.e. active auto-checked
+ * rules with no check of the pair scheduled after today. Pairs not yet covered by today's work units are
+ * grouped per organization into units of at most rules-per-unit rules. Units are unique per organization,
+ * day and index, so nodes planning at the same time insert each unit once.
+ *
+ * Any node then claims units by taking a lease with a conditional update, executes them through
+ * {@link ComplianceService#executeDueComplianceChecks} and completes them while it still holds the lease.
+ * A lease that expires (the node died or stalled) can be claimed by another node, up to max-attempts
+ * claims; lease-seconds must therefore exceed the time one unit takes, or the unit may run twice.
+ *
+ * Runs execute on the compliance executor; the scheduled trigger only hands the run over, so a long
+ * run never holds up the other jobs on Spring's single scheduler thread.
+ */
+@Component
+public class ComplianceCheckScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComplianceCheckScheduler.class);
+
+    private static final int CLAIM_BATCH = 32;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final ComplianceCheckRepository complianceCheckRepository;
+    private final ComplianceWorkUnitRepository workUnitRepository;
+    private final ComplianceService complianceService;
+    private final TransactionTemplate writeTransaction;
+    private final Executor runExecutor;
+    private final String nodeId;
+    private final boolean enabled;
+    private final Duration leaseDuration;
+    private final int rulesPerUnit;
+    private final int maxAttempts;
+    private final int retentionDays;
+    private final Clock clock;
+
+    // Only one run at a time on this node; other nodes run concurrently and coordinate through leases
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final LongAdder unitsPlanned = new LongAdder();
+    private final LongAdder unitsClaimed = new LongAdder();
+    private final LongAdder claimConflicts = new LongAdder();
+    private final LongAdder unitsCompleted = new LongAdder();
+    private final LongAdder unitsFailed = new LongAdder();
+    private final LongAdder leasesLost = new LongAdder();
+    private final LongAdder checksRecorded = new LongAdder();
+
+    @Autowired
+    public ComplianceCheckScheduler(ComplianceCheckRepository complianceCheckRepository,
+                                    ComplianceWorkUnitRepository workUnitRepository,
+                                    ComplianceService complianceService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier(ExecutorConfig.COMPLIANCE_EXECUTOR) Executor runExecutor,
+                                    @Value("${compliance.scheduler.enabled:true}") boolean enabled,
+                                    @Value("${compliance.scheduler.node-id:}") String nodeId,
+                                    @Value("${compliance.scheduler.lease-seconds:900}") long leaseSeconds,
+                                    @Value("${compliance.scheduler.rules-per-unit:200}") int rulesPerUnit,
+                                    @Value("${compliance.scheduler.max-attempts:3}") int maxAttempts,
+                                    @Value("${compliance.scheduler.retention-days:7}") int retentionDays) {
+        this(complianceCheckRepository, workUnitRepository, complianceService, transactionManager, runExecutor, enabled,
+            nodeId == null || nodeId.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : nodeId,
+            leaseSeconds, rulesPerUnit, maxAttempts, retentionDays, Clock.systemDefaultZone());
+    }
+
+    ComplianceCheckScheduler(ComplianceCheckRepository complianceCheckRepository,
+                             ComplianceWorkUnitRepository workUnitRepository,
+                             ComplianceService complianceService,
+                             PlatformTransactionManager transactionManager,
+                             Executor runExecutor,
+                             boolean enabled,
+                             String nodeId,
+                             long leaseSeconds,
+                             int rulesPerUnit,
+                             int maxAttempts,
+                             int retentionDays,
+                             Clock clock) {
+        this.complianceCheckRepository = complianceCheckRepository;
+        this.workUnitRepository = workUnitRepository;
+        this.complianceService = complianceService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.runExecutor = runExecutor;
+        this.enabled = enabled;
+        this.nodeId = nodeId;
+        this.leaseDuration = Duration.ofSeconds(Math.max(1, leaseSeconds));
+        this.rulesPerUnit = Math.max(1, rulesPerUnit);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retentionDays = Math.max(1, retentionDays);
+        this.clock = clock;
+    }
+
+    @Scheduled(fixedDelayString = "${compliance.scheduler.interval-ms:300000}",
+               initialDelayString = "${compliance.scheduler.initial-delay-ms:60000}")
+    public void scheduledRun() {
+        if (enabled) {
+            requestRun();
+        }
+    }
+
+    /**
+     * Plan and execute due checks in the background
+     */
+    public void requestRun() {
+        runExecutor.execute(this::runDueChecks);
+    }
+
+    /**
+     * Plan today's due checks, then claim and execute work units until none are left.
+     * Returns the number of units this node executed.
+     */
+    public int runDueChecks() {
+        if (!running.compareAndSet(false, true)) {
+            logger.debug("Automated compliance checks are already running on this node");
+            return 0;
+        }
+
+        try {
+            plan(LocalDate.now(clock));
+
+            int executed = 0;
+            ComplianceWorkUnit unit = claimNext();
+            while (unit != null) {
+                execute(unit);
+                executed++;
+                unit = claimNext();
+            }
+
+            if (executed > 0) {
+                logger.info("Node {} executed {} compliance work units", nodeId, executed);
+            }
+            return executed;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Insert work units for due pairs not yet covered by the day's units. Returns the number of units inserted.
+     */
+    int plan(LocalDate today) {
+        writeTransaction.executeWithoutResult(status -> {
+            workUnitRepository.failExpired(clock.instant(), maxAttempts, ComplianceWorkUnit.Status.FAILED);
+            workUnitRepository.deleteByPlanDateBefore(today.minusDays(retentionDays));
+        });
+
+        List<Object[]> pairs = complianceCheckRepository.findDueRuleOrganizationPairs(today);
+        if (pairs.isEmpty()) {
+            return 0;
+        }
+
+        // Rules already planned today (in any status) are not planned again until tomorrow
+        Map<Long, Set<Long>> covered = new HashMap<>();
+        Map<Long, Integer> nextIndex = new HashMap<>();
+        for (ComplianceWorkUnit unit : workUnitRepository.findByPlanDate(today)) {
+            covered.computeIfAbsent(unit.getOrganizationId(), id -> new HashSet<>()).addAll(unit.getRuleIdList());
+            nextIndex.merge(unit.getOrganizationId(), unit.getUnitIndex() + 1, Math::max);
+        }
+
+        Map<Long, List<Long>> uncovered = new LinkedHashMap<>();
+        for (Object[] pair : pairs) {
+            Long ruleId = ((Number) pair[0]).longValue();
+            Long organizationId = ((Number) pair[1]).longValue();
+            if (!covered.getOrDefault(organizationId, Set.of()).contains(ruleId)) {
+                uncovered.computeIfAbsent(organizationId, id -> new ArrayList<>()).add(ruleId);
+            }
+        }
+
+        int planned = 0;
+        for (Map.Entry<Long, List<Long>> entry : uncovered.entrySet()) {
+            List<Long> ruleIds = entry.getValue();
+            int index = nextIndex.getOrDefault(entry.getKey(), 0);
+            for (int from = 0; from < ruleIds.size(); from += rulesPerUnit) {
+                List<Long> unitRules = ruleIds.subList(from, Math.min(ruleIds.size(), from + rulesPerUnit));
+                if (insert(new ComplianceWorkUnit(entry.getKey(), today, index++, unitRules))) {
+                    planned++;
+                }
+            }
+        }
+
+        if (planned > 0) {
+            unitsPlanned.add(planned);
+            logger.info("Planned {} compliance work units for {} due rule checks", planned, pairs.size());
+        }
+        return planned;
+    }
+
+    private boolean insert(ComplianceWorkUnit unit) {
+        try {
+            writeTransaction.executeWithoutResult(status -> workUnitRepository.saveAndFlush(unit));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another node planned the same unit
+            return false;
+        }
+    }
+
+    /**
+     * Lease the oldest claimable unit, or return null when there is none
+     */
+    ComplianceWorkUnit claimNext() {
+        while (true) {
+            Instant now = clock.instant();
+            List<Long> candidates = new ArrayList<>(workUnitRepository.findClaimableIds(
+                now, maxAttempts, PageRequest.of(0, CLAIM_BATCH)));
+            if (candidates.isEmpty()) {
+                return null;
+            }
+
+            // Nodes start at different candidates so they rarely race for the same row
+            Collections.shuffle(candidates);
+            for (Long id : candidates) {
+                Integer claimed = writeTransaction.execute(status -> workUnitRepository.claim(
+                    id, nodeId, now, now.plus(leaseDuration), maxAttempts, ComplianceWorkUnit.Status.LEASED));
+                if (claimed != null && claimed == 1) {
+                    unitsClaimed.increment();
+                    ComplianceWorkUnit unit = workUnitRepository.findById(id).orElse(null);
+                    if (unit != null) {
+                        return unit;
+                    }
+                } else {
+                    claimConflicts.increment();
+                }
+            }
+        }
+    }
+
+    private void execute(ComplianceWorkUnit unit) {
+        try {
+            int recorded = complianceService.executeDueComplianceChecks(unit.getOrganizationId(), unit.getRuleIdList());
+            Integer completed = writeTransaction.execute(status -> workUnitRepository.complete(
+                unit.getId(), nodeId, recorded, clock.instant(), ComplianceWorkUnit.Status.DONE));
+
+            checksRecorded.add(recorded);
+            if (completed != null && completed == 1) {
+                unitsCompleted.increment();
+            } else {
+                leasesLost.increment();
+                logger.warn("Lease of compliance work unit {} expired before it completed on node {}",
+                    unit.getId(), nodeId);
+            }
+        } catch (Exception e) {
+            ComplianceWorkUnit.Status status = unit.getAttempts() < maxAttempts
+                ? ComplianceWorkUnit.Status.PENDING : ComplianceWorkUnit.Status.FAILED;
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            String lastError = message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+            writeTransaction.execute(tx -> workUnitRepository.release(unit.getId(), nodeId, status, lastError));
+
+            unitsFailed.increment();
+            logger.error("Compliance work unit {} for organization {} failed (attempt {}, now {}): {}",
+                unit.getId(), unit.getOrganizationId(), unit.getAttempts(), status, message, e);
+        }
+    }
+
+    /**
+     * Scheduler counters of this node
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("nodeId", nodeId);
+        statistics.put("running", running.get());
+        statistics.put("unitsPlanned", unitsPlanned.sum());
+        statistics.put("unitsClaimed", unitsClaimed.sum());
+        statistics.put("claimConflicts", claimConflicts.sum());
+        statistics.put("unitsCompleted", unitsCompleted.sum());
+        statistics.put("unitsFailed", unitsFailed.sum());
+        statistics.put("leasesLost", leasesLost.sum());
+        statistics.put("checksRecorded", checksRecorded.sum());
+        return statistics;
+    }
+}
@@ -0,0 +1,404 @@
+package com.talentx.hrms.service.compliance;
+
+import com.talentx.hrms.service.compliance.ComplianceSnapshot.Fact;
+import com.talentx.hrms.service.compliance.ComplianceSnapshot.Source;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Compiled compliance check expression.
+ *
+ * An expression states what must hold for every employee, e.g.
+ * {@code avg_weekly_hours <= 48 AND (tenure_days < 365 OR leave_entitled >= 12)}. It is parsed once
+ * into a tree of small evaluators whose fact references are already resolved to column indices, so
+ * evaluating a row is a few array reads and comparisons. Supported syntax: numbers, fact names (see
+ * {@link Fact}), {@code + - * /} (division by zero yields 0), {@code min(a, b)}, {@code max(a, b)},
+ * {@code abs(a)}, comparisons {@code < <= > >= = == != <>}, {@code AND OR NOT} (or {@code && || !}),
+ * {@code TRUE}, {@code FALSE} and parentheses.
+ */
+public final class ComplianceExpression {
+
+    @FunctionalInterface
+    interface NumericTerm {
+        double valueAt(double[][] columns, int row);
+    }
+
+    @FunctionalInterface
+    interface Condition {
+        boolean test(double[][] columns, int row);
+    }
+
+    private final String expression;
+    private final Condition condition;
+    private final Set<Fact> facts;
+    private final Set<Source> sources;
+
+    private ComplianceExpression(String expression, Condition condition, Set<Fact> facts) {
+        this.expression = expression;
+        this.condition = condition;
+        this.facts = Collections.unmodifiableSet(facts);
+        EnumSet<Source> required = EnumSet.of(Source.EMPLOYEE);
+        facts.forEach(fact -> required.add(fact.getSource()));
+        this.sources = Collections.unmodifiableSet(required);
+    }
+
+    /**
+     * Compile an expression. Throws IllegalArgumentException describing the first syntax or type error.
+     */
+    public static ComplianceExpression compile(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            throw new IllegalArgumentException("Check expression is empty");
+        }
+
+        Parser parser = new Parser(expression.trim());
+        Operand result = parser.parseExpression();
+        parser.expectEnd();
+        if (result.condition() == null) {
+            throw new IllegalArgumentException("Check expression must be a condition, not a number: " + expression);
+        }
+        return new ComplianceExpression(expression.trim(), result.condition(), parser.facts);
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * Facts the expression reads
+     */
+    public Set<Fact> getFacts() {
+        return facts;
+    }
+
+    /**
+     * Sources a snapshot must have loaded to evaluate the expression
+     */
+    public Set<Source> getSources() {
+        return sources;
+    }
+
+    /**
+     * Whether the employee at a snapshot row satisfies the expression
+     */
+    public boolean test(ComplianceSnapshot snapshot, int row) {
+        return condition.test(snapshot.columns(), row);
+    }
+
+    boolean test(double[][] columns, int row) {
+        return condition.test(columns, row);
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+
+    // Exactly one of number / condition is set; constant is set for folded numeric literals
+    private record Operand(NumericTerm number, Condition condition, Double constant) {
+
+        static Operand number(NumericTerm term) {
+            return new Operand(term, null, null);
+        }
+
+        static Operand constant(double value) {
+            return new Operand((columns, row) -> value, null, value);
+        }
+
+        static Operand condition(Condition condition) {
+            return new Operand(null, condition, null);
+        }
+    }
+
+    private enum TokenType {
+        NUMBER, IDENTIFIER, SYMBOL, END
+    }
+
+    private record Token(TokenType type, String text, int position) {
+
+        boolean is(String symbolOrKeyword) {
+            return type != TokenType.NUMBER && type != TokenType.END && text.equalsIgnoreCase(symbolOrKeyword);
+        }
+    }
+
+    /**
+     * Recursive-descent parser; precedence from loosest: OR, AND, NOT, comparison, + -, * /, unary minus
+     */
+    private static final class Parser {
+
+        private final List<Token> tokens;
+        private final Set<Fact> facts = EnumSet.noneOf(Fact.class);
+        private int index;
+
+        Parser(String source) {
+            this.tokens = tokenize(source);
+        }
+
+        Operand parseExpression() {
+            Operand left = parseAnd();
+            while (peek().is("OR") || peek().is("||")) {
+                Token operator = next();
+                Condition a = condition(left, operator);
+                Condition b = condition(parseAnd(), operator);
+                left = Operand.condition((columns, row) -> a.test(columns, row) || b.test(columns, row));
+            }
+            return left;
+        }
+
+        private Operand parseAnd() {
+            Operand left = parseNot();
+            while (peek().is("AND") || peek().is("&&")) {
+                Token operator = next();
+                Condition a = condition(left, operator);
+                Condition b = condition(parseNot(), operator);
+                left = Operand.condition((columns, row) -> a.test(columns, row) && b.test(columns, row));
+            }
+            return left;
+        }
+
+        private Operand parseNot() {
+            if (peek().is("NOT") || peek().is("!")) {
+                Token operator = next();
+                Condition a = condition(parseNot(), operator);
+                return Operand.condition((columns, row) -> !a.test(columns, row));
+            }
+            return parseComparison();
+        }
+
+        private Operand parseComparison() {
+            Operand left = parseSum();
+            Token operator = peek();
+            if (operator.type() != TokenType.SYMBOL) {
+                return left;
+            }
+
+            String symbol = operator.text();
+            if (!List.of("<", "<=", ">", ">=", "=", "==", "!=", "<>").contains(symbol)) {
+                return left;
+            }
+            next();
+            NumericTerm a = number(left, operator);
+            NumericTerm b = number(parseSum(), operator);
+            return Operand.condition(switch (symbol) {
+                case "<" -> (columns, row) -> a.valueAt(columns, row) < b.valueAt(columns, row);
+                case "<=" -> (columns, row) -> a.valueAt(columns, row) <= b.valueAt(columns, row);
+                case ">" -> (columns, row) -> a.valueAt(columns, row) > b.valueAt(columns, row);
+                case ">=" -> (columns, row) -> a.valueAt(columns, row) >= b.valueAt(columns, row);
+                case "=", "==" -> (columns, row) -> a.valueAt(columns, row) == b.valueAt(columns, row);
+                default -> (columns, row) -> a.valueAt(columns, row) != b.valueAt(columns, row);
+            });
+        }
+
+        private Operand parseSum() {
+            Operand left = parseProduct();
+            while (peek().is("+") || peek().is("-")) {
+                Token operator = next();
+                Operand right = parseProduct();
+                left = arithmetic(left, right, operator);
+            }
+            return left;
+        }
+
+        private Operand parseProduct() {
+            Operand left = parseUnary();
+            while (peek().is("*") || peek().is("/")) {
+                Token operator = next();
+                Operand right = parseUnary();
+                left = arithmetic(left, right, operator);
+            }
+            return left;
+        }
+
+        private Operand parseUnary() {
+            if (peek().is("-")) {
+                Token operator = next();
+                Operand operand = parseUnary();
+                if (operand.constant() != null) {
+                    return Operand.constant(-operand.constant());
+                }
+                NumericTerm a = number(operand, operator);
+                return Operand.number((columns, row) -> -a.valueAt(columns, row));
+            }
+            return parsePrimary();
+        }
+
+        private Operand parsePrimary() {
+            Token token = next();
+            switch (token.type()) {
+                case NUMBER:
+                    return Operand.constant(Double.parseDouble(token.text()));
+                case IDENTIFIER:
+                    if (token.is("TRUE")) {
+                        return Operand.condition((columns, row) -> true);
+                    }
+                    if (token.is("FALSE")) {
+                        return Operand.condition((columns, row) -> false);
+                    }
+                    if (peek().is("(")) {
+                        return parseFunction(token);
+                    }
+                    Fact fact = Fact.fromExpressionName(token.text());
+                    if (fact == null) {
+                        throw error(token, "Unknown fact '" + token.text() + "'");
+                    }
+                    facts.add(fact);
+                    int column = fact.ordinal();
+                    return Operand.number((columns, row) -> columns[column][row]);
+                case SYMBOL:
+                    if (token.is("(")) {
+                        Operand inner = parseExpression();
+                        expect(")");
+                        return inner;
+                    }
+                    throw error(token, "Unexpected '" + token.text() + "'");
+                default:
+                    throw error(token, "Unexpected end of expression");
+            }
+        }
+
+        private Operand parseFunction(Token name) {
+            expect("(");
+            List<Operand> arguments = new ArrayList<>();
+            arguments.add(parseSum());
+            while (peek().is(",")) {
+                next();
+                arguments.add(parseSum());
+            }
+            expect(")");
+
+            String function = name.text().toLowerCase(Locale.ROOT);
+            int arity = "abs".equals(function) ? 1 : 2;
+            if (!List.of("abs", "min", "max").contains(function)) {
+                throw error(name, "Unknown function '" + name.text() + "'");
+            }
+            if (arguments.size() != arity) {
+                throw error(name, function + " takes " + arity + " argument(s)");
+            }
+
+            NumericTerm a = number(arguments.get(0), name);
+            if (arity == 1) {
+                return Operand.number((columns, row) -> Math.abs(a.valueAt(columns, row)));
+            }
+            NumericTerm b = number(arguments.get(1), name);
+            return Operand.number("min".equals(function)
+                ? (columns, row) -> Math.min(a.valueAt(columns, row), b.valueAt(columns, row))
+                : (columns, row) -> Math.max(a.valueAt(columns, row), b.valueAt(columns, row)));
+        }
+
+        private Operand arithmetic(Operand left, Operand right, Token operator) {
+            NumericTerm a = number(left, operator);
+            NumericTerm b = number(right, operator);
+            if (left.constant() != null && right.constant() != null) {
+                return Operand.constant(apply(operator.text(), left.constant(), right.constant()));
+            }
+            return Operand.number(switch (operator.text()) {
+                case "+" -> (columns, row) -> a.valueAt(columns, row) + b.valueAt(columns, row);
+                case "-" -> (columns, row) -> a.valueAt(columns, row) - b.valueAt(columns, row);
+                case "*" -> (columns, row) -> a.valueAt(columns, row) * b.valueAt(columns, row);
+                default -> (columns, row) -> divide(a.valueAt(columns, row), b.valueAt(columns, row));
+            });
+        }
+
+        private static double apply(String operator, double a, double b) {
+            return switch (operator) {
+                case "+" -> a + b;
+                case "-" -> a - b;
+                case "*" -> a * b;
+                default -> divide(a, b);
+            };
+        }
+
+        private static double divide(double a, double b) {
+            return b == 0 ? 0 : a / b;
+        }
+
+        private NumericTerm number(Operand operand, Token operator) {
+            if (operand.number() == null) {
+                throw error(operator, "'" + operator.text() + "' needs a number, not a condition");
+            }
+            return operand.number();
+        }
+
+        private Condition condition(Operand operand, Token operator) {
+            if (operand.condition() == null) {
+                throw error(operator, "'" + operator.text() + "' needs a condition, not a number");
+            }
+            return operand.condition();
+        }
+
+        private Token peek() {
+            return tokens.get(index);
+        }
+
+        private Token next() {
+            Token token = tokens.get(index);
+            if (token.type() != TokenType.END) {
+                index++;
+            }
+            return token;
+        }
+
+        private void expect(String symbol) {
+            Token token = next();
+            if (!token.is(symbol)) {
+                throw error(token, "Expected '" + symbol + "'");
+            }
+        }
+
+        void expectEnd() {
+            Token token = peek();
+            if (token.type() != TokenType.END) {
+                throw error(token, "Unexpected '" + token.text() + "'");
+            }
+        }
+
+        private static IllegalArgumentException error(Token token, String message) {
+            return new IllegalArgumentException(message + " at position " + (token.position() + 1));
+        }
+
+        private static List<Token> tokenize(String source) {
+            List<Token> tokens = new ArrayList<>();
+            int i = 0;
+            while (i < source.length()) {
+                char c = source.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (Character.isDigit(c) || (c == '.' && i + 1 < source.length()
+                    && Character.isDigit(source.charAt(i + 1)))) {
+                    int start = i;
+                    while (i < source.length() && (Character.isDigit(source.charAt(i)) || source.charAt(i) == '.')) {
+                        i++;
+                    }
+                    String text = source.substring(start, i);
+                    if (text.indexOf('.') != text.lastIndexOf('.')) {
+                        throw new IllegalArgumentException("Malformed number '" + text + "' at position " + (start + 1));
+                    }
+                    tokens.add(new Token(TokenType.NUMBER, text, start));
+                } else if (Character.isLetter(c) || c == '_') {
+                    int start = i;
+                    while (i < source.length() && (Character.isLetterOrDigit(source.charAt(i)) || source.charAt(i) == '_')) {
+                        i++;
+                    }
+                    tokens.add(new Token(TokenType.IDENTIFIER, source.substring(start, i), start));
+                } else {
+                    String two = i + 1 < source.length() ? source.substring(i, i + 2) : "";
+                    if (List.of("<=", ">=", "==", "!=", "<>", "&&", "||").contains(two)) {
+                        tokens.add(new Token(TokenType.SYMBOL, two, i));
+                        i += 2;
+                    } else if ("<>=!+-*/(),".indexOf(c) >= 0) {
+                        tokens.add(new Token(TokenType.SYMBOL, String.valueOf(c), i));
+                        i++;
+                    } else {
+                        throw new IllegalArgumentException("Unexpected character '" + c + "' at position " + (i + 1));
+                    }
+                }
+            }
+            tokens.add(new Token(TokenType.END, "", source.length()));
+            return tokens;
+        }
+    }
+}
@@ -0,0 +1,585 @@
+package com.talentx.hrms.service.compliance;
+
+import com.talentx.hrms.common.async.BoundedExecutor;
+import com.talentx.hrms.config.ExecutorConfig;
+import com.talentx.hrms.entity.compliance.ComplianceRule;
+import com.talentx.hrms.entity.compliance.ComplianceRule.RuleCategory;
+import com.talentx.hrms.entity.enums.AttendanceStatus;
+import com.talentx.hrms.repository.AttendanceRecordRepository;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.LeaveBalanceRepository;
+import com.talentx.hrms.repository.PayrollItemRepository;
+import com.talentx.hrms.repository.PayslipRepository;
+import com.talentx.hrms.service.compliance.ComplianceSnapshot.Fact;
+import com.talentx.hrms.service.compliance.ComplianceSnapshot.Source;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluates compliance rules over columnar workforce snapshots.
+ *
+ * Each rule's check expression (its check query, or the default for its category) is compiled
+ * once and cached by text. A batch of rules is evaluated in a single pass over the organization's
+ * {@link ComplianceSnapshot}: rows are split into chunks of {@value #CHUNK_SIZE} employees, and inside
+ * a chunk every rule scans the same cache-resident slice of the columns. The calling thread works
+ * through the chunks together with helpers on the compliance executor, so evaluation only uses
+ * compliance threads that are free and still completes when none is. Violations are recorded in one
+ * bitmap per rule; chunks are multiples of 64 rows so workers never share a bitmap word.
+ *
+ * Snapshots are reused for snapshot-ttl-seconds, so results can lag source data by that much;
+ * {@link #invalidate} forces the next evaluation to reload. Expired snapshots are evicted in the
+ * background so organizations that are no longer checked do not keep theirs in memory.
+ */
+@Component
+public class ComplianceRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ComplianceRuleEngine.class);
+
+    static final int CHUNK_SIZE = 4096;
+
+    // Attendance facts cover the trailing four weeks, leave facts the current year, payroll facts the latest payslip month
+    static final int ATTENDANCE_WINDOW_DAYS = 28;
+
+    private static final int MAX_COMPILED_EXPRESSIONS = 10_000;
+
+    private final EmployeeRepository employeeRepository;
+    private final AttendanceRecordRepository attendanceRecordRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final PayslipRepository payslipRepository;
+    private final PayrollItemRepository payrollItemRepository;
+    private final Executor workerExecutor;
+    private final int helpers;
+    private final Duration snapshotTtl;
+    private final Clock clock;
+
+    private final Map<String, ComplianceExpression> compiled = new ConcurrentHashMap<>();
+    private final Map<Long, ComplianceSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, Object> loadLocks = new ConcurrentHashMap<>();
+
+    private final LongAdder expressionsCompiled = new LongAdder();
+    private final LongAdder snapshotsBuilt = new LongAdder();
+    private final LongAdder snapshotHits = new LongAdder();
+    private final LongAdder snapshotsEvicted = new LongAdder();
+    private final LongAdder evaluations = new LongAdder();
+    private final LongAdder checksEvaluated = new LongAdder();
+    private final LongAdder violations = new LongAdder();
+    private final LongAdder evaluationNanos = new LongAdder();
+
+    @Autowired
+    public ComplianceRuleEngine(EmployeeRepository employeeRepository,
+                                AttendanceRecordRepository attendanceRecordRepository,
+                                LeaveBalanceRepository leaveBalanceRepository,
+                                PayslipRepository payslipRepository,
+                                PayrollItemRepository payrollItemRepository,
+                                @Qualifier(ExecutorConfig.COMPLIANCE_EXECUTOR) BoundedExecutor complianceExecutor,
+                                @Value("${compliance.engine.snapshot-ttl-seconds:300}") long snapshotTtlSeconds) {
+        this(employeeRepository, attendanceRecordRepository, leaveBalanceRepository, payslipRepository,
+            payrollItemRepository, complianceExecutor, complianceExecutor.getMaxPoolSize(), snapshotTtlSeconds,
+            Clock.systemDefaultZone());
+    }
+
+    ComplianceRuleEngine(EmployeeRepository employeeRepository,
+                         AttendanceRecordRepository attendanceRecordRepository,
+                         LeaveBalanceRepository leaveBalanceRepository,
+                         PayslipRepository payslipRepository,
+                         PayrollItemRepository payrollItemRepository,
+                         Executor workerExecutor,
+                         int helpers,
+                         long snapshotTtlSeconds,
+                         Clock clock) {
+        this.employeeRepository = employeeRepository;
+        this.attendanceRecordRepository = attendanceRecordRepository;
+        this.leaveBalanceRepository = leaveBalanceRepository;
+        this.payslipRepository = payslipRepository;
+        this.payrollItemRepository = payrollItemRepository;
+        this.workerExecutor = workerExecutor;
+        this.helpers = Math.max(0, helpers);
+        this.snapshotTtl = Duration.ofSeconds(Math.max(0, snapshotTtlSeconds));
+        this.clock = clock;
+    }
+
+    /**
+     * Outcome of one rule: the rows of the snapshot that violate its expression.
+     * A rule without an expression has a null expression; a rule whose expression does not compile has an error.
+     */
+    public record Outcome(ComplianceRule rule, ComplianceExpression expression, ComplianceSnapshot snapshot,
+                          int evaluated, int[] violatingRows, String error) {
+
+        public boolean isEvaluated() {
+            return expression != null && error == null;
+        }
+
+        public int getViolationCount() {
+            return violatingRows.length;
+        }
+
+        public boolean isCompliant() {
+            return error == null && violatingRows.length == 0;
+        }
+
+        public int getComplianceScore() {
+            if (error != null) {
+                return 0;
+            }
+            if (evaluated == 0) {
+                return 100;
+            }
+            return (int) Math.round(100.0 * (evaluated - violatingRows.length) / evaluated);
+        }
+    }
+
+    /**
+     * Compile a check expression, reusing an earlier compilation of the same text.
+     * Throws IllegalArgumentException when the expression is invalid.
+     */
+    public ComplianceExpression compile(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            throw new IllegalArgumentException("Check expression is empty");
+        }
+
+        String key = expression.trim();
+        ComplianceExpression cached = compiled.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        ComplianceExpression result = ComplianceExpression.compile(key);
+        expressionsCompiled.increment();
+        if (compiled.size() >= MAX_COMPILED_EXPRESSIONS) {
+            compiled.clear();
+        }
+        compiled.put(key, result);
+        return result;
+    }
+
+    /**
+     * Expression a rule is checked with: its check query, else the default for its category, else null
+     */
+    public ComplianceExpression expressionFor(ComplianceRule rule) {
+        if (rule.getCheckQuery() != null && !rule.getCheckQuery().trim().isEmpty()) {
+            return compile(rule.getCheckQuery());
+        }
+        String defaultExpression = defaultExpression(rule.getRuleCategory());
+        return defaultExpression != null ? compile(defaultExpression) : null;
+    }
+
+    /**
+     * Built-in check for rules of a category that carry no check query. Categories whose requirements are
+     * not reflected in workforce facts (privacy, discrimination, other) have none.
+     */
+    public static String defaultExpression(RuleCategory category) {
+        if (category == null) {
+            return null;
+        }
+        return switch (category) {
+            case WORKING_HOURS -> "avg_weekly_hours <= 48 AND max_daily_hours <= 12";
+            case OVERTIME -> "overtime_hours <= 50";
+            case MINIMUM_WAGE -> "salary > 0 OR hourly_rate > 0";
+            case LEAVE_ENTITLEMENT -> "leave_available >= 0 AND (tenure_days < 365 OR leave_entitled > 0)";
+            case SAFETY -> "max_daily_hours <= 16";
+            default -> null;
+        };
+    }
+
+    /**
+     * Evaluate rules against every active employee of an organization in one pass
+     */
+    public List<Outcome> evaluate(Long organizationId, List<ComplianceRule> rules) {
+        return evaluate(organizationId, rules, null);
+    }
+
+    /**
+     * Evaluate rules against one employee, or every active employee of the organization when employeeId is null
+     */
+    public List<Outcome> evaluate(Long organizationId, List<ComplianceRule> rules, Long employeeId) {
+        Outcome[] outcomes = new Outcome[rules.size()];
+        List<ComplianceExpression> batch = new ArrayList<>(rules.size());
+        List<Integer> positions = new ArrayList<>(rules.size());
+        Set<Source> sources = EnumSet.of(Source.EMPLOYEE);
+
+        for (int i = 0; i < rules.size(); i++) {
+            ComplianceRule rule = rules.get(i);
+            try {
+                ComplianceExpression expression = expressionFor(rule);
+                if (expression == null) {
+                    outcomes[i] = new Outcome(rule, null, null, 0, new int[0], null);
+                } else {
+                    batch.add(expression);
+                    positions.add(i);
+                    sources.addAll(expression.getSources());
+                }
+            } catch (IllegalArgumentException e) {
+                outcomes[i] = new Outcome(rule, null, null, 0, new int[0], "Invalid check query: " + e.getMessage());
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            ComplianceSnapshot snapshot = getSnapshot(organizationId, sources);
+            int from = 0;
+            int to = snapshot.size();
+            if (employeeId != null) {
+                int row = snapshot.rowOf(employeeId);
+                from = Math.max(row, 0);
+                to = row >= 0 ? row + 1 : 0;
+            }
+
+            long start = System.nanoTime();
+            long[][] bitmaps = run(snapshot, batch.toArray(new ComplianceExpression[0]), from, to);
+            evaluationNanos.add(System.nanoTime() - start);
+
+            for (int b = 0; b < bitmaps.length; b++) {
+                int[] rows = rows(bitmaps[b]);
+                int position = positions.get(b);
+                outcomes[position] = new Outcome(rules.get(position), batch.get(b), snapshot, to - from, rows, null);
+                violations.add(rows.length);
+            }
+            evaluations.increment();
+            checksEvaluated.add((long) batch.size() * (to - from));
+        }
+
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Snapshot of an organization holding at least the given sources, reused while it is younger than the TTL
+     */
+    public ComplianceSnapshot getSnapshot(Long organizationId, Set<Source> required) {
+        ComplianceSnapshot snapshot = snapshots.get(organizationId);
+        if (isUsable(snapshot, required)) {
+            snapshotHits.increment();
+            return snapshot;
+        }
+
+        synchronized (loadLocks.computeIfAbsent(organizationId, id -> new Object())) {
+            snapshot = snapshots.get(organizationId);
+            if (isUsable(snapshot, required)) {
+                snapshotHits.increment();
+                return snapshot;
+            }
+
+            // Keep the sources of a still-fresh snapshot so rule batches needing different sources don't thrash
+            EnumSet<Source> sources = EnumSet.of(Source.EMPLOYEE);
+            sources.addAll(required);
+            if (snapshot != null && !isExpired(snapshot)) {
+                sources.addAll(snapshot.getSources());
+            }
+
+            snapshot = load(organizationId, sources);
+            snapshots.put(organizationId, snapshot);
+            return snapshot;
+        }
+    }
+
+    /**
+     * Drop an organization's snapshot so the next evaluation reads current data
+     */
+    public void invalidate(Long organizationId) {
+        snapshots.remove(organizationId);
+    }
+
+    /**
+     * Drop snapshots that can no longer be reused, because they outlived the TTL or were built on an earlier day
+     */
+    @Scheduled(fixedDelayString = "${compliance.engine.snapshot-eviction-interval-ms:60000}")
+    public void evictExpiredSnapshots() {
+        LocalDate today = LocalDate.now(clock);
+        snapshots.values().removeIf(snapshot -> {
+            boolean stale = isExpired(snapshot) || !snapshot.getAsOf().equals(today);
+            if (stale) {
+                snapshotsEvicted.increment();
+            }
+            return stale;
+        });
+        // A load racing with this only loses its lock and may load twice
+        loadLocks.keySet().retainAll(snapshots.keySet());
+    }
+
+    /**
+     * Engine counters
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("compiledExpressions", compiled.size());
+        statistics.put("expressionsCompiled", expressionsCompiled.sum());
+        statistics.put("snapshots", snapshots.size());
+        statistics.put("snapshotsBuilt", snapshotsBuilt.sum());
+        statistics.put("snapshotHits", snapshotHits.sum());
+        statistics.put("snapshotsEvicted", snapshotsEvicted.sum());
+        statistics.put("evaluations", evaluations.sum());
+        statistics.put("checksEvaluated", checksEvaluated.sum());
+        statistics.put("violations", violations.sum());
+        statistics.put("evaluationMillis", evaluationNanos.sum() / 1_000_000);
+        return statistics;
+    }
+
+    /**
+     * Evaluate expressions over rows [from, to) and return one violation bitmap per expression
+     */
+    long[][] run(ComplianceSnapshot snapshot, ComplianceExpression[] batch, int from, int to) {
+        double[][] columns = snapshot.columns();
+        long[][] bitmaps = new long[batch.length][(snapshot.size() + 63) >>> 6];
+        if (from >= to) {
+            return bitmaps;
+        }
+
+        int firstChunk = from / CHUNK_SIZE;
+        int lastChunk = (to - 1) / CHUNK_SIZE;
+        if (firstChunk == lastChunk) {
+            evaluateChunk(columns, batch, bitmaps, from, to);
+            return bitmaps;
+        }
+
+        int chunks = lastChunk - firstChunk + 1;
+        AtomicInteger nextChunk = new AtomicInteger(firstChunk);
+        CountDownLatch evaluated = new CountDownLatch(chunks);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            for (int chunk = nextChunk.getAndIncrement(); chunk <= lastChunk; chunk = nextChunk.getAndIncrement()) {
+                try {
+                    if (failure.get() == null) {
+                        evaluateChunk(columns, batch, bitmaps,
+                            Math.max(from, chunk * CHUNK_SIZE), Math.min(to, (chunk + 1) * CHUNK_SIZE));
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    evaluated.countDown();
+                }
+            }
+        };
+
+        // The caller only waits for chunks a running helper has taken; a queued or discarded helper finds none left
+        for (int i = 0; i < Math.min(helpers, chunks - 1); i++) {
+            workerExecutor.execute(worker);
+        }
+        worker.run();
+
+        try {
+            evaluated.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Compliance evaluation was interrupted", e);
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Compliance evaluation failed", failure.get());
+        }
+        return bitmaps;
+    }
+
+    // Rule-major inside the chunk: each expression scans the same few KB of every column it reads
+    private static void evaluateChunk(double[][] columns, ComplianceExpression[] batch, long[][] bitmaps,
+                                      int start, int end) {
+        for (int b = 0; b < batch.length; b++) {
+            ComplianceExpression expression = batch[b];
+            long[] bitmap = bitmaps[b];
+            for (int row = start; row < end; row++) {
+                if (!expression.test(columns, row)) {
+                    bitmap[row >>> 6] |= 1L << row;
+                }
+            }
+        }
+    }
+
+    private static int[] rows(long[] bitmap) {
+        int count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+
+        int[] rows = new int[count];
+        int next = 0;
+        for (int w = 0; w < bitmap.length; w++) {
+            long word = bitmap[w];
+            while (word != 0) {
+                rows[next++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return rows;
+    }
+
+    private boolean isUsable(ComplianceSnapshot snapshot, Set<Source> required) {
+        return snapshot != null && snapshot.hasSources(required) && !isExpired(snapshot)
+            && snapshot.getAsOf().equals(LocalDate.now(clock));
+    }
+
+    private boolean isExpired(ComplianceSnapshot snapshot) {
+        return !snapshot.getBuiltAt().plus(snapshotTtl).isAfter(clock.instant());
+    }
+
+    /**
+     * Build a snapshot with one projection query per source
+     */
+    ComplianceSnapshot load(Long organizationId, Set<Source> sources) {
+        long start = System.nanoTime();
+        LocalDate today = LocalDate.now(clock);
+        Instant builtAt = clock.instant();
+
+        List<Object[]> employeeRows = employeeRepository.findComplianceRowsByOrganizationId(organizationId);
+        int size = employeeRows.size();
+        long[] employeeIds = new long[size];
+        String[] employeeNumbers = new String[size];
+        double[][] columns = new double[Fact.COUNT][size];
+
+        for (int row = 0; row < size; row++) {
+            Object[] values = employeeRows.get(row);
+            employeeIds[row] = ((Number) values[0]).longValue();
+            employeeNumbers[row] = (String) values[1];
+            set(columns, Fact.SALARY, row, decimal(values[2]));
+            set(columns, Fact.HOURLY_RATE, row, decimal(values[3]));
+            LocalDate hireDate = toLocalDate(values[4]);
+            set(columns, Fact.TENURE_DAYS, row, hireDate != null ? ChronoUnit.DAYS.between(hireDate, today) : 0);
+            LocalDate dateOfBirth = toLocalDate(values[5]);
+            set(columns, Fact.AGE, row, dateOfBirth != null ? ChronoUnit.YEARS.between(dateOfBirth, today) : 0);
+            set(columns, Fact.HAS_PF_NUMBER, row, isPresent(values[6]) ? 1 : 0);
+            set(columns, Fact.HAS_UAN_NUMBER, row, isPresent(values[7]) ? 1 : 0);
+        }
+
+        if (sources.contains(Source.ATTENDANCE)) {
+            loadAttendance(organizationId, today, employeeIds, columns);
+        }
+        if (sources.contains(Source.LEAVE)) {
+            loadLeave(organizationId, today.getYear(), employeeIds, columns);
+        }
+        if (sources.contains(Source.PAYROLL)) {
+            loadPayroll(organizationId, employeeIds, columns);
+        }
+
+        snapshotsBuilt.increment();
+        logger.debug("Built compliance snapshot for organization {} with {} employees and sources {} in {} ms",
+            organizationId, size, sources, (System.nanoTime() - start) / 1_000_000);
+        return new ComplianceSnapshot(organizationId, today, builtAt, sources, employeeIds, employeeNumbers, columns);
+    }
+
+    // Rows are (employeeId, status, COUNT, SUM(totalHours), SUM(overtimeHours), MAX(totalHours))
+    private void loadAttendance(Long organizationId, LocalDate today, long[] employeeIds, double[][] columns) {
+        List<Object[]> rows = attendanceRecordRepository.findComplianceTotals(
+            organizationId, today.minusDays(ATTENDANCE_WINDOW_DAYS - 1), today);
+
+        for (Object[] values : rows) {
+            int row = Arrays.binarySearch(employeeIds, ((Number) values[0]).longValue());
+            if (row < 0) {
+                continue;
+            }
+            AttendanceStatus status = (AttendanceStatus) values[1];
+            long days = ((Number) values[2]).longValue();
+            if (status != null && status.countsAsPresent()) {
+                add(columns, Fact.DAYS_WORKED, row, days);
+            }
+            if (status == AttendanceStatus.ABSENT) {
+                add(columns, Fact.ABSENT_DAYS, row, days);
+            }
+            if (status == AttendanceStatus.LATE) {
+                add(columns, Fact.LATE_DAYS, row, days);
+            }
+            add(columns, Fact.HOURS_WORKED, row, decimal(values[3]));
+            add(columns, Fact.OVERTIME_HOURS, row, decimal(values[4]));
+            set(columns, Fact.MAX_DAILY_HOURS, row,
+                Math.max(columns[Fact.MAX_DAILY_HOURS.ordinal()][row], decimal(values[5])));
+        }
+
+        double weeks = ATTENDANCE_WINDOW_DAYS / 7.0;
+        double[] hours = columns[Fact.HOURS_WORKED.ordinal()];
+        double[] weekly = columns[Fact.AVG_WEEKLY_HOURS.ordinal()];
+        for (int row = 0; row < hours.length; row++) {
+            weekly[row] = hours[row] / weeks;
+        }
+    }
+
+    // Rows are (employeeId, SUM(allocated), SUM(carriedForward), SUM(used), SUM(pending))
+    private void loadLeave(Long organizationId, int year, long[] employeeIds, double[][] columns) {
+        for (Object[] values : leaveBalanceRepository.findComplianceTotals(organizationId, year)) {
+            int row = Arrays.binarySearch(employeeIds, ((Number) values[0]).longValue());
+            if (row < 0) {
+                continue;
+            }
+            double entitled = decimal(values[1]) + decimal(values[2]);
+            double used = decimal(values[3]);
+            double pending = decimal(values[4]);
+            set(columns, Fact.LEAVE_ENTITLED, row, entitled);
+            set(columns, Fact.LEAVE_USED, row, used);
+            set(columns, Fact.LEAVE_PENDING, row, pending);
+            set(columns, Fact.LEAVE_AVAILABLE, row, entitled - used - pending);
+        }
+    }
+
+    // Rows are (employeeId, SUM(earnings), SUM(deductions), SUM(taxes)) for the latest payslip month
+    private void loadPayroll(Long organizationId, long[] employeeIds, double[][] columns) {
+        String month = payslipRepository.findLatestPayslipMonth(organizationId);
+        if (month == null) {
+            return;
+        }
+
+        for (Object[] values : payrollItemRepository.findComplianceTotals(organizationId, month)) {
+            int row = Arrays.binarySearch(employeeIds, ((Number) values[0]).longValue());
+            if (row < 0) {
+                continue;
+            }
+            double gross = decimal(values[1]);
+            double deductions = decimal(values[2]);
+            double taxes = decimal(values[3]);
+            set(columns, Fact.HAS_PAYSLIP, row, 1);
+            set(columns, Fact.GROSS_PAY, row, gross);
+            set(columns, Fact.DEDUCTIONS, row, deductions);
+            set(columns, Fact.TAXES, row, taxes);
+            set(columns, Fact.NET_PAY, row, gross - deductions - taxes);
+        }
+    }
+
+    private static void set(double[][] columns, Fact fact, int row, double value) {
+        columns[fact.ordinal()][row] = value;
+    }
+
+    private static void add(double[][] columns, Fact fact, int row, double value) {
+        columns[fact.ordinal()][row] += value;
+    }
+
+    private static double decimal(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        return value instanceof BigDecimal decimal ? decimal.doubleValue() : ((Number) value).doubleValue();
+    }
+
+    private static boolean isPresent(Object value) {
+        return value instanceof String text && !text.isBlank();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate date) {
+            return date;
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        if (value instanceof java.util.Date date) {
+            return date.toInstant().atZone(java.time.ZoneId.systemDefault()).toLocalDate();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,155 @@
+package com.talentx.hrms.service.compliance;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Immutable columnar snapshot of one organization's workforce facts.
+ *
+ * Rows are the organization's active employees in id order; every fact is a {@code double[]}
+ * column indexed by row, so a compiled check reads plain arrays instead of walking entities.
+ * Columns of a source that was not loaded are all zeros and {@link #hasSource} reports it.
+ */
+public final class ComplianceSnapshot {
+
+    /**
+     * Where a fact comes from. Sources are loaded only when a rule reads one of their facts.
+     */
+    public enum Source {
+        EMPLOYEE,
+        ATTENDANCE,
+        LEAVE,
+        PAYROLL
+    }
+
+    /**
+     * Facts a check expression can reference, by their lower-case name
+     */
+    public enum Fact {
+        SALARY(Source.EMPLOYEE),
+        HOURLY_RATE(Source.EMPLOYEE),
+        TENURE_DAYS(Source.EMPLOYEE),
+        AGE(Source.EMPLOYEE),
+        HAS_PF_NUMBER(Source.EMPLOYEE),
+        HAS_UAN_NUMBER(Source.EMPLOYEE),
+        DAYS_WORKED(Source.ATTENDANCE),
+        HOURS_WORKED(Source.ATTENDANCE),
+        AVG_WEEKLY_HOURS(Source.ATTENDANCE),
+        MAX_DAILY_HOURS(Source.ATTENDANCE),
+        OVERTIME_HOURS(Source.ATTENDANCE),
+        ABSENT_DAYS(Source.ATTENDANCE),
+        LATE_DAYS(Source.ATTENDANCE),
+        LEAVE_ENTITLED(Source.LEAVE),
+        LEAVE_USED(Source.LEAVE),
+        LEAVE_PENDING(Source.LEAVE),
+        LEAVE_AVAILABLE(Source.LEAVE),
+        HAS_PAYSLIP(Source.PAYROLL),
+        GROSS_PAY(Source.PAYROLL),
+        DEDUCTIONS(Source.PAYROLL),
+        TAXES(Source.PAYROLL),
+        NET_PAY(Source.PAYROLL);
+
+        public static final int COUNT = values().length;
+
+        private final Source source;
+
+        Fact(Source source) {
+            this.source = source;
+        }
+
+        public Source getSource() {
+            return source;
+        }
+
+        public String expressionName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Fact fromExpressionName(String name) {
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private final Long organizationId;
+    private final LocalDate asOf;
+    private final Instant builtAt;
+    private final Set<Source> sources;
+    private final long[] employeeIds;
+    private final String[] employeeNumbers;
+    private final double[][] columns;
+
+    ComplianceSnapshot(Long organizationId, LocalDate asOf, Instant builtAt, Set<Source> sources,
+                       long[] employeeIds, String[] employeeNumbers, double[][] columns) {
+        if (columns.length != Fact.COUNT) {
+            throw new IllegalArgumentException("Snapshot needs one column per fact");
+        }
+        this.organizationId = organizationId;
+        this.asOf = asOf;
+        this.builtAt = builtAt;
+        this.sources = sources.isEmpty() ? EnumSet.noneOf(Source.class) : EnumSet.copyOf(sources);
+        this.employeeIds = employeeIds;
+        this.employeeNumbers = employeeNumbers;
+        this.columns = columns;
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public boolean hasSource(Source source) {
+        return sources.contains(source);
+    }
+
+    public boolean hasSources(Set<Source> required) {
+        return sources.containsAll(required);
+    }
+
+    public Set<Source> getSources() {
+        return EnumSet.copyOf(sources);
+    }
+
+    public int size() {
+        return employeeIds.length;
+    }
+
+    public long employeeId(int row) {
+        return employeeIds[row];
+    }
+
+    public String employeeNumber(int row) {
+        return employeeNumbers[row];
+    }
+
+    public double value(Fact fact, int row) {
+        return columns[fact.ordinal()][row];
+    }
+
+    /**
+     * Row of an employee, or -1 when the employee is not an active member of the organization
+     */
+    public int rowOf(long employeeId) {
+        int row = Arrays.binarySearch(employeeIds, employeeId);
+        return row >= 0 ? row : -1;
+    }
+
+    // Raw column array, indexed by Fact ordinal; shared with compiled checks and never mutated
+    double[][] columns() {
+        return columns;
+    }
+}
@@ -0,0 +1,558 @@
+package com.talentx.hrms.service.employee;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.talentx.hrms.dto.employee.EmployeeSearchDocument;
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.enums.EmploymentStatus;
+import com.talentx.hrms.entity.enums.EmploymentType;
+import com.talentx.hrms.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded full-text index over employee names, employee numbers and job titles.
+ *
+ * Every field is split into overlapping trigrams, and a search intersects the posting lists of the
+ * query's trigrams before checking the remaining candidates, so a substring search no longer scans
+ * the employees table. Queries shorter than a trigram check the organization's documents in memory.
+ * Results are ranked by how closely each field matches.
+ *
+ * The index is kept per organization and updated after each committed change made through the
+ * services. Changes committed by other nodes, or written without the services, are picked up by a
+ * periodic refresh that reads employees updated since the previous one and drops deleted ones. It is
+ * saved to a local file periodically and on shutdown. On startup the file is loaded and only
+ * employees changed since it was written are read from the database. Until the index is ready,
+ * callers search the database as before.
+ */
+@Component
+public class EmployeeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+
+    // Changes committed shortly before the file was written or the last refresh ran may not be in the
+    // index yet, since updated_at is set before the transaction commits
+    private static final long CATCH_UP_MARGIN_MILLIS = 5 * 60_000L;
+
+    /**
+     * Search criteria; text criteria match anywhere in the field, ignoring case
+     */
+    public record Criteria(
+        String name,
+        String employeeNumber,
+        String jobTitle,
+        Long departmentId,
+        Long locationId,
+        EmploymentStatus employmentStatus,
+        EmploymentType employmentType) {
+
+        public boolean hasText() {
+            return normalize(name) != null || normalize(employeeNumber) != null || normalize(jobTitle) != null;
+        }
+    }
+
+    record Snapshot(Instant takenAt, List<EmployeeSearchDocument> documents) {
+    }
+
+    // Employee properties that hits can be sorted by from the indexed fields, in database order
+    private static final Map<String, Comparator<EmployeeSearchDocument>> SORTABLE = Map.of(
+        "id", Comparator.comparing(EmployeeSearchDocument::id),
+        "firstName", text(EmployeeSearchDocument::firstName),
+        "lastName", text(EmployeeSearchDocument::lastName),
+        "employeeNumber", text(EmployeeSearchDocument::employeeNumber),
+        "jobTitle", text(EmployeeSearchDocument::jobTitle),
+        "employmentStatus", text(document -> document.employmentStatus() != null ? document.employmentStatus().name() : null),
+        "employmentType", text(document -> document.employmentType() != null ? document.employmentType().name() : null));
+
+    private final EmployeeRepository employeeRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path indexFile;
+
+    private final Map<Long, Shard> shards = new ConcurrentHashMap<>();
+    private final Map<Long, Long> organizationOf = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile boolean ready;
+    private volatile Instant refreshedAt;
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+
+    @Autowired
+    public EmployeeSearchIndex(EmployeeRepository employeeRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${search.employee.enabled:true}") boolean enabled,
+                               @Value("${search.employee.index-file:data/search/employee-index.json}") String indexFile) {
+        this.employeeRepository = employeeRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.indexFile = Path.of(indexFile);
+    }
+
+    /**
+     * Whether searches can be answered from the index
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Index an employee's current fields once the surrounding transaction commits
+     */
+    public void index(Employee employee) {
+        if (enabled) {
+            EmployeeSearchDocument document = EmployeeSearchDocument.from(employee);
+            afterCommit(() -> apply(document));
+        }
+    }
+
+    /**
+     * Remove an employee from the index once the surrounding transaction commits
+     */
+    public void remove(Long employeeId) {
+        if (enabled) {
+            afterCommit(() -> removeNow(employeeId));
+        }
+    }
+
+    /**
+     * Ids of the employees of an organization matching all criteria, best matches first
+     */
+    public List<Long> search(Long organizationId, Criteria criteria) {
+        return search(organizationId, criteria, Sort.unsorted());
+    }
+
+    /**
+     * Ids of the employees of an organization matching all criteria in the order of the sort, best
+     * matches first when unsorted. The sort must be one {@link #canSort} accepts.
+     */
+    public List<Long> search(Long organizationId, Criteria criteria, Sort sort) {
+        Comparator<EmployeeSearchDocument> order = comparator(sort);
+        searches.increment();
+        Shard shard = shards.get(organizationId);
+        return shard != null ? shard.search(criteria, order) : List.of();
+    }
+
+    /**
+     * Whether hits can be put in the order of the sort from the indexed fields alone
+     */
+    public static boolean canSort(Sort sort) {
+        return sort.stream().allMatch(order -> SORTABLE.containsKey(order.getProperty()));
+    }
+
+    /**
+     * Load the saved index and catch up with employees changed since it was written
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            Instant startedAt = Instant.now();
+            Snapshot snapshot = readSnapshot();
+            List<EmployeeSearchDocument> changed;
+            if (snapshot != null) {
+                snapshot.documents().forEach(this::apply);
+                changed = employeeRepository.findSearchDocumentsUpdatedSince(
+                    Timestamp.from(snapshot.takenAt().minusMillis(CATCH_UP_MARGIN_MILLIS)));
+            } else {
+                changed = employeeRepository.findSearchDocumentsUpdatedSince(new Timestamp(0));
+            }
+            changed.forEach(this::apply);
+
+            if (snapshot != null) {
+                // Employees deleted while the application was down
+                removeDeleted();
+            }
+
+            refreshedAt = startedAt;
+            ready = true;
+            logger.info("Employee search index ready with {} employees ({} read from the database)",
+                organizationOf.size(), changed.size());
+            saveIfChanged();
+        } catch (RuntimeException e) {
+            logger.warn("Employee search index unavailable, searching the database instead: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Catch up with employees changed or deleted since the last refresh, including changes committed
+     * by other nodes. A document read here may be older than one indexed after a local commit in the
+     * meantime; the next refresh reads it again and corrects it.
+     */
+    @Scheduled(fixedDelayString = "${search.employee.refresh-interval-ms:60000}",
+               initialDelayString = "${search.employee.refresh-interval-ms:60000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+
+        Instant startedAt = Instant.now();
+        try {
+            List<EmployeeSearchDocument> changed = employeeRepository.findSearchDocumentsUpdatedSince(
+                Timestamp.from(refreshedAt.minusMillis(CATCH_UP_MARGIN_MILLIS)));
+            changed.forEach(this::apply);
+            removeDeleted();
+            refreshedAt = startedAt;
+            refreshes.increment();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to refresh employee search index, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write the index to its file if it changed since it was last written
+     */
+    @Scheduled(fixedDelayString = "${search.employee.snapshot-interval-ms:30000}",
+               initialDelayString = "${search.employee.snapshot-interval-ms:30000}")
+    public void saveIfChanged() {
+        if (!ready || !dirty.compareAndSet(true, false)) {
+            return;
+        }
+
+        Instant takenAt = Instant.now();
+        List<EmployeeSearchDocument> documents = new ArrayList<>(organizationOf.size());
+        shards.values().forEach(shard -> shard.copyTo(documents));
+        try {
+            Files.createDirectories(indexFile.toAbsolutePath().getParent());
+            Path temporary = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+            objectMapper.writeValue(temporary.toFile(), new Snapshot(takenAt, documents));
+            Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            snapshots.increment();
+        } catch (IOException e) {
+            dirty.set(true);
+            logger.warn("Failed to save employee search index to {}: {}", indexFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        saveIfChanged();
+    }
+
+    /**
+     * Index size and activity counters
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        statistics.put("ready", ready);
+        statistics.put("organizations", shards.size());
+        statistics.put("employees", organizationOf.size());
+        statistics.put("terms", shards.values().stream().mapToInt(Shard::termCount).sum());
+        statistics.put("searches", searches.sum());
+        statistics.put("updates", updates.sum());
+        statistics.put("snapshots", snapshots.sum());
+        statistics.put("refreshes", refreshes.sum());
+        statistics.put("refreshedAt", refreshedAt);
+        statistics.put("indexFile", indexFile.toString());
+        return statistics;
+    }
+
+    private Snapshot readSnapshot() {
+        if (!Files.exists(indexFile)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(indexFile.toFile(), Snapshot.class);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable employee search index {}: {}", indexFile, e.getMessage());
+            return null;
+        }
+    }
+
+    // Only employees indexed before the ids are read are checked, so one created meanwhile is kept
+    private void removeDeleted() {
+        List<Long> indexed = new ArrayList<>(organizationOf.keySet());
+        Set<Long> existing = new HashSet<>(employeeRepository.findAllIds());
+        indexed.stream()
+            .filter(id -> !existing.contains(id))
+            .forEach(this::removeNow);
+    }
+
+    private void apply(EmployeeSearchDocument document) {
+        Long previousOrganization = organizationOf.put(document.id(), document.organizationId());
+        if (previousOrganization != null && !previousOrganization.equals(document.organizationId())) {
+            Shard previous = shards.get(previousOrganization);
+            if (previous != null) {
+                previous.remove(document.id());
+            }
+        }
+        shards.computeIfAbsent(document.organizationId(), id -> new Shard()).put(document);
+        updates.increment();
+        dirty.set(true);
+    }
+
+    private void removeNow(Long employeeId) {
+        Long organizationId = organizationOf.remove(employeeId);
+        Shard shard = organizationId != null ? shards.get(organizationId) : null;
+        if (shard != null) {
+            shard.remove(employeeId);
+            updates.increment();
+            dirty.set(true);
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return null;
+        }
+        String normalized = text.trim().toLowerCase(Locale.ROOT);
+        return normalized.isEmpty() ? null : normalized;
+    }
+
+    static String fullName(EmployeeSearchDocument document) {
+        String first = document.firstName() != null ? document.firstName() : "";
+        String last = document.lastName() != null ? document.lastName() : "";
+        return normalize(first + " " + last);
+    }
+
+    // Null for relevance order
+    private static Comparator<EmployeeSearchDocument> comparator(Sort sort) {
+        Comparator<EmployeeSearchDocument> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<EmployeeSearchDocument> property = SORTABLE.get(order.getProperty());
+            if (property == null) {
+                throw new IllegalArgumentException("Search hits cannot be sorted by " + order.getProperty());
+            }
+            property = order.isAscending() ? property : property.reversed();
+            comparator = comparator == null ? property : comparator.thenComparing(property);
+        }
+        return comparator;
+    }
+
+    // Case-insensitive with nulls first, as MySQL orders text columns
+    private static Comparator<EmployeeSearchDocument> text(Function<EmployeeSearchDocument, String> field) {
+        return Comparator.comparing(field, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+    }
+
+    /**
+     * One organization's documents and trigram postings. Keys are prefixed with the field they come
+     * from: n (full name), e (employee number) and j (job title).
+     */
+    private static final class Shard {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, EmployeeSearchDocument> documents = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+
+        void put(EmployeeSearchDocument document) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(document.id());
+                documents.put(document.id(), document);
+                for (String key : keys(document)) {
+                    postings.computeIfAbsent(key, k -> new HashSet<>()).add(document.id());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void remove(Long employeeId) {
+            lock.writeLock().lock();
+            try {
+                removeLocked(employeeId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        List<Long> search(Criteria criteria, Comparator<EmployeeSearchDocument> order) {
+            String name = normalize(criteria.name());
+            String employeeNumber = normalize(criteria.employeeNumber());
+            String jobTitle = normalize(criteria.jobTitle());
+
+            lock.readLock().lock();
+            try {
+                Set<Long> candidates = null;
+                candidates = narrow(candidates, 'n', name);
+                candidates = narrow(candidates, 'e', employeeNumber);
+                candidates = narrow(candidates, 'j', jobTitle);
+                Iterable<Long> ids = candidates != null ? candidates : documents.keySet();
+
+                Map<Long, Integer> scores = new HashMap<>();
+                for (Long id : ids) {
+                    EmployeeSearchDocument document = documents.get(id);
+                    if (!matchesFilters(document, criteria)) {
+                        continue;
+                    }
+                    int nameScore = score(fullName(document), name);
+                    int numberScore = score(normalize(document.employeeNumber()), employeeNumber);
+                    int titleScore = score(normalize(document.jobTitle()), jobTitle);
+                    if (nameScore >= 0 && numberScore >= 0 && titleScore >= 0) {
+                        scores.put(id, 3 * nameScore + 2 * numberScore + titleScore);
+                    }
+                }
+
+                List<Long> ranked = new ArrayList<>(scores.keySet());
+                if (order != null) {
+                    ranked.sort(Comparator.comparing(documents::get, order.thenComparing(EmployeeSearchDocument::id)));
+                } else {
+                    ranked.sort(Comparator.<Long>comparingInt(scores::get).reversed().thenComparing(Comparator.naturalOrder()));
+                }
+                return ranked;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void copyTo(List<EmployeeSearchDocument> target) {
+            lock.readLock().lock();
+            try {
+                target.addAll(documents.values());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int termCount() {
+            lock.readLock().lock();
+            try {
+                return postings.size();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void removeLocked(Long employeeId) {
+            EmployeeSearchDocument previous = documents.remove(employeeId);
+            if (previous == null) {
+                return;
+            }
+            for (String key : keys(previous)) {
+                Set<Long> ids = postings.get(key);
+                if (ids != null) {
+                    ids.remove(employeeId);
+                    if (ids.isEmpty()) {
+                        postings.remove(key);
+                    }
+                }
+            }
+        }
+
+        // Intersect the candidates with the employees whose field contains every trigram of the query
+        private Set<Long> narrow(Set<Long> candidates, char field, String query) {
+            if (query == null || query.length() < GRAM_LENGTH) {
+                return candidates;
+            }
+
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams(query)) {
+                Set<Long> ids = postings.get(field + gram);
+                if (ids == null) {
+                    return Set.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+
+            Set<Long> result = new HashSet<>(lists.get(0));
+            if (candidates != null) {
+                result.retainAll(candidates);
+            }
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i));
+            }
+            return result;
+        }
+
+        private static boolean matchesFilters(EmployeeSearchDocument document, Criteria criteria) {
+            return (criteria.departmentId() == null || criteria.departmentId().equals(document.departmentId()))
+                && (criteria.locationId() == null || criteria.locationId().equals(document.locationId()))
+                && (criteria.employmentStatus() == null || criteria.employmentStatus() == document.employmentStatus())
+                && (criteria.employmentType() == null || criteria.employmentType() == document.employmentType());
+        }
+
+        // -1 when the field does not contain the query, 0 when there is no query, higher for closer matches
+        private static int score(String field, String query) {
+            if (query == null) {
+                return 0;
+            }
+            if (field == null || !field.contains(query)) {
+                return -1;
+            }
+            if (field.equals(query)) {
+                return 4;
+            }
+            if (field.startsWith(query)) {
+                return 3;
+            }
+            return field.contains(" " + query) ? 2 : 1;
+        }
+
+        private static List<String> keys(EmployeeSearchDocument document) {
+            List<String> keys = new ArrayList<>();
+            addKeys(keys, 'n', fullName(document));
+            addKeys(keys, 'e', normalize(document.employeeNumber()));
+            addKeys(keys, 'j', normalize(document.jobTitle()));
+            return keys;
+        }
+
+        private static void addKeys(List<String> keys, char field, String text) {
+            if (text != null) {
+                for (String gram : grams(text)) {
+                    keys.add(field + gram);
+                }
+            }
+        }
+
+        private static Set<String> grams(String text) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+                grams.add(text.substring(i, i + GRAM_LENGTH));
+            }
+            return grams;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.talentx.hrms.service.employee;
 
 import com.talentx.hrms.common.PaginationRequest;
+import com.talentx.hrms.dto.employee.EmployeeListRow;
 import com.talentx.hrms.dto.employee.EmployeeRequest;
 import com.talentx.hrms.dto.employee.EmployeeResponse;
 import com.talentx.hrms.entity.core.Department;
@@ -12,10 +13,10 @@ import com.talentx.hrms.entity.enums.EmploymentStatus;
 import com.talentx.hrms.entity.enums.EmploymentType;
 import com.talentx.hrms.mapper.EmployeeMapper;
 import com.talentx.hrms.repository.*;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.talentx.hrms.security.CurrentUserContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -23,7 +24,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -31,12 +35,19 @@ import java.util.stream.Collectors;
 @Transactional
 public class EmployeeService {
 
+    // Most search hits bound into one IN list when the database has to sort them; larger result sets
+    // fall back to the criteria query
+    private static final int MAX_SORTED_SEARCH_HITS = 1000;
+
     private final EmployeeRepository employeeRepository;
     private final OrganizationRepository organizationRepository;
     private final DepartmentRepository departmentRepository;
     private final LocationRepository locationRepository;
     private final UserRepository userRepository;
     private final EmployeeMapper employeeMapper;
+    private final CurrentUserContext currentUserContext;
+    private final ReportingLineIndex reportingLineIndex;
+    private final EmployeeSearchIndex employeeSearchIndex;
 
     @Autowired
     public EmployeeService(EmployeeRepository employeeRepository,
@@ -44,13 +55,19 @@ public class EmployeeService {
                           DepartmentRepository departmentRepository,
                           LocationRepository locationRepository,
                           UserRepository userRepository,
-                          EmployeeMapper employeeMapper) {
+                          EmployeeMapper employeeMapper,
+                          CurrentUserContext currentUserContext,
+                          ReportingLineIndex reportingLineIndex,
+                          EmployeeSearchIndex employeeSearchIndex) {
         this.employeeRepository = employeeRepository;
         this.organizationRepository = organizationRepository;
         this.departmentRepository = departmentRepository;
         this.locationRepository = locationRepository;
         this.userRepository = userRepository;
         this.employeeMapper = employeeMapper;
+        this.currentUserContext = currentUserContext;
+        this.reportingLineIndex = reportingLineIndex;
+        this.employeeSearchIndex = employeeSearchIndex;
     }
 
     /**
@@ -76,8 +93,10 @@ public class EmployeeService {
         Employee employee = new Employee();
         mapRequestToEntity(request, employee, organization);
 
-        // Save employee
+        // Save employee, then derive the reporting path from the generated id
         employee = employeeRepository.save(employee);
+        reportingLineIndex.assignPath(employee);
+        employeeSearchIndex.index(employee);
 
         return employeeMapper.toResponse(employee);
     }
@@ -110,10 +129,17 @@ public class EmployeeService {
         }
 
         // Update employee entity
+        Long previousManagerId = employee.getManager() != null ? employee.getManager().getId() : null;
         mapRequestToEntity(request, employee, organization);
+        reportingLineIndex.validateManager(employee, employee.getManager());
 
-        // Save employee
+        // Save employee and move the reporting line below them if the manager changed
         employee = employeeRepository.save(employee);
+        Long managerId = employee.getManager() != null ? employee.getManager().getId() : null;
+        if (!Objects.equals(previousManagerId, managerId)) {
+            reportingLineIndex.move(employee);
+        }
+        employeeSearchIndex.index(employee);
 
         return employeeMapper.toResponse(employee);
     }
@@ -138,7 +164,7 @@ public class EmployeeService {
         Organization organization = currentUser.getOrganization();
 
         Pageable pageable = createPageable(paginationRequest);
-        Page<Employee> employees = employeeRepository.findByOrganization(organization, pageable);
+        Page<EmployeeListRow> employees = employeeRepository.findListRowsByOrganization(organization, pageable);
 
         return employees.map(employeeMapper::toResponse);
     }
@@ -165,7 +191,27 @@ public class EmployeeService {
         }
 
         Pageable pageable = createPageable(paginationRequest);
-        Page<Employee> employees = employeeRepository.findBySearchCriteria(
+        EmployeeSearchIndex.Criteria criteria = new EmployeeSearchIndex.Criteria(
+            name, employeeNumber, jobTitle, departmentId, locationId, employmentStatus, employmentType);
+
+        // Text criteria would need leading-wildcard scans in the database; answer them from the index
+        if (criteria.hasText() && employeeSearchIndex.isReady()) {
+            if (EmployeeSearchIndex.canSort(pageable.getSort())) {
+                List<Long> ids = employeeSearchIndex.search(organization.getId(), criteria, pageable.getSort());
+                return loadSearchHits(ids, pageable).map(employeeMapper::toResponse);
+            }
+
+            // The database sorts by fields the index does not hold, as long as the ids fit in one IN list
+            List<Long> ids = employeeSearchIndex.search(organization.getId(), criteria);
+            if (ids.isEmpty()) {
+                return Page.empty(pageable);
+            }
+            if (ids.size() <= MAX_SORTED_SEARCH_HITS) {
+                return employeeRepository.findListRowsByIdIn(ids, pageable).map(employeeMapper::toResponse);
+            }
+        }
+
+        Page<EmployeeListRow> employees = employeeRepository.findListRowsBySearchCriteria(
             organization, name, employeeNumber, jobTitle, department, location,
             employmentStatus, employmentType, pageable
         );
@@ -173,6 +219,13 @@ public class EmployeeService {
         return employees.map(employeeMapper::toResponse);
     }
 
+    /**
+     * Search index statistics
+     */
+    public Map<String, Object> getSearchIndexStatistics() {
+        return employeeSearchIndex.getStatistics();
+    }
+
     /**
      * Get employees by department
      */
@@ -182,7 +235,7 @@ public class EmployeeService {
             .orElseThrow(() -> new RuntimeException("Department not found"));
 
         Pageable pageable = createPageable(paginationRequest);
-        Page<Employee> employees = employeeRepository.findByDepartment(department, pageable);
+        Page<EmployeeListRow> employees = employeeRepository.findListRowsByDepartment(department, pageable);
 
         return employees.map(employeeMapper::toResponse);
     }
@@ -195,12 +248,66 @@ public class EmployeeService {
         Employee manager = employeeRepository.findById(managerId)
             .orElseThrow(() -> new RuntimeException("Manager not found"));
 
-        List<Employee> directReports = employeeRepository.findByManager(manager);
+        List<EmployeeListRow> directReports = employeeRepository.findListRowsByManager(manager);
         return directReports.stream()
             .map(employeeMapper::toResponse)
             .collect(Collectors.toList());
     }
 
+    /**
+     * Get everyone reporting to a manager at any depth
+     */
+    @Transactional(readOnly = true)
+    public Page<EmployeeResponse> getAllReports(Long managerId, PaginationRequest paginationRequest) {
+        Employee manager = employeeRepository.findById(managerId)
+            .orElseThrow(() -> new RuntimeException("Manager not found"));
+
+        Pageable pageable = createPageable(paginationRequest);
+        Page<EmployeeListRow> reports = employeeRepository.findListRowsByReportingPath(
+            manager.getOrganization().getId(), reportingLineIndex.getReportingPath(manager), pageable);
+
+        return reports.map(employeeMapper::toResponse);
+    }
+
+    /**
+     * Get a manager's span of control: direct reports, all reports and management levels below
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getSpanOfControl(Long managerId) {
+        Employee manager = employeeRepository.findById(managerId)
+            .orElseThrow(() -> new RuntimeException("Manager not found"));
+
+        ReportingTree tree = reportingLineIndex.getTree(manager.getOrganization().getId());
+        Map<String, Object> spanOfControl = new LinkedHashMap<>();
+        spanOfControl.put("managerId", managerId);
+        spanOfControl.put("directReports", tree.getDirectReportCount(managerId));
+        spanOfControl.put("totalReports", tree.getTotalReportCount(managerId));
+        spanOfControl.put("levelsBelow", tree.getLevelsBelow(managerId));
+        spanOfControl.put("managementChain", tree.getManagementChain(managerId));
+        return spanOfControl;
+    }
+
+    /**
+     * Check whether an employee reports to a manager at any depth
+     */
+    @Transactional(readOnly = true)
+    public boolean isInReportingLine(Long managerId, Long employeeId) {
+        Employee manager = employeeRepository.findById(managerId)
+            .orElseThrow(() -> new RuntimeException("Manager not found"));
+        Employee employee = employeeRepository.findById(employeeId)
+            .orElseThrow(() -> new RuntimeException("Employee not found"));
+
+        return reportingLineIndex.isInReportingLine(manager, employee);
+    }
+
+    /**
+     * Reporting-line snapshot statistics
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getReportingLineStatistics() {
+        return reportingLineIndex.getStatistics();
+    }
+
     /**
      * Get employees on probation
      */
@@ -209,7 +316,7 @@ public class EmployeeService {
         User currentUser = getCurrentUser();
         Organization organization = currentUser.getOrganization();
 
-        List<Employee> employees = employeeRepository.findByOrganizationOnProbation(organization);
+        List<EmployeeListRow> employees = employeeRepository.findListRowsOnProbation(organization);
         return employees.stream()
             .map(employeeMapper::toResponse)
             .collect(Collectors.toList());
@@ -224,7 +331,7 @@ public class EmployeeService {
         Organization organization = currentUser.getOrganization();
 
         LocalDate endDate = LocalDate.now().plusDays(daysAhead);
-        List<Employee> employees = employeeRepository.findByOrganizationWithUpcomingProbationEnd(organization, endDate);
+        List<EmployeeListRow> employees = employeeRepository.findListRowsWithUpcomingProbationEnd(organization, endDate);
         
         return employees.stream()
             .map(employeeMapper::toResponse)
@@ -240,7 +347,7 @@ public class EmployeeService {
         Organization organization = currentUser.getOrganization();
 
         int currentMonth = LocalDate.now().getMonthValue();
-        List<Employee> employees = employeeRepository.findByOrganizationAndBirthdayMonth(organization, currentMonth);
+        List<EmployeeListRow> employees = employeeRepository.findListRowsByBirthdayMonth(organization, currentMonth);
         
         return employees.stream()
             .map(employeeMapper::toResponse)
@@ -255,7 +362,7 @@ public class EmployeeService {
         User currentUser = getCurrentUser();
         Organization organization = currentUser.getOrganization();
 
-        List<Employee> managers = employeeRepository.findManagersByOrganization(organization);
+        List<EmployeeListRow> managers = employeeRepository.findListRowsOfManagers(organization);
         return managers.stream()
             .map(employeeMapper::toResponse)
             .collect(Collectors.toList());
@@ -277,6 +384,7 @@ public class EmployeeService {
         employee.setTerminationReason(reason);
 
         employee = employeeRepository.save(employee);
+        employeeSearchIndex.index(employee);
         return employeeMapper.toResponse(employee);
     }
 
@@ -296,6 +404,7 @@ public class EmployeeService {
         employee.setTerminationReason(null);
 
         employee = employeeRepository.save(employee);
+        employeeSearchIndex.index(employee);
         return employeeMapper.toResponse(employee);
     }
 
@@ -330,6 +439,8 @@ public class EmployeeService {
         }
 
         employeeRepository.delete(employee);
+        reportingLineIndex.invalidate(employee.getOrganization().getId());
+        employeeSearchIndex.remove(employee.getId());
     }
 
     /**
@@ -409,6 +520,26 @@ public class EmployeeService {
         }
     }
 
+    /**
+     * Load one page of search hits, keeping the order the index returned them in
+     */
+    private Page<EmployeeListRow> loadSearchHits(List<Long> ids, Pageable pageable) {
+        if (ids.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+        List<Long> pageIds = ids.subList(from, to);
+        Map<Long, EmployeeListRow> loaded = employeeRepository.findListRowsByIdIn(pageIds).stream()
+            .collect(Collectors.toMap(EmployeeListRow::id, row -> row));
+        List<EmployeeListRow> content = pageIds.stream()
+            .map(loaded::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ids.size());
+    }
+
     /**
      * Create pageable from pagination request
      */
@@ -427,13 +558,7 @@ public class EmployeeService {
      * Get current authenticated user
      */
     private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
-        }
-        throw new RuntimeException("No authenticated user found");
+        return currentUserContext.getUser();
     }
 
     /**
@@ -0,0 +1,215 @@
+package com.talentx.hrms.service.employee;
+
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reporting-line index over {@code Employee.manager}: keeps each employee's reporting path in sync so
+ * that "everyone under a manager" is one indexed prefix query, and holds one immutable
+ * {@link ReportingTree} per organization for chain checks and span of control.
+ *
+ * Snapshots follow the same rules as the department tree: loaded with one query, dropped on every
+ * change and after the changing transaction completes, and never installed over a newer change.
+ */
+@Component
+public class ReportingLineIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportingLineIndex.class);
+
+    private final EmployeeRepository employeeRepository;
+
+    private final Map<Long, ReportingTree> trees = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    @Autowired
+    public ReportingLineIndex(EmployeeRepository employeeRepository) {
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * Current reporting tree of an organization, loading it when absent
+     */
+    public ReportingTree getTree(Long organizationId) {
+        ReportingTree tree = trees.get(organizationId);
+        if (tree != null) {
+            hits.increment();
+            return tree;
+        }
+
+        loads.increment();
+        long generation = generations.getOrDefault(organizationId, 0L);
+        ReportingTree loaded = ReportingTree.build(organizationId,
+            employeeRepository.findReportingRowsByOrganizationId(organizationId));
+        trees.compute(organizationId, (id, current) ->
+            generations.getOrDefault(id, 0L) == generation ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * Whether an employee reports to a manager at any depth
+     */
+    public boolean isInReportingLine(Employee manager, Employee employee) {
+        Long organizationId = employee.getOrganization().getId();
+        if (!organizationId.equals(manager.getOrganization().getId())) {
+            return false;
+        }
+        return getTree(organizationId).isInReportingLine(manager.getId(), employee.getId());
+    }
+
+    /**
+     * Reporting path to use for prefix queries, computed from the manager links if not stored yet
+     */
+    public String getReportingPath(Employee employee) {
+        if (employee.getReportingPath() != null) {
+            return employee.getReportingPath();
+        }
+        String path = getTree(employee.getOrganization().getId()).getPath(employee.getId());
+        return path != null ? path : "/" + employee.getId() + "/";
+    }
+
+    /**
+     * Reject a manager assignment that would make an employee report to themselves or to one of
+     * their own reports
+     */
+    public void validateManager(Employee employee, Employee manager) {
+        if (employee.getId() == null || manager == null) {
+            return;
+        }
+        if (employee.getId().equals(manager.getId()) || isInReportingLine(employee, manager)) {
+            throw new IllegalArgumentException("Employee cannot report to themselves or to one of their own reports");
+        }
+    }
+
+    /**
+     * Set the reporting path of a newly saved employee from their manager's path
+     */
+    public void assignPath(Employee employee) {
+        Long organizationId = employee.getOrganization().getId();
+        Employee manager = employee.getManager();
+        if (manager != null && manager.getReportingPath() == null) {
+            rebuildPaths(organizationId);
+            employee.setReportingPath(getTree(organizationId).getPath(employee.getId()));
+        } else {
+            employee.setReportingPath(pathUnder(manager, employee.getId()));
+        }
+        invalidate(organizationId);
+    }
+
+    /**
+     * Move an employee and everyone reporting to them under their new manager, rewriting the whole
+     * reporting line in one statement. The employee's manager must already be set.
+     */
+    public void move(Employee employee) {
+        Long organizationId = employee.getOrganization().getId();
+        Employee manager = employee.getManager();
+        String oldPath = employee.getReportingPath();
+        if (oldPath == null || (manager != null && manager.getReportingPath() == null)) {
+            rebuildPaths(organizationId);
+            employee.setReportingPath(getTree(organizationId).getPath(employee.getId()));
+            invalidate(organizationId);
+            return;
+        }
+
+        String newPath = pathUnder(manager, employee.getId());
+        if (!newPath.equals(oldPath)) {
+            employeeRepository.replaceReportingPathPrefix(organizationId, oldPath, oldPath.length(), newPath);
+            employee.setReportingPath(newPath);
+        }
+        invalidate(organizationId);
+    }
+
+    /**
+     * Recompute the stored reporting path of every employee of an organization from the manager links
+     */
+    public void rebuildPaths(Long organizationId) {
+        invalidate(organizationId);
+        ReportingTree tree = getTree(organizationId);
+        int updated = 0;
+        for (Long employeeId : tree.getReachableIds()) {
+            String path = tree.getPath(employeeId);
+            if (!Objects.equals(path, tree.getStoredPath(employeeId))) {
+                employeeRepository.updateReportingPath(employeeId, path);
+                updated++;
+            }
+        }
+        invalidate(organizationId);
+        if (updated > 0) {
+            logger.info("Rebuilt {} reporting paths for organization {}", updated, organizationId);
+        }
+    }
+
+    /**
+     * Fill in reporting paths for employees created before paths were maintained or outside the services
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillPaths() {
+        for (Long organizationId : employeeRepository.findOrganizationIdsWithMissingReportingPaths()) {
+            rebuildPaths(organizationId);
+        }
+    }
+
+    /**
+     * Drop an organization's snapshot now and again once the current transaction completes
+     */
+    public void invalidate(Long organizationId) {
+        invalidations.increment();
+        drop(organizationId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    drop(organizationId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Snapshot hit, load and invalidation counters
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long loadCount = loads.sum();
+        long requests = hitCount + loadCount;
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("organizations", trees.size());
+        statistics.put("employees", trees.values().stream().mapToInt(ReportingTree::size).sum());
+        statistics.put("hits", hitCount);
+        statistics.put("loads", loadCount);
+        statistics.put("hitRate", requests == 0 ? 0.0 : (double) hitCount / requests);
+        statistics.put("invalidations", invalidations.sum());
+        return statistics;
+    }
+
+    private void drop(Long organizationId) {
+        trees.compute(organizationId, (id, current) -> {
+            generations.merge(id, 1L, Long::sum);
+            return null;
+        });
+    }
+
+    private static String pathUnder(Employee manager, Long employeeId) {
+        return (manager != null ? manager.getReportingPath() : "/") + employeeId + "/";
+    }
+}
@@ -0,0 +1,244 @@
+package com.talentx.hrms.service.employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of one organization's reporting lines, numbered by an Euler tour.
+ *
+ * Every employee reachable from the top of a reporting line gets an interval [enter, exit] such that
+ * the employees reporting to it at any depth are exactly those whose enter number falls inside it.
+ * "Is A in B's reporting line" and "how many report to B" are then constant-time comparisons.
+ * Employees caught in a management cycle are not reachable and belong to no reporting line.
+ */
+public final class ReportingTree {
+
+    private final Long organizationId;
+    private final Map<Long, Integer> positions;
+    private final long[] ids;
+    private final int[] managers;
+    private final int[] enter;
+    private final int[] exit;
+    private final int[] depth;
+    private final int[] directReports;
+    private final int[] tour;
+    private final String[] storedPaths;
+
+    private ReportingTree(Long organizationId, Map<Long, Integer> positions, long[] ids, int[] managers,
+                          int[] enter, int[] exit, int[] depth, int[] directReports, int[] tour,
+                          String[] storedPaths) {
+        this.organizationId = organizationId;
+        this.positions = positions;
+        this.ids = ids;
+        this.managers = managers;
+        this.enter = enter;
+        this.exit = exit;
+        this.depth = depth;
+        this.directReports = directReports;
+        this.tour = tour;
+        this.storedPaths = storedPaths;
+    }
+
+    /**
+     * Build a tree from (id, manager id, stored reporting path) rows. Employees whose manager is
+     * missing from the rows start a reporting line of their own.
+     */
+    public static ReportingTree build(Long organizationId, List<Object[]> rows) {
+        int size = rows.size();
+        long[] ids = new long[size];
+        String[] storedPaths = new String[size];
+        Map<Long, Integer> positions = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            Object[] row = rows.get(i);
+            ids[i] = (Long) row[0];
+            storedPaths[i] = (String) row[2];
+            positions.put(ids[i], i);
+        }
+
+        int[] managers = new int[size];
+        int[] directReports = new int[size];
+        for (int i = 0; i < size; i++) {
+            Integer manager = rows.get(i)[1] != null ? positions.get((Long) rows.get(i)[1]) : null;
+            managers[i] = manager != null ? manager : -1;
+            if (manager != null) {
+                directReports[manager]++;
+            }
+        }
+
+        // Children of each employee as contiguous slices of one array
+        int[] childStart = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            childStart[i + 1] = childStart[i] + directReports[i];
+        }
+        int[] children = new int[childStart[size]];
+        int[] filled = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (managers[i] >= 0) {
+                children[childStart[managers[i]] + filled[managers[i]]++] = i;
+            }
+        }
+
+        // Pre-order walk from every top-level employee
+        int[] enter = new int[size];
+        int[] exit = new int[size];
+        int[] depth = new int[size];
+        Arrays.fill(enter, -1);
+        Arrays.fill(exit, -1);
+        int[] tour = new int[size];
+        int visited = 0;
+        int[] stack = new int[size];
+        for (int root = 0; root < size; root++) {
+            if (managers[root] >= 0) {
+                continue;
+            }
+            int top = 0;
+            stack[top++] = root;
+            while (top > 0) {
+                int node = stack[--top];
+                enter[node] = visited;
+                tour[visited++] = node;
+                depth[node] = managers[node] >= 0 ? depth[managers[node]] + 1 : 0;
+                for (int c = childStart[node + 1] - 1; c >= childStart[node]; c--) {
+                    stack[top++] = children[c];
+                }
+            }
+        }
+
+        // Subtree sizes in reverse pre-order give the end of every interval
+        int[] subtreeSize = new int[size];
+        for (int t = visited - 1; t >= 0; t--) {
+            int node = tour[t];
+            subtreeSize[node]++;
+            if (managers[node] >= 0) {
+                subtreeSize[managers[node]] += subtreeSize[node];
+            }
+            exit[node] = enter[node] + subtreeSize[node] - 1;
+        }
+
+        return new ReportingTree(organizationId, Collections.unmodifiableMap(positions), ids, managers,
+            enter, exit, depth, directReports, Arrays.copyOf(tour, visited), storedPaths);
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public boolean contains(Long employeeId) {
+        return positions.containsKey(employeeId);
+    }
+
+    /**
+     * Whether an employee reports to a manager at any depth
+     */
+    public boolean isInReportingLine(Long managerId, Long employeeId) {
+        Integer manager = positions.get(managerId);
+        Integer employee = positions.get(employeeId);
+        if (manager == null || employee == null || enter[manager] < 0 || enter[employee] < 0) {
+            return false;
+        }
+        return enter[manager] < enter[employee] && enter[employee] <= exit[manager];
+    }
+
+    /**
+     * Ids of everyone reporting to a manager at any depth, managers before their reports
+     */
+    public List<Long> getAllReports(Long managerId) {
+        Integer manager = positions.get(managerId);
+        if (manager == null || enter[manager] < 0) {
+            return List.of();
+        }
+
+        List<Long> reports = new ArrayList<>(exit[manager] - enter[manager]);
+        for (int t = enter[manager] + 1; t <= exit[manager]; t++) {
+            reports.add(ids[tour[t]]);
+        }
+        return reports;
+    }
+
+    public int getDirectReportCount(Long managerId) {
+        Integer manager = positions.get(managerId);
+        return manager != null ? directReports[manager] : 0;
+    }
+
+    public int getTotalReportCount(Long managerId) {
+        Integer manager = positions.get(managerId);
+        return manager != null && enter[manager] >= 0 ? exit[manager] - enter[manager] : 0;
+    }
+
+    /**
+     * Number of management levels below a manager, 0 for an employee without reports
+     */
+    public int getLevelsBelow(Long managerId) {
+        Integer manager = positions.get(managerId);
+        if (manager == null || enter[manager] < 0) {
+            return 0;
+        }
+
+        int deepest = depth[manager];
+        for (int t = enter[manager] + 1; t <= exit[manager]; t++) {
+            deepest = Math.max(deepest, depth[tour[t]]);
+        }
+        return deepest - depth[manager];
+    }
+
+    /**
+     * Ids of an employee's managers from the top of the reporting line down to the direct manager
+     */
+    public List<Long> getManagementChain(Long employeeId) {
+        Integer employee = positions.get(employeeId);
+        if (employee == null || enter[employee] < 0) {
+            return List.of();
+        }
+
+        List<Long> chain = new ArrayList<>(depth[employee]);
+        for (int node = managers[employee]; node >= 0; node = managers[node]) {
+            chain.add(ids[node]);
+        }
+        Collections.reverse(chain);
+        return chain;
+    }
+
+    /**
+     * Reporting path of an employee computed from the manager links, e.g. "/1/5/12/", or null for an
+     * employee caught in a management cycle
+     */
+    public String getPath(Long employeeId) {
+        Integer employee = positions.get(employeeId);
+        if (employee == null || enter[employee] < 0) {
+            return null;
+        }
+
+        StringBuilder path = new StringBuilder("/");
+        for (Long managerId : getManagementChain(employeeId)) {
+            path.append(managerId).append('/');
+        }
+        return path.append(employeeId).append('/').toString();
+    }
+
+    /**
+     * Reporting path currently stored for an employee
+     */
+    public String getStoredPath(Long employeeId) {
+        Integer employee = positions.get(employeeId);
+        return employee != null ? storedPaths[employee] : null;
+    }
+
+    /**
+     * Ids of every employee reachable from the top of a reporting line, managers before their reports
+     */
+    public List<Long> getReachableIds() {
+        List<Long> reachable = new ArrayList<>(tour.length);
+        for (int node : tour) {
+            reachable.add(ids[node]);
+        }
+        return reachable;
+    }
+}
@@ -10,6 +10,7 @@ import com.talentx.hrms.repository.EmployeeExitRepository;
 import com.talentx.hrms.repository.EmployeeRepository;
 import com.talentx.hrms.repository.OrganizationRepository;
 import com.talentx.hrms.service.auth.AuthService;
+import com.talentx.hrms.service.employee.ReportingLineIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -32,16 +33,19 @@ public class ExitService {
     private final EmployeeRepository employeeRepository;
     private final OrganizationRepository organizationRepository;
     private final AuthService authService;
+    private final ReportingLineIndex reportingLineIndex;
 
     @Autowired
     public ExitService(EmployeeExitRepository employeeExitRepository,
                       EmployeeRepository employeeRepository,
                       OrganizationRepository organizationRepository,
-                      AuthService authService) {
+                      AuthService authService,
+                      ReportingLineIndex reportingLineIndex) {
         this.employeeExitRepository = employeeExitRepository;
         this.employeeRepository = employeeRepository;
         this.organizationRepository = organizationRepository;
         this.authService = authService;
+        this.reportingLineIndex = reportingLineIndex;
     }
 
     /**
@@ -180,7 +184,8 @@ public class ExitService {
         }
 
         Pageable pageable = createPageable(paginationRequest);
-        return employeeExitRepository.findPendingForApproval(manager.getOrganization(), manager, pageable);
+        return employeeExitRepository.findPendingInReportingLine(manager.getOrganization(), manager,
+            reportingLineIndex.getReportingPath(manager), pageable);
     }
 
     /**
@@ -11,6 +11,7 @@ import com.talentx.hrms.repository.EmployeeRepository;
 import com.talentx.hrms.repository.ExpenseRepository;
 import com.talentx.hrms.repository.OrganizationRepository;
 import com.talentx.hrms.service.auth.AuthService;
+import com.talentx.hrms.service.employee.ReportingLineIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -35,16 +36,19 @@ public class ExpenseService {
     private final EmployeeRepository employeeRepository;
     private final OrganizationRepository organizationRepository;
     private final AuthService authService;
+    private final ReportingLineIndex reportingLineIndex;
 
     @Autowired
     public ExpenseService(ExpenseRepository expenseRepository,
                          EmployeeRepository employeeRepository,
                          OrganizationRepository organizationRepository,
-                         AuthService authService) {
+                         AuthService authService,
+                         ReportingLineIndex reportingLineIndex) {
         this.expenseRepository = expenseRepository;
         this.employeeRepository = employeeRepository;
         this.organizationRepository = organizationRepository;
         this.authService = authService;
+        this.reportingLineIndex = reportingLineIndex;
     }
 
     /**
@@ -173,7 +177,8 @@ public class ExpenseService {
         }
 
         Pageable pageable = createPageable(paginationRequest);
-        return expenseRepository.findPendingForApproval(manager.getOrganization(), manager, pageable);
+        return expenseRepository.findPendingInReportingLine(manager.getOrganization(), manager,
+            reportingLineIndex.getReportingPath(manager), pageable);
     }
 
     /**
@@ -31,11 +31,14 @@ public class HolidayService {
 
     private final HolidayRepository holidayRepository;
     private final OrganizationRepository organizationRepository;
+    private final WorkingDayCalendarIndex workingDayCalendarIndex;
 
     @Autowired
-    public HolidayService(HolidayRepository holidayRepository, OrganizationRepository organizationRepository) {
+    public HolidayService(HolidayRepository holidayRepository, OrganizationRepository organizationRepository,
+                          WorkingDayCalendarIndex workingDayCalendarIndex) {
         this.holidayRepository = holidayRepository;
         this.organizationRepository = organizationRepository;
+        this.workingDayCalendarIndex = workingDayCalendarIndex;
     }
 
     /**
@@ -62,6 +65,7 @@ public class HolidayService {
 
         // Save holiday
         holiday = holidayRepository.save(holiday);
+        workingDayCalendarIndex.invalidate(organization.getId());
 
         return mapEntityToResponse(holiday);
     }
@@ -85,11 +89,17 @@ public class HolidayService {
                 }
             });
 
+        Long previousOrganizationId = holiday.getOrganization().getId();
+
         // Update holiday entity
         mapRequestToEntity(request, holiday, organization);
 
         // Save holiday
         holiday = holidayRepository.save(holiday);
+        workingDayCalendarIndex.invalidate(organization.getId());
+        if (!organization.getId().equals(previousOrganizationId)) {
+            workingDayCalendarIndex.invalidate(previousOrganizationId);
+        }
 
         return mapEntityToResponse(holiday);
     }
@@ -260,24 +270,8 @@ public class HolidayService {
         Organization organization = organizationRepository.findById(organizationId)
             .orElseThrow(() -> new EntityNotFoundException("Organization not found"));
 
-        // Get holidays in the date range
-        List<Holiday> holidays = holidayRepository.findByOrganizationAndDateRange(organization, startDate, endDate);
-        Set<LocalDate> holidayDates = holidays.stream()
-            .map(Holiday::getHolidayDate)
-            .collect(Collectors.toSet());
-
-        int leaveDays = 0;
-        LocalDate currentDate = startDate;
-
-        while (!currentDate.isAfter(endDate)) {
-            // Skip weekends (Saturday = 6, Sunday = 7)
-            if (currentDate.getDayOfWeek().getValue() < 6 && !holidayDates.contains(currentDate)) {
-                leaveDays++;
-            }
-            currentDate = currentDate.plusDays(1);
-        }
-
-        return leaveDays;
+        // Weekends, holidays and leave calendar days come from the organization's working-day calendar
+        return workingDayCalendarIndex.countWorkingDays(organization.getId(), startDate, endDate);
     }
 
     /**
@@ -288,7 +282,7 @@ public class HolidayService {
         Organization organization = organizationRepository.findById(organizationId)
             .orElseThrow(() -> new EntityNotFoundException("Organization not found"));
 
-        return holidayRepository.existsByOrganizationAndHolidayDate(organization, date);
+        return workingDayCalendarIndex.isHoliday(organization.getId(), date);
     }
 
     /**
@@ -319,6 +313,7 @@ public class HolidayService {
         }
 
         holidayRepository.delete(holiday);
+        workingDayCalendarIndex.invalidate(holiday.getOrganization().getId());
     }
 
     /**
@@ -0,0 +1,144 @@
+package com.talentx.hrms.service.holiday;
+
+import com.talentx.hrms.entity.attendance.LeaveCalendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Immutable working-day calendar of one organization for one year.
+ *
+ * Days are indexed by day of year. Non-working days and holidays are kept as bitsets, and
+ * {@code workingBefore[i]} holds the number of working days before day index {@code i}, so both
+ * "is this a working day" and "how many working days between two dates" are answered in constant time.
+ */
+public final class WorkingDayCalendar {
+
+    private final Long organizationId;
+    private final int year;
+    private final int days;
+    private final long[] nonWorking;
+    private final long[] holidays;
+    private final int[] workingBefore;
+
+    private WorkingDayCalendar(Long organizationId, int year, long[] nonWorking, long[] holidays) {
+        this.organizationId = organizationId;
+        this.year = year;
+        this.days = Year.of(year).length();
+        this.nonWorking = nonWorking;
+        this.holidays = holidays;
+        this.workingBefore = new int[days + 1];
+        for (int i = 0; i < days; i++) {
+            workingBefore[i + 1] = workingBefore[i] + (isSet(nonWorking, i) ? 0 : 1);
+        }
+    }
+
+    /**
+     * Build the calendar of a year. Saturdays and Sundays are non-working unless the leave calendar
+     * marks them as working days; leave calendar entries mark holidays and extra weekend days; every
+     * date in {@code holidayDates} is a holiday.
+     *
+     * @param holidayDates holiday dates of the organization, dates outside the year are ignored
+     * @param dayTypes leave calendar day types by date, dates outside the year are ignored
+     */
+    public static WorkingDayCalendar build(Long organizationId, int year, Collection<LocalDate> holidayDates,
+                                           Map<LocalDate, LeaveCalendar.DayType> dayTypes) {
+        int days = Year.of(year).length();
+        long[] nonWorking = new long[(days + 63) >>> 6];
+        long[] holidays = new long[nonWorking.length];
+
+        LocalDate date = LocalDate.ofYearDay(year, 1);
+        for (int i = 0; i < days; i++, date = date.plusDays(1)) {
+            if (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                set(nonWorking, i);
+            }
+        }
+
+        for (Map.Entry<LocalDate, LeaveCalendar.DayType> entry : dayTypes.entrySet()) {
+            if (entry.getKey().getYear() != year || entry.getValue() == null) {
+                continue;
+            }
+            int index = entry.getKey().getDayOfYear() - 1;
+            switch (entry.getValue()) {
+                case WORKING -> clear(nonWorking, index);
+                case WEEKEND -> set(nonWorking, index);
+                case HOLIDAY -> {
+                    set(nonWorking, index);
+                    set(holidays, index);
+                }
+            }
+        }
+
+        for (LocalDate holidayDate : holidayDates) {
+            if (holidayDate.getYear() == year) {
+                int index = holidayDate.getDayOfYear() - 1;
+                set(nonWorking, index);
+                set(holidays, index);
+            }
+        }
+
+        return new WorkingDayCalendar(organizationId, year, nonWorking, holidays);
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        return !isSet(nonWorking, indexOf(date));
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return isSet(holidays, indexOf(date));
+    }
+
+    /**
+     * Non-working day that is not a holiday
+     */
+    public boolean isWeekend(LocalDate date) {
+        int index = indexOf(date);
+        return isSet(nonWorking, index) && !isSet(holidays, index);
+    }
+
+    /**
+     * Number of working days from {@code startDate} to {@code endDate}, both inclusive and within this year
+     */
+    public int countWorkingDays(LocalDate startDate, LocalDate endDate) {
+        int from = indexOf(startDate);
+        int to = indexOf(endDate);
+        if (from > to) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        return workingBefore[to + 1] - workingBefore[from];
+    }
+
+    public int getWorkingDays() {
+        return workingBefore[days];
+    }
+
+    private int indexOf(LocalDate date) {
+        if (date.getYear() != year) {
+            throw new IllegalArgumentException("Date " + date + " is outside calendar year " + year);
+        }
+        return date.getDayOfYear() - 1;
+    }
+
+    private static boolean isSet(long[] bits, int index) {
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void set(long[] bits, int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    private static void clear(long[] bits, int index) {
+        bits[index >>> 6] &= ~(1L << index);
+    }
+}
@@ -0,0 +1,153 @@
+package com.talentx.hrms.service.holiday;
+
+import com.talentx.hrms.entity.attendance.LeaveCalendar;
+import com.talentx.hrms.repository.HolidayRepository;
+import com.talentx.hrms.repository.LeaveCalendarRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Working-day calendars shared by leave, attendance and holiday checks, one immutable
+ * {@link WorkingDayCalendar} per organization and year.
+ *
+ * A calendar is built from the organization's holidays and leave calendar with two queries on first
+ * use and dropped whenever the organization's holidays change. Each drop bumps the organization's
+ * generation, and a calendar is only installed if no drop happened while it was loading.
+ */
+@Component
+public class WorkingDayCalendarIndex {
+
+    private final HolidayRepository holidayRepository;
+    private final LeaveCalendarRepository leaveCalendarRepository;
+
+    private final Map<CalendarKey, WorkingDayCalendar> calendars = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    private record CalendarKey(Long organizationId, int year) {
+    }
+
+    @Autowired
+    public WorkingDayCalendarIndex(HolidayRepository holidayRepository,
+                                   LeaveCalendarRepository leaveCalendarRepository) {
+        this.holidayRepository = holidayRepository;
+        this.leaveCalendarRepository = leaveCalendarRepository;
+    }
+
+    /**
+     * Calendar of an organization for a year, loading it when absent
+     */
+    public WorkingDayCalendar getCalendar(Long organizationId, int year) {
+        CalendarKey key = new CalendarKey(organizationId, year);
+        WorkingDayCalendar calendar = calendars.get(key);
+        if (calendar != null) {
+            hits.increment();
+            return calendar;
+        }
+
+        loads.increment();
+        long generation = generations.getOrDefault(organizationId, 0L);
+        WorkingDayCalendar loaded = load(organizationId, year);
+        calendars.compute(key, (k, current) ->
+            generations.getOrDefault(organizationId, 0L) == generation ? loaded : current);
+        return loaded;
+    }
+
+    public boolean isWorkingDay(Long organizationId, LocalDate date) {
+        return getCalendar(organizationId, date.getYear()).isWorkingDay(date);
+    }
+
+    public boolean isHoliday(Long organizationId, LocalDate date) {
+        return getCalendar(organizationId, date.getYear()).isHoliday(date);
+    }
+
+    public boolean isWeekend(Long organizationId, LocalDate date) {
+        return getCalendar(organizationId, date.getYear()).isWeekend(date);
+    }
+
+    /**
+     * Number of working days from {@code startDate} to {@code endDate}, both inclusive; constant time per
+     * calendar year the range touches
+     */
+    public int countWorkingDays(Long organizationId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+
+        int workingDays = 0;
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            LocalDate from = year == startDate.getYear() ? startDate : LocalDate.of(year, 1, 1);
+            LocalDate to = year == endDate.getYear() ? endDate : LocalDate.of(year, 12, 31);
+            workingDays += getCalendar(organizationId, year).countWorkingDays(from, to);
+        }
+        return workingDays;
+    }
+
+    /**
+     * Drop an organization's calendars now and again once the current transaction completes, so that a
+     * calendar loaded from uncommitted or rolled back state is not kept
+     */
+    public void invalidate(Long organizationId) {
+        invalidations.increment();
+        drop(organizationId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    drop(organizationId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Calendar hit, load and invalidation counters
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long loadCount = loads.sum();
+        long requests = hitCount + loadCount;
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("calendars", calendars.size());
+        statistics.put("hits", hitCount);
+        statistics.put("loads", loadCount);
+        statistics.put("hitRate", requests == 0 ? 0.0 : (double) hitCount / requests);
+        statistics.put("invalidations", invalidations.sum());
+        return statistics;
+    }
+
+    private WorkingDayCalendar load(Long organizationId, int year) {
+        LocalDate startDate = LocalDate.of(year, 1, 1);
+        LocalDate endDate = LocalDate.of(year, 12, 31);
+
+        List<LocalDate> holidayDates = holidayRepository
+            .findHolidayDatesByOrganizationId(organizationId, startDate, endDate);
+
+        // Rows are (calendarDate, dayType)
+        Map<LocalDate, LeaveCalendar.DayType> dayTypes = new HashMap<>();
+        for (Object[] row : leaveCalendarRepository.findDayTypesByOrganizationId(organizationId, startDate, endDate)) {
+            dayTypes.put((LocalDate) row[0], (LeaveCalendar.DayType) row[1]);
+        }
+
+        return WorkingDayCalendar.build(organizationId, year, holidayDates, dayTypes);
+    }
+
+    private void drop(Long organizationId) {
+        generations.merge(organizationId, 1L, Long::sum);
+        calendars.keySet().removeIf(key -> key.organizationId().equals(organizationId));
+    }
+}
@@ -0,0 +1,190 @@
+package com.talentx.hrms.service.leave;
+
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.enums.LeaveLedgerEntryType;
+import com.talentx.hrms.entity.leave.LeaveBalance;
+import com.talentx.hrms.entity.leave.LeaveLedgerEntry;
+import com.talentx.hrms.entity.leave.LeaveRequest;
+import com.talentx.hrms.entity.leave.LeaveType;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.LeaveBalanceRepository;
+import com.talentx.hrms.repository.LeaveLedgerEntryRepository;
+import com.talentx.hrms.repository.LeaveTypeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Leave balance ledger: every change to a balance is appended as a {@link LeaveLedgerEntry} and applied to
+ * the {@link LeaveBalance} summary row as a single in-place delta update.
+ *
+ * The update takes the row lock until the transaction ends, so concurrent requests and approvals for the same
+ * employee, leave type and year queue on that row instead of failing on the version check. Reserving pending
+ * days checks the remaining balance in the same statement, so a balance can never be overdrawn.
+ */
+@Component
+@Transactional
+public class LeaveLedger {
+
+    private static final BigDecimal ZERO = BigDecimal.ZERO;
+
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final LeaveLedgerEntryRepository leaveLedgerEntryRepository;
+    private final EmployeeRepository employeeRepository;
+    private final LeaveTypeRepository leaveTypeRepository;
+    private final TransactionTemplate balanceCreation;
+
+    @Autowired
+    public LeaveLedger(LeaveBalanceRepository leaveBalanceRepository,
+                       LeaveLedgerEntryRepository leaveLedgerEntryRepository,
+                       EmployeeRepository employeeRepository,
+                       LeaveTypeRepository leaveTypeRepository,
+                       PlatformTransactionManager transactionManager) {
+        this.leaveBalanceRepository = leaveBalanceRepository;
+        this.leaveLedgerEntryRepository = leaveLedgerEntryRepository;
+        this.employeeRepository = employeeRepository;
+        this.leaveTypeRepository = leaveTypeRepository;
+        this.balanceCreation = new TransactionTemplate(transactionManager);
+        this.balanceCreation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Days an employee is granted for a leave type each year
+     */
+    public static BigDecimal annualAllocation(LeaveType leaveType) {
+        return leaveType.getMaxDaysPerYear() != null ? BigDecimal.valueOf(leaveType.getMaxDaysPerYear()) : ZERO;
+    }
+
+    /**
+     * Create the balance row with its annual accrual if it does not exist yet.
+     *
+     * The row is created in its own transaction so that a concurrent creation only costs a duplicate key
+     * error there, instead of failing the caller's transaction.
+     */
+    public void ensureBalance(Employee employee, LeaveType leaveType, Integer year) {
+        Long employeeId = employee.getId();
+        Long leaveTypeId = leaveType.getId();
+        if (leaveBalanceRepository.existsByEmployeeIdAndLeaveTypeIdAndYear(employeeId, leaveTypeId, year)) {
+            return;
+        }
+
+        try {
+            balanceCreation.executeWithoutResult(status -> createBalance(
+                employeeRepository.getReferenceById(employeeId), leaveTypeRepository.getReferenceById(leaveTypeId),
+                year, annualAllocation(leaveType)));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently, or the employee or leave type is not committed yet
+            if (!leaveBalanceRepository.existsByEmployeeIdAndLeaveTypeIdAndYear(employeeId, leaveTypeId, year)) {
+                createBalance(employee, leaveType, year, annualAllocation(leaveType));
+            }
+        }
+    }
+
+    /**
+     * Reserve the days of a new or changed request as pending
+     *
+     * @throws RuntimeException if the remaining balance does not cover the request
+     */
+    public void reservePending(LeaveRequest leaveRequest) {
+        Employee employee = leaveRequest.getEmployee();
+        LeaveType leaveType = leaveRequest.getLeaveType();
+        Integer year = leaveRequest.getStartDate().getYear();
+        BigDecimal days = leaveRequest.getTotalDays();
+
+        ensureBalance(employee, leaveType, year);
+        int updated = leaveBalanceRepository.reservePendingDays(
+            employee.getId(), leaveType.getId(), year, days, Instant.now());
+        if (updated == 0) {
+            throw new RuntimeException("Insufficient leave balance for the requested days");
+        }
+        append(leaveRequest, LeaveLedgerEntryType.PENDING, days, "Requested");
+    }
+
+    /**
+     * Release the pending days of a request that was rejected, cancelled or changed
+     */
+    public void releasePending(LeaveRequest leaveRequest, String description) {
+        BigDecimal days = leaveRequest.getTotalDays();
+        apply(leaveRequest, ZERO, ZERO, days.negate(), ZERO);
+        append(leaveRequest, LeaveLedgerEntryType.PENDING, days.negate(), description);
+    }
+
+    /**
+     * Move the days of an approved request from pending to used
+     */
+    public void recordUsed(LeaveRequest leaveRequest) {
+        BigDecimal days = leaveRequest.getTotalDays();
+        apply(leaveRequest, ZERO, ZERO, days.negate(), days);
+        append(leaveRequest, LeaveLedgerEntryType.PENDING, days.negate(), "Approved");
+        append(leaveRequest, LeaveLedgerEntryType.USED, days, "Approved");
+    }
+
+    /**
+     * Return the used days of an approved request that was cancelled
+     */
+    public void reverseUsed(LeaveRequest leaveRequest) {
+        BigDecimal days = leaveRequest.getTotalDays();
+        apply(leaveRequest, ZERO, ZERO, ZERO, days.negate());
+        append(leaveRequest, LeaveLedgerEntryType.USED, days.negate(), "Cancelled");
+    }
+
+    /**
+     * Set the days carried forward into a year. Running the carry forward again only appends the difference.
+     */
+    public void carryForward(Employee employee, LeaveType leaveType, Integer toYear, BigDecimal days) {
+        ensureBalance(employee, leaveType, toYear);
+        LeaveBalance balance = leaveBalanceRepository.findForUpdate(employee.getId(), leaveType.getId(), toYear)
+            .orElseThrow(() -> new IllegalStateException("Leave balance not found"));
+        BigDecimal current = balance.getCarriedForwardDays() != null ? balance.getCarriedForwardDays() : ZERO;
+        BigDecimal delta = days.subtract(current);
+        if (delta.signum() == 0) {
+            return;
+        }
+
+        leaveBalanceRepository.applyDeltas(employee.getId(), leaveType.getId(), toYear,
+            ZERO, delta, ZERO, ZERO, Instant.now());
+        LeaveLedgerEntry entry = new LeaveLedgerEntry(employee, leaveType, toYear,
+            LeaveLedgerEntryType.CARRY_FORWARD, delta);
+        entry.setDescription("Carried forward from " + (toYear - 1));
+        leaveLedgerEntryRepository.save(entry);
+    }
+
+    private void createBalance(Employee employee, LeaveType leaveType, Integer year, BigDecimal allocation) {
+        LeaveBalance balance = new LeaveBalance(employee, leaveType, year);
+        balance.setAllocatedDays(allocation);
+        leaveBalanceRepository.saveAndFlush(balance);
+
+        if (allocation.signum() != 0) {
+            LeaveLedgerEntry entry = new LeaveLedgerEntry(employee, leaveType, year,
+                LeaveLedgerEntryType.ACCRUAL, allocation);
+            entry.setDescription("Annual allocation");
+            leaveLedgerEntryRepository.save(entry);
+        }
+    }
+
+    private void apply(LeaveRequest leaveRequest, BigDecimal allocatedDelta, BigDecimal carriedForwardDelta,
+                       BigDecimal pendingDelta, BigDecimal usedDelta) {
+        int updated = leaveBalanceRepository.applyDeltas(leaveRequest.getEmployee().getId(),
+            leaveRequest.getLeaveType().getId(), leaveRequest.getStartDate().getYear(),
+            allocatedDelta, carriedForwardDelta, pendingDelta, usedDelta, Instant.now());
+        if (updated == 0) {
+            throw new IllegalStateException("Leave balance not found for leave request " + leaveRequest.getId());
+        }
+    }
+
+    private void append(LeaveRequest leaveRequest, LeaveLedgerEntryType entryType, BigDecimal days,
+                        String description) {
+        LeaveLedgerEntry entry = new LeaveLedgerEntry(leaveRequest.getEmployee(), leaveRequest.getLeaveType(),
+            leaveRequest.getStartDate().getYear(), entryType, days);
+        entry.setLeaveRequest(leaveRequest);
+        entry.setDescription(description);
+        leaveLedgerEntryRepository.save(entry);
+    }
+}
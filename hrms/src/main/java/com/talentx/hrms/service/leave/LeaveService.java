@@ -8,11 +8,14 @@ import com.talentx.hrms.entity.core.User;
 import com.talentx.hrms.entity.employee.Employee;
 import com.talentx.hrms.entity.enums.LeaveStatus;
 import com.talentx.hrms.entity.leave.LeaveBalance;
+import com.talentx.hrms.entity.leave.LeaveLedgerEntry;
 import com.talentx.hrms.entity.leave.LeaveRequest;
 import com.talentx.hrms.entity.leave.LeaveType;
 import com.talentx.hrms.mapper.LeaveRequestMapper;
 import com.talentx.hrms.repository.*;
 import com.talentx.hrms.service.auth.AuthService;
+import com.talentx.hrms.service.employee.ReportingLineIndex;
+import com.talentx.hrms.service.holiday.WorkingDayCalendarIndex;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,7 +32,6 @@ import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -43,6 +45,11 @@ public class LeaveService {
     private final UserRepository userRepository;
     private final LeaveRequestMapper leaveRequestMapper;
     private final AuthService authService;
+    private final ReportingLineIndex reportingLineIndex;
+    private final WorkingDayCalendarIndex workingDayCalendarIndex;
+    private final LeaveLedger leaveLedger;
+    private final LeaveLedgerEntryRepository leaveLedgerEntryRepository;
+    private final LeaveStatistics leaveStatistics;
 
     @Autowired
     public LeaveService(LeaveRequestRepository leaveRequestRepository,
@@ -51,7 +58,12 @@ public class LeaveService {
                        EmployeeRepository employeeRepository,
                        UserRepository userRepository,
                        LeaveRequestMapper leaveRequestMapper,
-                       AuthService authService) {
+                       AuthService authService,
+                       ReportingLineIndex reportingLineIndex,
+                       WorkingDayCalendarIndex workingDayCalendarIndex,
+                       LeaveLedger leaveLedger,
+                       LeaveLedgerEntryRepository leaveLedgerEntryRepository,
+                       LeaveStatistics leaveStatistics) {
         this.leaveRequestRepository = leaveRequestRepository;
         this.leaveBalanceRepository = leaveBalanceRepository;
         this.leaveTypeRepository = leaveTypeRepository;
@@ -59,6 +71,11 @@ public class LeaveService {
         this.userRepository = userRepository;
         this.leaveRequestMapper = leaveRequestMapper;
         this.authService = authService;
+        this.reportingLineIndex = reportingLineIndex;
+        this.workingDayCalendarIndex = workingDayCalendarIndex;
+        this.leaveLedger = leaveLedger;
+        this.leaveLedgerEntryRepository = leaveLedgerEntryRepository;
+        this.leaveStatistics = leaveStatistics;
     }
 
     /**
@@ -87,15 +104,12 @@ public class LeaveService {
         validateLeaveTypeApplicability(leaveType, employee);
 
         // Calculate total days
-        BigDecimal totalDays = calculateLeaveDays(createDTO.getStartDate(), createDTO.getEndDate(), 
+        BigDecimal totalDays = calculateLeaveDays(employee, createDTO.getStartDate(), createDTO.getEndDate(), 
                                                  createDTO.getIsHalfDay());
 
         // Check for overlapping leave requests
         validateNoOverlappingLeave(employee, createDTO.getStartDate(), createDTO.getEndDate(), null);
 
-        // Check leave balance availability
-        validateLeaveBalance(employee, leaveType, totalDays, createDTO.getStartDate().getYear());
-
         // Check minimum notice period
         validateNoticeRequirement(leaveType, createDTO.getStartDate());
 
@@ -103,6 +117,7 @@ public class LeaveService {
         LeaveRequest leaveRequest = new LeaveRequest();
         leaveRequest.setEmployee(employee);
         leaveRequest.setLeaveType(leaveType);
+        leaveRequest.setDepartment(employee.getDepartment());
         leaveRequest.setStartDate(createDTO.getStartDate());
         leaveRequest.setEndDate(createDTO.getEndDate());
         leaveRequest.setTotalDays(totalDays);
@@ -124,8 +139,9 @@ public class LeaveService {
         // Save leave request
         leaveRequest = leaveRequestRepository.save(leaveRequest);
 
-        // Update leave balance pending days
-        updateLeaveBalancePendingDays(employee, leaveType, totalDays, createDTO.getStartDate().getYear(), true);
+        // Reserve the days as pending; fails when the balance does not cover them
+        leaveLedger.reservePending(leaveRequest);
+        leaveStatistics.record(null, LeaveStatistics.Facts.of(leaveRequest));
 
         return leaveRequestMapper.toResponseDTO(leaveRequest);
     }
@@ -141,16 +157,17 @@ public class LeaveService {
             throw new RuntimeException("Leave request cannot be modified in current status");
         }
 
-        User currentUser = getCurrentUser();
-        Employee approver = employeeRepository.findByUser(currentUser)
+        Employee approver = authService.getCurrentEmployee()
             .orElseThrow(() -> new RuntimeException("Current user is not an employee"));
 
         // Approve the request
+        LeaveStatistics.Facts before = LeaveStatistics.Facts.of(leaveRequest);
         leaveRequest.approve(approver, comments);
         leaveRequest = leaveRequestRepository.save(leaveRequest);
 
         // Update leave balance (move from pending to used)
-        updateLeaveBalanceOnApproval(leaveRequest);
+        leaveLedger.recordUsed(leaveRequest);
+        leaveStatistics.record(before, LeaveStatistics.Facts.of(leaveRequest));
 
         return leaveRequestMapper.toResponseDTO(leaveRequest);
     }
@@ -166,17 +183,17 @@ public class LeaveService {
             throw new RuntimeException("Leave request cannot be modified in current status");
         }
 
-        User currentUser = getCurrentUser();
-        Employee reviewer = employeeRepository.findByUser(currentUser)
+        Employee reviewer = authService.getCurrentEmployee()
             .orElseThrow(() -> new RuntimeException("Current user is not an employee"));
 
         // Reject the request
+        LeaveStatistics.Facts before = LeaveStatistics.Facts.of(leaveRequest);
         leaveRequest.reject(reviewer, comments);
         leaveRequest = leaveRequestRepository.save(leaveRequest);
 
         // Update leave balance (remove pending days)
-        updateLeaveBalancePendingDays(leaveRequest.getEmployee(), leaveRequest.getLeaveType(), 
-                                    leaveRequest.getTotalDays(), leaveRequest.getStartDate().getYear(), false);
+        leaveLedger.releasePending(leaveRequest, "Rejected");
+        leaveStatistics.record(before, LeaveStatistics.Facts.of(leaveRequest));
 
         return leaveRequestMapper.toResponseDTO(leaveRequest);
     }
@@ -193,18 +210,20 @@ public class LeaveService {
         }
 
         // Cancel the request
+        LeaveStatus previousStatus = leaveRequest.getStatus();
+        LeaveStatistics.Facts before = LeaveStatistics.Facts.of(leaveRequest);
         leaveRequest.cancel(reason);
         leaveRequest = leaveRequestRepository.save(leaveRequest);
 
-        // Update leave balance based on current status
-        if (leaveRequest.getStatus() == LeaveStatus.PENDING) {
+        // Update leave balance based on the status before cancellation
+        if (previousStatus == LeaveStatus.PENDING) {
             // Remove pending days
-            updateLeaveBalancePendingDays(leaveRequest.getEmployee(), leaveRequest.getLeaveType(), 
-                                        leaveRequest.getTotalDays(), leaveRequest.getStartDate().getYear(), false);
-        } else if (leaveRequest.getStatus() == LeaveStatus.APPROVED) {
+            leaveLedger.releasePending(leaveRequest, "Cancelled");
+        } else if (previousStatus == LeaveStatus.APPROVED) {
             // Remove used days and add back to balance
-            updateLeaveBalanceOnCancellation(leaveRequest);
+            leaveLedger.reverseUsed(leaveRequest);
         }
+        leaveStatistics.record(before, LeaveStatistics.Facts.of(leaveRequest));
 
         return leaveRequestMapper.toResponseDTO(leaveRequest);
     }
@@ -256,8 +275,7 @@ public class LeaveService {
      */
     @Transactional(readOnly = true)
     public List<LeaveRequestResponseDTO> getCurrentUserLeaveRequests(LeaveStatus status, Integer year) {
-        User currentUser = getCurrentUser();
-        Employee employee = employeeRepository.findByUser(currentUser)
+        Employee employee = authService.getCurrentEmployee()
             .orElseThrow(() -> new RuntimeException("Current user is not an employee"));
 
         // For now, use basic findByEmployee - this method needs to be implemented in repository
@@ -304,7 +322,9 @@ public class LeaveService {
         Employee manager = employeeRepository.findById(managerId)
             .orElseThrow(() -> new RuntimeException("Manager not found"));
 
-        List<LeaveRequest> pendingRequests = leaveRequestRepository.findPendingByManager(manager);
+        // Everyone in the manager's reporting line, not only direct reports
+        List<LeaveRequest> pendingRequests = leaveRequestRepository.findPendingInReportingLine(
+            manager.getOrganization().getId(), reportingLineIndex.getReportingPath(manager));
         return pendingRequests.stream()
             .map(leaveRequestMapper::toResponseDTO)
             .collect(Collectors.toList());
@@ -342,17 +362,8 @@ public class LeaveService {
         List<LeaveType> leaveTypes = leaveTypeRepository.findActiveByOrganization(employee.getOrganization());
 
         for (LeaveType leaveType : leaveTypes) {
-            // Check if balance already exists
-            if (!leaveBalanceRepository.existsByEmployeeAndLeaveTypeAndYear(employee, leaveType, year)) {
-                LeaveBalance balance = new LeaveBalance(employee, leaveType, year);
-                
-                // Set allocated days based on leave type configuration
-                if (leaveType.getMaxDaysPerYear() != null) {
-                    balance.setAllocatedDays(BigDecimal.valueOf(leaveType.getMaxDaysPerYear()));
-                }
-                
-                leaveBalanceRepository.save(balance);
-            }
+            // Creates the balance with its annual accrual unless it already exists
+            leaveLedger.ensureBalance(employee, leaveType, year);
         }
     }
 
@@ -379,21 +390,7 @@ public class LeaveService {
                 }
 
                 // Create or update balance for next year
-                Optional<LeaveBalance> nextYearBalance = leaveBalanceRepository
-                    .findByEmployeeAndLeaveTypeAndYear(balance.getEmployee(), leaveType, toYear);
-
-                if (nextYearBalance.isPresent()) {
-                    LeaveBalance existingBalance = nextYearBalance.get();
-                    existingBalance.setCarryForwardDays(carryForwardDays);
-                    leaveBalanceRepository.save(existingBalance);
-                } else {
-                    LeaveBalance newBalance = new LeaveBalance(balance.getEmployee(), leaveType, toYear);
-                    newBalance.setCarryForwardDays(carryForwardDays);
-                    if (leaveType.getMaxDaysPerYear() != null) {
-                        newBalance.setAllocatedDays(BigDecimal.valueOf(leaveType.getMaxDaysPerYear()));
-                    }
-                    leaveBalanceRepository.save(newBalance);
-                }
+                leaveLedger.carryForward(balance.getEmployee(), leaveType, toYear, carryForwardDays);
             }
         }
     }
@@ -419,14 +416,19 @@ public class LeaveService {
         }
     }
 
-    private BigDecimal calculateLeaveDays(LocalDate startDate, LocalDate endDate, Boolean isHalfDay) {
-        long daysBetween = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+    // Only working days of the employee's organization count against the leave balance
+    private BigDecimal calculateLeaveDays(Employee employee, LocalDate startDate, LocalDate endDate, Boolean isHalfDay) {
+        int workingDays = workingDayCalendarIndex.countWorkingDays(
+            employee.getOrganization().getId(), startDate, endDate);
+        if (workingDays == 0) {
+            throw new RuntimeException("Leave period does not include any working days");
+        }
         
         if (Boolean.TRUE.equals(isHalfDay)) {
             return BigDecimal.valueOf(0.5);
         }
         
-        return BigDecimal.valueOf(daysBetween);
+        return BigDecimal.valueOf(workingDays);
     }
 
     private void validateNoOverlappingLeave(Employee employee, LocalDate startDate, LocalDate endDate, Long excludeId) {
@@ -439,19 +441,15 @@ public class LeaveService {
         }
     }
 
+    // Read-only check against the summary row; a missing balance would start at the annual allocation
     private void validateLeaveBalance(Employee employee, LeaveType leaveType, BigDecimal requestedDays, Integer year) {
-        Optional<LeaveBalance> balanceOpt = leaveBalanceRepository
-            .findByEmployeeAndLeaveTypeAndYear(employee, leaveType, year);
+        BigDecimal remainingDays = leaveBalanceRepository
+            .findByEmployeeAndLeaveTypeAndYear(employee, leaveType, year)
+            .map(LeaveBalance::getRemainingDays)
+            .orElseGet(() -> LeaveLedger.annualAllocation(leaveType));
 
-        if (balanceOpt.isPresent()) {
-            LeaveBalance balance = balanceOpt.get();
-            if (!balance.canTakeLeave(requestedDays)) {
-                throw new RuntimeException("Insufficient leave balance for the requested days");
-            }
-        } else {
-            // Initialize balance if it doesn't exist
-            initializeLeaveBalances(employee.getId(), year);
-            validateLeaveBalance(employee, leaveType, requestedDays, year);
+        if (remainingDays.compareTo(requestedDays) < 0) {
+            throw new RuntimeException("Insufficient leave balance for the requested days");
         }
     }
 
@@ -465,60 +463,6 @@ public class LeaveService {
         }
     }
 
-    private void updateLeaveBalancePendingDays(Employee employee, LeaveType leaveType, 
-                                             BigDecimal days, Integer year, boolean add) {
-        Optional<LeaveBalance> balanceOpt = leaveBalanceRepository
-            .findByEmployeeAndLeaveTypeAndYear(employee, leaveType, year);
-
-        if (balanceOpt.isPresent()) {
-            LeaveBalance balance = balanceOpt.get();
-            BigDecimal currentPending = balance.getPendingDays();
-            
-            if (add) {
-                balance.setPendingDays(currentPending.add(days));
-            } else {
-                balance.setPendingDays(currentPending.subtract(days));
-            }
-            
-            leaveBalanceRepository.save(balance);
-        }
-    }
-
-    private void updateLeaveBalanceOnApproval(LeaveRequest leaveRequest) {
-        Optional<LeaveBalance> balanceOpt = leaveBalanceRepository
-            .findByEmployeeAndLeaveTypeAndYear(leaveRequest.getEmployee(), 
-                                             leaveRequest.getLeaveType(), 
-                                             leaveRequest.getStartDate().getYear());
-
-        if (balanceOpt.isPresent()) {
-            LeaveBalance balance = balanceOpt.get();
-            BigDecimal days = leaveRequest.getTotalDays();
-            
-            // Move from pending to used
-            balance.setPendingDays(balance.getPendingDays().subtract(days));
-            balance.setUsedDays(balance.getUsedDays().add(days));
-            
-            leaveBalanceRepository.save(balance);
-        }
-    }
-
-    private void updateLeaveBalanceOnCancellation(LeaveRequest leaveRequest) {
-        Optional<LeaveBalance> balanceOpt = leaveBalanceRepository
-            .findByEmployeeAndLeaveTypeAndYear(leaveRequest.getEmployee(), 
-                                             leaveRequest.getLeaveType(), 
-                                             leaveRequest.getStartDate().getYear());
-
-        if (balanceOpt.isPresent()) {
-            LeaveBalance balance = balanceOpt.get();
-            BigDecimal days = leaveRequest.getTotalDays();
-            
-            // Remove from used days
-            balance.setUsedDays(balance.getUsedDays().subtract(days));
-            
-            leaveBalanceRepository.save(balance);
-        }
-    }
-
     private LeaveBalanceDTO mapToLeaveBalanceDTO(LeaveBalance balance) {
         LeaveBalanceDTO dto = new LeaveBalanceDTO();
         dto.setId(balance.getId());
@@ -546,6 +490,10 @@ public class LeaveService {
             throw new RuntimeException("Leave request cannot be modified in current status");
         }
 
+        // Release the days reserved for the old dates before reserving the new ones
+        leaveLedger.releasePending(leaveRequest, "Changed");
+        LeaveStatistics.Facts before = LeaveStatistics.Facts.of(leaveRequest);
+
         // Update fields
         leaveRequest.setStartDate(updateDTO.getStartDate());
         leaveRequest.setEndDate(updateDTO.getEndDate());
@@ -556,11 +504,13 @@ public class LeaveService {
         leaveRequest.setEmergencyContact(updateDTO.getEmergencyContact());
 
         // Recalculate total days
-        BigDecimal totalDays = calculateLeaveDays(updateDTO.getStartDate(), updateDTO.getEndDate(), 
-                                                 updateDTO.getIsHalfDay());
+        BigDecimal totalDays = calculateLeaveDays(leaveRequest.getEmployee(), updateDTO.getStartDate(),
+                                                 updateDTO.getEndDate(), updateDTO.getIsHalfDay());
         leaveRequest.setTotalDays(totalDays);
 
         leaveRequest = leaveRequestRepository.save(leaveRequest);
+        leaveLedger.reservePending(leaveRequest);
+        leaveStatistics.record(before, LeaveStatistics.Facts.of(leaveRequest));
         return leaveRequestMapper.toResponseDTO(leaveRequest);
     }
 
@@ -584,11 +534,11 @@ public class LeaveService {
      */
     @Transactional(readOnly = true)
     public List<LeaveRequestResponseDTO> getManagerApprovalRequests() {
-        User currentUser = authService.getCurrentUser();
-        Employee manager = employeeRepository.findByUser(currentUser)
+        Employee manager = authService.getCurrentEmployee()
             .orElseThrow(() -> new RuntimeException("Current user is not an employee"));
 
-        List<LeaveRequest> managerRequests = leaveRequestRepository.findPendingByManager(manager);
+        List<LeaveRequest> managerRequests = leaveRequestRepository.findPendingInReportingLine(
+            manager.getOrganization().getId(), reportingLineIndex.getReportingPath(manager));
         return managerRequests.stream()
             .map(leaveRequestMapper::toResponseDTO)
             .collect(Collectors.toList());
@@ -606,36 +556,44 @@ public class LeaveService {
         return result;
     }
 
+    /**
+     * Get the ledger entries behind an employee's leave balances for a year
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getLeaveLedger(Long employeeId, Integer year) {
+        if (year == null) {
+            year = LocalDate.now().getYear();
+        }
+
+        return leaveLedgerEntryRepository.findByEmployeeIdAndYear(employeeId, year).stream()
+            .map(this::mapLedgerEntryToMap)
+            .collect(Collectors.toList());
+    }
+
     /**
      * Get current user leave balance
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getCurrentUserLeaveBalance() {
-        User currentUser = authService.getCurrentUser();
-        Employee employee = employeeRepository.findByUser(currentUser)
+        Employee employee = authService.getCurrentEmployee()
             .orElseThrow(() -> new RuntimeException("Current user is not an employee"));
 
         return getLeaveBalance(employee.getId());
     }
 
     /**
-     * Get leave calendar
+     * Get leave calendar: approved and pending requests per day, from the leave statistics
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getLeaveCalendar(LocalDate startDate, LocalDate endDate, Long departmentId) {
         User currentUser = authService.getCurrentUser();
         Organization organization = currentUser.getOrganization();
 
-        // For now, return empty list - this method needs to be implemented in repository
-        List<LeaveRequest> leaveRequests = List.of();
-
-        return leaveRequests.stream()
-            .map(this::mapLeaveRequestToCalendarEntry)
-            .collect(Collectors.toList());
+        return leaveStatistics.getCalendar(organization.getId(), departmentId, startDate, endDate);
     }
 
     /**
-     * Get leave statistics
+     * Get leave statistics: request counts and days per status, from the leave statistics
      */
     @Transactional(readOnly = true)
     public Map<String, Object> getLeaveStatistics(Integer year, Long departmentId) {
@@ -646,15 +604,20 @@ public class LeaveService {
         User currentUser = authService.getCurrentUser();
         Organization organization = currentUser.getOrganization();
 
-        Map<String, Object> statistics = new HashMap<>();
-        statistics.put("year", year);
-        // For now, use placeholder values - these methods need to be implemented in repository
-        statistics.put("totalRequests", 0L);
-        statistics.put("approvedRequests", 0L);
-        statistics.put("pendingRequests", 0L);
-        statistics.put("rejectedRequests", 0L);
+        return leaveStatistics.getYearStatistics(organization.getId(), year, departmentId);
+    }
 
-        return statistics;
+    /**
+     * Recompute the current organization's leave statistics from its leave requests
+     */
+    public Map<String, Object> rebuildLeaveStatistics() {
+        User currentUser = authService.getCurrentUser();
+        Organization organization = currentUser.getOrganization();
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("organizationId", organization.getId());
+        result.put("leaveRequests", leaveStatistics.rebuild(organization.getId()));
+        return result;
     }
 
     /**
@@ -688,7 +651,7 @@ public class LeaveService {
         result.put("message", "Leave can be taken for the specified dates");
 
         try {
-            BigDecimal requestedDays = calculateLeaveDays(startDate, endDate, false);
+            BigDecimal requestedDays = calculateLeaveDays(employee, startDate, endDate, false);
             validateLeaveBalance(employee, leaveType, requestedDays, startDate.getYear());
             validateNoOverlappingLeave(employee, startDate, endDate, null);
             validateNoticeRequirement(leaveType, startDate);
@@ -701,18 +664,6 @@ public class LeaveService {
     }
 
     // Helper methods
-    private Map<String, Object> mapLeaveRequestToCalendarEntry(LeaveRequest leaveRequest) {
-        Map<String, Object> entry = new HashMap<>();
-        entry.put("id", leaveRequest.getId());
-        entry.put("employeeName", leaveRequest.getEmployee().getFullName());
-        entry.put("leaveType", leaveRequest.getLeaveType().getName());
-        entry.put("startDate", leaveRequest.getStartDate());
-        entry.put("endDate", leaveRequest.getEndDate());
-        entry.put("totalDays", leaveRequest.getTotalDays());
-        entry.put("status", leaveRequest.getStatus());
-        return entry;
-    }
-
     private Map<String, Object> mapLeaveTypeToMap(LeaveType leaveType) {
         Map<String, Object> map = new HashMap<>();
         map.put("id", leaveType.getId());
@@ -725,6 +676,20 @@ public class LeaveService {
         return map;
     }
 
+    private Map<String, Object> mapLedgerEntryToMap(LeaveLedgerEntry entry) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("id", entry.getId());
+        map.put("leaveTypeId", entry.getLeaveType().getId());
+        map.put("leaveTypeName", entry.getLeaveType().getName());
+        map.put("year", entry.getYear());
+        map.put("entryType", entry.getEntryType());
+        map.put("days", entry.getDays());
+        map.put("leaveRequestId", entry.getLeaveRequest() != null ? entry.getLeaveRequest().getId() : null);
+        map.put("description", entry.getDescription());
+        map.put("createdAt", entry.getCreatedAt());
+        return map;
+    }
+
     private Pageable createPageable(PaginationRequest paginationRequest) {
         Sort sort = Sort.unsorted();
         if (paginationRequest.getSortBy() != null && !paginationRequest.getSortBy().isEmpty()) {
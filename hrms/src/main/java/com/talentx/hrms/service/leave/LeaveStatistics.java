@@ -0,0 +1,357 @@
+package com.talentx.hrms.service.leave;
+
+import com.talentx.hrms.entity.enums.LeaveStatus;
+import com.talentx.hrms.entity.leave.LeaveDailyOccupancy;
+import com.talentx.hrms.entity.leave.LeaveRequest;
+import com.talentx.hrms.entity.leave.LeaveRequestCounter;
+import com.talentx.hrms.entity.leave.LeaveType;
+import com.talentx.hrms.repository.LeaveDailyOccupancyRepository;
+import com.talentx.hrms.repository.LeaveRequestCounterRepository;
+import com.talentx.hrms.repository.LeaveRequestRepository;
+import com.talentx.hrms.repository.LeaveTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Pre-aggregated leave statistics: daily occupancy per department and leave type, and request counters
+ * per year and status. The leave service hands every change of a request to {@link #record} in the same
+ * transaction, which applies it as delta updates, so the calendar and statistics never scan leave requests.
+ *
+ * Each request adds to one of {@link #SLOTS} rows per key, picked from its id, so that requests for the same
+ * department and days update different rows; reads add the slots up. Rows are created on first use in their
+ * own transaction, where a concurrent creation only costs a duplicate key error.
+ */
+@Component
+@Transactional
+public class LeaveStatistics {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaveStatistics.class);
+
+    static final int SLOTS = 8;
+
+    /**
+     * Department id the statistics use for employees without a department
+     */
+    public static final Long NO_DEPARTMENT = 0L;
+
+    private final LeaveDailyOccupancyRepository occupancyRepository;
+    private final LeaveRequestCounterRepository counterRepository;
+    private final LeaveRequestRepository leaveRequestRepository;
+    private final LeaveTypeRepository leaveTypeRepository;
+    private final TransactionTemplate rowCreation;
+
+    @Autowired
+    public LeaveStatistics(LeaveDailyOccupancyRepository occupancyRepository,
+                           LeaveRequestCounterRepository counterRepository,
+                           LeaveRequestRepository leaveRequestRepository,
+                           LeaveTypeRepository leaveTypeRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.occupancyRepository = occupancyRepository;
+        this.counterRepository = counterRepository;
+        this.leaveRequestRepository = leaveRequestRepository;
+        this.leaveTypeRepository = leaveTypeRepository;
+        this.rowCreation = new TransactionTemplate(transactionManager);
+        this.rowCreation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * The fields of a leave request the statistics are keyed by, captured before and after a change
+     */
+    public record Facts(Long organizationId, Long departmentId, Long leaveTypeId, Long requestId,
+                        LeaveStatus status, LocalDate startDate, LocalDate endDate, BigDecimal totalDays) {
+
+        public static Facts of(LeaveRequest leaveRequest) {
+            return new Facts(leaveRequest.getEmployee().getOrganization().getId(),
+                leaveRequest.getDepartment() != null ? leaveRequest.getDepartment().getId() : NO_DEPARTMENT,
+                leaveRequest.getLeaveType().getId(), leaveRequest.getId(), leaveRequest.getStatus(),
+                leaveRequest.getStartDate(), leaveRequest.getEndDate(),
+                leaveRequest.getTotalDays() != null ? leaveRequest.getTotalDays() : BigDecimal.ZERO);
+        }
+
+        int slot() {
+            return (int) Math.floorMod(requestId, (long) SLOTS);
+        }
+
+        int year() {
+            return startDate.getYear();
+        }
+
+        int approved() {
+            return status == LeaveStatus.APPROVED ? 1 : 0;
+        }
+
+        int pending() {
+            return status == LeaveStatus.PENDING ? 1 : 0;
+        }
+
+        boolean sameDays(Facts other) {
+            return organizationId.equals(other.organizationId) && departmentId.equals(other.departmentId)
+                && leaveTypeId.equals(other.leaveTypeId) && slot() == other.slot()
+                && startDate.equals(other.startDate) && endDate.equals(other.endDate);
+        }
+
+        boolean sameCounter(Facts other) {
+            return organizationId.equals(other.organizationId) && departmentId.equals(other.departmentId)
+                && leaveTypeId.equals(other.leaveTypeId) && slot() == other.slot()
+                && year() == other.year() && status == other.status;
+        }
+    }
+
+    /**
+     * Move a request's contribution from its state before a change to its state after it. Pass null
+     * before for a new request.
+     */
+    public void record(Facts before, Facts after) {
+        if (before != null && after != null && before.sameDays(after)) {
+            applyOccupancy(after, after.approved() - before.approved(), after.pending() - before.pending());
+        } else {
+            if (before != null) {
+                applyOccupancy(before, -before.approved(), -before.pending());
+            }
+            if (after != null) {
+                applyOccupancy(after, after.approved(), after.pending());
+            }
+        }
+
+        if (before != null && after != null && before.sameCounter(after)) {
+            applyCounter(after, 0, after.totalDays().subtract(before.totalDays()));
+        } else {
+            if (before != null) {
+                applyCounter(before, -1, before.totalDays().negate());
+            }
+            if (after != null) {
+                applyCounter(after, 1, after.totalDays());
+            }
+        }
+    }
+
+    /**
+     * Recompute an organization's statistics from its leave requests
+     *
+     * @return the number of leave requests counted
+     */
+    public int rebuild(Long organizationId) {
+        leaveRequestRepository.recordMissingDepartments(organizationId);
+        occupancyRepository.deleteByOrganizationId(organizationId);
+        counterRepository.deleteByOrganizationId(organizationId);
+
+        Map<List<Object>, LeaveRequestCounter> counters = new HashMap<>();
+        Map<List<Object>, LeaveDailyOccupancy> occupancy = new HashMap<>();
+        List<Object[]> rows = leaveRequestRepository.findStatisticsRowsByOrganizationId(organizationId);
+        for (Object[] row : rows) {
+            if (row[3] == null) {
+                continue;
+            }
+            Facts facts = new Facts(organizationId, row[1] != null ? (Long) row[1] : NO_DEPARTMENT,
+                (Long) row[2], (Long) row[0], (LeaveStatus) row[3], (LocalDate) row[4], (LocalDate) row[5],
+                row[6] != null ? (BigDecimal) row[6] : BigDecimal.ZERO);
+
+            LeaveRequestCounter counter = counters.computeIfAbsent(
+                List.of(facts.year(), facts.departmentId(), facts.leaveTypeId(), facts.status(), facts.slot()),
+                key -> new LeaveRequestCounter(organizationId, facts.departmentId(), facts.leaveTypeId(),
+                    facts.year(), facts.status(), facts.slot()));
+            counter.setRequestCount(counter.getRequestCount() + 1);
+            counter.setTotalDays(counter.getTotalDays().add(facts.totalDays()));
+
+            if (facts.approved() + facts.pending() == 0) {
+                continue;
+            }
+            for (LocalDate date : facts.startDate().datesUntil(facts.endDate().plusDays(1)).toList()) {
+                LeaveDailyOccupancy day = occupancy.computeIfAbsent(
+                    List.of(date, facts.departmentId(), facts.leaveTypeId(), facts.slot()),
+                    key -> new LeaveDailyOccupancy(organizationId, facts.departmentId(), facts.leaveTypeId(),
+                        date, facts.slot()));
+                day.setApprovedCount(day.getApprovedCount() + facts.approved());
+                day.setPendingCount(day.getPendingCount() + facts.pending());
+            }
+        }
+
+        counterRepository.saveAll(counters.values());
+        occupancyRepository.saveAll(occupancy.values());
+        logger.info("Rebuilt leave statistics of {} leave requests for organization {}", rows.size(), organizationId);
+        return rows.size();
+    }
+
+    /**
+     * Build the statistics of organizations whose leave requests were made before statistics were maintained
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (Long organizationId : leaveRequestRepository.findOrganizationIdsWithoutStatistics()) {
+            rebuild(organizationId);
+        }
+    }
+
+    /**
+     * Approved and pending requests per day between two dates, with a breakdown per leave type. Days
+     * without any request are left out.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getCalendar(Long organizationId, Long departmentId,
+                                                 LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+
+        List<Object[]> rows = occupancyRepository.findDailyCounts(organizationId, departmentId, startDate, endDate);
+        Map<Long, String> leaveTypeNames = leaveTypeNames(rows.stream().map(row -> (Long) row[1]));
+
+        Map<LocalDate, Map<String, Object>> days = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            long approved = ((Number) row[2]).longValue();
+            long pending = ((Number) row[3]).longValue();
+            Map<String, Object> day = days.computeIfAbsent((LocalDate) row[0], date -> {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("date", date);
+                entry.put("approvedCount", 0L);
+                entry.put("pendingCount", 0L);
+                entry.put("leaveTypes", new ArrayList<Map<String, Object>>());
+                return entry;
+            });
+            day.put("approvedCount", (Long) day.get("approvedCount") + approved);
+            day.put("pendingCount", (Long) day.get("pendingCount") + pending);
+
+            Map<String, Object> leaveType = new HashMap<>();
+            leaveType.put("leaveTypeId", row[1]);
+            leaveType.put("leaveTypeName", leaveTypeNames.get((Long) row[1]));
+            leaveType.put("approvedCount", approved);
+            leaveType.put("pendingCount", pending);
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> leaveTypes = (List<Map<String, Object>>) day.get("leaveTypes");
+            leaveTypes.add(leaveType);
+        }
+        return new ArrayList<>(days.values());
+    }
+
+    /**
+     * Request counts and days of a year per status, overall and per leave type
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getYearStatistics(Long organizationId, Integer year, Long departmentId) {
+        List<Object[]> rows = counterRepository.findYearTotals(organizationId, year, departmentId);
+        Map<Long, String> leaveTypeNames = leaveTypeNames(rows.stream().map(row -> (Long) row[0]));
+
+        Map<LeaveStatus, Long> requests = new EnumMap<>(LeaveStatus.class);
+        Map<LeaveStatus, BigDecimal> days = new EnumMap<>(LeaveStatus.class);
+        Map<Long, Map<String, Object>> byLeaveType = new TreeMap<>();
+        for (Object[] row : rows) {
+            Long leaveTypeId = (Long) row[0];
+            LeaveStatus status = (LeaveStatus) row[1];
+            long count = ((Number) row[2]).longValue();
+            BigDecimal totalDays = row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO;
+            requests.merge(status, count, Long::sum);
+            days.merge(status, totalDays, BigDecimal::add);
+
+            Map<String, Object> leaveType = byLeaveType.computeIfAbsent(leaveTypeId, id -> {
+                Map<String, Object> entry = new HashMap<>();
+                entry.put("leaveTypeId", id);
+                entry.put("leaveTypeName", leaveTypeNames.get(id));
+                entry.put("totalRequests", 0L);
+                return entry;
+            });
+            leaveType.put("totalRequests", (Long) leaveType.get("totalRequests") + count);
+            leaveType.put(status.name().toLowerCase() + "Requests", count);
+            leaveType.put(status.name().toLowerCase() + "Days", totalDays);
+        }
+
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("year", year);
+        statistics.put("departmentId", departmentId);
+        statistics.put("totalRequests", requests.values().stream().mapToLong(Long::longValue).sum());
+        statistics.put("approvedRequests", requests.getOrDefault(LeaveStatus.APPROVED, 0L));
+        statistics.put("pendingRequests", requests.getOrDefault(LeaveStatus.PENDING, 0L));
+        statistics.put("rejectedRequests", requests.getOrDefault(LeaveStatus.REJECTED, 0L));
+        statistics.put("cancelledRequests", requests.getOrDefault(LeaveStatus.CANCELLED, 0L));
+        statistics.put("approvedDays", days.getOrDefault(LeaveStatus.APPROVED, BigDecimal.ZERO));
+        statistics.put("pendingDays", days.getOrDefault(LeaveStatus.PENDING, BigDecimal.ZERO));
+        statistics.put("byLeaveType", new ArrayList<>(byLeaveType.values()));
+        return statistics;
+    }
+
+    private void applyOccupancy(Facts facts, int approvedDelta, int pendingDelta) {
+        if (approvedDelta == 0 && pendingDelta == 0) {
+            return;
+        }
+        if (approvedDelta > 0 || pendingDelta > 0) {
+            ensureOccupancyRows(facts);
+        }
+        occupancyRepository.applyDeltas(facts.organizationId(), facts.departmentId(), facts.leaveTypeId(),
+            facts.slot(), facts.startDate(), facts.endDate(), approvedDelta, pendingDelta);
+    }
+
+    private void applyCounter(Facts facts, long countDelta, BigDecimal daysDelta) {
+        if (countDelta == 0 && daysDelta.signum() == 0) {
+            return;
+        }
+        if (countDelta > 0 && !counterExists(facts)) {
+            insert(() -> counterRepository.save(new LeaveRequestCounter(facts.organizationId(),
+                facts.departmentId(), facts.leaveTypeId(), facts.year(), facts.status(), facts.slot())));
+        }
+        counterRepository.applyDeltas(facts.organizationId(), facts.year(), facts.departmentId(),
+            facts.leaveTypeId(), facts.status(), facts.slot(), countDelta, daysDelta);
+    }
+
+    private boolean counterExists(Facts facts) {
+        return counterRepository.existsByOrganizationIdAndYearAndDepartmentIdAndLeaveTypeIdAndStatusAndSlot(
+            facts.organizationId(), facts.year(), facts.departmentId(), facts.leaveTypeId(), facts.status(),
+            facts.slot());
+    }
+
+    private void ensureOccupancyRows(Facts facts) {
+        Set<LocalDate> existing = new HashSet<>(occupancyRepository.findExistingDates(facts.organizationId(),
+            facts.departmentId(), facts.leaveTypeId(), facts.slot(), facts.startDate(), facts.endDate()));
+        List<LocalDate> missing = facts.startDate().datesUntil(facts.endDate().plusDays(1))
+            .filter(date -> !existing.contains(date))
+            .toList();
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        try {
+            rowCreation.executeWithoutResult(status -> occupancyRepository.saveAll(
+                missing.stream().map(date -> newOccupancy(facts, date)).toList()));
+        } catch (DataIntegrityViolationException e) {
+            // Some of the days were created concurrently; create the others one by one
+            for (LocalDate date : missing) {
+                insert(() -> occupancyRepository.save(newOccupancy(facts, date)));
+            }
+        }
+    }
+
+    private void insert(Runnable creation) {
+        try {
+            rowCreation.executeWithoutResult(status -> creation.run());
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently
+        }
+    }
+
+    private static LeaveDailyOccupancy newOccupancy(Facts facts, LocalDate date) {
+        return new LeaveDailyOccupancy(facts.organizationId(), facts.departmentId(), facts.leaveTypeId(), date,
+            facts.slot());
+    }
+
+    private Map<Long, String> leaveTypeNames(Stream<Long> leaveTypeIds) {
+        Set<Long> ids = leaveTypeIds.collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return leaveTypeRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(LeaveType::getId, LeaveType::getName));
+    }
+}
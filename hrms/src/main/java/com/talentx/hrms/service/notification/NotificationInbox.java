@@ -0,0 +1,272 @@
+package com.talentx.hrms.service.notification;
+
+import com.talentx.hrms.common.exception.EntityNotFoundException;
+import com.talentx.hrms.common.exception.ValidationException;
+import com.talentx.hrms.entity.analytics.NotificationReadState;
+import com.talentx.hrms.entity.analytics.SystemNotification;
+import com.talentx.hrms.repository.NotificationReadStateRepository;
+import com.talentx.hrms.repository.OrganizationRepository;
+import com.talentx.hrms.repository.SystemNotificationRepository;
+import com.talentx.hrms.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A user's notifications merged from their personal notifications and their organization's
+ * organization-wide ones.
+ *
+ * Organization-wide notifications are stored once with a per-organization sequence, so a broadcast is
+ * a single insert whatever the size of the organization. What each user has read of them is kept in a
+ * {@link NotificationReadState}: a watermark plus a bitmap of the notifications read above it. Marking
+ * one read advances the watermark as far as the notifications below it are all read, which keeps the
+ * bitmap down to the notifications read out of order.
+ */
+@Component
+public class NotificationInbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationInbox.class);
+
+    private static final Comparator<SystemNotification> NEWEST_FIRST = Comparator
+        .comparing(SystemNotification::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+        .thenComparing(SystemNotification::getId, Comparator.reverseOrder());
+
+    private final SystemNotificationRepository notificationRepository;
+    private final NotificationReadStateRepository readStateRepository;
+    private final OrganizationRepository organizationRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate writeTransaction;
+
+    @Autowired
+    public NotificationInbox(SystemNotificationRepository notificationRepository,
+                             NotificationReadStateRepository readStateRepository,
+                             OrganizationRepository organizationRepository,
+                             UserRepository userRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.notificationRepository = notificationRepository;
+        this.readStateRepository = readStateRepository;
+        this.organizationRepository = organizationRepository;
+        this.userRepository = userRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Take the sequence of a new organization-wide notification. Must be called inside the inserting
+     * transaction; broadcasts of one organization are serialized until it commits.
+     */
+    public long nextGlobalSequence(Long organizationId) {
+        if (organizationRepository.incrementNotificationSequence(organizationId) == 0) {
+            throw new EntityNotFoundException("Organization not found with id: " + organizationId);
+        }
+        return organizationRepository.findNotificationSequence(organizationId);
+    }
+
+    /**
+     * Organization of a user, from their read state when they have one
+     */
+    public Long organizationOf(Long userId) {
+        return readStateRepository.findByUserId(userId)
+            .map(NotificationReadState::getOrganizationId)
+            .orElseGet(() -> userOrganization(userId));
+    }
+
+    /**
+     * Unread personal and organization-wide notifications of a user
+     */
+    public long countUnread(Long userId) {
+        return notificationRepository.countUnreadByUserId(userId) + countUnreadGlobal(state(userId));
+    }
+
+    /**
+     * A page of a user's notifications, newest first
+     */
+    public List<SystemNotification> getInbox(Long userId, int page, int size) {
+        int limit = limit(page, size);
+        NotificationReadState state = state(userId);
+
+        List<SystemNotification> global = notificationRepository
+            .findGlobalNotificationsByOrganization(state.getOrganizationId(), PageRequest.of(0, limit));
+        for (SystemNotification notification : global) {
+            notification.setReadByRecipient(state.isRead(notification.getGlobalSequence()));
+        }
+
+        List<SystemNotification> merged = new ArrayList<>(
+            notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, limit)));
+        merged.addAll(global);
+        return page(merged, page, size);
+    }
+
+    /**
+     * A page of a user's unread notifications, newest first
+     */
+    public List<SystemNotification> getUnread(Long userId, int page, int size) {
+        int limit = limit(page, size);
+        NotificationReadState state = state(userId);
+
+        List<SystemNotification> merged = new ArrayList<>(
+            notificationRepository.findUnreadByUserId(userId, PageRequest.of(0, limit)));
+        merged.addAll(unreadGlobal(state, notificationRepository.findGlobalAbove(state.getOrganizationId(),
+            state.getWatermark(), PageRequest.of(0, widen(limit, state)))));
+        return page(merged, page, size);
+    }
+
+    /**
+     * Unread notifications of a user created after a notification id, oldest first
+     */
+    public List<SystemNotification> getUnreadAfter(Long userId, Long afterId, int limit) {
+        NotificationReadState state = state(userId);
+
+        List<SystemNotification> merged = new ArrayList<>(
+            notificationRepository.findUnreadByUserIdAfter(userId, afterId, PageRequest.of(0, limit)));
+        merged.addAll(unreadGlobal(state, notificationRepository.findGlobalAfterId(state.getOrganizationId(),
+            afterId, PageRequest.of(0, widen(limit, state)))));
+        merged.sort(Comparator.comparing(SystemNotification::getId));
+        return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+    }
+
+    /**
+     * Mark an organization-wide notification read for a user; returns false if it already was
+     */
+    public boolean markRead(Long userId, SystemNotification notification) {
+        NotificationReadState state = lockState(userId);
+        if (!state.getOrganizationId().equals(notification.getOrganization().getId())) {
+            throw new ValidationException("Notification " + notification.getId() +
+                " does not belong to the organization of user " + userId);
+        }
+        if (!state.markRead(notification.getGlobalSequence())) {
+            return false;
+        }
+
+        compact(state);
+        readStateRepository.save(state);
+        return true;
+    }
+
+    /**
+     * Mark every organization-wide notification read for a user; returns how many were unread
+     */
+    public int markAllRead(Long userId) {
+        NotificationReadState state = lockState(userId);
+        long unread = countUnreadGlobal(state);
+        state.advanceTo(organizationRepository.findNotificationSequence(state.getOrganizationId()));
+        readStateRepository.save(state);
+        return (int) unread;
+    }
+
+    /**
+     * Sequence organization-wide notifications created before sequences existed, in creation order
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void sequenceExistingGlobalNotifications() {
+        List<Object[]> unsequenced = notificationRepository.findUnsequencedGlobalNotifications();
+        // Rows are (id, organizationId)
+        for (Object[] row : unsequenced) {
+            Long id = (Long) row[0];
+            notificationRepository.assignGlobalSequence(id, nextGlobalSequence((Long) row[1]));
+        }
+        if (!unsequenced.isEmpty()) {
+            logger.info("Assigned sequences to {} organization-wide notifications", unsequenced.size());
+        }
+    }
+
+    // Existing read state, or an empty one that is not saved
+    private NotificationReadState state(Long userId) {
+        return readStateRepository.findByUserId(userId)
+            .orElseGet(() -> new NotificationReadState(userId, userOrganization(userId)));
+    }
+
+    private NotificationReadState lockState(Long userId) {
+        return readStateRepository.findForUpdate(userId).orElseGet(() -> {
+            Long organizationId = userOrganization(userId);
+            try {
+                writeTransaction.executeWithoutResult(status ->
+                    readStateRepository.saveAndFlush(new NotificationReadState(userId, organizationId)));
+            } catch (DataIntegrityViolationException e) {
+                // Another request created it first
+            }
+            return readStateRepository.findForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Read state of user " + userId + " could not be created"));
+        });
+    }
+
+    // Advance the watermark up to the first organization-wide notification that is still unread
+    private void compact(NotificationReadState state) {
+        long[] read = state.readAboveWatermark();
+        if (read.length == 0) {
+            return;
+        }
+
+        // Only read.length notifications above the watermark can be read, so one more holds the first unread one
+        List<Long> sequences = notificationRepository.findGlobalSequencesAbove(state.getOrganizationId(),
+            state.getWatermark(), PageRequest.of(0, read.length + 1));
+        long watermark = read[read.length - 1];
+        for (Long sequence : sequences) {
+            if (!state.isRead(sequence)) {
+                watermark = sequence - 1;
+                break;
+            }
+        }
+        state.advanceTo(watermark);
+    }
+
+    private long countUnreadGlobal(NotificationReadState state) {
+        long above = notificationRepository.countGlobalAbove(state.getOrganizationId(), state.getWatermark());
+        long[] read = state.readAboveWatermark();
+        if (above == 0 || read.length == 0) {
+            return above;
+        }
+        // Read notifications that were deleted since are no longer counted above the watermark
+        return above - notificationRepository.countGlobalSequencesIn(state.getOrganizationId(),
+            Arrays.stream(read).boxed().toList());
+    }
+
+    private static List<SystemNotification> unreadGlobal(NotificationReadState state,
+                                                         List<SystemNotification> notifications) {
+        List<SystemNotification> unread = new ArrayList<>();
+        for (SystemNotification notification : notifications) {
+            if (!state.isRead(notification.getGlobalSequence())) {
+                notification.setReadByRecipient(false);
+                unread.add(notification);
+            }
+        }
+        return unread;
+    }
+
+    private Long userOrganization(Long userId) {
+        return userRepository.findById(userId)
+            .map(user -> user.getOrganization().getId())
+            .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
+    }
+
+    // Enough organization-wide rows to find limit unread ones among those read out of order
+    private static int widen(int limit, NotificationReadState state) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) limit + state.readAboveWatermark().length);
+    }
+
+    private static int limit(int page, int size) {
+        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, ((long) page + 1) * size));
+    }
+
+    private static List<SystemNotification> page(List<SystemNotification> merged, int page, int size) {
+        merged.sort(NEWEST_FIRST);
+        int from = (int) Math.min(merged.size(), (long) page * size);
+        int to = (int) Math.min(merged.size(), (long) from + size);
+        return new ArrayList<>(merged.subList(from, to));
+    }
+}
@@ -0,0 +1,529 @@
+package com.talentx.hrms.service.notification;
+
+import com.talentx.hrms.config.ExecutorConfig;
+import com.talentx.hrms.entity.analytics.SystemNotification;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server-sent event channel for user notifications, with an in-memory unread counter per user.
+ *
+ * Notifications created, read or deleted through {@link NotificationService} are applied to the
+ * user's channel once their transaction commits and pushed to the user's open streams on the
+ * notification executor; an organization-wide notification is pushed to every connected user of its
+ * organization. A stream that reconnects with the id of the last notification it saw is
+ * resumed from a small buffer of recent notifications, or from the database when that id is no longer
+ * buffered. Unread counts are loaded with one query and then kept up to date in memory; they are
+ * reloaded after counter-ttl-seconds so changes made on other nodes show up within that delay.
+ */
+@Component
+public class NotificationPushHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationPushHub.class);
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_COUNT_EVENT = "unread-count";
+    static final String RESYNC_EVENT = "resync";
+
+    private final NotificationInbox inbox;
+    private final Executor deliveryExecutor;
+    private final long emitterTimeoutMs;
+    private final int replayCapacity;
+    private final Duration counterTtl;
+    private final Clock clock;
+
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    private final LongAdder subscriptions = new LongAdder();
+    private final LongAdder notificationsPushed = new LongAdder();
+    private final LongAdder replayedFromBuffer = new LongAdder();
+    private final LongAdder replayedFromDatabase = new LongAdder();
+    private final LongAdder counterHits = new LongAdder();
+    private final LongAdder counterLoads = new LongAdder();
+    private final LongAdder deliveryFailures = new LongAdder();
+
+    /**
+     * Open streams and state of one user. Fields other than the subscriber list are guarded by the channel.
+     */
+    private static final class Channel {
+        final Long userId;
+        Long organizationId;
+        final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        final ArrayDeque<Pushed> recent = new ArrayDeque<>();
+        long sequence;
+        long generation;
+        long unread = -1;
+        Instant loadedAt;
+        Instant lastActive;
+
+        Channel(Long userId, Instant now) {
+            this.userId = userId;
+            this.lastActive = now;
+        }
+    }
+
+    /**
+     * One open stream. Sends are serialized on the subscriber.
+     */
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        boolean ready;
+        long lastSequence;
+        long lastCount = -1;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private record Pushed(long sequence, Long notificationId, Map<String, Object> payload) {
+    }
+
+    @Autowired
+    public NotificationPushHub(NotificationInbox inbox,
+                               @Qualifier(ExecutorConfig.NOTIFICATION_EXECUTOR) Executor deliveryExecutor,
+                               @Value("${notifications.push.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                               @Value("${notifications.push.replay-capacity:50}") int replayCapacity,
+                               @Value("${notifications.push.counter-ttl-seconds:300}") long counterTtlSeconds) {
+        this(inbox, deliveryExecutor, emitterTimeoutMs, replayCapacity, counterTtlSeconds,
+            Clock.systemUTC());
+    }
+
+    NotificationPushHub(NotificationInbox inbox,
+                        Executor deliveryExecutor,
+                        long emitterTimeoutMs,
+                        int replayCapacity,
+                        long counterTtlSeconds,
+                        Clock clock) {
+        this.inbox = inbox;
+        this.deliveryExecutor = deliveryExecutor;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.replayCapacity = Math.max(1, replayCapacity);
+        this.counterTtl = Duration.ofSeconds(Math.max(1, counterTtlSeconds));
+        this.clock = clock;
+    }
+
+    /**
+     * Open a stream for a user. When {@code lastEventId} is given, notifications pushed after it are
+     * sent first; the current unread count follows.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = newEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        // Deliveries skip the subscriber until it is ready, so it can join before its position is taken
+        Channel channel = channels.compute(userId, (id, current) -> {
+            Channel target = current != null ? current : new Channel(id, clock.instant());
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        subscriptions.increment();
+
+        List<Pushed> buffered = new ArrayList<>();
+        boolean resumeFromDatabase;
+        synchronized (channel) {
+            channel.lastActive = clock.instant();
+            subscriber.lastSequence = channel.sequence;
+            resumeFromDatabase = lastEventId != null && !bufferedAfter(channel, lastEventId, buffered);
+        }
+
+        emitter.onCompletion(() -> channel.subscribers.remove(subscriber));
+        emitter.onTimeout(() -> {
+            channel.subscribers.remove(subscriber);
+            emitter.complete();
+        });
+        emitter.onError(error -> channel.subscribers.remove(subscriber));
+
+        Long resumeAfterId = resumeFromDatabase ? lastEventId : null;
+        deliveryExecutor.execute(() -> open(channel, subscriber, buffered, resumeAfterId));
+        return emitter;
+    }
+
+    /**
+     * Unread count of a user, from memory once loaded
+     */
+    public long getUnreadCount(Long userId) {
+        Channel channel = channels.compute(userId, (id, current) -> {
+            Channel target = current != null ? current : new Channel(id, clock.instant());
+            synchronized (target) {
+                target.lastActive = clock.instant();
+            }
+            return target;
+        });
+
+        synchronized (channel) {
+            if (channel.unread >= 0 && !isStale(channel)) {
+                counterHits.increment();
+                return channel.unread;
+            }
+        }
+        return loadCount(channel);
+    }
+
+    /**
+     * A notification was created for a user, or for a whole organization; applied once the transaction commits
+     */
+    public void notificationCreated(SystemNotification notification) {
+        Long notificationId = notification.getId();
+        Map<String, Object> payload = toPayload(notification);
+
+        if (notification.isGlobal()) {
+            Long organizationId = notification.getOrganization().getId();
+            afterCommit(() -> {
+                for (Channel channel : channels.values()) {
+                    boolean member;
+                    synchronized (channel) {
+                        member = organizationId.equals(channel.organizationId);
+                    }
+                    if (member) {
+                        push(channel, notificationId, payload);
+                    }
+                }
+            });
+            return;
+        }
+
+        Long userId = notification.getUser().getId();
+        afterCommit(() -> {
+            Channel channel = channels.get(userId);
+            if (channel != null) {
+                push(channel, notificationId, payload);
+            }
+        });
+    }
+
+    /**
+     * One unread notification of a user was read or deleted; applied once the transaction commits
+     */
+    public void notificationRead(Long userId) {
+        afterCommit(() -> {
+            Channel channel = channels.get(userId);
+            if (channel == null) {
+                return;
+            }
+            synchronized (channel) {
+                channel.generation++;
+                if (channel.unread > 0) {
+                    channel.unread--;
+                }
+            }
+            flush(channel);
+        });
+    }
+
+    /**
+     * All notifications of a user were read; applied once the transaction commits
+     */
+    public void allRead(Long userId) {
+        afterCommit(() -> {
+            Channel channel = channels.get(userId);
+            if (channel == null) {
+                return;
+            }
+            synchronized (channel) {
+                channel.generation++;
+                channel.unread = 0;
+                channel.loadedAt = clock.instant();
+            }
+            flush(channel);
+        });
+    }
+
+    /**
+     * Forget every unread count after a bulk change, e.g. expired notifications were deleted
+     */
+    public void resetCounters() {
+        afterCommit(() -> {
+            for (Channel channel : channels.values()) {
+                synchronized (channel) {
+                    channel.generation++;
+                    channel.unread = -1;
+                }
+            }
+        });
+    }
+
+    /**
+     * Keep streams alive, drop dead ones, reload stale counters of connected users and forget idle users
+     */
+    @Scheduled(fixedDelayString = "${notifications.push.heartbeat-ms:25000}")
+    public void heartbeat() {
+        Instant idleBefore = clock.instant().minus(counterTtl);
+        for (Channel channel : channels.values()) {
+            if (channel.subscribers.isEmpty()) {
+                channels.computeIfPresent(channel.userId, (id, current) -> {
+                    synchronized (current) {
+                        return current.subscribers.isEmpty() && current.lastActive.isBefore(idleBefore) ? null : current;
+                    }
+                });
+                continue;
+            }
+
+            deliveryExecutor.execute(() -> {
+                boolean stale;
+                synchronized (channel) {
+                    stale = channel.unread < 0 || isStale(channel);
+                }
+                if (stale) {
+                    loadCount(channel);
+                }
+                for (Subscriber subscriber : channel.subscribers) {
+                    synchronized (subscriber) {
+                        try {
+                            subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                        } catch (IOException | IllegalStateException e) {
+                            drop(channel, subscriber);
+                        }
+                    }
+                }
+                flush(channel);
+            });
+        }
+    }
+
+    /**
+     * Connection, replay and counter statistics
+     */
+    public Map<String, Object> getStatistics() {
+        long hits = counterHits.sum();
+        long loads = counterLoads.sum();
+        long connections = 0;
+        for (Channel channel : channels.values()) {
+            connections += channel.subscribers.size();
+        }
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("channels", channels.size());
+        statistics.put("connections", connections);
+        statistics.put("subscriptions", subscriptions.sum());
+        statistics.put("notificationsPushed", notificationsPushed.sum());
+        statistics.put("replayedFromBuffer", replayedFromBuffer.sum());
+        statistics.put("replayedFromDatabase", replayedFromDatabase.sum());
+        statistics.put("counterHits", hits);
+        statistics.put("counterLoads", loads);
+        statistics.put("counterHitRate", hits + loads == 0 ? 0.0 : (double) hits / (hits + loads));
+        statistics.put("deliveryFailures", deliveryFailures.sum());
+        return statistics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Channel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        channels.clear();
+    }
+
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // Notifications buffered after lastEventId, or false if lastEventId is no longer buffered
+    private static boolean bufferedAfter(Channel channel, Long lastEventId, List<Pushed> into) {
+        boolean found = false;
+        for (Pushed pushed : channel.recent) {
+            if (found) {
+                into.add(pushed);
+            } else if (lastEventId.equals(pushed.notificationId())) {
+                found = true;
+            }
+        }
+        return found;
+    }
+
+    private void push(Channel channel, Long notificationId, Map<String, Object> payload) {
+        synchronized (channel) {
+            channel.sequence++;
+            channel.recent.addLast(new Pushed(channel.sequence, notificationId, payload));
+            while (channel.recent.size() > replayCapacity) {
+                channel.recent.removeFirst();
+            }
+            channel.generation++;
+            if (channel.unread >= 0) {
+                channel.unread++;
+            }
+        }
+        notificationsPushed.increment();
+        flush(channel);
+    }
+
+    private void open(Channel channel, Subscriber subscriber, List<Pushed> buffered, Long resumeAfterId) {
+        synchronized (subscriber) {
+            try {
+                boolean resolved;
+                synchronized (channel) {
+                    resolved = channel.organizationId != null;
+                }
+                if (!resolved) {
+                    Long organizationId = inbox.organizationOf(channel.userId);
+                    synchronized (channel) {
+                        channel.organizationId = organizationId;
+                    }
+                }
+
+                if (resumeAfterId != null) {
+                    List<SystemNotification> missed = inbox.getUnreadAfter(channel.userId, resumeAfterId, replayCapacity);
+                    for (SystemNotification notification : missed) {
+                        sendNotification(subscriber, notification.getId(), toPayload(notification));
+                    }
+                    replayedFromDatabase.add(missed.size());
+                } else {
+                    for (Pushed pushed : buffered) {
+                        sendNotification(subscriber, pushed.notificationId(), pushed.payload());
+                    }
+                    replayedFromBuffer.add(buffered.size());
+                }
+            } catch (IOException | RuntimeException e) {
+                drop(channel, subscriber);
+                return;
+            }
+            subscriber.ready = true;
+        }
+
+        getUnreadCount(channel.userId);
+        deliver(channel, subscriber);
+    }
+
+    private void flush(Channel channel) {
+        if (channel.subscribers.isEmpty()) {
+            return;
+        }
+        deliveryExecutor.execute(() -> {
+            for (Subscriber subscriber : channel.subscribers) {
+                deliver(channel, subscriber);
+            }
+        });
+    }
+
+    // Send the subscriber what it has not seen yet: pushed notifications in order, then the unread count
+    private void deliver(Channel channel, Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (!subscriber.ready) {
+                return;
+            }
+
+            List<Pushed> pending = new ArrayList<>();
+            boolean missed;
+            long unread;
+            long sequence;
+            synchronized (channel) {
+                missed = channel.sequence - channel.recent.size() > subscriber.lastSequence;
+                for (Pushed pushed : channel.recent) {
+                    if (pushed.sequence() > subscriber.lastSequence) {
+                        pending.add(pushed);
+                    }
+                }
+                unread = channel.unread;
+                sequence = channel.sequence;
+            }
+
+            try {
+                if (missed) {
+                    // The subscriber fell further behind than the buffer holds; it should reload its list
+                    subscriber.emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(Map.of()));
+                }
+                for (Pushed pushed : pending) {
+                    sendNotification(subscriber, pushed.notificationId(), pushed.payload());
+                }
+                subscriber.lastSequence = sequence;
+                if (unread >= 0 && unread != subscriber.lastCount) {
+                    subscriber.emitter.send(SseEmitter.event().name(UNREAD_COUNT_EVENT)
+                        .data(Map.of("unreadCount", unread)));
+                    subscriber.lastCount = unread;
+                }
+            } catch (IOException | IllegalStateException e) {
+                drop(channel, subscriber);
+            }
+        }
+    }
+
+    private static void sendNotification(Subscriber subscriber, Long notificationId, Map<String, Object> payload)
+            throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+            .id(String.valueOf(notificationId))
+            .name(NOTIFICATION_EVENT)
+            .data(payload));
+    }
+
+    private void drop(Channel channel, Subscriber subscriber) {
+        deliveryFailures.increment();
+        channel.subscribers.remove(subscriber);
+        try {
+            subscriber.emitter.complete();
+        } catch (RuntimeException e) {
+            logger.debug("Closing notification stream of user {} failed: {}", channel.userId, e.getMessage());
+        }
+    }
+
+    // Load the count without holding the channel; it is only installed if no change was applied meanwhile
+    private long loadCount(Channel channel) {
+        long generation;
+        synchronized (channel) {
+            generation = channel.generation;
+        }
+
+        counterLoads.increment();
+        long count = inbox.countUnread(channel.userId);
+        synchronized (channel) {
+            if (channel.generation == generation) {
+                channel.unread = count;
+                channel.loadedAt = clock.instant();
+            }
+        }
+        return count;
+    }
+
+    private boolean isStale(Channel channel) {
+        return channel.loadedAt == null || channel.loadedAt.plus(counterTtl).isBefore(clock.instant());
+    }
+
+    private static Map<String, Object> toPayload(SystemNotification notification) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", notification.getId());
+        payload.put("notificationType", notification.getNotificationType());
+        payload.put("title", notification.getTitle());
+        payload.put("message", notification.getMessage());
+        payload.put("actionUrl", notification.getActionUrl());
+        payload.put("createdAt", notification.getCreatedAt());
+        payload.put("expiresAt", notification.getExpiresAt());
+        return payload;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -26,10 +26,15 @@ public class NotificationService {
     private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
     
     private final SystemNotificationRepository notificationRepository;
+    private final NotificationInbox inbox;
+    private final NotificationPushHub pushHub;
 
     @Autowired
-    public NotificationService(SystemNotificationRepository notificationRepository) {
+    public NotificationService(SystemNotificationRepository notificationRepository, NotificationInbox inbox,
+                               NotificationPushHub pushHub) {
         this.notificationRepository = notificationRepository;
+        this.inbox = inbox;
+        this.pushHub = pushHub;
     }
 
     /**
@@ -64,8 +69,13 @@ public class NotificationService {
         SystemNotification notification = new SystemNotification(organization, user, notificationType, title, message);
         notification.setActionUrl(actionUrl);
         notification.setExpiresAt(expiresAt);
+        if (user == null) {
+            // Stored once for the whole organization; each user's read state is kept by the inbox
+            notification.setGlobalSequence(inbox.nextGlobalSequence(organization.getId()));
+        }
 
         SystemNotification savedNotification = notificationRepository.save(notification);
+        pushHub.notificationCreated(savedNotification);
         
         logger.info("Created notification: {} for user: {} in organization: {}", 
                    savedNotification.getId(), 
@@ -111,37 +121,35 @@ public class NotificationService {
     }
 
     /**
-     * Get notifications for a user with pagination
+     * Get notifications for a user with pagination, including organization-wide notifications
      */
     @Transactional(readOnly = true)
     public List<SystemNotification> getUserNotifications(Long userId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
+        return inbox.getInbox(userId, page, size);
     }
 
     /**
-     * Get unread notifications for a user
+     * Get unread notifications for a user, including organization-wide notifications
      */
     @Transactional(readOnly = true)
     public List<SystemNotification> getUnreadNotifications(Long userId) {
-        return notificationRepository.findUnreadByUserId(userId);
+        return inbox.getUnread(userId, 0, Integer.MAX_VALUE);
     }
 
     /**
-     * Get unread notifications for a user with pagination
+     * Get unread notifications for a user with pagination, including organization-wide notifications
      */
     @Transactional(readOnly = true)
     public List<SystemNotification> getUnreadNotifications(Long userId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        return notificationRepository.findUnreadByUserId(userId, pageable);
+        return inbox.getUnread(userId, page, size);
     }
 
     /**
-     * Count unread notifications for a user
+     * Count unread notifications for a user, from the push hub's in-memory counter
      */
     @Transactional(readOnly = true)
     public long countUnreadNotifications(Long userId) {
-        return notificationRepository.countUnreadByUserId(userId);
+        return pushHub.getUnreadCount(userId);
     }
 
     /**
@@ -166,15 +174,33 @@ public class NotificationService {
      * Mark a notification as read
      */
     public void markAsRead(Long notificationId) {
+        markAsRead(notificationId, null);
+    }
+
+    /**
+     * Mark a notification as read; organization-wide notifications are marked read for the given user only
+     */
+    public void markAsRead(Long notificationId, Long userId) {
         Optional<SystemNotification> notificationOpt = notificationRepository.findById(notificationId);
         if (notificationOpt.isEmpty()) {
             throw new EntityNotFoundException("Notification not found with id: " + notificationId);
         }
 
         SystemNotification notification = notificationOpt.get();
-        if (!notification.getIsRead()) {
+        if (notification.isGlobal()) {
+            if (userId == null) {
+                throw new ValidationException("User ID is required to mark an organization-wide notification as read");
+            }
+            if (inbox.markRead(userId, notification)) {
+                pushHub.notificationRead(userId);
+                logger.info("Marked organization-wide notification {} as read for user {}", notificationId, userId);
+            }
+        } else if (!notification.getIsRead()) {
             notification.markAsRead();
             notificationRepository.save(notification);
+            if (notification.getUser() != null) {
+                pushHub.notificationRead(notification.getUser().getId());
+            }
             
             logger.info("Marked notification {} as read", notificationId);
         }
@@ -185,7 +211,8 @@ public class NotificationService {
      */
     public int markAllAsRead(Long userId) {
         Instant readAt = Instant.now();
-        int updatedCount = notificationRepository.markAllAsReadForUser(userId, readAt);
+        int updatedCount = notificationRepository.markAllAsReadForUser(userId, readAt) + inbox.markAllRead(userId);
+        pushHub.allRead(userId);
         
         logger.info("Marked {} notifications as read for user {}", updatedCount, userId);
         return updatedCount;
@@ -195,11 +222,16 @@ public class NotificationService {
      * Delete a notification
      */
     public void deleteNotification(Long notificationId) {
-        if (!notificationRepository.existsById(notificationId)) {
-            throw new EntityNotFoundException("Notification not found with id: " + notificationId);
-        }
+        SystemNotification notification = notificationRepository.findById(notificationId)
+                .orElseThrow(() -> new EntityNotFoundException("Notification not found with id: " + notificationId));
 
-        notificationRepository.deleteById(notificationId);
+        notificationRepository.delete(notification);
+        if (notification.isGlobal()) {
+            // Unread by an unknown set of users
+            pushHub.resetCounters();
+        } else if (notification.isUnread()) {
+            pushHub.notificationRead(notification.getUser().getId());
+        }
         logger.info("Deleted notification {}", notificationId);
     }
 
@@ -238,6 +270,7 @@ public class NotificationService {
         int deletedCount = notificationRepository.deleteExpiredNotifications(now);
         
         if (deletedCount > 0) {
+            pushHub.resetCounters();
             logger.info("Cleaned up {} expired notifications", deletedCount);
         }
         
@@ -4,6 +4,7 @@ import com.talentx.hrms.common.PaginationRequest;
 import com.talentx.hrms.common.exception.EntityNotFoundException;
 import com.talentx.hrms.dto.organization.DepartmentRequest;
 import com.talentx.hrms.dto.organization.DepartmentResponse;
+import com.talentx.hrms.dto.organization.DepartmentTreeRow;
 import com.talentx.hrms.entity.core.Department;
 import com.talentx.hrms.entity.core.Organization;
 import com.talentx.hrms.entity.core.User;
@@ -22,6 +23,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,16 +35,19 @@ public class DepartmentService {
     private final OrganizationRepository organizationRepository;
     private final UserRepository userRepository;
     private final EmployeeRepository employeeRepository;
+    private final DepartmentTreeIndex departmentTreeIndex;
 
     @Autowired
     public DepartmentService(DepartmentRepository departmentRepository,
                            OrganizationRepository organizationRepository,
                            UserRepository userRepository,
-                           EmployeeRepository employeeRepository) {
+                           EmployeeRepository employeeRepository,
+                           DepartmentTreeIndex departmentTreeIndex) {
         this.departmentRepository = departmentRepository;
         this.organizationRepository = organizationRepository;
         this.userRepository = userRepository;
         this.employeeRepository = employeeRepository;
+        this.departmentTreeIndex = departmentTreeIndex;
     }
 
     /**
@@ -87,8 +93,9 @@ public class DepartmentService {
             department.setManager(manager);
         }
 
-        // Save department
+        // Save department, then derive its path from the generated id
         department = departmentRepository.save(department);
+        departmentTreeIndex.assignPath(department);
 
         return mapEntityToResponse(department);
     }
@@ -100,6 +107,9 @@ public class DepartmentService {
         Department department = departmentRepository.findById(id)
             .orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + id));
 
+        // Serialize hierarchy changes in the organization and re-read the department from the database
+        departmentTreeIndex.lockForMove(department);
+
         Organization organization = organizationRepository.findById(request.getOrganizationId())
             .orElseThrow(() -> new EntityNotFoundException("Organization not found with id: " + request.getOrganizationId()));
 
@@ -119,6 +129,7 @@ public class DepartmentService {
             });
 
         // Update department entity
+        Long previousParentId = department.getParentDepartment() != null ? department.getParentDepartment().getId() : null;
         mapRequestToEntity(request, department);
 
         // Update parent department if provided
@@ -137,7 +148,7 @@ public class DepartmentService {
             }
             
             // Check if setting this parent would create a circular hierarchy
-            if (isCircularHierarchy(id, request.getParentDepartmentId())) {
+            if (isCircularHierarchy(department, parentDepartment)) {
                 throw new RuntimeException("Cannot set parent department: would create circular hierarchy");
             }
             
@@ -155,8 +166,14 @@ public class DepartmentService {
             department.setManager(null);
         }
 
-        // Save department
+        // Save department and rewrite the paths below it if it moved
         department = departmentRepository.save(department);
+        Long parentId = department.getParentDepartment() != null ? department.getParentDepartment().getId() : null;
+        if (!Objects.equals(previousParentId, parentId)) {
+            departmentTreeIndex.move(department);
+        } else {
+            departmentTreeIndex.invalidate(organization.getId());
+        }
 
         return mapEntityToResponse(department);
     }
@@ -235,18 +252,61 @@ public class DepartmentService {
      */
     @Transactional(readOnly = true)
     public List<DepartmentHierarchyNode> getDepartmentHierarchy(Long organizationId) {
-        Organization organization = organizationRepository.findById(organizationId)
-            .orElseThrow(() -> new EntityNotFoundException("Organization not found with id: " + organizationId));
+        DepartmentTree tree = departmentTreeIndex.getTree(organizationId);
+        if (tree.isEmpty() && !organizationRepository.existsById(organizationId)) {
+            throw new EntityNotFoundException("Organization not found with id: " + organizationId);
+        }
 
-        // Get all root departments
-        List<Department> rootDepartments = departmentRepository.findByOrganizationAndParentDepartmentIsNull(organization);
+        // Build hierarchy tree from the in-memory snapshot
+        return tree.getRoots().stream()
+            .map(rootId -> buildHierarchyNode(tree, rootId))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get a department with all departments below it as a hierarchy tree
+     */
+    @Transactional(readOnly = true)
+    public DepartmentHierarchyNode getDepartmentSubtree(Long id) {
+        DepartmentTree tree = getTreeOf(id);
+        return buildHierarchyNode(tree, id);
+    }
 
-        // Build hierarchy tree
-        return rootDepartments.stream()
-            .map(this::buildHierarchyNode)
+    /**
+     * Get the chain of parent departments from the root down to the department's direct parent
+     */
+    @Transactional(readOnly = true)
+    public List<DepartmentHierarchyNode> getDepartmentAncestors(Long id) {
+        DepartmentTree tree = getTreeOf(id);
+        return tree.getAncestors(id).stream()
+            .map(ancestorId -> toHierarchyNode(tree.get(ancestorId)))
             .collect(Collectors.toList());
     }
 
+    /**
+     * Get a department and all departments below it, loaded in a single query by path
+     */
+    @Transactional(readOnly = true)
+    public List<DepartmentResponse> getDepartmentsInSubtree(Long id) {
+        Department department = departmentRepository.findById(id)
+            .orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + id));
+        if (department.getPath() == null) {
+            throw new IllegalStateException("Department path has not been computed yet for department: " + id);
+        }
+
+        return departmentRepository.findSubtreeByPath(department.getOrganization().getId(), department.getPath()).stream()
+            .map(this::mapEntityToResponse)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Department tree snapshot statistics
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getTreeStatistics() {
+        return departmentTreeIndex.getStatistics();
+    }
+
     /**
      * Delete department
      */
@@ -264,54 +324,44 @@ public class DepartmentService {
         // For now, we'll allow deletion
 
         departmentRepository.delete(department);
+        departmentTreeIndex.invalidate(department.getOrganization().getId());
     }
 
     /**
      * Check if setting a parent would create a circular hierarchy
      */
-    private boolean isCircularHierarchy(Long departmentId, Long proposedParentId) {
-        if (departmentId.equals(proposedParentId)) {
-            return true;
-        }
-
-        Department proposedParent = departmentRepository.findById(proposedParentId).orElse(null);
-        if (proposedParent == null) {
-            return false;
-        }
+    private boolean isCircularHierarchy(Department department, Department proposedParent) {
+        // The proposed parent must not lie in the department's own subtree, as currently stored
+        return departmentTreeIndex.wouldCreateCycle(department, proposedParent);
+    }
 
-        // Traverse up the hierarchy to check if we encounter the department
-        Department current = proposedParent;
-        while (current != null) {
-            if (current.getId().equals(departmentId)) {
-                return true;
-            }
-            current = current.getParentDepartment();
+    /**
+     * Load the tree snapshot of the organization a department belongs to
+     */
+    private DepartmentTree getTreeOf(Long departmentId) {
+        Department department = departmentRepository.findById(departmentId)
+            .orElseThrow(() -> new EntityNotFoundException("Department not found with id: " + departmentId));
+
+        DepartmentTree tree = departmentTreeIndex.getTree(department.getOrganization().getId());
+        if (!tree.contains(departmentId)) {
+            // Created by a transaction that committed after the snapshot was loaded
+            departmentTreeIndex.invalidate(tree.getOrganizationId());
+            tree = departmentTreeIndex.getTree(tree.getOrganizationId());
         }
-
-        return false;
+        return tree;
     }
 
     /**
-     * Build hierarchy node recursively
+     * Build hierarchy node recursively from the tree snapshot
      */
-    private DepartmentHierarchyNode buildHierarchyNode(Department department) {
-        DepartmentHierarchyNode node = new DepartmentHierarchyNode();
-        node.setId(department.getId());
-        node.setName(department.getName());
-        node.setCode(department.getCode());
-        node.setDescription(department.getDescription());
-        node.setCostCenter(department.getCostCenter());
-        
-        if (department.getManager() != null) {
-            node.setManagerId(department.getManager().getId());
-            node.setManagerName(department.getManager().getUsername());
-        }
+    private DepartmentHierarchyNode buildHierarchyNode(DepartmentTree tree, Long departmentId) {
+        DepartmentHierarchyNode node = toHierarchyNode(tree.get(departmentId));
 
         // Recursively build children
-        List<Department> children = departmentRepository.findByParentDepartment(department);
+        List<Long> children = tree.getChildren(departmentId);
         if (!children.isEmpty()) {
             List<DepartmentHierarchyNode> childNodes = children.stream()
-                .map(this::buildHierarchyNode)
+                .map(childId -> buildHierarchyNode(tree, childId))
                 .collect(Collectors.toList());
             node.setChildren(childNodes);
         }
@@ -319,6 +369,21 @@ public class DepartmentService {
         return node;
     }
 
+    /**
+     * Map a tree row to a hierarchy node without children
+     */
+    private DepartmentHierarchyNode toHierarchyNode(DepartmentTreeRow row) {
+        DepartmentHierarchyNode node = new DepartmentHierarchyNode();
+        node.setId(row.id());
+        node.setName(row.name());
+        node.setCode(row.code());
+        node.setDescription(row.description());
+        node.setCostCenter(row.costCenter());
+        node.setManagerId(row.managerId());
+        node.setManagerName(row.managerName());
+        return node;
+    }
+
     /**
      * Map request DTO to entity
      */
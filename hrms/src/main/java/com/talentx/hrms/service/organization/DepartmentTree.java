@@ -0,0 +1,152 @@
+package com.talentx.hrms.service.organization;
+
+import com.talentx.hrms.dto.organization.DepartmentTreeRow;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of one organization's department tree.
+ *
+ * Built from a single query and replaced as a whole when the hierarchy changes, so hierarchy,
+ * subtree, ancestor and cycle lookups never touch the database. The tree is built from parent ids
+ * rather than stored paths, so departments created outside the service are placed correctly.
+ */
+public final class DepartmentTree {
+
+    private static final List<Long> NO_CHILDREN = List.of();
+
+    private final Long organizationId;
+    private final Map<Long, DepartmentTreeRow> departments;
+    private final Map<Long, List<Long>> children;
+    private final List<Long> roots;
+
+    private DepartmentTree(Long organizationId, Map<Long, DepartmentTreeRow> departments,
+                           Map<Long, List<Long>> children, List<Long> roots) {
+        this.organizationId = organizationId;
+        this.departments = departments;
+        this.children = children;
+        this.roots = roots;
+    }
+
+    /**
+     * Build a tree from flat rows. Departments whose parent is missing from the rows become roots.
+     */
+    public static DepartmentTree build(Long organizationId, List<DepartmentTreeRow> rows) {
+        Map<Long, DepartmentTreeRow> departments = new HashMap<>(rows.size() * 2);
+        for (DepartmentTreeRow row : rows) {
+            departments.put(row.id(), row);
+        }
+
+        Map<Long, List<Long>> children = new HashMap<>();
+        List<Long> roots = new ArrayList<>();
+        for (DepartmentTreeRow row : rows) {
+            if (row.parentId() == null || !departments.containsKey(row.parentId())) {
+                roots.add(row.id());
+            } else {
+                children.computeIfAbsent(row.parentId(), id -> new ArrayList<>()).add(row.id());
+            }
+        }
+        children.replaceAll((id, ids) -> List.copyOf(ids));
+
+        return new DepartmentTree(organizationId, Collections.unmodifiableMap(departments),
+            Collections.unmodifiableMap(children), List.copyOf(roots));
+    }
+
+    public Long getOrganizationId() {
+        return organizationId;
+    }
+
+    public int size() {
+        return departments.size();
+    }
+
+    public boolean isEmpty() {
+        return departments.isEmpty();
+    }
+
+    public boolean contains(Long departmentId) {
+        return departments.containsKey(departmentId);
+    }
+
+    public DepartmentTreeRow get(Long departmentId) {
+        return departments.get(departmentId);
+    }
+
+    public List<Long> getRoots() {
+        return roots;
+    }
+
+    public List<Long> getChildren(Long departmentId) {
+        return children.getOrDefault(departmentId, NO_CHILDREN);
+    }
+
+    /**
+     * Ids from the root down to the parent of a department
+     */
+    public List<Long> getAncestors(Long departmentId) {
+        List<Long> ancestors = new ArrayList<>();
+        DepartmentTreeRow current = departments.get(departmentId);
+        // Bounded by the tree size so that a cycle stored in the table cannot loop forever
+        while (current != null && current.parentId() != null && ancestors.size() < departments.size()) {
+            current = departments.get(current.parentId());
+            if (current != null) {
+                ancestors.add(current.id());
+            }
+        }
+        Collections.reverse(ancestors);
+        return ancestors;
+    }
+
+    /**
+     * Ids of a department and everything below it, parents before children
+     */
+    public List<Long> getSubtree(Long departmentId) {
+        if (!departments.containsKey(departmentId)) {
+            return List.of();
+        }
+
+        List<Long> subtree = new ArrayList<>();
+        Deque<Long> stack = new ArrayDeque<>();
+        stack.push(departmentId);
+        while (!stack.isEmpty()) {
+            Long id = stack.pop();
+            subtree.add(id);
+            List<Long> childIds = getChildren(id);
+            for (int i = childIds.size() - 1; i >= 0; i--) {
+                stack.push(childIds.get(i));
+            }
+        }
+        return subtree;
+    }
+
+    /**
+     * Whether a department is the given ancestor or lies below it
+     */
+    public boolean isInSubtree(Long ancestorId, Long departmentId) {
+        if (ancestorId.equals(departmentId)) {
+            return true;
+        }
+        return getAncestors(departmentId).contains(ancestorId);
+    }
+
+    /**
+     * Materialized path of a department, e.g. "/1/5/12/"
+     */
+    public String getPath(Long departmentId) {
+        if (!departments.containsKey(departmentId)) {
+            return null;
+        }
+
+        StringBuilder path = new StringBuilder("/");
+        for (Long ancestorId : getAncestors(departmentId)) {
+            path.append(ancestorId).append('/');
+        }
+        return path.append(departmentId).append('/').toString();
+    }
+}
@@ -0,0 +1,247 @@
+package com.talentx.hrms.service.organization;
+
+import com.talentx.hrms.dto.organization.DepartmentTreeRow;
+import com.talentx.hrms.entity.core.Department;
+import com.talentx.hrms.repository.DepartmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Department tree index: keeps the materialized path of every department in sync and holds one
+ * immutable {@link DepartmentTree} snapshot per organization.
+ *
+ * A snapshot is loaded with a single query on first use and dropped whenever the organization's
+ * departments change. Each drop bumps a generation, and a snapshot is only installed if no drop
+ * happened while it was loading, so a slow reload can never overwrite a newer change. Changes made
+ * on other nodes are only seen once a snapshot is older than snapshot-ttl-seconds and reloaded, so
+ * moves never rely on it: they lock the organization's hierarchy and check the stored paths instead.
+ */
+@Component
+public class DepartmentTreeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(DepartmentTreeIndex.class);
+
+    private record Snapshot(DepartmentTree tree, Instant loadedAt) {
+    }
+
+    private final DepartmentRepository departmentRepository;
+    private final Duration snapshotTtl;
+    private final Clock clock;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Long, Snapshot> trees = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    @Autowired
+    public DepartmentTreeIndex(DepartmentRepository departmentRepository,
+                               @Value("${organization.department-tree.snapshot-ttl-seconds:300}") long snapshotTtlSeconds) {
+        this(departmentRepository, snapshotTtlSeconds, Clock.systemDefaultZone());
+    }
+
+    DepartmentTreeIndex(DepartmentRepository departmentRepository, long snapshotTtlSeconds, Clock clock) {
+        this.departmentRepository = departmentRepository;
+        this.snapshotTtl = Duration.ofSeconds(Math.max(0, snapshotTtlSeconds));
+        this.clock = clock;
+    }
+
+    /**
+     * Current department tree of an organization, loading it when absent
+     */
+    public DepartmentTree getTree(Long organizationId) {
+        Snapshot snapshot = trees.get(organizationId);
+        if (snapshot != null) {
+            if (snapshot.loadedAt().plus(snapshotTtl).isAfter(clock.instant())) {
+                hits.increment();
+                return snapshot.tree();
+            }
+            expirations.increment();
+            trees.remove(organizationId, snapshot);
+        }
+
+        loads.increment();
+        long generation = generations.getOrDefault(organizationId, 0L);
+        Instant loadedAt = clock.instant();
+        DepartmentTree loaded = DepartmentTree.build(organizationId,
+            departmentRepository.findTreeRowsByOrganizationId(organizationId));
+        trees.compute(organizationId, (id, current) ->
+            generations.getOrDefault(id, 0L) == generation ? new Snapshot(loaded, loadedAt) : current);
+        return loaded;
+    }
+
+    /**
+     * Lock the organization's department hierarchy until the transaction ends and re-read the
+     * department with a locking read, past the second-level cache. Moves in the organization are
+     * serialized this way, so the cycle check and path rewrite that follow see every committed move.
+     * Must be called before the department is modified.
+     */
+    public void lockForMove(Department department) {
+        entityManager.lock(department.getOrganization(), LockModeType.PESSIMISTIC_WRITE);
+        entityManager.refresh(department, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    /**
+     * Whether placing a department under the proposed parent would create a cycle, checked against
+     * the parent's stored path re-read from the database. Call after {@link #lockForMove}.
+     */
+    public boolean wouldCreateCycle(Department department, Department proposedParent) {
+        if (department.getId().equals(proposedParent.getId())) {
+            return true;
+        }
+
+        entityManager.refresh(proposedParent, LockModeType.PESSIMISTIC_WRITE);
+        if (proposedParent.getPath() == null) {
+            rebuildPaths(department.getOrganization().getId());
+            entityManager.refresh(proposedParent, LockModeType.PESSIMISTIC_WRITE);
+        }
+        return proposedParent.getPath().contains("/" + department.getId() + "/");
+    }
+
+    /**
+     * Set the path of a newly saved department from its parent's path
+     */
+    public void assignPath(Department department) {
+        Long organizationId = department.getOrganization().getId();
+        Department parent = department.getParentDepartment();
+        if (parent != null && parent.getPath() == null) {
+            rebuildPaths(organizationId);
+            department.setPath(getTree(organizationId).getPath(department.getId()));
+        } else {
+            department.setPath(pathUnder(parent, department.getId()));
+            departmentRepository.updatePath(department.getId(), department.getPath());
+        }
+        invalidate(organizationId);
+    }
+
+    /**
+     * Move a department under a new parent (or to the root when null), rewriting the paths of its
+     * whole subtree in one statement. The department's parent must already be set, after
+     * {@link #lockForMove} and {@link #wouldCreateCycle}.
+     */
+    public void move(Department department) {
+        Long organizationId = department.getOrganization().getId();
+        Department parent = department.getParentDepartment();
+        String oldPath = department.getPath();
+        if (oldPath == null || (parent != null && parent.getPath() == null)) {
+            rebuildPaths(organizationId);
+            department.setPath(getTree(organizationId).getPath(department.getId()));
+            invalidate(organizationId);
+            return;
+        }
+
+        String newPath = pathUnder(parent, department.getId());
+        if (!newPath.equals(oldPath)) {
+            departmentRepository.replacePathPrefix(organizationId, oldPath, oldPath.length(), newPath);
+            department.setPath(newPath);
+        }
+        invalidate(organizationId);
+    }
+
+    /**
+     * Recompute the stored path of every department of an organization from the parent links
+     */
+    public void rebuildPaths(Long organizationId) {
+        invalidate(organizationId);
+        DepartmentTree tree = getTree(organizationId);
+        int updated = 0;
+        for (Long root : tree.getRoots()) {
+            for (Long departmentId : tree.getSubtree(root)) {
+                String path = tree.getPath(departmentId);
+                if (!Objects.equals(path, tree.get(departmentId).path())) {
+                    departmentRepository.updatePath(departmentId, path);
+                    updated++;
+                }
+            }
+        }
+        invalidate(organizationId);
+        if (updated > 0) {
+            logger.info("Rebuilt {} department paths for organization {}", updated, organizationId);
+        }
+    }
+
+    /**
+     * Fill in paths for departments created before paths were maintained or outside the service
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillPaths() {
+        for (Long organizationId : departmentRepository.findOrganizationIdsWithMissingPaths()) {
+            rebuildPaths(organizationId);
+        }
+    }
+
+    /**
+     * Drop an organization's snapshot now and again once the current transaction completes, so that a
+     * snapshot loaded from uncommitted or rolled back state is not kept
+     */
+    public void invalidate(Long organizationId) {
+        invalidations.increment();
+        drop(organizationId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    drop(organizationId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Snapshot hit, load and invalidation counters
+     */
+    public Map<String, Object> getStatistics() {
+        long hitCount = hits.sum();
+        long loadCount = loads.sum();
+        long requests = hitCount + loadCount;
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("organizations", trees.size());
+        statistics.put("departments", trees.values().stream().mapToInt(snapshot -> snapshot.tree().size()).sum());
+        statistics.put("hits", hitCount);
+        statistics.put("loads", loadCount);
+        statistics.put("hitRate", requests == 0 ? 0.0 : (double) hitCount / requests);
+        statistics.put("invalidations", invalidations.sum());
+        statistics.put("expirations", expirations.sum());
+        statistics.put("snapshotTtlSeconds", snapshotTtl.toSeconds());
+        return statistics;
+    }
+
+    private void drop(Long organizationId) {
+        trees.compute(organizationId, (id, current) -> {
+            generations.merge(id, 1L, Long::sum);
+            return null;
+        });
+    }
+
+    private static String pathUnder(Department parent, Long departmentId) {
+        return (parent != null ? parent.getPath() : "/") + departmentId + "/";
+    }
+}
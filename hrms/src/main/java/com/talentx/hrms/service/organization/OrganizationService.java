@@ -1,11 +1,15 @@
 package com.talentx.hrms.service.organization;
 
 import com.talentx.hrms.common.PaginationRequest;
+import com.talentx.hrms.common.cache.ReferenceDataRegionFactory;
 import com.talentx.hrms.dto.organization.OrganizationRequest;
 import com.talentx.hrms.dto.organization.OrganizationResponse;
 import com.talentx.hrms.entity.core.Organization;
 import com.talentx.hrms.entity.enums.CompanySize;
 import com.talentx.hrms.repository.OrganizationRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -14,7 +18,9 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,10 +28,13 @@ import java.util.stream.Collectors;
 public class OrganizationService {
 
     private final OrganizationRepository organizationRepository;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Autowired
-    public OrganizationService(OrganizationRepository organizationRepository) {
+    public OrganizationService(OrganizationRepository organizationRepository,
+                               EntityManagerFactory entityManagerFactory) {
         this.organizationRepository = organizationRepository;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
     /**
@@ -229,6 +238,22 @@ public class OrganizationService {
             smallCompanies, mediumCompanies, largeCompanies, enterpriseCompanies);
     }
 
+    /**
+     * Get hit, miss and size statistics of the second-level cache regions holding tenant reference data
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getReferenceCacheStatistics() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getCache().getRegionFactory();
+        if (regionFactory instanceof ReferenceDataRegionFactory referenceDataRegionFactory) {
+            return referenceDataRegionFactory.getStatistics();
+        }
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", false);
+        return statistics;
+    }
+
     /**
      * Map request DTO to entity
      */
@@ -0,0 +1,65 @@
+package com.talentx.hrms.service.payroll;
+
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.enums.AttendanceStatus;
+import com.talentx.hrms.repository.AttendanceRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Pre-aggregates attendance hours for payroll with one grouped query per pay period,
+ * instead of two attendance queries per employee.
+ */
+@Component
+@Transactional(readOnly = true)
+public class AttendanceAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttendanceAggregator.class);
+
+    private final AttendanceRecordRepository attendanceRecordRepository;
+
+    @Autowired
+    public AttendanceAggregator(AttendanceRecordRepository attendanceRecordRepository) {
+        this.attendanceRecordRepository = attendanceRecordRepository;
+    }
+
+    /**
+     * Aggregate hours for every employee of an organization in the pay period
+     */
+    public AttendanceHours aggregate(Organization organization, LocalDate startDate, LocalDate endDate) {
+        List<Object[]> rows = attendanceRecordRepository
+            .sumHoursByEmployeeAndStatusForOrganization(organization, startDate, endDate);
+
+        AttendanceHours hours = fold(rows);
+        logger.debug("Aggregated attendance for {} employees ({} status groups) between {} and {}",
+            hours.size(), rows.size(), startDate, endDate);
+        return hours;
+    }
+
+    /**
+     * Aggregate hours for a single employee in the pay period
+     */
+    public AttendanceHours aggregate(Employee employee, LocalDate startDate, LocalDate endDate) {
+        return fold(attendanceRecordRepository.sumHoursByStatusForEmployee(employee, startDate, endDate));
+    }
+
+    // Rows are (employeeId, status, SUM(totalHours), SUM(overtimeHours))
+    private AttendanceHours fold(List<Object[]> rows) {
+        AttendanceHours hours = new AttendanceHours(rows.size());
+        for (Object[] row : rows) {
+            Long employeeId = (Long) row[0];
+            AttendanceStatus status = (AttendanceStatus) row[1];
+            boolean present = status != null && status.countsAsPresent();
+            hours.add(employeeId, present, (BigDecimal) row[2], (BigDecimal) row[3]);
+        }
+        return hours;
+    }
+}
@@ -0,0 +1,141 @@
+package com.talentx.hrms.service.payroll;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Attendance hour sums for a pay period, keyed by employee id.
+ *
+ * Uses an open-addressing table over primitive ids, with the regular, overtime and total
+ * hours of each employee packed side by side in hundredths of an hour. Built once per pay
+ * period by {@link AttendanceAggregator}; read-only (and safe to share) once built.
+ */
+public final class AttendanceHours {
+
+    private static final int REGULAR = 0;
+    private static final int OVERTIME = 1;
+    private static final int TOTAL = 2;
+    private static final int STRIDE = 3;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] sums;
+    private int size;
+
+    public AttendanceHours() {
+        this(16);
+    }
+
+    public AttendanceHours(int expectedEmployees) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedEmployees * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Add hours (in hundredths of an hour) to an employee's sums
+     */
+    public void add(long employeeId, long regularHundredths, long overtimeHundredths, long totalHundredths) {
+        int slot = slotFor(employeeId);
+        if (keys[slot] == EMPTY) {
+            if ((size + 1) * 4 > keys.length * 3) {
+                resize();
+                slot = slotFor(employeeId);
+            }
+            keys[slot] = employeeId;
+            size++;
+        }
+        int base = slot * STRIDE;
+        sums[base + REGULAR] += regularHundredths;
+        sums[base + OVERTIME] += overtimeHundredths;
+        sums[base + TOTAL] += totalHundredths;
+    }
+
+    /**
+     * Add hours for one attendance status group
+     */
+    public void add(long employeeId, boolean present, BigDecimal totalHours, BigDecimal overtimeHours) {
+        long total = toHundredths(totalHours);
+        long overtime = toHundredths(overtimeHours);
+        add(employeeId, present ? total : 0L, present ? overtime : 0L, total);
+    }
+
+    public boolean contains(long employeeId) {
+        return keys[slotFor(employeeId)] != EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getRegularHundredths(long employeeId) {
+        return get(employeeId, REGULAR);
+    }
+
+    public long getOvertimeHundredths(long employeeId) {
+        return get(employeeId, OVERTIME);
+    }
+
+    public long getTotalHundredths(long employeeId) {
+        return get(employeeId, TOTAL);
+    }
+
+    public BigDecimal getRegularHours(long employeeId) {
+        return BigDecimal.valueOf(getRegularHundredths(employeeId), 2);
+    }
+
+    public BigDecimal getOvertimeHours(long employeeId) {
+        return BigDecimal.valueOf(getOvertimeHundredths(employeeId), 2);
+    }
+
+    public BigDecimal getTotalHours(long employeeId) {
+        return BigDecimal.valueOf(getTotalHundredths(employeeId), 2);
+    }
+
+    static long toHundredths(BigDecimal hours) {
+        if (hours == null) {
+            return 0L;
+        }
+        return hours.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private long get(long employeeId, int component) {
+        int slot = slotFor(employeeId);
+        return keys[slot] == EMPTY ? 0L : sums[slot * STRIDE + component];
+    }
+
+    // Linear probing; returns the slot holding the id or the empty slot where it belongs
+    private int slotFor(long employeeId) {
+        int mask = keys.length - 1;
+        int slot = mix(employeeId) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != employeeId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        sums = new long[capacity * STRIDE];
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldSums = sums;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotFor(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                System.arraycopy(oldSums, i * STRIDE, sums, slot * STRIDE, STRIDE);
+            }
+        }
+    }
+}
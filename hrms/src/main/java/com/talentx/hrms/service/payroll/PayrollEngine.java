@@ -0,0 +1,245 @@
+package com.talentx.hrms.service.payroll;
+
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.enums.PayrollStatus;
+import com.talentx.hrms.entity.payroll.PayrollRun;
+import com.talentx.hrms.entity.payroll.Payslip;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.PayrollRunRepository;
+import com.talentx.hrms.repository.PayslipRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Chunked payroll engine.
+ *
+ * Attendance for the pay period is aggregated and the organization's payroll rules are compiled
+ * once up front. Active employees are then walked in id order in fixed-size chunks. Payslips of a
+ * chunk are calculated on a bounded pool of virtual threads and the chunk is committed in its own
+ * transaction together with the run's progress counters and resume cursor, so no connection is held
+ * for the whole run and an interrupted run continues from the last committed chunk. Each chunk is
+ * loaded in its own transaction and the persistence context is cleared once it commits, so a request
+ * thread with an open EntityManager does not accumulate every employee and payslip of the run.
+ */
+@Service
+public class PayrollEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollEngine.class);
+
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayslipRepository payslipRepository;
+    private final EmployeeRepository employeeRepository;
+    private final PayslipCalculator payslipCalculator;
+    private final AttendanceAggregator attendanceAggregator;
+    private final PayrollRuleService payrollRuleService;
+    private final TransactionTemplate chunkTransaction;
+    private final ExecutorService workerPool;
+    private final int chunkSize;
+
+    // Runs currently being processed on this node
+    private final Set<Long> activeRuns = ConcurrentHashMap.newKeySet();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Employees of a chunk and those of them that already have a payslip in the run
+    private record Chunk(List<Employee> employees, Set<Long> existing) {
+    }
+
+    @Autowired
+    public PayrollEngine(PayrollRunRepository payrollRunRepository,
+                         PayslipRepository payslipRepository,
+                         EmployeeRepository employeeRepository,
+                         PayslipCalculator payslipCalculator,
+                         AttendanceAggregator attendanceAggregator,
+                         PayrollRuleService payrollRuleService,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${payroll.engine.chunk-size:500}") int chunkSize,
+                         @Value("${payroll.engine.worker-threads:8}") int workerThreads) {
+        this.payrollRunRepository = payrollRunRepository;
+        this.payslipRepository = payslipRepository;
+        this.employeeRepository = employeeRepository;
+        this.payslipCalculator = payslipCalculator;
+        this.attendanceAggregator = attendanceAggregator;
+        this.payrollRuleService = payrollRuleService;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.workerPool = Executors.newFixedThreadPool(Math.max(1, workerThreads),
+            Thread.ofVirtual().name("payroll-worker-", 0).factory());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workerPool.shutdownNow();
+    }
+
+    /**
+     * Process a payroll run from the beginning, or from its last committed chunk if it failed part way
+     */
+    public PayrollRun process(Long payrollRunId, String processedBy) {
+        return run(payrollRunId, processedBy, false);
+    }
+
+    /**
+     * Resume a payroll run that was left in PROCESSING (e.g. after a crash) or failed part way
+     */
+    public PayrollRun resume(Long payrollRunId, String processedBy) {
+        return run(payrollRunId, processedBy, true);
+    }
+
+    private PayrollRun run(Long payrollRunId, String processedBy, boolean resume) {
+        if (!activeRuns.add(payrollRunId)) {
+            throw new IllegalStateException("Payroll run is already being processed");
+        }
+
+        try {
+            PayrollRun payrollRun = chunkTransaction.execute(status -> start(payrollRunId, resume));
+
+            try {
+                Organization organization = payrollRun.getOrganization();
+                AttendanceHours attendanceHours = attendanceAggregator.aggregate(
+                    organization, payrollRun.getPayPeriodStart(), payrollRun.getPayPeriodEnd());
+                PayrollRuleSet ruleSet = payrollRuleService.getRuleSet(organization.getId());
+                Long cursor = payrollRun.getLastProcessedEmployeeId() != null
+                    ? payrollRun.getLastProcessedEmployeeId() : 0L;
+
+                while (cursor != null) {
+                    cursor = processChunk(payrollRun, cursor, attendanceHours, ruleSet);
+                }
+
+                return chunkTransaction.execute(status -> complete(payrollRunId, processedBy));
+
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                logger.error("Payroll run {} failed: {}", payrollRunId, e.getMessage(), e);
+                chunkTransaction.executeWithoutResult(status -> markFailed(payrollRunId, e));
+                throw new RuntimeException("Failed to process payroll run", e);
+            }
+        } finally {
+            activeRuns.remove(payrollRunId);
+        }
+    }
+
+    private PayrollRun start(Long payrollRunId, boolean resume) {
+        PayrollRun payrollRun = findPayrollRun(payrollRunId);
+
+        if (resume && !payrollRun.canBeResumed()) {
+            throw new IllegalStateException("Payroll run cannot be resumed in current status: " + payrollRun.getStatus());
+        }
+        if (!resume && !payrollRun.canBeModified()) {
+            throw new IllegalStateException("Payroll run cannot be modified in current status: " + payrollRun.getStatus());
+        }
+
+        if (payrollRun.canBeResumed()) {
+            logger.info("Resuming payroll run {} after employee {} ({} chunks already committed)",
+                payrollRunId, payrollRun.getLastProcessedEmployeeId(), payrollRun.getChunksCompleted());
+        } else {
+            payrollRun.resetProgress();
+        }
+
+        payrollRun.setEmployeesTotal((int) employeeRepository.countActiveByOrganization(payrollRun.getOrganization()));
+        payrollRun.setStatus(PayrollStatus.PROCESSING);
+        return payrollRunRepository.save(payrollRun);
+    }
+
+    /**
+     * Load, calculate and commit the chunk after the cursor. Returns the new cursor, or null when no
+     * employees are left.
+     */
+    private Long processChunk(PayrollRun payrollRun, Long cursor, AttendanceHours attendanceHours,
+                              PayrollRuleSet ruleSet) throws InterruptedException, ExecutionException {
+        Chunk chunk = chunkTransaction.execute(status -> loadChunk(payrollRun, cursor));
+        if (chunk.employees().isEmpty()) {
+            return null;
+        }
+
+        List<Future<Payslip>> futures = new ArrayList<>(chunk.employees().size());
+        for (Employee employee : chunk.employees()) {
+            if (!chunk.existing().contains(employee.getId())) {
+                futures.add(workerPool.submit(() ->
+                    payslipCalculator.calculate(new Payslip(payrollRun, employee), attendanceHours, ruleSet)));
+            }
+        }
+
+        List<Payslip> payslips = new ArrayList<>(futures.size());
+        try {
+            for (Future<Payslip> future : futures) {
+                payslips.add(future.get());
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+
+        Long lastEmployeeId = chunk.employees().get(chunk.employees().size() - 1).getId();
+        chunkTransaction.executeWithoutResult(status -> {
+            payslipRepository.saveAll(payslips);
+
+            PayrollRun current = findPayrollRun(payrollRun.getId());
+            current.recordChunk(payslips, lastEmployeeId);
+            payrollRunRepository.save(current);
+        });
+
+        // Under open-in-view every chunk transaction shares the request's EntityManager
+        entityManager.clear();
+        return lastEmployeeId;
+    }
+
+    private Chunk loadChunk(PayrollRun payrollRun, Long cursor) {
+        List<Employee> employees = employeeRepository.findActiveByOrganizationAfterId(
+            payrollRun.getOrganization(), cursor, PageRequest.of(0, chunkSize));
+        if (employees.isEmpty()) {
+            return new Chunk(employees, Set.of());
+        }
+
+        List<Long> employeeIds = employees.stream().map(Employee::getId).toList();
+        return new Chunk(employees, new HashSet<>(
+            payslipRepository.findEmployeeIdsByPayrollRunAndEmployeeIdIn(payrollRun, employeeIds)));
+    }
+
+    private PayrollRun complete(Long payrollRunId, String processedBy) {
+        PayrollRun payrollRun = findPayrollRun(payrollRunId);
+        payrollRun.setEmployeeCount(payrollRun.getEmployeesProcessed());
+        payrollRun.setStatus(PayrollStatus.CALCULATED);
+        payrollRun.setProcessedAt(Instant.now());
+        payrollRun.setProcessedBy(processedBy);
+        return payrollRunRepository.save(payrollRun);
+    }
+
+    private void markFailed(Long payrollRunId, Exception e) {
+        PayrollRun payrollRun = findPayrollRun(payrollRunId);
+        payrollRun.setStatus(PayrollStatus.ERROR);
+        payrollRun.setNotes("Error processing payroll: " + e.getMessage());
+        payrollRunRepository.save(payrollRun);
+    }
+
+    private PayrollRun findPayrollRun(Long payrollRunId) {
+        return payrollRunRepository.findById(payrollRunId)
+            .orElseThrow(() -> new IllegalArgumentException("Payroll run not found"));
+    }
+}
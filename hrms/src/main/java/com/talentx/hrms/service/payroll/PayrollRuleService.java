@@ -0,0 +1,190 @@
+package com.talentx.hrms.service.payroll;
+
+import com.talentx.hrms.dto.payroll.PayrollRuleDTO;
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.payroll.PayrollRule;
+import com.talentx.hrms.repository.PayrollRuleRepository;
+import com.talentx.hrms.service.auth.AuthService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Manages an organization's payroll rules and caches their compiled form.
+ * Organizations without rules are paid with {@link PayrollRuleSet#defaults()}.
+ *
+ * A rule change drops the organization's compiled set after it commits and bumps a generation; a
+ * compiled set is only installed if no drop happened while it was loading, so a load that read the
+ * rules before the change can never cache them afterwards.
+ */
+@Service
+@Transactional
+public class PayrollRuleService {
+
+    private static final PayrollRuleSet DEFAULT_RULE_SET = PayrollRuleSet.defaults();
+
+    private final PayrollRuleRepository payrollRuleRepository;
+    private final AuthService authService;
+
+    // Compiled rule sets by organization id
+    private final Map<Long, PayrollRuleSet> ruleSets = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+
+    @Autowired
+    public PayrollRuleService(PayrollRuleRepository payrollRuleRepository, AuthService authService) {
+        this.payrollRuleRepository = payrollRuleRepository;
+        this.authService = authService;
+    }
+
+    /**
+     * Get the compiled rule set for an organization
+     */
+    @Transactional(readOnly = true)
+    public PayrollRuleSet getRuleSet(Long organizationId) {
+        PayrollRuleSet cached = ruleSets.get(organizationId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = generations.getOrDefault(organizationId, 0L);
+        List<PayrollRule> rules = payrollRuleRepository.findActiveByOrganizationId(organizationId);
+        PayrollRuleSet ruleSet = rules.isEmpty() ? DEFAULT_RULE_SET : PayrollRuleSet.compile(rules);
+        ruleSets.compute(organizationId, (id, current) ->
+            generations.getOrDefault(id, 0L) == generation ? ruleSet : current);
+        return ruleSet;
+    }
+
+    /**
+     * Get payroll rules of the current user's organization
+     */
+    @Transactional(readOnly = true)
+    public List<PayrollRuleDTO> getPayrollRules() {
+        Organization organization = getCurrentOrganization();
+        return payrollRuleRepository.findByOrganizationOrderByCalculationOrderAsc(organization).stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Create a payroll rule for the current user's organization
+     */
+    public PayrollRuleDTO createPayrollRule(PayrollRuleDTO dto) {
+        Organization organization = getCurrentOrganization();
+
+        PayrollRule rule = new PayrollRule();
+        rule.setOrganization(organization);
+        applyDTO(dto, rule);
+        validate(rule);
+
+        rule = payrollRuleRepository.save(rule);
+        evictAfterCommit(organization.getId());
+        return convertToDTO(rule);
+    }
+
+    /**
+     * Update a payroll rule
+     */
+    public PayrollRuleDTO updatePayrollRule(Long id, PayrollRuleDTO dto) {
+        PayrollRule rule = findRuleInCurrentOrganization(id);
+        applyDTO(dto, rule);
+        validate(rule);
+
+        rule = payrollRuleRepository.save(rule);
+        evictAfterCommit(rule.getOrganization().getId());
+        return convertToDTO(rule);
+    }
+
+    /**
+     * Delete a payroll rule
+     */
+    public void deletePayrollRule(Long id) {
+        PayrollRule rule = findRuleInCurrentOrganization(id);
+        Long organizationId = rule.getOrganization().getId();
+        payrollRuleRepository.delete(rule);
+        evictAfterCommit(organizationId);
+    }
+
+    private PayrollRule findRuleInCurrentOrganization(Long id) {
+        Organization organization = getCurrentOrganization();
+        PayrollRule rule = payrollRuleRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Payroll rule not found"));
+        if (!rule.getOrganization().getId().equals(organization.getId())) {
+            throw new IllegalArgumentException("Payroll rule not found");
+        }
+        return rule;
+    }
+
+    private Organization getCurrentOrganization() {
+        Organization organization = authService.getCurrentUser().getOrganization();
+        if (organization == null) {
+            throw new IllegalStateException("Current user has no organization");
+        }
+        return organization;
+    }
+
+    private void validate(PayrollRule rule) {
+        if (rule.isPercentage()) {
+            if (rule.getRate() == null || rule.getBasis() == null) {
+                throw new IllegalArgumentException("Percentage rules require a rate and a basis");
+            }
+        } else if (rule.getAmount() == null) {
+            throw new IllegalArgumentException("Fixed amount rules require an amount");
+        }
+    }
+
+    // Compiled rule sets are dropped once the change is visible to other transactions
+    private void evictAfterCommit(Long organizationId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(organizationId);
+                }
+            });
+        } else {
+            evict(organizationId);
+        }
+    }
+
+    private void evict(Long organizationId) {
+        ruleSets.compute(organizationId, (id, current) -> {
+            generations.merge(id, 1L, Long::sum);
+            return null;
+        });
+    }
+
+    private void applyDTO(PayrollRuleDTO dto, PayrollRule rule) {
+        rule.setComponent(dto.getComponent());
+        rule.setCalculationType(dto.getCalculationType());
+        rule.setBasis(dto.getBasis());
+        rule.setRate(dto.getRate());
+        rule.setAmount(dto.getAmount());
+        rule.setCalculationOrder(dto.getCalculationOrder() != null ? dto.getCalculationOrder() : 0);
+        rule.setDescription(dto.getDescription());
+        if (dto.getActive() != null) {
+            rule.setActive(dto.getActive());
+        }
+    }
+
+    private PayrollRuleDTO convertToDTO(PayrollRule rule) {
+        PayrollRuleDTO dto = new PayrollRuleDTO();
+        dto.setId(rule.getId());
+        dto.setComponent(rule.getComponent());
+        dto.setCalculationType(rule.getCalculationType());
+        dto.setBasis(rule.getBasis());
+        dto.setRate(rule.getRate());
+        dto.setAmount(rule.getAmount());
+        dto.setCalculationOrder(rule.getCalculationOrder());
+        dto.setDescription(rule.getDescription());
+        dto.setStage(rule.getStage());
+        dto.setActive(rule.getActive());
+        return dto;
+    }
+}
@@ -0,0 +1,223 @@
+package com.talentx.hrms.service.payroll;
+
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.enums.PayrollRuleBasis;
+import com.talentx.hrms.entity.enums.PayrollRuleType;
+import com.talentx.hrms.entity.enums.PayslipComponent;
+import com.talentx.hrms.entity.payroll.PayrollRule;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiled, immutable set of payroll rules for one organization.
+ *
+ * Rule rates are converted once to millionths and fixed amounts to cents, so evaluating a payslip
+ * is plain long arithmetic in minor currency units. Each component amount is rounded half-up to
+ * the cent. Stages run in order: earnings, pre-tax deductions, taxes, post-tax deductions.
+ */
+public final class PayrollRuleSet {
+
+    public static final int COMPONENT_COUNT = PayslipComponent.values().length;
+
+    static final long MICROS = 1_000_000L;
+
+    private static final long DEFAULT_OVERTIME_MULTIPLIER_MICROS = 1_500_000L;
+    private static final long DEFAULT_STANDARD_HOURS_PER_MONTH = 22L * 8L;
+
+    private final CompiledRule[] earnings;
+    private final CompiledRule[] preTaxDeductions;
+    private final CompiledRule[] taxes;
+    private final CompiledRule[] postTaxDeductions;
+    private final long overtimeMultiplierMicros;
+    private final long standardHoursPerMonth;
+
+    private PayrollRuleSet(List<CompiledRule> earnings, List<CompiledRule> preTaxDeductions,
+                           List<CompiledRule> taxes, List<CompiledRule> postTaxDeductions) {
+        this.earnings = earnings.toArray(new CompiledRule[0]);
+        this.preTaxDeductions = preTaxDeductions.toArray(new CompiledRule[0]);
+        this.taxes = taxes.toArray(new CompiledRule[0]);
+        this.postTaxDeductions = postTaxDeductions.toArray(new CompiledRule[0]);
+        this.overtimeMultiplierMicros = DEFAULT_OVERTIME_MULTIPLIER_MICROS;
+        this.standardHoursPerMonth = DEFAULT_STANDARD_HOURS_PER_MONTH;
+    }
+
+    /**
+     * Compile rules (already in calculation order) into a rule set
+     */
+    public static PayrollRuleSet compile(List<PayrollRule> rules) {
+        List<CompiledRule> earnings = new ArrayList<>();
+        List<CompiledRule> preTaxDeductions = new ArrayList<>();
+        List<CompiledRule> taxes = new ArrayList<>();
+        List<CompiledRule> postTaxDeductions = new ArrayList<>();
+
+        for (PayrollRule rule : rules) {
+            CompiledRule compiled = CompiledRule.of(rule);
+            switch (rule.getStage()) {
+                case EARNING -> earnings.add(compiled);
+                case PRE_TAX_DEDUCTION -> preTaxDeductions.add(compiled);
+                case TAX -> taxes.add(compiled);
+                case POST_TAX_DEDUCTION -> postTaxDeductions.add(compiled);
+            }
+        }
+
+        return new PayrollRuleSet(earnings, preTaxDeductions, taxes, postTaxDeductions);
+    }
+
+    /**
+     * Rule set used for organizations without configured rules
+     */
+    public static PayrollRuleSet defaults() {
+        return compile(defaultRules(null));
+    }
+
+    /**
+     * Standard statutory taxes and benefit deductions, applied when an organization has no rules of its own
+     */
+    public static List<PayrollRule> defaultRules(Organization organization) {
+        List<PayrollRule> rules = new ArrayList<>();
+        rules.add(rule(organization, PayslipComponent.HEALTH_INSURANCE, null, null, "150.00"));
+        rules.add(rule(organization, PayslipComponent.DENTAL_INSURANCE, null, null, "25.00"));
+        rules.add(rule(organization, PayslipComponent.VISION_INSURANCE, null, null, "10.00"));
+        rules.add(rule(organization, PayslipComponent.RETIREMENT_401K, PayrollRuleBasis.BASIC_SALARY, "0.05", null));
+        rules.add(rule(organization, PayslipComponent.FEDERAL_TAX, PayrollRuleBasis.GROSS_PAY, "0.22", null));
+        rules.add(rule(organization, PayslipComponent.STATE_TAX, PayrollRuleBasis.GROSS_PAY, "0.05", null));
+        rules.add(rule(organization, PayslipComponent.SOCIAL_SECURITY_TAX, PayrollRuleBasis.GROSS_PAY, "0.062", null));
+        rules.add(rule(organization, PayslipComponent.MEDICARE_TAX, PayrollRuleBasis.GROSS_PAY, "0.0145", null));
+        rules.add(rule(organization, PayslipComponent.UNEMPLOYMENT_TAX, PayrollRuleBasis.GROSS_PAY, "0.006", null));
+        rules.add(rule(organization, PayslipComponent.LIFE_INSURANCE, null, null, "20.00"));
+
+        for (int i = 0; i < rules.size(); i++) {
+            rules.get(i).setCalculationOrder(i);
+        }
+        return rules;
+    }
+
+    private static PayrollRule rule(Organization organization, PayslipComponent component,
+                                    PayrollRuleBasis basis, String rate, String amount) {
+        PayrollRuleType type = rate != null ? PayrollRuleType.PERCENTAGE : PayrollRuleType.FIXED_AMOUNT;
+        PayrollRule rule = new PayrollRule(organization, component, type, basis);
+        rule.setRate(rate != null ? new BigDecimal(rate) : null);
+        rule.setAmount(amount != null ? new BigDecimal(amount) : null);
+        return rule;
+    }
+
+    /**
+     * Evaluate all stages for one payslip. Amounts are accumulated into {@code amounts},
+     * indexed by {@link PayslipComponent#ordinal()}, which must have {@link #COMPONENT_COUNT} slots.
+     */
+    public void evaluate(long basicCents, long overtimeCents, long[] amounts) {
+        long gross = basicCents + overtimeCents;
+
+        // Earnings: GROSS_PAY and TAXABLE_PAY both mean basic salary plus overtime at this stage
+        long earned = 0L;
+        for (CompiledRule rule : earnings) {
+            earned += rule.apply(basicCents, gross, gross, amounts);
+        }
+        gross += earned;
+
+        long preTax = 0L;
+        for (CompiledRule rule : preTaxDeductions) {
+            preTax += rule.apply(basicCents, gross, gross, amounts);
+        }
+        long taxable = gross - preTax;
+
+        for (CompiledRule rule : taxes) {
+            rule.apply(basicCents, gross, taxable, amounts);
+        }
+        for (CompiledRule rule : postTaxDeductions) {
+            rule.apply(basicCents, gross, taxable, amounts);
+        }
+    }
+
+    /**
+     * Overtime hourly rate in cents, derived from a monthly salary
+     */
+    public long overtimeRateCents(long monthlySalaryCents) {
+        long baseRate = divideHalfUp(monthlySalaryCents, standardHoursPerMonth);
+        return percentOf(baseRate, overtimeMultiplierMicros);
+    }
+
+    /**
+     * Hours (in hundredths) multiplied by an hourly rate (in cents), in cents
+     */
+    public static long hoursTimesRate(long hundredths, long rateCents) {
+        return divideHalfUp(Math.multiplyExact(hundredths, rateCents), 100L);
+    }
+
+    /**
+     * {@code cents * micros / 1,000,000} rounded half-up
+     */
+    public static long percentOf(long cents, long micros) {
+        return divideHalfUp(Math.multiplyExact(cents, micros), MICROS);
+    }
+
+    public static long toCents(BigDecimal amount) {
+        return amount == null ? 0L : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toMoney(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+
+    private static final class CompiledRule {
+        private final int component;
+        private final boolean percentage;
+        private final PayrollRuleBasis basis;
+        private final long rateMicros;
+        private final long amountCents;
+
+        private CompiledRule(int component, boolean percentage, PayrollRuleBasis basis,
+                             long rateMicros, long amountCents) {
+            this.component = component;
+            this.percentage = percentage;
+            this.basis = basis;
+            this.rateMicros = rateMicros;
+            this.amountCents = amountCents;
+        }
+
+        static CompiledRule of(PayrollRule rule) {
+            if (rule.getComponent() == null || rule.getCalculationType() == null) {
+                throw new IllegalStateException("Payroll rule " + rule.getId() + " has no component or calculation type");
+            }
+            if (rule.isPercentage()) {
+                if (rule.getRate() == null || rule.getBasis() == null) {
+                    throw new IllegalStateException("Percentage payroll rule " + rule.getId() + " requires a rate and basis");
+                }
+                long micros = rule.getRate().movePointRight(6).setScale(0, RoundingMode.HALF_UP).longValueExact();
+                return new CompiledRule(rule.getComponent().ordinal(), true, rule.getBasis(), micros, 0L);
+            }
+            if (rule.getAmount() == null) {
+                throw new IllegalStateException("Fixed payroll rule " + rule.getId() + " requires an amount");
+            }
+            return new CompiledRule(rule.getComponent().ordinal(), false, null, 0L, toCents(rule.getAmount()));
+        }
+
+        long apply(long basicCents, long grossCents, long taxableCents, long[] amounts) {
+            long value;
+            if (percentage) {
+                long base = switch (basis) {
+                    case BASIC_SALARY -> basicCents;
+                    case GROSS_PAY -> grossCents;
+                    case TAXABLE_PAY -> taxableCents;
+                };
+                value = percentOf(base, rateMicros);
+            } else {
+                value = amountCents;
+            }
+            amounts[component] += value;
+            return value;
+        }
+    }
+}
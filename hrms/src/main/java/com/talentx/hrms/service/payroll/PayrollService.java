@@ -1,18 +1,19 @@
 package com.talentx.hrms.service.payroll;
 
+import com.talentx.hrms.common.CursorPage;
+import com.talentx.hrms.common.KeysetCursor;
 import com.talentx.hrms.common.PaginationRequest;
 import com.talentx.hrms.dto.payroll.PayrollRunDTO;
-import com.talentx.hrms.entity.attendance.AttendanceRecord;
 import com.talentx.hrms.entity.core.Organization;
 import com.talentx.hrms.entity.core.User;
 import com.talentx.hrms.entity.employee.Employee;
-import com.talentx.hrms.entity.enums.EmploymentType;
 import com.talentx.hrms.entity.enums.PayrollStatus;
 import com.talentx.hrms.entity.payroll.PayrollItem;
 import com.talentx.hrms.entity.payroll.PayrollRun;
 import com.talentx.hrms.entity.payroll.Payslip;
 import com.talentx.hrms.repository.*;
 import com.talentx.hrms.service.auth.AuthService;
+import com.talentx.hrms.util.PaginationUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
@@ -21,10 +22,10 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.net.MalformedURLException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -37,6 +38,9 @@ import java.util.stream.Collectors;
 @Transactional
 public class PayrollService {
 
+    private static final String PAYROLL_RUN_KEYSET_SORT = "createdAt,desc";
+    private static final String PAYSLIP_KEYSET_SORT = "id,asc";
+
     private final PayrollRunRepository payrollRunRepository;
     private final PayslipRepository payslipRepository;
     private final EmployeeRepository employeeRepository;
@@ -45,16 +49,10 @@ public class PayrollService {
     private final OrganizationRepository organizationRepository;
     private final UserRepository userRepository;
     private final AuthService authService;
-
-    // Tax rates and deduction constants
-    private static final BigDecimal FEDERAL_TAX_RATE = new BigDecimal("0.22");
-    private static final BigDecimal STATE_TAX_RATE = new BigDecimal("0.05");
-    private static final BigDecimal SOCIAL_SECURITY_RATE = new BigDecimal("0.062");
-    private static final BigDecimal MEDICARE_RATE = new BigDecimal("0.0145");
-    private static final BigDecimal UNEMPLOYMENT_TAX_RATE = new BigDecimal("0.006");
-    private static final BigDecimal OVERTIME_MULTIPLIER = new BigDecimal("1.5");
-    private static final BigDecimal STANDARD_WORK_HOURS_PER_DAY = new BigDecimal("8");
-    private static final BigDecimal STANDARD_WORK_DAYS_PER_MONTH = new BigDecimal("22");
+    private final PayslipCalculator payslipCalculator;
+    private final AttendanceAggregator attendanceAggregator;
+    private final PayrollRuleService payrollRuleService;
+    private final PayrollEngine payrollEngine;
 
     @Autowired
     public PayrollService(PayrollRunRepository payrollRunRepository,
@@ -64,7 +62,11 @@ public class PayrollService {
                          PayrollItemRepository payrollItemRepository,
                          OrganizationRepository organizationRepository,
                          UserRepository userRepository,
-                         AuthService authService) {
+                         AuthService authService,
+                         PayslipCalculator payslipCalculator,
+                         AttendanceAggregator attendanceAggregator,
+                         PayrollRuleService payrollRuleService,
+                         PayrollEngine payrollEngine) {
         this.payrollRunRepository = payrollRunRepository;
         this.payslipRepository = payslipRepository;
         this.employeeRepository = employeeRepository;
@@ -73,6 +75,10 @@ public class PayrollService {
         this.organizationRepository = organizationRepository;
         this.userRepository = userRepository;
         this.authService = authService;
+        this.payslipCalculator = payslipCalculator;
+        this.attendanceAggregator = attendanceAggregator;
+        this.payrollRuleService = payrollRuleService;
+        this.payrollEngine = payrollEngine;
     }
 
     /**
@@ -93,224 +99,20 @@ public class PayrollService {
     }
 
     /**
-     * Process payroll run - calculate payslips for all active employees
+     * Process payroll run - calculate payslips for all active employees.
+     * Runs outside the caller's transaction; the engine commits each chunk separately.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PayrollRun processPayrollRun(Long payrollRunId, String processedBy) {
-        PayrollRun payrollRun = payrollRunRepository.findById(payrollRunId)
-            .orElseThrow(() -> new IllegalArgumentException("Payroll run not found"));
-
-        if (!payrollRun.canBeModified()) {
-            throw new IllegalStateException("Payroll run cannot be modified in current status: " + payrollRun.getStatus());
-        }
-
-        try {
-            payrollRun.setStatus(PayrollStatus.PROCESSING);
-            payrollRun = payrollRunRepository.save(payrollRun);
-
-            // Get all active employees for the organization
-            List<Employee> activeEmployees = employeeRepository.findActiveByOrganization(payrollRun.getOrganization());
-
-            // Create payslips for each employee
-            for (Employee employee : activeEmployees) {
-                createPayslipForEmployee(payrollRun, employee);
-            }
-
-            // Calculate totals for the payroll run
-            payrollRun.calculateTotals();
-            payrollRun.setStatus(PayrollStatus.CALCULATED);
-            payrollRun.setProcessedAt(Instant.now());
-            payrollRun.setProcessedBy(processedBy);
-
-            return payrollRunRepository.save(payrollRun);
-
-        } catch (Exception e) {
-            payrollRun.setStatus(PayrollStatus.ERROR);
-            payrollRun.setNotes("Error processing payroll: " + e.getMessage());
-            payrollRunRepository.save(payrollRun);
-            throw new RuntimeException("Failed to process payroll run", e);
-        }
-    }
-
-    /**
-     * Create payslip for a specific employee
-     */
-    private Payslip createPayslipForEmployee(PayrollRun payrollRun, Employee employee) {
-        // Check if payslip already exists
-        Optional<Payslip> existingPayslip = payslipRepository.findByPayrollRunAndEmployee(payrollRun, employee);
-        if (existingPayslip.isPresent()) {
-            return existingPayslip.get();
-        }
-
-        Payslip payslip = new Payslip(payrollRun, employee);
-
-        // Calculate basic salary and hours
-        calculateBasicSalaryAndHours(payslip, payrollRun.getPayPeriodStart(), payrollRun.getPayPeriodEnd());
-
-        // Calculate earnings
-        calculateEarnings(payslip);
-
-        // Calculate deductions and taxes
-        calculateDeductions(payslip);
-        calculateTaxes(payslip);
-
-        // Calculate totals
-        payslip.calculateTotals();
-
-        // Save payslip
-        payslip = payslipRepository.save(payslip);
-
-        // Add to payroll run
-        payrollRun.addPayslip(payslip);
-
-        return payslip;
-    }
-
-    /**
-     * Calculate basic salary and hours worked
-     */
-    private void calculateBasicSalaryAndHours(Payslip payslip, LocalDate startDate, LocalDate endDate) {
-        Employee employee = payslip.getEmployee();
-        
-        if (employee.getEmploymentType() == EmploymentType.FULL_TIME) {
-            // For salaried employees, use monthly salary
-            if (employee.getSalaryAmount() != null) {
-                payslip.setBasicSalary(employee.getSalaryAmount());
-            }
-        } else if (employee.getEmploymentType() == EmploymentType.PART_TIME || 
-                   employee.getEmploymentType() == EmploymentType.CONTRACT) {
-            // For hourly employees, calculate based on hours worked
-            if (employee.getHourlyRate() != null) {
-                calculateHourlyPay(payslip, startDate, endDate);
-            }
-        }
-
-        // Get attendance records for the pay period
-        List<AttendanceRecord> attendanceRecords = attendanceRecordRepository
-            .findByEmployeeAndDateRange(employee, startDate, endDate);
-
-        // Calculate total hours
-        BigDecimal totalRegularHours = BigDecimal.ZERO;
-        BigDecimal totalOvertimeHours = BigDecimal.ZERO;
-
-        for (AttendanceRecord record : attendanceRecords) {
-            if (record.isPresent()) {
-                if (record.getRegularHours() != null) {
-                    totalRegularHours = totalRegularHours.add(record.getRegularHours());
-                }
-                if (record.getOvertimeHours() != null) {
-                    totalOvertimeHours = totalOvertimeHours.add(record.getOvertimeHours());
-                }
-            }
-        }
-
-        payslip.setRegularHours(totalRegularHours);
-        payslip.setOvertimeHours(totalOvertimeHours);
-
-        // Calculate overtime pay
-        if (totalOvertimeHours.compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal overtimeRate = calculateOvertimeRate(employee);
-            payslip.setOvertimeRate(overtimeRate);
-            payslip.setOvertimePay(totalOvertimeHours.multiply(overtimeRate));
-        }
-    }
-
-    /**
-     * Calculate hourly pay for part-time/contract employees
-     */
-    private void calculateHourlyPay(Payslip payslip, LocalDate startDate, LocalDate endDate) {
-        Employee employee = payslip.getEmployee();
-        BigDecimal hourlyRate = employee.getHourlyRate();
-
-        // Get total hours worked from attendance
-        BigDecimal totalHours = attendanceRecordRepository
-            .getTotalHoursByEmployeeAndDateRange(employee, startDate, endDate);
-
-        if (totalHours == null) {
-            totalHours = BigDecimal.ZERO;
-        }
-
-        BigDecimal basicPay = totalHours.multiply(hourlyRate);
-        payslip.setBasicSalary(basicPay);
-    }
-
-    /**
-     * Calculate overtime rate
-     */
-    private BigDecimal calculateOvertimeRate(Employee employee) {
-        BigDecimal baseRate;
-        
-        // Note: hourlyRate field doesn't exist in database schema
-        // For now, calculate from salary if available
-        if (employee.getSalaryAmount() != null) {
-            // Convert monthly salary to hourly rate
-            BigDecimal monthlyHours = STANDARD_WORK_DAYS_PER_MONTH.multiply(STANDARD_WORK_HOURS_PER_DAY);
-            baseRate = employee.getSalaryAmount().divide(monthlyHours, 2, RoundingMode.HALF_UP);
-        } else {
-            baseRate = BigDecimal.ZERO;
-        }
-
-        return baseRate.multiply(OVERTIME_MULTIPLIER);
-    }
-
-    /**
-     * Calculate earnings (bonuses, commissions, allowances)
-     */
-    private void calculateEarnings(Payslip payslip) {
-        // For now, set default values - in a real system, these would come from
-        // employee records, performance data, or manual input
-        payslip.setBonus(BigDecimal.ZERO);
-        payslip.setCommission(BigDecimal.ZERO);
-        payslip.setAllowances(BigDecimal.ZERO);
-        payslip.setReimbursements(BigDecimal.ZERO);
-    }
-
-    /**
-     * Calculate tax deductions
-     */
-    private void calculateTaxes(Payslip payslip) {
-        BigDecimal grossPay = payslip.getBasicSalary().add(payslip.getOvertimePay())
-            .add(payslip.getBonus()).add(payslip.getCommission())
-            .add(payslip.getAllowances()).add(payslip.getReimbursements());
-
-        // Federal tax
-        BigDecimal federalTax = grossPay.multiply(FEDERAL_TAX_RATE)
-            .setScale(2, RoundingMode.HALF_UP);
-        payslip.setFederalTax(federalTax);
-
-        // State tax
-        BigDecimal stateTax = grossPay.multiply(STATE_TAX_RATE)
-            .setScale(2, RoundingMode.HALF_UP);
-        payslip.setStateTax(stateTax);
-
-        // Social Security tax (up to wage base limit)
-        BigDecimal socialSecurityTax = grossPay.multiply(SOCIAL_SECURITY_RATE)
-            .setScale(2, RoundingMode.HALF_UP);
-        payslip.setSocialSecurityTax(socialSecurityTax);
-
-        // Medicare tax
-        BigDecimal medicareTax = grossPay.multiply(MEDICARE_RATE)
-            .setScale(2, RoundingMode.HALF_UP);
-        payslip.setMedicareTax(medicareTax);
-
-        // Unemployment tax (employer portion, but included for completeness)
-        BigDecimal unemploymentTax = grossPay.multiply(UNEMPLOYMENT_TAX_RATE)
-            .setScale(2, RoundingMode.HALF_UP);
-        payslip.setUnemploymentTax(unemploymentTax);
+        return payrollEngine.process(payrollRunId, processedBy);
     }
 
     /**
-     * Calculate other deductions (insurance, retirement, etc.)
+     * Resume an interrupted payroll run from its last committed chunk
      */
-    private void calculateDeductions(Payslip payslip) {
-        // For now, set default values - in a real system, these would come from
-        // employee benefit elections and plan configurations
-        payslip.setHealthInsurance(new BigDecimal("150.00"));
-        payslip.setDentalInsurance(new BigDecimal("25.00"));
-        payslip.setVisionInsurance(new BigDecimal("10.00"));
-        payslip.setLifeInsurance(new BigDecimal("20.00"));
-        payslip.setRetirement401k(payslip.getBasicSalary().multiply(new BigDecimal("0.05"))
-            .setScale(2, RoundingMode.HALF_UP));
-        payslip.setOtherDeductions(BigDecimal.ZERO);
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PayrollRun resumePayrollRun(Long payrollRunId, String processedBy) {
+        return payrollEngine.resume(payrollRunId, processedBy);
     }
 
     /**
@@ -433,11 +235,10 @@ public class PayrollService {
         PayrollRun payrollRun = payslip.getPayrollRun();
         
         // Recalculate all components
-        calculateBasicSalaryAndHours(payslip, payrollRun.getPayPeriodStart(), payrollRun.getPayPeriodEnd());
-        calculateEarnings(payslip);
-        calculateDeductions(payslip);
-        calculateTaxes(payslip);
-        payslip.calculateTotals();
+        AttendanceHours attendanceHours = attendanceAggregator.aggregate(
+            payslip.getEmployee(), payrollRun.getPayPeriodStart(), payrollRun.getPayPeriodEnd());
+        PayrollRuleSet ruleSet = payrollRuleService.getRuleSet(payrollRun.getOrganization().getId());
+        payslipCalculator.calculate(payslip, attendanceHours, ruleSet);
 
         return payslipRepository.save(payslip);
     }
@@ -519,6 +320,29 @@ public class PayrollService {
         return payrollRuns.map(this::convertToDTO);
     }
     
+    /**
+     * Get the current organization's payroll runs newest first, one keyset page after the given cursor
+     * (null for the first page)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PayrollRunDTO> getPayrollRuns(String cursor, int size) {
+        Organization organization = authService.getCurrentUser().getOrganization();
+        Pageable pageable = PaginationUtils.createKeysetPageable(size);
+        
+        List<PayrollRun> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = payrollRunRepository.findKeysetFirstPageByOrganization(organization, pageable);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor, PAYROLL_RUN_KEYSET_SORT);
+            rows = payrollRunRepository.findLatestByOrganizationBefore(
+                organization, position.getInstant(), position.getId(), pageable);
+        }
+        
+        return CursorPage.of(rows, PaginationUtils.normalizeSize(size),
+                run -> KeysetCursor.of(PAYROLL_RUN_KEYSET_SORT, run.getCreatedAt(), run.getId()).encode())
+            .map(this::convertToDTO);
+    }
+    
     /**
      * Get payroll run by ID as DTO
      */
@@ -572,12 +396,23 @@ public class PayrollService {
     /**
      * Process payroll run and return DTO
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public PayrollRunDTO processPayrollRun(Long id) {
         User currentUser = authService.getCurrentUser();
         PayrollRun payrollRun = processPayrollRun(id, currentUser.getUsername());
         return convertToDTO(payrollRun);
     }
     
+    /**
+     * Resume payroll run and return DTO
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public PayrollRunDTO resumePayrollRun(Long id) {
+        User currentUser = authService.getCurrentUser();
+        PayrollRun payrollRun = resumePayrollRun(id, currentUser.getUsername());
+        return convertToDTO(payrollRun);
+    }
+    
     /**
      * Approve payroll run with comments
      */
@@ -645,6 +480,26 @@ public class PayrollService {
             .collect(Collectors.toList());
     }
     
+    /**
+     * Get a payroll run's payslips in id order, one keyset page after the given cursor (null for the
+     * first page)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Map<String, Object>> getPayslips(Long payrollRunId, String cursor, int size) {
+        if (!payrollRunRepository.existsById(payrollRunId)) {
+            throw new RuntimeException("Payroll run not found");
+        }
+        
+        Long afterId = cursor == null || cursor.isBlank()
+            ? 0L : KeysetCursor.decode(cursor, PAYSLIP_KEYSET_SORT).getId();
+        List<Payslip> rows = payslipRepository.findByPayrollRunIdAfter(
+            payrollRunId, afterId, PaginationUtils.createKeysetPageable(size));
+        
+        return CursorPage.of(rows, PaginationUtils.normalizeSize(size),
+                payslip -> KeysetCursor.of(PAYSLIP_KEYSET_SORT, null, payslip.getId()).encode())
+            .map(this::convertPayslipToMap);
+    }
+    
     /**
      * Get payslip by ID as map
      */
@@ -694,8 +549,7 @@ public class PayrollService {
      */
     @Transactional(readOnly = true)
     public List<Map<String, Object>> getCurrentUserPayslips(Integer year, Integer month) {
-        User currentUser = authService.getCurrentUser();
-        Employee employee = employeeRepository.findByUser(currentUser)
+        Employee employee = authService.getCurrentEmployee()
             .orElseThrow(() -> new RuntimeException("Employee record not found for current user"));
             
         return getEmployeePayslips(employee.getId(), year, month);
@@ -828,11 +682,10 @@ public class PayrollService {
      */
     public boolean isCurrentUserPayslip(Long payslipId) {
         try {
-            User currentUser = authService.getCurrentUser();
             Payslip payslip = payslipRepository.findById(payslipId).orElse(null);
             if (payslip == null) return false;
             
-            Employee employee = employeeRepository.findByUser(currentUser).orElse(null);
+            Employee employee = authService.getCurrentEmployee().orElse(null);
             if (employee == null) return false;
             
             return payslip.getEmployee().getId().equals(employee.getId());
@@ -846,8 +699,7 @@ public class PayrollService {
      */
     public boolean isCurrentUser(Long employeeId) {
         try {
-            User currentUser = authService.getCurrentUser();
-            Employee employee = employeeRepository.findByUser(currentUser).orElse(null);
+            Employee employee = authService.getCurrentEmployee().orElse(null);
             if (employee == null) return false;
             
             return employee.getId().equals(employeeId);
@@ -880,7 +732,10 @@ public class PayrollService {
         dto.setTotalGrossPay(payrollRun.getTotalGrossPay());
         dto.setTotalDeductions(payrollRun.getTotalDeductions());
         dto.setTotalNetPay(payrollRun.getTotalNetPay());
-        dto.setEmployeeCount(payrollRun.getPayslips() != null ? payrollRun.getPayslips().size() : 0);
+        dto.setEmployeeCount(payrollRun.getEmployeeCount() != null ? payrollRun.getEmployeeCount() : 0);
+        dto.setEmployeesTotal(payrollRun.getEmployeesTotal());
+        dto.setEmployeesProcessed(payrollRun.getEmployeesProcessed());
+        dto.setChunksCompleted(payrollRun.getChunksCompleted());
         dto.setProcessedAt(payrollRun.getProcessedAt());
         dto.setProcessedBy(payrollRun.getProcessedBy());
         dto.setApprovedAt(payrollRun.getApprovedAt());
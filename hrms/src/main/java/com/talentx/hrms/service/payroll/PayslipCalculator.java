@@ -0,0 +1,102 @@
+package com.talentx.hrms.service.payroll;
+
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.enums.EmploymentType;
+import com.talentx.hrms.entity.enums.PayslipComponent;
+import com.talentx.hrms.entity.payroll.Payslip;
+import org.springframework.stereotype.Component;
+
+import static com.talentx.hrms.service.payroll.PayrollRuleSet.toCents;
+import static com.talentx.hrms.service.payroll.PayrollRuleSet.toMoney;
+
+/**
+ * Computes the monetary components of a payslip from the organization's compiled payroll rules.
+ * All intermediate amounts are long cents; BigDecimal values are only created when the results are
+ * written to the payslip. Stateless and thread-safe so that the payroll engine can run it on worker threads.
+ */
+@Component
+public class PayslipCalculator {
+
+    private static final PayslipComponent[] COMPONENTS = PayslipComponent.values();
+
+    /**
+     * Calculate all components and totals of a payslip from the pay period's aggregated attendance
+     */
+    public Payslip calculate(Payslip payslip, AttendanceHours attendanceHours, PayrollRuleSet ruleSet) {
+        Employee employee = payslip.getEmployee();
+        long employeeId = employee.getId();
+
+        // Calculate basic salary
+        long basicCents = 0L;
+        if (employee.getEmploymentType() == EmploymentType.FULL_TIME) {
+            // For salaried employees, use monthly salary
+            basicCents = toCents(employee.getSalaryAmount());
+        } else if (employee.getEmploymentType() == EmploymentType.PART_TIME ||
+                   employee.getEmploymentType() == EmploymentType.CONTRACT) {
+            // For hourly employees, calculate based on hours worked
+            if (employee.getHourlyRate() != null) {
+                basicCents = PayrollRuleSet.hoursTimesRate(
+                    attendanceHours.getTotalHundredths(employeeId), toCents(employee.getHourlyRate()));
+            }
+        }
+
+        // Hours worked on days the employee was present
+        long overtimeHundredths = attendanceHours.getOvertimeHundredths(employeeId);
+        payslip.setRegularHours(attendanceHours.getRegularHours(employeeId));
+        payslip.setOvertimeHours(attendanceHours.getOvertimeHours(employeeId));
+
+        // Calculate overtime pay from the monthly salary's hourly equivalent
+        long overtimeCents = 0L;
+        if (overtimeHundredths > 0) {
+            long overtimeRateCents = ruleSet.overtimeRateCents(toCents(employee.getSalaryAmount()));
+            overtimeCents = PayrollRuleSet.hoursTimesRate(overtimeHundredths, overtimeRateCents);
+            payslip.setOvertimeRate(toMoney(overtimeRateCents));
+        }
+
+        long[] amounts = new long[PayrollRuleSet.COMPONENT_COUNT];
+        ruleSet.evaluate(basicCents, overtimeCents, amounts);
+
+        // Write components and totals
+        long grossCents = basicCents + overtimeCents;
+        long taxCents = 0L;
+        long deductionCents = 0L;
+        for (PayslipComponent component : COMPONENTS) {
+            long cents = amounts[component.ordinal()];
+            switch (component.getStage()) {
+                case EARNING -> grossCents += cents;
+                case TAX -> taxCents += cents;
+                default -> deductionCents += cents;
+            }
+            setComponent(payslip, component, cents);
+        }
+
+        payslip.setBasicSalary(toMoney(basicCents));
+        payslip.setOvertimePay(toMoney(overtimeCents));
+        payslip.setGrossPay(toMoney(grossCents));
+        payslip.setTotalTaxes(toMoney(taxCents));
+        payslip.setTotalDeductions(toMoney(deductionCents + taxCents));
+        payslip.setNetPay(toMoney(grossCents - deductionCents - taxCents));
+
+        return payslip;
+    }
+
+    private void setComponent(Payslip payslip, PayslipComponent component, long cents) {
+        switch (component) {
+            case BONUS -> payslip.setBonus(toMoney(cents));
+            case COMMISSION -> payslip.setCommission(toMoney(cents));
+            case ALLOWANCES -> payslip.setAllowances(toMoney(cents));
+            case REIMBURSEMENTS -> payslip.setReimbursements(toMoney(cents));
+            case HEALTH_INSURANCE -> payslip.setHealthInsurance(toMoney(cents));
+            case DENTAL_INSURANCE -> payslip.setDentalInsurance(toMoney(cents));
+            case VISION_INSURANCE -> payslip.setVisionInsurance(toMoney(cents));
+            case RETIREMENT_401K -> payslip.setRetirement401k(toMoney(cents));
+            case FEDERAL_TAX -> payslip.setFederalTax(toMoney(cents));
+            case STATE_TAX -> payslip.setStateTax(toMoney(cents));
+            case SOCIAL_SECURITY_TAX -> payslip.setSocialSecurityTax(toMoney(cents));
+            case MEDICARE_TAX -> payslip.setMedicareTax(toMoney(cents));
+            case UNEMPLOYMENT_TAX -> payslip.setUnemploymentTax(toMoney(cents));
+            case LIFE_INSURANCE -> payslip.setLifeInsurance(toMoney(cents));
+            case OTHER_DEDUCTIONS -> payslip.setOtherDeductions(toMoney(cents));
+        }
+    }
+}
@@ -13,6 +13,8 @@ import com.talentx.hrms.entity.recruitment.*;
 import com.talentx.hrms.repository.*;
 import com.talentx.hrms.service.auth.AuthService;
 import com.talentx.hrms.service.employee.EmployeeService;
+import com.talentx.hrms.service.employee.EmployeeSearchIndex;
+import com.talentx.hrms.service.employee.ReportingLineIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -40,6 +42,8 @@ public class RecruitmentService {
     private final LocationRepository locationRepository;
     private final EmployeeRepository employeeRepository;
     private final AuthService authService;
+    private final ReportingLineIndex reportingLineIndex;
+    private final EmployeeSearchIndex employeeSearchIndex;
 
     @Autowired
     public RecruitmentService(JobPostingRepository jobPostingRepository,
@@ -50,7 +54,9 @@ public class RecruitmentService {
                              DepartmentRepository departmentRepository,
                              LocationRepository locationRepository,
                              EmployeeRepository employeeRepository,
-                             AuthService authService) {
+                             AuthService authService,
+                             ReportingLineIndex reportingLineIndex,
+                             EmployeeSearchIndex employeeSearchIndex) {
         this.jobPostingRepository = jobPostingRepository;
         this.candidateRepository = candidateRepository;
         this.applicationRepository = applicationRepository;
@@ -60,6 +66,8 @@ public class RecruitmentService {
         this.locationRepository = locationRepository;
         this.employeeRepository = employeeRepository;
         this.authService = authService;
+        this.reportingLineIndex = reportingLineIndex;
+        this.employeeSearchIndex = employeeSearchIndex;
     }
 
     // Job Posting Management
@@ -486,6 +494,8 @@ public class RecruitmentService {
         }
         
         Employee savedEmployee = employeeRepository.save(employee);
+        reportingLineIndex.assignPath(savedEmployee);
+        employeeSearchIndex.index(savedEmployee);
         
         // Update application status
         application.hire();
@@ -10,8 +10,8 @@ import com.talentx.hrms.repository.OrganizationRepository;
 import com.talentx.hrms.repository.PermissionRepository;
 import com.talentx.hrms.repository.RoleRepository;
 import com.talentx.hrms.repository.UserRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.talentx.hrms.security.CurrentUserContext;
+import com.talentx.hrms.security.AuthorizationChanges;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -31,16 +31,22 @@ public class RoleService {
     private final PermissionRepository permissionRepository;
     private final OrganizationRepository organizationRepository;
     private final UserRepository userRepository;
+    private final AuthorizationChanges authorizationChanges;
+    private final CurrentUserContext currentUserContext;
 
     @Autowired
     public RoleService(RoleRepository roleRepository,
                       PermissionRepository permissionRepository,
                       OrganizationRepository organizationRepository,
-                      UserRepository userRepository) {
+                      UserRepository userRepository,
+                      AuthorizationChanges authorizationChanges,
+                      CurrentUserContext currentUserContext) {
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
         this.organizationRepository = organizationRepository;
         this.userRepository = userRepository;
+        this.authorizationChanges = authorizationChanges;
+        this.currentUserContext = currentUserContext;
     }
 
     /**
@@ -147,6 +153,8 @@ public class RoleService {
                 throw new RuntimeException("Role name already exists in organization");
             }
             role.setName(name);
+            // Role names are granted as ROLE_ authorities
+            authorizationChanges.roleChanged(role);
         }
 
         if (description != null) {
@@ -207,6 +215,7 @@ public class RoleService {
 
         role.getRolePermissions().add(rolePermission);
         roleRepository.save(role);
+        authorizationChanges.roleChanged(role);
 
         return rolePermission;
     }
@@ -231,6 +240,7 @@ public class RoleService {
 
         rolePermission.setActive(false);
         roleRepository.save(role);
+        authorizationChanges.roleChanged(role);
     }
 
     /**
@@ -265,13 +275,7 @@ public class RoleService {
      * Get current authenticated user
      */
     private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
-        }
-        throw new RuntimeException("No authenticated user found");
+        return currentUserContext.getUser();
     }
 
     /**
@@ -11,6 +11,7 @@ import com.talentx.hrms.repository.EmployeeRepository;
 import com.talentx.hrms.repository.EmployeeShiftRepository;
 import com.talentx.hrms.repository.OrganizationRepository;
 import com.talentx.hrms.repository.ShiftRepository;
+import com.talentx.hrms.service.attendance.AttendanceRoster;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -33,16 +34,19 @@ public class ShiftService {
     private final EmployeeShiftRepository employeeShiftRepository;
     private final OrganizationRepository organizationRepository;
     private final EmployeeRepository employeeRepository;
+    private final AttendanceRoster attendanceRoster;
 
     @Autowired
     public ShiftService(ShiftRepository shiftRepository,
                        EmployeeShiftRepository employeeShiftRepository,
                        OrganizationRepository organizationRepository,
-                       EmployeeRepository employeeRepository) {
+                       EmployeeRepository employeeRepository,
+                       AttendanceRoster attendanceRoster) {
         this.shiftRepository = shiftRepository;
         this.employeeShiftRepository = employeeShiftRepository;
         this.organizationRepository = organizationRepository;
         this.employeeRepository = employeeRepository;
+        this.attendanceRoster = attendanceRoster;
     }
 
     /**
@@ -126,6 +130,7 @@ public class ShiftService {
         BigDecimal totalHours = calculateShiftHours(startTime, endTime, breakStartTime, breakEndTime);
         shift.setTotalHours(totalHours);
 
+        attendanceRoster.invalidate();
         return shiftRepository.save(shift);
     }
 
@@ -224,6 +229,7 @@ public class ShiftService {
         employeeShift.setEndDate(endDate);
         employeeShift.setIsCurrent(true);
 
+        attendanceRoster.invalidate();
         return employeeShiftRepository.save(employeeShift);
     }
 
@@ -279,6 +285,7 @@ public class ShiftService {
         employeeShift.setEndDate(endDate);
         employeeShift.setIsCurrent(false);
 
+        attendanceRoster.invalidate();
         return employeeShiftRepository.save(employeeShift);
     }
 
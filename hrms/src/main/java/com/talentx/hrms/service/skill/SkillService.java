@@ -304,7 +304,7 @@ public class SkillService {
      * Get current employee from authenticated user
      */
     private Employee getCurrentEmployee() {
-        return employeeRepository.findByUser(authService.getCurrentUser())
+        return authService.getCurrentEmployee()
             .orElseThrow(() -> new RuntimeException("Current user is not associated with an employee"));
     }
 
@@ -8,8 +8,8 @@ import com.talentx.hrms.entity.security.UserRole;
 import com.talentx.hrms.repository.OrganizationRepository;
 import com.talentx.hrms.repository.RoleRepository;
 import com.talentx.hrms.repository.UserRepository;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import com.talentx.hrms.security.CurrentUserContext;
+import com.talentx.hrms.security.AuthorizationChanges;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -32,16 +32,22 @@ public class UserService {
     private final OrganizationRepository organizationRepository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AuthorizationChanges authorizationChanges;
+    private final CurrentUserContext currentUserContext;
 
     @Autowired
     public UserService(UserRepository userRepository,
                       OrganizationRepository organizationRepository,
                       RoleRepository roleRepository,
-                      PasswordEncoder passwordEncoder) {
+                      PasswordEncoder passwordEncoder,
+                      AuthorizationChanges authorizationChanges,
+                      CurrentUserContext currentUserContext) {
         this.userRepository = userRepository;
         this.organizationRepository = organizationRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.authorizationChanges = authorizationChanges;
+        this.currentUserContext = currentUserContext;
     }
 
     /**
@@ -195,6 +201,7 @@ public class UserService {
 
         user.getUserRoles().add(userRole);
         userRepository.save(user);
+        authorizationChanges.userChanged(user);
 
         return userRole;
     }
@@ -213,6 +220,7 @@ public class UserService {
 
         userRole.setActive(false);
         userRepository.save(user);
+        authorizationChanges.userChanged(user);
     }
 
     /**
@@ -229,6 +237,7 @@ public class UserService {
         user.setActive(true);
         user.setAccountLocked(false);
         user.setAccountExpired(false);
+        authorizationChanges.userChanged(user);
 
         return userRepository.save(user);
     }
@@ -245,6 +254,7 @@ public class UserService {
         }
 
         user.setActive(false);
+        authorizationChanges.userChanged(user);
 
         return userRepository.save(user);
     }
@@ -257,6 +267,7 @@ public class UserService {
             .orElseThrow(() -> new RuntimeException("User not found"));
 
         user.setAccountLocked(true);
+        authorizationChanges.userChanged(user);
 
         return userRepository.save(user);
     }
@@ -270,6 +281,7 @@ public class UserService {
 
         user.setAccountLocked(false);
         user.setFailedLoginAttempts(0);
+        authorizationChanges.userChanged(user);
 
         return userRepository.save(user);
     }
@@ -285,6 +297,7 @@ public class UserService {
         user.setPasswordChangedAt(Timestamp.from(Instant.now()));
         user.setMustChangePassword(true);
         user.setCredentialsExpired(false);
+        authorizationChanges.userChanged(user);
 
         return userRepository.save(user);
     }
@@ -303,6 +316,7 @@ public class UserService {
         }
 
         userRepository.delete(user);
+        authorizationChanges.userChanged(user);
     }
 
     /**
@@ -339,13 +353,7 @@ public class UserService {
      * Get current authenticated user
      */
     private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            String username = authentication.getName();
-            return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("Current user not found"));
-        }
-        throw new RuntimeException("No authenticated user found");
+        return currentUserContext.getUser();
     }
 
     /**
@@ -50,6 +50,28 @@ public class PaginationUtils {
         return PageRequest.of(page, size, sort);
     }
 
+    /**
+     * Create a Pageable for one keyset page: always the first page, one row larger than the page so
+     * that the extra row tells whether another page follows. The query supplies the ordering and the
+     * seek predicate, so no offset is skipped and no count query runs.
+     *
+     * @param size the requested page size, normalized like offset page sizes
+     * @return Pageable to pass to a keyset repository query
+     */
+    public static Pageable createKeysetPageable(int size) {
+        return PageRequest.of(0, normalizeSize(size) + 1);
+    }
+
+    /**
+     * Clamp a page size to between 1 and MAX_PAGE_SIZE
+     *
+     * @param size the requested page size
+     * @return normalized page size
+     */
+    public static int normalizeSize(int size) {
+        return Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+    }
+
     /**
      * Create a Sort object with consistent direction handling
      * 
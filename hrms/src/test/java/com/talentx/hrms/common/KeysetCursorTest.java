@@ -0,0 +1,71 @@
+package com.talentx.hrms.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for KeysetCursor and CursorPage to ensure cursors round-trip, are rejected when forged or
+ * reused across listings, and mark the position after the last row of a page
+ */
+class KeysetCursorTest {
+
+    @Test
+    void cursorRoundTripsSortKeyAndId() {
+        Instant timestamp = Instant.parse("2024-03-01T10:15:30.123Z");
+        String encoded = KeysetCursor.of("timestamp,desc", timestamp, 42L).encode();
+
+        KeysetCursor decoded = KeysetCursor.decode(encoded, "timestamp,desc");
+
+        assertEquals(timestamp, decoded.getInstant());
+        assertEquals(42L, decoded.getId());
+        assertEquals(LocalDate.of(2024, 3, 1),
+            KeysetCursor.decode(KeysetCursor.of("date", LocalDate.of(2024, 3, 1), 7L).encode(), "date").getLocalDate());
+    }
+
+    @Test
+    void cursorIsOpaque() {
+        String encoded = KeysetCursor.of("timestamp,desc", Instant.EPOCH, 1L).encode();
+
+        assertFalse(encoded.contains("timestamp"));
+        assertFalse(encoded.contains("="));
+    }
+
+    @Test
+    void cursorForAnotherSortIsRejected() {
+        String encoded = KeysetCursor.of("createdAt,desc", Instant.EPOCH, 1L).encode();
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode(encoded, "timestamp,desc"));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!", "id,asc"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("aWQsYXNjfHx4", "id,asc"));
+        String badValue = KeysetCursor.of("timestamp,desc", "yesterday", 1L).encode();
+        assertThrows(IllegalArgumentException.class,
+            () -> KeysetCursor.decode(badValue, "timestamp,desc").getInstant());
+    }
+
+    @Test
+    void pageWithExtraRowHasNextCursorAfterLastReturnedRow() {
+        CursorPage<Long> page = CursorPage.of(List.of(9L, 8L, 7L), 2, id -> "after-" + id);
+
+        assertEquals(List.of(9L, 8L), page.getContent());
+        assertTrue(page.isHasNext());
+        assertEquals("after-8", page.getNextCursor());
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        CursorPage<String> page = CursorPage.of(List.of(9L, 8L), 2, id -> "after-" + id).map(String::valueOf);
+
+        assertEquals(List.of("9", "8"), page.getContent());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+}
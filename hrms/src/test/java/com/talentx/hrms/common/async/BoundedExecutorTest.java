@@ -0,0 +1,93 @@
+package com.talentx.hrms.common.async;
+
+import com.talentx.hrms.common.async.BoundedExecutor.OverloadPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BoundedExecutor to ensure overload is absorbed by the configured policy instead of queue growth
+ */
+class BoundedExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void callerRunsWhenPoolAndQueueAreFull() {
+        executor = start(OverloadPolicy.CALLER_RUNS, 1);
+        AtomicInteger ranOnCaller = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+
+        executor.execute(this::block);
+        executor.execute(this::block);
+        executor.execute(() -> {
+            if (Thread.currentThread() == caller) {
+                ranOnCaller.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, ranOnCaller.get());
+        assertEquals(1L, executor.getStatistics().get("callerRuns"));
+        assertEquals(1, executor.getStatistics().get("queueDepth"));
+    }
+
+    @Test
+    void discardDropsWhenPoolAndQueueAreFull() {
+        executor = start(OverloadPolicy.DISCARD, 1);
+        AtomicInteger ran = new AtomicInteger();
+
+        executor.execute(this::block);
+        executor.execute(this::block);
+        executor.execute(ran::incrementAndGet);
+
+        assertEquals(0, ran.get());
+        assertEquals(1L, executor.getStatistics().get("discarded"));
+    }
+
+    @Test
+    void sheddableTasksAreSampledOnceSaturated() throws InterruptedException {
+        executor = start(OverloadPolicy.CALLER_RUNS, 4);
+        AtomicInteger ran = new AtomicInteger();
+
+        executor.execute(this::block);
+        executor.execute(this::block);
+        assertTrue(executor.isSaturated());
+
+        for (int i = 0; i < 8; i++) {
+            executor.executeSheddable(ran::incrementAndGet);
+        }
+
+        assertEquals(6L, executor.getStatistics().get("sampledOut"));
+        release.countDown();
+        executor.getThreadPoolExecutor().shutdown();
+        assertTrue(executor.getThreadPoolExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(2, ran.get());
+    }
+
+    // One worker thread and a queue of one
+    private BoundedExecutor start(OverloadPolicy policy, int sampleRate) {
+        BoundedExecutor started = new BoundedExecutor("test", 1, 1, 1, policy, sampleRate);
+        started.initialize();
+        return started;
+    }
+
+    private void block() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.talentx.hrms.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for BoundedRegionStorage and the region limits of ReferenceDataRegionFactory
+ */
+class BoundedRegionStorageTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void evictsLeastRecentlyUsedEntryBeyondBound() {
+        BoundedRegionStorage storage = new BoundedRegionStorage("test", 2, null, clock::get);
+
+        storage.putIntoCache(1L, "one", null);
+        storage.putIntoCache(2L, "two", null);
+        storage.getFromCache(1L, null);
+        storage.putIntoCache(3L, "three", null);
+
+        assertEquals(2, storage.size());
+        assertTrue(storage.contains(1L));
+        assertFalse(storage.contains(2L));
+        assertTrue(storage.contains(3L));
+        assertEquals(1L, storage.getStatistics().get("evictions"));
+    }
+
+    @Test
+    void expiresEntriesAfterTimeToLive() {
+        BoundedRegionStorage storage = new BoundedRegionStorage("test", 10, Duration.ofSeconds(60), clock::get);
+
+        storage.putIntoCache(1L, "one", null);
+        clock.addAndGet(Duration.ofSeconds(59).toNanos());
+        assertEquals("one", storage.getFromCache(1L, null));
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertNull(storage.getFromCache(1L, null));
+        assertEquals(0, storage.size());
+        assertEquals(1L, storage.getStatistics().get("expirations"));
+    }
+
+    @Test
+    void countsHitsAndMisses() {
+        BoundedRegionStorage storage = new BoundedRegionStorage("test", 10, Duration.ofMinutes(5), clock::get);
+
+        storage.putIntoCache(1L, "one", null);
+        storage.getFromCache(1L, null);
+        storage.getFromCache(1L, null);
+        storage.getFromCache(2L, null);
+        storage.evictData(1L);
+        storage.getFromCache(1L, null);
+
+        Map<String, Object> statistics = storage.getStatistics();
+        assertEquals(2L, statistics.get("hits"));
+        assertEquals(2L, statistics.get("misses"));
+        assertEquals(0.5, (double) statistics.get("hitRate"), 1e-9);
+        assertEquals(1L, statistics.get("puts"));
+        assertEquals(300L, statistics.get("ttlSeconds"));
+    }
+
+    @Test
+    void parsesRegionLimits() {
+        Map<String, ReferenceDataRegionFactory.RegionLimits> limits = ReferenceDataRegionFactory.parseRegionLimits(
+            "reference.role=2000/900, reference.holiday = 10000/3600,");
+
+        assertEquals(2, limits.size());
+        assertEquals(new ReferenceDataRegionFactory.RegionLimits(2000, 900), limits.get("reference.role"));
+        assertEquals(new ReferenceDataRegionFactory.RegionLimits(10000, 3600), limits.get("reference.holiday"));
+        assertTrue(ReferenceDataRegionFactory.parseRegionLimits("").isEmpty());
+        assertThrows(IllegalArgumentException.class,
+            () -> ReferenceDataRegionFactory.parseRegionLimits("reference.role=2000"));
+        assertThrows(IllegalArgumentException.class,
+            () -> ReferenceDataRegionFactory.parseRegionLimits("reference.role=0/900"));
+    }
+}
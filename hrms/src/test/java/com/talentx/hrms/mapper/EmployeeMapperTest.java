@@ -0,0 +1,79 @@
+package com.talentx.hrms.mapper;
+
+import com.talentx.hrms.dto.employee.EmployeeListRow;
+import com.talentx.hrms.dto.employee.EmployeeResponse;
+import com.talentx.hrms.entity.core.Department;
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.enums.EmploymentStatus;
+import com.talentx.hrms.entity.enums.EmploymentType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for EmployeeMapper to ensure list projections map to the same response as entities
+ */
+class EmployeeMapperTest {
+
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+
+    @Test
+    void projectionMapsLikeEntity() {
+        Organization organization = new Organization();
+        organization.setId(1L);
+        organization.setName("Acme");
+        Department department = new Department("Engineering", "ENG", organization);
+        department.setId(2L);
+
+        Employee manager = new Employee();
+        manager.setId(3L);
+        manager.setFirstName("Grace");
+        manager.setLastName("Hopper");
+        manager.setEmployeeNumber("EMP-003");
+
+        Employee employee = new Employee();
+        employee.setId(4L);
+        employee.setOrganization(organization);
+        employee.setDepartment(department);
+        employee.setManager(manager);
+        employee.setEmployeeNumber("EMP-004");
+        employee.setFirstName("Ada");
+        employee.setMiddleName("King");
+        employee.setLastName("Lovelace");
+        employee.setPersonalEmail("ada@example.com");
+        employee.setHireDate(Date.valueOf(LocalDate.of(2020, 1, 6)));
+        employee.setEmploymentStatus(EmploymentStatus.ACTIVE);
+        employee.setEmploymentType(EmploymentType.FULL_TIME);
+        employee.setJobTitle("Engineer");
+        employee.setSalaryAmount(new BigDecimal("5000.00"));
+
+        EmployeeListRow row = new EmployeeListRow(4L, "EMP-004", "Ada", "King", "Lovelace", null,
+            "ada@example.com", null, null, null, null, null, null, Date.valueOf(LocalDate.of(2020, 1, 6)), null,
+            EmploymentStatus.ACTIVE, EmploymentType.FULL_TIME, "Engineer", null, new BigDecimal("5000.00"), null,
+            null, 1L, "Acme", 2L, "Engineering", "ENG", null, null, 3L, "Grace", null, "Hopper", "EMP-003",
+            null, null);
+
+        EmployeeResponse fromEntity = employeeMapper.toResponse(employee);
+        EmployeeResponse fromRow = employeeMapper.toResponse(row);
+
+        assertEquals("Ada King Lovelace", fromRow.getFullName());
+        assertEquals("Grace Hopper", fromRow.getManagerName());
+        assertEquals(fromEntity.getFullName(), fromRow.getFullName());
+        assertEquals(fromEntity.getEmail(), fromRow.getEmail());
+        assertEquals(fromEntity.getHireDate(), fromRow.getHireDate());
+        assertEquals(fromEntity.getSalary(), fromRow.getSalary());
+        assertEquals(fromEntity.isActive(), fromRow.isActive());
+        assertEquals(fromEntity.getOrganizationName(), fromRow.getOrganizationName());
+        assertEquals(fromEntity.getDepartmentCode(), fromRow.getDepartmentCode());
+        assertEquals(fromEntity.getManagerId(), fromRow.getManagerId());
+        assertEquals(fromEntity.getManagerName(), fromRow.getManagerName());
+        assertEquals(fromEntity.getManagerEmployeeNumber(), fromRow.getManagerEmployeeNumber());
+        assertNull(fromRow.getLocationId());
+        assertNull(fromRow.getUserId());
+    }
+}
@@ -0,0 +1,109 @@
+package com.talentx.hrms.security;
+
+import com.talentx.hrms.entity.core.User;
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for CurrentUserContext to ensure the current user and employee are queried once per request
+ */
+class CurrentUserContextTest {
+
+    private UserRepository userRepository;
+    private EmployeeRepository employeeRepository;
+    private CurrentUserContext context;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        employeeRepository = mock(EmployeeRepository.class);
+        context = new CurrentUserContext(userRepository, employeeRepository);
+
+        alice = new User();
+        alice.setId(11L);
+        alice.setUsername("alice");
+        Employee employee = new Employee();
+        employee.setId(21L);
+
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(alice));
+        when(userRepository.findByUsername("bob")).thenReturn(Optional.of(new User()));
+        when(employeeRepository.findByUser(alice)).thenReturn(Optional.of(employee));
+        authenticate("alice");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void resolvesOncePerRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        assertSame(alice, context.getUser());
+        assertSame(alice, context.getUser());
+        assertEquals(21L, context.getEmployeeId());
+        assertEquals(21L, context.getEmployeeId());
+
+        verify(userRepository, times(1)).findByUsername("alice");
+        verify(employeeRepository, times(1)).findByUser(alice);
+    }
+
+    @Test
+    void newRequestResolvesAgain() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        context.getUser();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        context.getUser();
+
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void changedAuthenticationResolvesAgain() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertSame(alice, context.getUser());
+
+        authenticate("bob");
+
+        assertNotSame(alice, context.getUser());
+        verify(userRepository).findByUsername("bob");
+    }
+
+    @Test
+    void outsideRequestIsNotCached() {
+        context.getUser();
+        context.getUser();
+
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void missingAuthenticationIsRejected() {
+        SecurityContextHolder.clearContext();
+
+        assertThrows(RuntimeException.class, () -> context.getUser());
+    }
+
+    private void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
@@ -0,0 +1,75 @@
+package com.talentx.hrms.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PrincipalCache to ensure principals are reused per token and dropped on invalidation
+ */
+class PrincipalCacheTest {
+
+    @Test
+    void cachedPrincipalIsReusedForSameToken() {
+        PrincipalCache cache = new PrincipalCache(300, 100);
+        AtomicInteger loads = new AtomicInteger();
+
+        UserDetails first = cache.get("alice", "t1", () -> load("alice", loads));
+        UserDetails second = cache.get("alice", "t1", () -> load("alice", loads));
+        cache.get("alice", "t2", () -> load("alice", loads));
+
+        assertSame(first, second);
+        assertEquals(2, loads.get());
+        assertEquals(1L, cache.getStatistics().get("hits"));
+        assertEquals(2L, cache.getStatistics().get("misses"));
+    }
+
+    @Test
+    void invalidateUserDropsOnlyThatUsersTokens() {
+        PrincipalCache cache = new PrincipalCache(300, 100);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("alice", "t1", () -> load("alice", loads));
+        cache.get("alice", "t2", () -> load("alice", loads));
+        cache.get("bob", "t3", () -> load("bob", loads));
+
+        cache.invalidateUser("alice");
+
+        assertEquals(1, cache.getStatistics().get("size"));
+        cache.get("bob", "t3", () -> load("bob", loads));
+        cache.get("alice", "t1", () -> load("alice", loads));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void sizeIsBounded() {
+        PrincipalCache cache = new PrincipalCache(300, 10);
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 100; i++) {
+            cache.get("user" + i, "t", () -> load("user", loads));
+        }
+
+        assertTrue((Integer) cache.getStatistics().get("size") <= 10);
+        assertEquals(90L, cache.getStatistics().get("evictions"));
+    }
+
+    @Test
+    void zeroTtlDisablesCaching() {
+        PrincipalCache cache = new PrincipalCache(0, 10);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("alice", "t1", () -> load("alice", loads));
+        cache.get("alice", "t1", () -> load("alice", loads));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getStatistics().get("size"));
+    }
+
+    private UserDetails load(String username, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new User(username, "password", List.of());
+    }
+}
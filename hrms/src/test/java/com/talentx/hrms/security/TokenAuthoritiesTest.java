@@ -0,0 +1,117 @@
+package com.talentx.hrms.security;
+
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.core.User;
+import com.talentx.hrms.repository.OrganizationRepository;
+import com.talentx.hrms.repository.PermissionRepository;
+import com.talentx.hrms.service.auth.UserDetailsServiceImpl.CustomUserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for TokenAuthorities to ensure embedded authorities survive a token round trip and
+ * are rejected once the organization's permission version moves on
+ */
+class TokenAuthoritiesTest {
+
+    private OrganizationRepository organizationRepository;
+    private PermissionVersionRegistry registry;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        organizationRepository = mock(OrganizationRepository.class);
+        PermissionRepository permissionRepository = mock(PermissionRepository.class);
+        when(organizationRepository.findPermissionVersions()).thenReturn(List.<Object[]>of(new Object[]{7L, 3L}));
+        when(permissionRepository.findAllIdsAndNames()).thenReturn(List.of(
+            new Object[]{1L, "employee_read"},
+            new Object[]{42L, "PAYROLL_PROCESS"}));
+
+        registry = new PermissionVersionRegistry(organizationRepository, permissionRepository);
+        registry.refresh();
+
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "mySecretKey123456789012345678901234567890");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+    }
+
+    @Test
+    void authoritiesSurviveTokenRoundTrip() {
+        TokenAuthorities tokenAuthorities = new TokenAuthorities(registry, true);
+        CustomUserPrincipal principal = principal(
+            "ROLE_HR_MANAGER", "EMPLOYEE_READ", "PAYROLL_PROCESS");
+
+        Claims claims = roundTrip(principal, tokenAuthorities);
+        TokenPrincipal restored = tokenAuthorities.toPrincipal(claims);
+
+        assertNotNull(restored);
+        assertEquals("alice", restored.getUsername());
+        assertEquals(11L, restored.getUserId());
+        assertEquals(7L, restored.getOrganizationId());
+        assertEquals(Set.of("ROLE_HR_MANAGER", "EMPLOYEE_READ", "PAYROLL_PROCESS"), names(restored.getAuthorities()));
+    }
+
+    @Test
+    void staleVersionFallsBackToLookup() {
+        TokenAuthorities tokenAuthorities = new TokenAuthorities(registry, true);
+        Claims claims = roundTrip(principal("ROLE_EMPLOYEE", "EMPLOYEE_READ"), tokenAuthorities);
+
+        when(organizationRepository.findPermissionVersions()).thenReturn(List.<Object[]>of(new Object[]{7L, 4L}));
+        registry.refresh();
+
+        assertNull(tokenAuthorities.toPrincipal(claims));
+    }
+
+    @Test
+    void unknownPermissionIsNotEmbedded() {
+        TokenAuthorities tokenAuthorities = new TokenAuthorities(registry, true);
+
+        assertTrue(tokenAuthorities.claimsFor(principal("ROLE_EMPLOYEE", "UNKNOWN_PERMISSION")).isEmpty());
+    }
+
+    @Test
+    void disabledModeEmbedsNothing() {
+        TokenAuthorities tokenAuthorities = new TokenAuthorities(registry, false);
+        CustomUserPrincipal principal = principal("ROLE_EMPLOYEE", "EMPLOYEE_READ");
+
+        assertTrue(tokenAuthorities.claimsFor(principal).isEmpty());
+        assertNull(tokenAuthorities.toPrincipal(roundTrip(principal, new TokenAuthorities(registry, true))));
+    }
+
+    private Claims roundTrip(CustomUserPrincipal principal, TokenAuthorities tokenAuthorities) {
+        Map<String, Object> claims = tokenAuthorities.claimsFor(principal);
+        return jwtUtil.extractAllClaims(jwtUtil.generateToken(principal, claims));
+    }
+
+    private CustomUserPrincipal principal(String... authorities) {
+        Organization organization = new Organization();
+        organization.setId(7L);
+
+        User user = new User();
+        user.setId(11L);
+        user.setUsername("alice");
+        user.setOrganization(organization);
+
+        List<GrantedAuthority> granted = List.of(authorities).stream()
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
+        return new CustomUserPrincipal(user, granted);
+    }
+
+    private Set<String> names(Collection<? extends GrantedAuthority> authorities) {
+        return authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,80 @@
+package com.talentx.hrms.service.attendance;
+
+import com.talentx.hrms.entity.enums.AttendanceStatus;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.EmployeeShiftRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for AttendanceRoster to ensure a day is loaded once, misses are looked up and shift changes
+ * force a reload
+ */
+class AttendanceRosterTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 3);
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeShiftRepository employeeShiftRepository;
+    private AttendanceRoster roster;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        employeeShiftRepository = mock(EmployeeShiftRepository.class);
+        when(employeeRepository.findActiveRosterRows()).thenReturn(List.of(
+            new Object[] {1L, 10L},
+            new Object[] {2L, 10L}));
+        when(employeeShiftRepository.findRosterRowsByDate(TODAY)).thenReturn(List.of(
+            new Object[] {1L, LocalTime.of(8, 0), 5},
+            new Object[] {1L, LocalTime.of(9, 0), 15}));
+        roster = new AttendanceRoster(employeeRepository, employeeShiftRepository);
+    }
+
+    @Test
+    void dayIsLoadedOnceAndLatestShiftWins() {
+        AttendanceRoster.Entry first = roster.getEntry(1L, TODAY).orElseThrow();
+        assertEquals(LocalTime.of(9, 0), first.shiftStart());
+        assertEquals(AttendanceStatus.PRESENT, first.statusFor(LocalTime.of(9, 15)));
+        assertEquals(AttendanceStatus.LATE, first.statusFor(LocalTime.of(9, 16)));
+
+        AttendanceRoster.Entry withoutShift = roster.getEntry(2L, TODAY).orElseThrow();
+        assertNull(withoutShift.shiftStart());
+        assertEquals(AttendanceStatus.PRESENT, withoutShift.statusFor(LocalTime.of(13, 0)));
+
+        verify(employeeRepository, times(1)).findActiveRosterRows();
+        assertEquals(2L, roster.getStatistics().get("hits"));
+    }
+
+    @Test
+    void missingEmployeesAreLookedUpOnceAndUnknownOnesAreEmpty() {
+        when(employeeRepository.findRosterRowsById(3L)).thenReturn(List.<Object[]>of(new Object[] {3L, 10L}));
+        when(employeeShiftRepository.findRosterRowsByEmployeeIdAndDate(3L, TODAY)).thenReturn(List.<Object[]>of(
+            new Object[] {3L, LocalTime.of(7, 0), 0}));
+
+        assertEquals(LocalTime.of(7, 0), roster.getEntry(3L, TODAY).orElseThrow().shiftStart());
+        assertTrue(roster.getEntry(3L, TODAY).isPresent());
+        assertTrue(roster.getEntry(4L, TODAY).isEmpty());
+
+        verify(employeeRepository, times(1)).findRosterRowsById(3L);
+        assertEquals(2L, roster.getStatistics().get("misses"));
+    }
+
+    @Test
+    void invalidationAndNewDayReload() {
+        roster.getEntry(1L, TODAY);
+        roster.invalidate();
+        roster.getEntry(1L, TODAY);
+        roster.getEntry(1L, TODAY.plusDays(1));
+
+        verify(employeeRepository, times(3)).findActiveRosterRows();
+        assertEquals(3L, roster.getStatistics().get("loads"));
+    }
+}
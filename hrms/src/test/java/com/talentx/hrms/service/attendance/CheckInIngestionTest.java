@@ -0,0 +1,174 @@
+package com.talentx.hrms.service.attendance;
+
+import com.talentx.hrms.common.exception.EntityNotFoundException;
+import com.talentx.hrms.common.exception.ValidationException;
+import com.talentx.hrms.dto.attendance.CheckInReceipt;
+import com.talentx.hrms.dto.attendance.CheckInRequest;
+import com.talentx.hrms.entity.enums.AttendanceStatus;
+import com.talentx.hrms.repository.AttendanceRecordRepository;
+import com.talentx.hrms.service.holiday.WorkingDayCalendarIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for CheckInIngestion to ensure punches are validated in memory, deduplicated by idempotency
+ * key and reconciled against existing rows when written
+ */
+class CheckInIngestionTest {
+
+    private static final ZoneId ZONE = ZoneId.of("UTC");
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 3);
+
+    private AttendanceRoster attendanceRoster;
+    private WorkingDayCalendarIndex workingDayCalendarIndex;
+    private AttendanceRecordRepository attendanceRecordRepository;
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+    private CheckInIngestion ingestion;
+
+    // Rows written per statement, by the first word of the SQL
+    private final Map<String, Integer> written = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        attendanceRoster = mock(AttendanceRoster.class);
+        workingDayCalendarIndex = mock(WorkingDayCalendarIndex.class);
+        attendanceRecordRepository = mock(AttendanceRecordRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        when(attendanceRoster.getEntry(anyLong(), eq(TODAY))).thenAnswer(invocation -> {
+            Long employeeId = invocation.getArgument(0);
+            return employeeId > 100 ? Optional.empty()
+                : Optional.of(new AttendanceRoster.Entry(employeeId, 1L, LocalTime.of(9, 0), 15));
+        });
+        when(attendanceRecordRepository.findCheckedInEmployeeIds(TODAY)).thenReturn(List.of(9L));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                String statement = ((String) invocation.getArgument(0)).split(" ")[0];
+                written.merge(statement, ((Collection<Object>) invocation.getArgument(1)).size(), Integer::sum);
+                return new int[0][];
+            });
+
+        Clock clock = Clock.fixed(LocalDateTime.of(TODAY, LocalTime.of(9, 20)).atZone(ZONE).toInstant(), ZONE);
+        ingestion = new CheckInIngestion(attendanceRoster, workingDayCalendarIndex, attendanceRecordRepository,
+            jdbcTemplate, transactionManager, clock, 100, 50, 5, 10, 10000);
+    }
+
+    @Test
+    void punchesAreClassifiedReplayedAndWrittenInBatches() {
+        ingestion.start();
+
+        CheckInReceipt late = ingestion.ingest(request(1L, null), "device-1");
+        assertEquals(AttendanceStatus.LATE, late.status());
+        assertEquals(TODAY, late.attendanceDate());
+        assertFalse(late.replayed());
+
+        CheckInReceipt onTime = ingestion.ingest(request(2L, LocalTime.of(9, 10)), null);
+        assertEquals(AttendanceStatus.PRESENT, onTime.status());
+
+        CheckInReceipt replay = ingestion.ingest(request(1L, null), "device-1");
+        assertTrue(replay.replayed());
+        assertEquals(late.checkInTime(), replay.checkInTime());
+        assertTrue(ingestion.ingest(request(2L, LocalTime.of(9, 30)), null).replayed());
+
+        assertThrows(ValidationException.class, () -> ingestion.ingest(request(1L, null), "device-2"));
+        assertThrows(ValidationException.class, () -> ingestion.ingest(request(9L, null), null));
+        assertThrows(ValidationException.class, () -> ingestion.ingest(request(3L, null), "device-1"));
+        assertThrows(EntityNotFoundException.class, () -> ingestion.ingest(request(404L, null), null));
+
+        ingestion.stop();
+
+        assertEquals(2, written.get("INSERT"));
+        Map<String, Object> statistics = ingestion.getStatistics();
+        assertEquals(2L, statistics.get("accepted"));
+        assertEquals(2L, statistics.get("replayed"));
+        assertEquals(2L, statistics.get("inserted"));
+        assertThrows(IllegalStateException.class, () -> ingestion.ingest(request(4L, null), null));
+    }
+
+    @Test
+    void existingRowsAreFilledInOrCountedAsDuplicates() throws Exception {
+        ResultSet withoutCheckIn = row(2L, null);
+        ResultSet withCheckIn = row(3L, LocalTime.of(8, 55));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(withoutCheckIn);
+            handler.processRow(withCheckIn);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        ingestion.write(List.of(punch(1L), punch(2L), punch(3L)));
+
+        assertEquals(1, written.get("INSERT"));
+        assertEquals(1, written.get("UPDATE"));
+        Map<String, Object> statistics = ingestion.getStatistics();
+        assertEquals(1L, statistics.get("inserted"));
+        assertEquals(1L, statistics.get("filledIn"));
+        assertEquals(1L, statistics.get("duplicates"));
+        assertEquals(1L, statistics.get("batches"));
+    }
+
+    @Test
+    void failedBatchIsWrittenRowByRow() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenThrow(new DataAccessResourceFailureException("connection reset"));
+        when(jdbcTemplate.update(startsWith("INSERT"), any(PreparedStatementSetter.class)))
+            .thenReturn(1)
+            .thenThrow(new DuplicateKeyException("uk_attendance"))
+            .thenThrow(new DataAccessResourceFailureException("connection reset"));
+        when(jdbcTemplate.update(startsWith("UPDATE"), any(PreparedStatementSetter.class))).thenReturn(0);
+
+        ingestion.write(List.of(punch(1L), punch(2L), punch(3L)));
+
+        Map<String, Object> statistics = ingestion.getStatistics();
+        assertEquals(1L, statistics.get("inserted"));
+        assertEquals(1L, statistics.get("duplicates"));
+        assertEquals(1L, statistics.get("failed"));
+        assertEquals(0L, statistics.get("batches"));
+        // The insert of the first punch and the fill-in attempt of the second are committed on their own
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionManager, times(3)).rollback(any());
+    }
+
+    private CheckInRequest request(Long employeeId, LocalTime checkInTime) {
+        return new CheckInRequest(employeeId, checkInTime, "Gate A");
+    }
+
+    private CheckInIngestion.Punch punch(Long employeeId) {
+        CheckInReceipt receipt = new CheckInReceipt(employeeId + "@" + TODAY, employeeId, TODAY,
+            LocalTime.of(9, 0), AttendanceStatus.PRESENT, false, false);
+        return new CheckInIngestion.Punch(receipt, "Gate A", null);
+    }
+
+    private ResultSet row(Long employeeId, LocalTime checkInTime) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(employeeId);
+        when(resultSet.getObject(2)).thenReturn(checkInTime);
+        return resultSet;
+    }
+}
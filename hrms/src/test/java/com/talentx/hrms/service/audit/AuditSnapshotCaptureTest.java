@@ -0,0 +1,113 @@
+package com.talentx.hrms.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.talentx.hrms.common.async.BoundedExecutor;
+import com.talentx.hrms.repository.AuditLogRepository;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.UserRepository;
+import com.talentx.hrms.security.CurrentUserContext;
+import com.talentx.hrms.security.TokenPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for AuditLogService to ensure the caller is captured on the request thread and the
+ * deferred write needs neither the security context nor the request
+ */
+class AuditSnapshotCaptureTest {
+
+    private UserRepository userRepository;
+    private AuditWriteBehind auditWriteBehind;
+    private final List<Runnable> deferred = new ArrayList<>();
+    private AuditLogService auditLogService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        auditWriteBehind = mock(AuditWriteBehind.class);
+        BoundedExecutor auditExecutor = mock(BoundedExecutor.class);
+        doAnswer(invocation -> deferred.add(invocation.getArgument(0))).when(auditExecutor).execute(any(Runnable.class));
+        doAnswer(invocation -> deferred.add(invocation.getArgument(0))).when(auditExecutor).executeSheddable(any(Runnable.class));
+
+        auditLogService = new AuditLogService(mock(AuditLogRepository.class),
+            new CurrentUserContext(userRepository, mock(EmployeeRepository.class)),
+            new ObjectMapper(), auditExecutor, auditWriteBehind);
+
+        TokenPrincipal principal = new TokenPrincipal("alice", 11L, 7L, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Forwarded-For", "203.0.113.9, 10.0.0.1");
+        request.addHeader("User-Agent", "JUnit");
+        request.addHeader("X-Request-ID", "req-42");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void snapshotIsTakenFromPrincipalAndRequest() {
+        AuditSnapshot snapshot = auditLogService.captureSnapshot(15L);
+
+        assertEquals(11L, snapshot.userId());
+        assertEquals("alice", snapshot.username());
+        assertEquals(7L, snapshot.organizationId());
+        assertEquals("203.0.113.9", snapshot.ipAddress());
+        assertEquals("JUnit", snapshot.userAgent());
+        assertEquals("req-42", snapshot.requestId());
+        assertEquals(15L, snapshot.durationMs());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void deferredWriteUsesCapturedSnapshot() {
+        auditLogService.logDataChange("UPDATE", "Employee", "5", "Jane Doe", null, Map.of("title", "Lead"));
+
+        // The worker runs after the request has finished
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        deferred.forEach(Runnable::run);
+
+        ArgumentCaptor<AuditRecord> captor = ArgumentCaptor.forClass(AuditRecord.class);
+        verify(auditWriteBehind).enqueue(captor.capture());
+        AuditRecord record = captor.getValue();
+        assertEquals(11L, record.userId());
+        assertEquals("alice", record.username());
+        assertEquals(7L, record.organizationId());
+        assertEquals("203.0.113.9", record.ipAddress());
+        assertEquals("req-42", record.requestId());
+        assertEquals("MEDIUM", record.severity());
+        assertEquals("{\"title\":\"Lead\"}", record.newValues());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void spooledWriteRunsOnCallerThread() {
+        when(auditWriteBehind.getDurability()).thenReturn(AuditWriteBehind.Durability.SPOOL);
+
+        auditLogService.logDataChange("UPDATE", "Employee", "5", "Jane Doe", null, Map.of("title", "Lead"));
+
+        assertTrue(deferred.isEmpty());
+        verify(auditWriteBehind).enqueue(any(AuditRecord.class));
+    }
+}
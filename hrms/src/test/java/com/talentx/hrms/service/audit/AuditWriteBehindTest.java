@@ -0,0 +1,131 @@
+package com.talentx.hrms.service.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.talentx.hrms.service.audit.AuditWriteBehind.Durability;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for AuditWriteBehind to ensure records are written in batches, drained on stop,
+ * committed on a pool without autocommit and replayed from the spool file after a failure
+ */
+class AuditWriteBehindTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void recordsAreWrittenInBatchesAndDrainedOnStop() {
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        AuditWriteBehind writeBehind = new AuditWriteBehind(recordingJdbc(batchSizes), transactionManager, objectMapper,
+            5000, 500, 1000, 50, 10000, Durability.BEST_EFFORT, tempDir.resolve("spool.jsonl").toString());
+        writeBehind.start();
+
+        for (int i = 0; i < 1200; i++) {
+            assertTrue(writeBehind.enqueue(record(i)));
+        }
+        writeBehind.stop();
+
+        assertEquals(1200, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(List.of(500, 500), batchSizes.subList(0, 2));
+        assertEquals(1200L, writeBehind.getStatistics().get("written"));
+        assertFalse(writeBehind.enqueue(record(0)));
+    }
+
+    @Test
+    void batchesAreCommittedWhenPoolDisablesAutocommit() {
+        // Same pool setting as DatabaseConfig: uncommitted work is rolled back when a connection is returned
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:audit-write-behind;DB_CLOSE_DELAY=-1");
+        config.setUsername("sa");
+        config.setAutoCommit(false);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.execute("CREATE TABLE audit_logs (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "timestamp TIMESTAMP, user_id BIGINT, username VARCHAR(100), user_role VARCHAR(50), " +
+                "organization_id BIGINT, action VARCHAR(50), entity_type VARCHAR(100), entity_id VARCHAR(100), " +
+                "entity_name VARCHAR(255), old_values CLOB, new_values CLOB, changes CLOB, ip_address VARCHAR(45), " +
+                "user_agent VARCHAR(500), session_id VARCHAR(100), module VARCHAR(50), sub_module VARCHAR(50), " +
+                "severity VARCHAR(20), status VARCHAR(20), error_message VARCHAR(1000), additional_data CLOB, " +
+                "description VARCHAR(500), is_sensitive BOOLEAN, retention_days INT, request_id VARCHAR(64), " +
+                "duration_ms BIGINT, created_at TIMESTAMP, updated_at TIMESTAMP, version BIGINT, active BOOLEAN)");
+
+            AuditWriteBehind writeBehind = new AuditWriteBehind(jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), objectMapper,
+                100, 10, 5, 50, 10000, Durability.BEST_EFFORT, tempDir.resolve("spool.jsonl").toString());
+            writeBehind.start();
+            for (int i = 0; i < 25; i++) {
+                writeBehind.enqueue(record(i));
+            }
+            writeBehind.stop();
+
+            assertEquals(25L, writeBehind.getStatistics().get("written"));
+            assertEquals(25, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Integer.class));
+        }
+    }
+
+    @Test
+    void spooledRecordsAreReplayedAfterFailedWrites() throws Exception {
+        Path spoolFile = tempDir.resolve("spool.jsonl");
+
+        JdbcTemplate failingJdbc = mock(JdbcTemplate.class);
+        when(failingJdbc.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenThrow(new IllegalStateException("database unavailable"));
+        AuditWriteBehind failing = new AuditWriteBehind(failingJdbc, transactionManager, objectMapper,
+            100, 10, 5, 50, 10000, Durability.SPOOL, spoolFile.toString());
+        failing.start();
+        for (int i = 0; i < 3; i++) {
+            failing.enqueue(record(i));
+        }
+        failing.stop();
+
+        assertEquals(3L, failing.getStatistics().get("failed"));
+        assertEquals(3, Files.readAllLines(spoolFile).size());
+
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        AuditWriteBehind recovered = new AuditWriteBehind(recordingJdbc(batchSizes), transactionManager, objectMapper,
+            100, 10, 5, 50, 10000, Durability.SPOOL, spoolFile.toString());
+        recovered.start();
+        recovered.stop();
+
+        assertEquals(List.of(3), batchSizes);
+        assertEquals(0L, Files.size(spoolFile));
+    }
+
+    @SuppressWarnings("unchecked")
+    private JdbcTemplate recordingJdbc(List<Integer> batchSizes) {
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+            .thenAnswer(invocation -> {
+                batchSizes.add(((Collection<AuditRecord>) invocation.getArgument(1)).size());
+                return new int[0][];
+            });
+        return jdbcTemplate;
+    }
+
+    private AuditRecord record(int i) {
+        return new AuditRecord(Instant.now(), 1L, "alice", null, 7L, "UPDATE", "Employee", String.valueOf(i),
+            null, null, "{}", null, "127.0.0.1", null, null, "EMPLOYEE", null, "MEDIUM", "SUCCESS",
+            null, null, null, false, null, null, null);
+    }
+}
@@ -0,0 +1,161 @@
+package com.talentx.hrms.service.compliance;
+
+import com.talentx.hrms.entity.compliance.ComplianceWorkUnit;
+import com.talentx.hrms.repository.ComplianceCheckRepository;
+import com.talentx.hrms.repository.ComplianceWorkUnitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for ComplianceCheckScheduler to ensure due checks are planned once and executed under a lease
+ */
+@ExtendWith(MockitoExtension.class)
+class ComplianceCheckSchedulerTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 30);
+    private static final Instant NOW = Instant.parse("2025-06-30T09:00:00Z");
+
+    @Mock
+    private ComplianceCheckRepository complianceCheckRepository;
+
+    @Mock
+    private ComplianceWorkUnitRepository workUnitRepository;
+
+    @Mock
+    private ComplianceService complianceService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Runnable> handedOver = new ArrayList<>();
+
+    private ComplianceCheckScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new ComplianceCheckScheduler(complianceCheckRepository, workUnitRepository, complianceService,
+            transactionManager, handedOver::add, true, "node-a", 600, 2, 3, 7, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void scheduledRunIsHandedToTheExecutor() {
+        scheduler.scheduledRun();
+
+        // Nothing runs on the scheduler thread
+        assertEquals(1, handedOver.size());
+        verifyNoInteractions(complianceCheckRepository, workUnitRepository, complianceService);
+
+        when(workUnitRepository.findClaimableIds(any(), anyInt(), any())).thenReturn(List.of());
+        handedOver.get(0).run();
+        verify(complianceCheckRepository).findDueRuleOrganizationPairs(TODAY);
+    }
+
+    @Test
+    void planGroupsUncoveredPairsPerOrganization() {
+        when(complianceCheckRepository.findDueRuleOrganizationPairs(TODAY)).thenReturn(List.of(
+            new Object[] {1L, 10L}, new Object[] {2L, 10L}, new Object[] {3L, 10L},
+            new Object[] {1L, 20L}, new Object[] {2L, 20L}));
+        ComplianceWorkUnit existing = new ComplianceWorkUnit(20L, TODAY, 0, List.of(1L));
+        when(workUnitRepository.findByPlanDate(TODAY)).thenReturn(List.of(existing));
+
+        assertEquals(3, scheduler.plan(TODAY));
+
+        ArgumentCaptor<ComplianceWorkUnit> units = ArgumentCaptor.forClass(ComplianceWorkUnit.class);
+        verify(workUnitRepository, times(3)).saveAndFlush(units.capture());
+        assertEquals(List.of(1L, 2L), units.getAllValues().get(0).getRuleIdList());
+        assertEquals(List.of(3L), units.getAllValues().get(1).getRuleIdList());
+        assertEquals(1, units.getAllValues().get(1).getUnitIndex());
+
+        // Rule 1 of organization 20 is already planned today; the new unit takes the next index
+        ComplianceWorkUnit organization20 = units.getAllValues().get(2);
+        assertEquals(20L, organization20.getOrganizationId());
+        assertEquals(List.of(2L), organization20.getRuleIdList());
+        assertEquals(1, organization20.getUnitIndex());
+
+        verify(workUnitRepository).deleteByPlanDateBefore(TODAY.minusDays(7));
+    }
+
+    @Test
+    void planSkipsUnitsAnotherNodeInserted() {
+        when(complianceCheckRepository.findDueRuleOrganizationPairs(TODAY)).thenReturn(List.<Object[]>of(
+            new Object[] {1L, 10L}));
+        when(workUnitRepository.findByPlanDate(TODAY)).thenReturn(List.of());
+        when(workUnitRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertEquals(0, scheduler.plan(TODAY));
+    }
+
+    @Test
+    void executesOnlyUnitsWhoseLeaseWasTaken() {
+        ComplianceWorkUnit unit = leasedUnit(8L, 1);
+        when(complianceCheckRepository.findDueRuleOrganizationPairs(TODAY)).thenReturn(List.of());
+        when(workUnitRepository.findClaimableIds(eq(NOW), eq(3), any()))
+            .thenReturn(List.of(7L))
+            .thenReturn(List.of(8L))
+            .thenReturn(List.of());
+        when(workUnitRepository.claim(eq(7L), eq("node-a"), eq(NOW), eq(NOW.plusSeconds(600)), eq(3), any()))
+            .thenReturn(0);
+        when(workUnitRepository.claim(eq(8L), eq("node-a"), eq(NOW), eq(NOW.plusSeconds(600)), eq(3), any()))
+            .thenReturn(1);
+        when(workUnitRepository.findById(8L)).thenReturn(Optional.of(unit));
+        when(complianceService.executeDueComplianceChecks(10L, List.of(1L, 2L))).thenReturn(2);
+        when(workUnitRepository.complete(8L, "node-a", 2, NOW, ComplianceWorkUnit.Status.DONE)).thenReturn(1);
+
+        assertEquals(1, scheduler.runDueChecks());
+
+        verify(complianceService, times(1)).executeDueComplianceChecks(anyLong(), any());
+        assertEquals(1L, scheduler.getStatistics().get("claimConflicts"));
+        assertEquals(1L, scheduler.getStatistics().get("unitsCompleted"));
+    }
+
+    @Test
+    void failedUnitIsReleasedUntilAttemptsAreUsedUp() {
+        ComplianceWorkUnit firstAttempt = leasedUnit(8L, 1);
+        ComplianceWorkUnit lastAttempt = leasedUnit(9L, 3);
+        when(complianceCheckRepository.findDueRuleOrganizationPairs(TODAY)).thenReturn(List.of());
+        when(workUnitRepository.findClaimableIds(eq(NOW), eq(3), any()))
+            .thenReturn(List.of(8L))
+            .thenReturn(List.of(9L))
+            .thenReturn(List.of());
+        when(workUnitRepository.claim(anyLong(), anyString(), any(), any(), anyInt(), any())).thenReturn(1);
+        when(workUnitRepository.findById(8L)).thenReturn(Optional.of(firstAttempt));
+        when(workUnitRepository.findById(9L)).thenReturn(Optional.of(lastAttempt));
+        when(complianceService.executeDueComplianceChecks(anyLong(), any()))
+            .thenThrow(new RuntimeException("Organization not found with id: 10"));
+
+        assertEquals(2, scheduler.runDueChecks());
+
+        verify(workUnitRepository).release(8L, "node-a", ComplianceWorkUnit.Status.PENDING,
+            "Organization not found with id: 10");
+        verify(workUnitRepository).release(9L, "node-a", ComplianceWorkUnit.Status.FAILED,
+            "Organization not found with id: 10");
+        verify(workUnitRepository, never()).complete(anyLong(), anyString(), anyInt(), any(), any());
+    }
+
+    private static ComplianceWorkUnit leasedUnit(Long id, int attempts) {
+        ComplianceWorkUnit unit = new ComplianceWorkUnit(10L, TODAY, 0, List.of(1L, 2L));
+        unit.setId(id);
+        unit.setStatus(ComplianceWorkUnit.Status.LEASED);
+        unit.setLeaseOwner("node-a");
+        unit.setAttempts(attempts);
+        return unit;
+    }
+}
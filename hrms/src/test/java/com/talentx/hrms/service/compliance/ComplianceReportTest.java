@@ -0,0 +1,102 @@
+package com.talentx.hrms.service.compliance;
+
+import com.talentx.hrms.entity.compliance.ComplianceCheck.CheckStatus;
+import com.talentx.hrms.entity.compliance.ComplianceCheck.Severity;
+import com.talentx.hrms.entity.compliance.ComplianceRule.RuleCategory;
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.repository.ComplianceCheckRepository;
+import com.talentx.hrms.repository.ComplianceJurisdictionRepository;
+import com.talentx.hrms.repository.ComplianceRuleRepository;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.OrganizationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for ComplianceService reports to ensure they are built from grouped check counts in one pass
+ */
+@ExtendWith(MockitoExtension.class)
+class ComplianceReportTest {
+
+    private static final Long ORGANIZATION_ID = 1L;
+    private static final LocalDate START = LocalDate.of(2022, 1, 1);
+    private static final LocalDate END = LocalDate.of(2025, 6, 30);
+
+    @Mock
+    private ComplianceRuleRepository complianceRuleRepository;
+
+    @Mock
+    private ComplianceCheckRepository complianceCheckRepository;
+
+    @Mock
+    private ComplianceJurisdictionRepository jurisdictionRepository;
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private ComplianceRuleEngine complianceRuleEngine;
+
+    private ComplianceService complianceService;
+
+    @BeforeEach
+    void setUp() {
+        complianceService = new ComplianceService(complianceRuleRepository, complianceCheckRepository,
+            jurisdictionRepository, organizationRepository, employeeRepository, complianceRuleEngine);
+        Organization organization = new Organization();
+        organization.setName("Acme");
+        when(organizationRepository.findById(ORGANIZATION_ID)).thenReturn(Optional.of(organization));
+    }
+
+    @Test
+    void aggregatesGroupedCountsIntoReport() {
+        when(complianceCheckRepository.countReportGroups(ORGANIZATION_ID, START, END)).thenReturn(List.of(
+            new Object[] {CheckStatus.COMPLIANT, true, null, RuleCategory.MINIMUM_WAGE, 600L},
+            new Object[] {CheckStatus.COMPLIANT, false, null, RuleCategory.WORKING_HOURS, 100L},
+            new Object[] {CheckStatus.NON_COMPLIANT, false, Severity.CRITICAL, RuleCategory.WORKING_HOURS, 120L},
+            new Object[] {CheckStatus.NON_COMPLIANT, true, Severity.HIGH, RuleCategory.WORKING_HOURS, 30L},
+            new Object[] {CheckStatus.NON_COMPLIANT, false, Severity.HIGH, RuleCategory.MINIMUM_WAGE, 90L},
+            new Object[] {CheckStatus.NON_COMPLIANT, false, Severity.LOW, null, 40L},
+            new Object[] {CheckStatus.WARNING, false, Severity.MEDIUM, RuleCategory.MINIMUM_WAGE, 20L}));
+
+        ComplianceService.ComplianceReport report =
+            complianceService.generateComplianceReport(ORGANIZATION_ID, START, END);
+
+        assertEquals(1000, report.getTotalChecks());
+        assertEquals(700, report.getCompliantChecks());
+        assertEquals(280, report.getNonCompliantChecks());
+        assertEquals(370, report.getUnresolvedChecks());
+        assertEquals(70.0, report.getComplianceRate(), 1e-9);
+        assertEquals(120, report.getCriticalViolations());
+        assertEquals(120, report.getHighSeverityViolations());
+        assertEquals(List.of("WORKING_HOURS", "MINIMUM_WAGE", "GENERAL"),
+            List.copyOf(report.getTopViolationCategories().keySet()));
+        assertEquals(150L, report.getTopViolationCategories().get("WORKING_HOURS"));
+    }
+
+    @Test
+    void emptyPeriodIsFullyCompliant() {
+        when(complianceCheckRepository.countReportGroups(ORGANIZATION_ID, START, END)).thenReturn(List.of());
+
+        ComplianceService.ComplianceReport report =
+            complianceService.generateComplianceReport(ORGANIZATION_ID, START, END);
+
+        assertEquals(0, report.getTotalChecks());
+        assertEquals(100.0, report.getComplianceRate(), 1e-9);
+        assertTrue(report.getTopViolationCategories().isEmpty());
+        verify(complianceCheckRepository, never()).findByOrganizationAndCheckDateBetween(any(), any(), any());
+    }
+}
@@ -0,0 +1,242 @@
+package com.talentx.hrms.service.compliance;
+
+import com.talentx.hrms.entity.compliance.ComplianceRule;
+import com.talentx.hrms.entity.enums.AttendanceStatus;
+import com.talentx.hrms.repository.AttendanceRecordRepository;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.LeaveBalanceRepository;
+import com.talentx.hrms.repository.PayrollItemRepository;
+import com.talentx.hrms.repository.PayslipRepository;
+import com.talentx.hrms.service.compliance.ComplianceSnapshot.Fact;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for ComplianceRuleEngine to ensure compiled checks are evaluated correctly over columnar snapshots
+ */
+@ExtendWith(MockitoExtension.class)
+class ComplianceRuleEngineTest {
+
+    private static final Long ORGANIZATION_ID = 1L;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Mock
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Mock
+    private PayslipRepository payslipRepository;
+
+    @Mock
+    private PayrollItemRepository payrollItemRepository;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2025-06-30T09:00:00Z"), ZoneOffset.UTC);
+
+    private ExecutorService helperPool;
+    private ComplianceRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        helperPool = Executors.newFixedThreadPool(3);
+        engine = new ComplianceRuleEngine(employeeRepository, attendanceRecordRepository, leaveBalanceRepository,
+            payslipRepository, payrollItemRepository, helperPool, 3, 300, clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        helperPool.shutdownNow();
+    }
+
+    @Test
+    void compiledExpressionHonoursPrecedence() {
+        ComplianceSnapshot snapshot = snapshot(new double[][] {{10, 5}, {20, 50}});
+        ComplianceExpression expression = ComplianceExpression.compile(
+            "salary + hourly_rate * 2 >= 20 AND NOT (salary > 15 OR hourly_rate < 1)");
+
+        assertTrue(expression.test(snapshot, 0));   // 10 + 10 >= 20, neither salary > 15 nor rate < 1
+        assertFalse(expression.test(snapshot, 1));  // salary 20 > 15
+        assertEquals(List.of(Fact.SALARY, Fact.HOURLY_RATE), new ArrayList<>(expression.getFacts()));
+    }
+
+    @Test
+    void compileRejectsInvalidExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> ComplianceExpression.compile("bogus_fact > 1"));
+        assertThrows(IllegalArgumentException.class, () -> ComplianceExpression.compile("salary + 1"));
+        assertThrows(IllegalArgumentException.class, () -> ComplianceExpression.compile("salary > 1 salary"));
+        assertThrows(IllegalArgumentException.class, () -> ComplianceExpression.compile("(salary > 1"));
+        assertThrows(IllegalArgumentException.class, () -> ComplianceExpression.compile("salary > 1 AND 3"));
+        assertThrows(IllegalArgumentException.class, () -> engine.compile("  "));
+    }
+
+    @Test
+    void divisionByZeroYieldsZero() {
+        ComplianceSnapshot snapshot = snapshot(new double[][] {{100, 0}});
+
+        assertTrue(ComplianceExpression.compile("salary / hourly_rate == 0").test(snapshot, 0));
+        assertTrue(ComplianceExpression.compile("max(salary, 5) == 100 AND min(abs(-3), 2) = 2").test(snapshot, 0));
+    }
+
+    @Test
+    void evaluatesManyRulesInOnePassAcrossChunks() {
+        int employees = ComplianceRuleEngine.CHUNK_SIZE * 3 + 17;
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < employees; i++) {
+            BigDecimal salary = i % 3 == 0 ? BigDecimal.ZERO : new BigDecimal("1000");
+            rows.add(new Object[] {(long) i + 1, "EMP" + (i + 1), salary, null, null, null, null, null});
+        }
+        when(employeeRepository.findComplianceRowsByOrganizationId(ORGANIZATION_ID)).thenReturn(rows);
+
+        ComplianceRule unpaid = rule("salary > 0");
+        ComplianceRule always = rule("TRUE");
+        ComplianceRule invalid = rule("salary >");
+        ComplianceRule manual = new ComplianceRule();
+        manual.setRuleCategory(ComplianceRule.RuleCategory.DATA_PRIVACY);
+
+        List<ComplianceRuleEngine.Outcome> outcomes = engine.evaluate(ORGANIZATION_ID,
+            List.of(unpaid, always, invalid, manual));
+
+        assertEquals((employees + 2) / 3, outcomes.get(0).getViolationCount());
+        assertEquals(employees, outcomes.get(0).evaluated());
+        for (int row : outcomes.get(0).violatingRows()) {
+            assertEquals(0, row % 3);
+        }
+        assertEquals(67, outcomes.get(0).getComplianceScore());
+        assertTrue(outcomes.get(1).isCompliant());
+        assertNotNull(outcomes.get(2).error());
+        assertFalse(outcomes.get(2).isCompliant());
+        assertFalse(outcomes.get(3).isEvaluated());
+
+        // Only employee facts were referenced, so no other source is queried
+        verifyNoInteractions(attendanceRecordRepository, leaveBalanceRepository, payslipRepository,
+            payrollItemRepository);
+    }
+
+    @Test
+    void foldsAttendanceAndLeaveFactsForCategoryDefaults() {
+        when(employeeRepository.findComplianceRowsByOrganizationId(ORGANIZATION_ID)).thenReturn(List.of(
+            new Object[] {7L, "EMP7", new BigDecimal("5000"), null, java.sql.Date.valueOf("2020-01-01"), null, null, null},
+            new Object[] {9L, "EMP9", new BigDecimal("5000"), null, java.sql.Date.valueOf("2025-01-01"), null, null, null}));
+        when(attendanceRecordRepository.findComplianceTotals(ORGANIZATION_ID, LocalDate.of(2025, 6, 3),
+            LocalDate.of(2025, 6, 30))).thenReturn(List.of(
+                new Object[] {7L, AttendanceStatus.PRESENT, 18L, new BigDecimal("180"), new BigDecimal("20"), new BigDecimal("10")},
+                new Object[] {7L, AttendanceStatus.LATE, 2L, new BigDecimal("26"), BigDecimal.ZERO, new BigDecimal("13")},
+                new Object[] {9L, AttendanceStatus.PRESENT, 20L, new BigDecimal("160"), null, new BigDecimal("8")}));
+        when(leaveBalanceRepository.findComplianceTotals(ORGANIZATION_ID, 2025)).thenReturn(List.<Object[]>of(
+            new Object[] {9L, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO}));
+
+        ComplianceRule hours = new ComplianceRule();
+        hours.setRuleCategory(ComplianceRule.RuleCategory.WORKING_HOURS);
+        ComplianceRule leave = new ComplianceRule();
+        leave.setRuleCategory(ComplianceRule.RuleCategory.LEAVE_ENTITLEMENT);
+
+        List<ComplianceRuleEngine.Outcome> outcomes = engine.evaluate(ORGANIZATION_ID, List.of(hours, leave));
+
+        ComplianceSnapshot snapshot = outcomes.get(0).snapshot();
+        assertEquals(20, snapshot.value(Fact.DAYS_WORKED, 0));
+        assertEquals(2, snapshot.value(Fact.LATE_DAYS, 0));
+        assertEquals(51.5, snapshot.value(Fact.AVG_WEEKLY_HOURS, 0));
+        assertEquals(13, snapshot.value(Fact.MAX_DAILY_HOURS, 0));
+
+        // Employee 7 averages 51.5 hours a week and has no leave after five years; employee 9 is in the first year
+        assertArrayEquals(new int[] {0}, outcomes.get(0).violatingRows());
+        assertArrayEquals(new int[] {0}, outcomes.get(1).violatingRows());
+        verifyNoInteractions(payslipRepository, payrollItemRepository);
+    }
+
+    @Test
+    void reusesSnapshotUntilInvalidatedAndChecksSingleEmployees() {
+        when(employeeRepository.findComplianceRowsByOrganizationId(ORGANIZATION_ID)).thenReturn(List.of(
+            new Object[] {3L, "EMP3", BigDecimal.ZERO, null, null, null, null, null},
+            new Object[] {4L, "EMP4", new BigDecimal("900"), null, null, null, "PF1", "UAN1"}));
+        ComplianceRule rule = rule("salary > 0 AND has_pf_number == 1");
+
+        assertTrue(engine.evaluate(ORGANIZATION_ID, List.of(rule), 4L).get(0).isCompliant());
+        ComplianceRuleEngine.Outcome employee3 = engine.evaluate(ORGANIZATION_ID, List.of(rule), 3L).get(0);
+        assertEquals(1, employee3.evaluated());
+        assertArrayEquals(new int[] {0}, employee3.violatingRows());
+        assertEquals(0, engine.evaluate(ORGANIZATION_ID, List.of(rule), 99L).get(0).evaluated());
+        verify(employeeRepository, times(1)).findComplianceRowsByOrganizationId(anyLong());
+
+        engine.invalidate(ORGANIZATION_ID);
+        engine.evaluate(ORGANIZATION_ID, List.of(rule));
+        verify(employeeRepository, times(2)).findComplianceRowsByOrganizationId(anyLong());
+        assertEquals(1L, engine.getStatistics().get("expressionsCompiled"));
+    }
+
+    @Test
+    void evaluatesOnCallerWhenHelpersAreDiscarded() {
+        int employees = ComplianceRuleEngine.CHUNK_SIZE * 2 + 5;
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < employees; i++) {
+            rows.add(new Object[] {(long) i + 1, "EMP" + (i + 1), i % 2 == 0 ? BigDecimal.ZERO : BigDecimal.TEN,
+                null, null, null, null, null});
+        }
+        when(employeeRepository.findComplianceRowsByOrganizationId(ORGANIZATION_ID)).thenReturn(rows);
+        ComplianceRuleEngine discarding = new ComplianceRuleEngine(employeeRepository, attendanceRecordRepository,
+            leaveBalanceRepository, payslipRepository, payrollItemRepository, task -> { }, 3, 300, clock);
+
+        ComplianceRuleEngine.Outcome outcome = discarding.evaluate(ORGANIZATION_ID, List.of(rule("salary > 0"))).get(0);
+
+        assertEquals(employees, outcome.evaluated());
+        assertEquals((employees + 1) / 2, outcome.getViolationCount());
+    }
+
+    @Test
+    void evictsSnapshotsPastTheirTtl() {
+        when(employeeRepository.findComplianceRowsByOrganizationId(ORGANIZATION_ID)).thenReturn(List.<Object[]>of(
+            new Object[] {3L, "EMP3", BigDecimal.ZERO, null, null, null, null, null}));
+        ComplianceRuleEngine uncached = new ComplianceRuleEngine(employeeRepository, attendanceRecordRepository,
+            leaveBalanceRepository, payslipRepository, payrollItemRepository, helperPool, 3, 0, clock);
+
+        engine.evaluate(ORGANIZATION_ID, List.of(rule("salary > 0")));
+        uncached.evaluate(ORGANIZATION_ID, List.of(rule("salary > 0")));
+        engine.evictExpiredSnapshots();
+        uncached.evictExpiredSnapshots();
+
+        assertEquals(1, engine.getStatistics().get("snapshots"));
+        assertEquals(0, uncached.getStatistics().get("snapshots"));
+        assertEquals(1L, uncached.getStatistics().get("snapshotsEvicted"));
+    }
+
+    private static ComplianceRule rule(String checkQuery) {
+        ComplianceRule rule = new ComplianceRule();
+        rule.setCheckQuery(checkQuery);
+        return rule;
+    }
+
+    // Rows of (salary, hourly_rate); every other fact is zero
+    private static ComplianceSnapshot snapshot(double[][] rows) {
+        double[][] columns = new double[Fact.COUNT][rows.length];
+        long[] ids = new long[rows.length];
+        String[] numbers = new String[rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            ids[row] = row + 1;
+            columns[Fact.SALARY.ordinal()][row] = rows[row][0];
+            columns[Fact.HOURLY_RATE.ordinal()][row] = rows[row][1];
+        }
+        return new ComplianceSnapshot(ORGANIZATION_ID, LocalDate.of(2025, 6, 30), Instant.EPOCH,
+            java.util.EnumSet.of(ComplianceSnapshot.Source.EMPLOYEE), ids, numbers, columns);
+    }
+}
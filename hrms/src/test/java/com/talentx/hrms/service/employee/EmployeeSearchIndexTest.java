@@ -0,0 +1,159 @@
+package com.talentx.hrms.service.employee;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.talentx.hrms.dto.employee.EmployeeSearchDocument;
+import com.talentx.hrms.entity.enums.EmploymentStatus;
+import com.talentx.hrms.entity.enums.EmploymentType;
+import com.talentx.hrms.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Sort;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for EmployeeSearchIndex to ensure text searches match substrings like the database
+ * query did, rank close matches first and survive a restart through the saved snapshot
+ */
+class EmployeeSearchIndexTest {
+
+    private static final Long ORG_ID = 5L;
+
+    @TempDir
+    Path directory;
+
+    private EmployeeRepository employeeRepository;
+    private ObjectMapper objectMapper;
+    private EmployeeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        when(employeeRepository.findSearchDocumentsUpdatedSince(any(Timestamp.class))).thenReturn(List.of(
+            document(1L, "Anna", "Smith", "EMP-001", "Software Engineer", 10L, EmploymentStatus.ACTIVE),
+            document(2L, "Joanna", "Brown", "EMP-002", "Senior Software Engineer", 20L, EmploymentStatus.ACTIVE),
+            document(3L, "Hannah", "Anders", "EMP-003", "Accountant", 10L, EmploymentStatus.TERMINATED),
+            document(4L, "Anna", "Other", "EMP-004", "Engineer", 10L, EmploymentStatus.ACTIVE, 6L)));
+        index = newIndex();
+        index.load();
+    }
+
+    @Test
+    void searchMatchesSubstringsAndRanksCloserMatchesFirst() {
+        assertTrue(index.isReady());
+
+        // "Anna Smith" starts with the query, "Joanna Brown" and "Hannah Anders" only contain it
+        assertEquals(List.of(1L, 2L, 3L), search("anna"));
+        assertEquals(List.of(2L), search("brown"));
+        assertEquals(List.of(), search("zzz"));
+    }
+
+    @Test
+    void shortQueriesAreMatchedWithoutTrigrams() {
+        // "Hannah Anders" has a word starting with the query, "Joanna Brown" only contains it
+        assertEquals(List.of(1L, 3L, 2L), search("an"));
+    }
+
+    @Test
+    void filtersAndOrganizationsRestrictResults() {
+        EmployeeSearchIndex.Criteria activeInDepartment = new EmployeeSearchIndex.Criteria(
+            "ann", null, null, 10L, null, EmploymentStatus.ACTIVE, null);
+
+        assertEquals(List.of(1L), index.search(ORG_ID, activeInDepartment));
+        assertEquals(List.of(4L), index.search(6L, criteria("anna")));
+    }
+
+    @Test
+    void combinedCriteriaMustAllMatch() {
+        EmployeeSearchIndex.Criteria criteria = new EmployeeSearchIndex.Criteria(
+            "anna", null, "senior", null, null, null, null);
+
+        assertEquals(List.of(2L), index.search(ORG_ID, criteria));
+    }
+
+    @Test
+    void hitsAreSortedByIndexedFields() {
+        assertEquals(List.of(3L, 2L, 1L), index.search(ORG_ID, criteria("anna"), Sort.by("lastName")));
+        assertEquals(List.of(2L, 1L, 3L), index.search(ORG_ID, criteria("anna"),
+            Sort.by(Sort.Order.asc("employmentStatus"), Sort.Order.desc("employeeNumber"))));
+
+        assertTrue(EmployeeSearchIndex.canSort(Sort.by("firstName", "id")));
+        assertFalse(EmployeeSearchIndex.canSort(Sort.by("hireDate")));
+        assertThrows(IllegalArgumentException.class,
+            () -> index.search(ORG_ID, criteria("anna"), Sort.by("hireDate")));
+    }
+
+    @Test
+    void removedEmployeeIsNoLongerFound() {
+        index.remove(1L);
+
+        assertEquals(List.of(2L, 3L), search("anna"));
+    }
+
+    @Test
+    void restartLoadsSnapshotAndCatchesUpWithChanges() {
+        index.saveIfChanged();
+
+        // While stopped, employee 2 was renamed and employee 3 was deleted
+        reset(employeeRepository);
+        when(employeeRepository.findSearchDocumentsUpdatedSince(any(Timestamp.class))).thenReturn(List.of(
+            document(2L, "Joan", "Brown", "EMP-002", "Senior Software Engineer", 20L, EmploymentStatus.ACTIVE)));
+        when(employeeRepository.findAllIds()).thenReturn(List.of(1L, 2L, 4L));
+
+        EmployeeSearchIndex restarted = newIndex();
+        restarted.load();
+
+        assertEquals(List.of(1L), restarted.search(ORG_ID, criteria("anna")));
+        assertEquals(List.of(2L), restarted.search(ORG_ID, criteria("joan")));
+        verify(employeeRepository, times(1)).findSearchDocumentsUpdatedSince(any(Timestamp.class));
+    }
+
+    @Test
+    void refreshPicksUpChangesCommittedByOtherNodes() {
+        // Another node renamed employee 2, hired employee 5 and deleted employee 3
+        reset(employeeRepository);
+        when(employeeRepository.findSearchDocumentsUpdatedSince(any(Timestamp.class))).thenReturn(List.of(
+            document(2L, "Joan", "Brown", "EMP-002", "Senior Software Engineer", 20L, EmploymentStatus.ACTIVE),
+            document(5L, "Annabel", "Lee", "EMP-005", "Designer", 20L, EmploymentStatus.ACTIVE)));
+        when(employeeRepository.findAllIds()).thenReturn(List.of(1L, 2L, 4L, 5L));
+
+        index.refresh();
+
+        assertEquals(List.of(1L, 5L), search("anna"));
+        assertEquals(List.of(2L), search("joan"));
+        assertEquals(1L, index.getStatistics().get("refreshes"));
+    }
+
+    private EmployeeSearchIndex newIndex() {
+        return new EmployeeSearchIndex(employeeRepository, objectMapper, true,
+            directory.resolve("employee-index.json").toString());
+    }
+
+    private List<Long> search(String name) {
+        return index.search(ORG_ID, criteria(name));
+    }
+
+    private static EmployeeSearchIndex.Criteria criteria(String name) {
+        return new EmployeeSearchIndex.Criteria(name, null, null, null, null, null, null);
+    }
+
+    private static EmployeeSearchDocument document(Long id, String firstName, String lastName, String number,
+                                                   String jobTitle, Long departmentId, EmploymentStatus status) {
+        return document(id, firstName, lastName, number, jobTitle, departmentId, status, ORG_ID);
+    }
+
+    private static EmployeeSearchDocument document(Long id, String firstName, String lastName, String number,
+                                                   String jobTitle, Long departmentId, EmploymentStatus status,
+                                                   Long organizationId) {
+        return new EmployeeSearchDocument(id, organizationId, firstName, lastName, number, jobTitle,
+            departmentId, null, status, EmploymentType.FULL_TIME);
+    }
+}
@@ -0,0 +1,105 @@
+package com.talentx.hrms.service.employee;
+
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for ReportingTree and ReportingLineIndex to ensure reporting lines are answered at any
+ * depth and kept consistent when a manager changes
+ */
+class ReportingLineIndexTest {
+
+    private static final Long ORG_ID = 3L;
+
+    private EmployeeRepository employeeRepository;
+    private ReportingLineIndex index;
+    private Organization organization;
+
+    @BeforeEach
+    void setUp() {
+        employeeRepository = mock(EmployeeRepository.class);
+        index = new ReportingLineIndex(employeeRepository);
+        organization = new Organization();
+        organization.setId(ORG_ID);
+    }
+
+    @Test
+    void treeAnswersReportingLineQueries() {
+        // 1 -> (2 -> (4, 5 -> 6), 3), 7
+        ReportingTree tree = ReportingTree.build(ORG_ID, rows(
+            1L, null, 2L, 1L, 3L, 1L, 4L, 2L, 5L, 2L, 6L, 5L, 7L, null));
+
+        assertTrue(tree.isInReportingLine(1L, 6L));
+        assertTrue(tree.isInReportingLine(2L, 4L));
+        assertFalse(tree.isInReportingLine(3L, 4L));
+        assertFalse(tree.isInReportingLine(6L, 1L));
+        assertFalse(tree.isInReportingLine(2L, 2L));
+        assertFalse(tree.isInReportingLine(1L, 7L));
+
+        assertEquals(List.of(4L, 5L, 6L), tree.getAllReports(2L));
+        assertEquals(2, tree.getDirectReportCount(1L));
+        assertEquals(5, tree.getTotalReportCount(1L));
+        assertEquals(3, tree.getLevelsBelow(1L));
+        assertEquals(List.of(1L, 2L, 5L), tree.getManagementChain(6L));
+        assertEquals("/1/2/5/6/", tree.getPath(6L));
+    }
+
+    @Test
+    void employeesInManagementCycleBelongToNoReportingLine() {
+        ReportingTree tree = ReportingTree.build(ORG_ID, rows(1L, null, 2L, 3L, 3L, 2L));
+
+        assertFalse(tree.isInReportingLine(2L, 3L));
+        assertEquals(0, tree.getTotalReportCount(2L));
+        assertNull(tree.getPath(3L));
+        assertEquals(List.of(1L), tree.getReachableIds());
+    }
+
+    @Test
+    void managerCannotBeMovedUnderOwnReport() {
+        when(employeeRepository.findReportingRowsByOrganizationId(ORG_ID)).thenReturn(rows(1L, null, 2L, 1L, 3L, 2L));
+        Employee top = employee(1L, "/1/", null);
+        Employee report = employee(3L, "/1/2/3/", null);
+
+        assertThrows(IllegalArgumentException.class, () -> index.validateManager(top, report));
+        assertThrows(IllegalArgumentException.class, () -> index.validateManager(top, top));
+        assertDoesNotThrow(() -> index.validateManager(report, top));
+    }
+
+    @Test
+    void changingManagerRewritesReportingLinePrefix() {
+        Employee newManager = employee(9L, "/9/", null);
+        Employee moved = employee(2L, "/1/2/", newManager);
+
+        index.move(moved);
+
+        verify(employeeRepository).replaceReportingPathPrefix(ORG_ID, "/1/2/", 5, "/9/2/");
+        assertEquals("/9/2/", moved.getReportingPath());
+    }
+
+    private Employee employee(Long id, String path, Employee manager) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setOrganization(organization);
+        employee.setReportingPath(path);
+        employee.setManager(manager);
+        return employee;
+    }
+
+    // Pairs of (id, manager id)
+    private static List<Object[]> rows(Long... idsAndManagers) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < idsAndManagers.length; i += 2) {
+            rows.add(new Object[] { idsAndManagers[i], idsAndManagers[i + 1], null });
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,111 @@
+package com.talentx.hrms.service.holiday;
+
+import com.talentx.hrms.entity.attendance.LeaveCalendar;
+import com.talentx.hrms.repository.HolidayRepository;
+import com.talentx.hrms.repository.LeaveCalendarRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for WorkingDayCalendar and WorkingDayCalendarIndex against a day-by-day count
+ */
+class WorkingDayCalendarTest {
+
+    private static final Long ORGANIZATION_ID = 1L;
+
+    @Test
+    void countsWeekdaysExcludingHolidays() {
+        // 2024-01-01 is a Monday
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(ORGANIZATION_ID, 2024,
+            List.of(LocalDate.of(2024, 1, 1)), Map.of());
+
+        assertFalse(calendar.isWorkingDay(LocalDate.of(2024, 1, 1)));
+        assertTrue(calendar.isHoliday(LocalDate.of(2024, 1, 1)));
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2024, 1, 2)));
+        assertTrue(calendar.isWeekend(LocalDate.of(2024, 1, 6)));
+        assertFalse(calendar.isHoliday(LocalDate.of(2024, 1, 6)));
+        assertEquals(4, calendar.countWorkingDays(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 7)));
+        assertEquals(0, calendar.countWorkingDays(LocalDate.of(2024, 1, 6), LocalDate.of(2024, 1, 7)));
+        assertEquals(261, calendar.getWorkingDays());
+    }
+
+    @Test
+    void leaveCalendarOverridesWeekends() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(ORGANIZATION_ID, 2024, List.of(), Map.of(
+            LocalDate.of(2024, 1, 6), LeaveCalendar.DayType.WORKING,
+            LocalDate.of(2024, 1, 8), LeaveCalendar.DayType.WEEKEND,
+            LocalDate.of(2024, 1, 9), LeaveCalendar.DayType.HOLIDAY));
+
+        assertTrue(calendar.isWorkingDay(LocalDate.of(2024, 1, 6)));
+        assertTrue(calendar.isWeekend(LocalDate.of(2024, 1, 8)));
+        assertTrue(calendar.isHoliday(LocalDate.of(2024, 1, 9)));
+        assertEquals(4, calendar.countWorkingDays(LocalDate.of(2024, 1, 6), LocalDate.of(2024, 1, 12)));
+    }
+
+    @Test
+    void matchesDayByDayCountAcrossYears() {
+        HolidayRepository holidayRepository = mock(HolidayRepository.class);
+        LeaveCalendarRepository leaveCalendarRepository = mock(LeaveCalendarRepository.class);
+        List<LocalDate> holidays = List.of(LocalDate.of(2024, 12, 25), LocalDate.of(2024, 12, 26),
+            LocalDate.of(2025, 1, 1));
+        when(holidayRepository.findHolidayDatesByOrganizationId(eq(ORGANIZATION_ID), any(), any()))
+            .thenAnswer(invocation -> {
+                LocalDate start = invocation.getArgument(1);
+                LocalDate end = invocation.getArgument(2);
+                return holidays.stream().filter(date -> !date.isBefore(start) && !date.isAfter(end)).toList();
+            });
+        when(leaveCalendarRepository.findDayTypesByOrganizationId(eq(ORGANIZATION_ID), any(), any()))
+            .thenReturn(List.of());
+        WorkingDayCalendarIndex index = new WorkingDayCalendarIndex(holidayRepository, leaveCalendarRepository);
+
+        LocalDate start = LocalDate.of(2024, 12, 1);
+        for (LocalDate end = start; end.isBefore(LocalDate.of(2025, 2, 1)); end = end.plusDays(1)) {
+            int expected = 0;
+            for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                if (date.getDayOfWeek().getValue() < 6 && !holidays.contains(date)) {
+                    expected++;
+                }
+            }
+            assertEquals(expected, index.countWorkingDays(ORGANIZATION_ID, start, end), "until " + end);
+        }
+
+        // One load per year, served from the snapshot afterwards
+        verify(holidayRepository, times(2)).findHolidayDatesByOrganizationId(eq(ORGANIZATION_ID), any(), any());
+    }
+
+    @Test
+    void reloadsAfterInvalidation() {
+        HolidayRepository holidayRepository = mock(HolidayRepository.class);
+        LeaveCalendarRepository leaveCalendarRepository = mock(LeaveCalendarRepository.class);
+        LocalDate date = LocalDate.of(2024, 3, 4);
+        when(holidayRepository.findHolidayDatesByOrganizationId(eq(ORGANIZATION_ID), any(), any()))
+            .thenReturn(List.of())
+            .thenReturn(List.of(date));
+        when(leaveCalendarRepository.findDayTypesByOrganizationId(eq(ORGANIZATION_ID), any(), any()))
+            .thenReturn(List.of());
+        WorkingDayCalendarIndex index = new WorkingDayCalendarIndex(holidayRepository, leaveCalendarRepository);
+
+        assertTrue(index.isWorkingDay(ORGANIZATION_ID, date));
+        index.invalidate(ORGANIZATION_ID);
+        assertFalse(index.isWorkingDay(ORGANIZATION_ID, date));
+        assertTrue(index.isHoliday(ORGANIZATION_ID, date));
+    }
+
+    @Test
+    void rejectsReversedRange() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.build(ORGANIZATION_ID, 2024, List.of(), Map.of());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> calendar.countWorkingDays(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> calendar.isWorkingDay(LocalDate.of(2025, 1, 1)));
+    }
+}
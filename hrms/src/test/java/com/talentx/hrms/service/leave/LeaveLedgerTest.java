@@ -0,0 +1,158 @@
+package com.talentx.hrms.service.leave;
+
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.enums.LeaveLedgerEntryType;
+import com.talentx.hrms.entity.leave.LeaveBalance;
+import com.talentx.hrms.entity.leave.LeaveLedgerEntry;
+import com.talentx.hrms.entity.leave.LeaveRequest;
+import com.talentx.hrms.entity.leave.LeaveType;
+import com.talentx.hrms.repository.EmployeeRepository;
+import com.talentx.hrms.repository.LeaveBalanceRepository;
+import com.talentx.hrms.repository.LeaveLedgerEntryRepository;
+import com.talentx.hrms.repository.LeaveTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for LeaveLedger to ensure every balance change is one delta update plus ledger entries
+ */
+@ExtendWith(MockitoExtension.class)
+class LeaveLedgerTest {
+
+    @Mock
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Mock
+    private LeaveLedgerEntryRepository leaveLedgerEntryRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private LeaveTypeRepository leaveTypeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LeaveLedger leaveLedger;
+    private Employee employee;
+    private LeaveType leaveType;
+    private LeaveRequest leaveRequest;
+
+    @BeforeEach
+    void setUp() {
+        leaveLedger = new LeaveLedger(leaveBalanceRepository, leaveLedgerEntryRepository, employeeRepository,
+            leaveTypeRepository, transactionManager);
+
+        employee = new Employee();
+        employee.setId(7L);
+        leaveType = new LeaveType();
+        leaveType.setId(3L);
+        leaveType.setMaxDaysPerYear(20);
+
+        leaveRequest = new LeaveRequest(employee, leaveType, LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 5),
+            new BigDecimal("3"));
+        leaveRequest.setId(11L);
+    }
+
+    @Test
+    void reservePendingCreatesMissingBalanceWithAccrual() {
+        when(leaveBalanceRepository.existsByEmployeeIdAndLeaveTypeIdAndYear(7L, 3L, 2025)).thenReturn(false);
+        when(employeeRepository.getReferenceById(7L)).thenReturn(employee);
+        when(leaveTypeRepository.getReferenceById(3L)).thenReturn(leaveType);
+        when(leaveBalanceRepository.reservePendingDays(eq(7L), eq(3L), eq(2025), eq(new BigDecimal("3")), any()))
+            .thenReturn(1);
+
+        leaveLedger.reservePending(leaveRequest);
+
+        ArgumentCaptor<LeaveBalance> balance = ArgumentCaptor.forClass(LeaveBalance.class);
+        verify(leaveBalanceRepository).saveAndFlush(balance.capture());
+        assertEquals(new BigDecimal("20"), balance.getValue().getAllocatedDays());
+
+        List<LeaveLedgerEntry> entries = savedEntries(2);
+        assertEquals(LeaveLedgerEntryType.ACCRUAL, entries.get(0).getEntryType());
+        assertEquals(new BigDecimal("20"), entries.get(0).getDays());
+        assertEquals(LeaveLedgerEntryType.PENDING, entries.get(1).getEntryType());
+        assertEquals(new BigDecimal("3"), entries.get(1).getDays());
+        assertSame(leaveRequest, entries.get(1).getLeaveRequest());
+    }
+
+    @Test
+    void reservePendingFailsWhenBalanceIsInsufficient() {
+        when(leaveBalanceRepository.existsByEmployeeIdAndLeaveTypeIdAndYear(7L, 3L, 2025)).thenReturn(true);
+        when(leaveBalanceRepository.reservePendingDays(anyLong(), anyLong(), anyInt(), any(), any())).thenReturn(0);
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> leaveLedger.reservePending(leaveRequest));
+
+        assertEquals("Insufficient leave balance for the requested days", exception.getMessage());
+        verify(leaveLedgerEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void recordUsedMovesPendingToUsedInOneUpdate() {
+        when(leaveBalanceRepository.applyDeltas(anyLong(), anyLong(), anyInt(), any(), any(), any(), any(), any()))
+            .thenReturn(1);
+
+        leaveLedger.recordUsed(leaveRequest);
+
+        verify(leaveBalanceRepository).applyDeltas(eq(7L), eq(3L), eq(2025), eq(BigDecimal.ZERO), eq(BigDecimal.ZERO),
+            eq(new BigDecimal("-3")), eq(new BigDecimal("3")), any());
+        verify(leaveBalanceRepository, never()).save(any());
+
+        List<LeaveLedgerEntry> entries = savedEntries(2);
+        assertEquals(LeaveLedgerEntryType.PENDING, entries.get(0).getEntryType());
+        assertEquals(new BigDecimal("-3"), entries.get(0).getDays());
+        assertEquals(LeaveLedgerEntryType.USED, entries.get(1).getEntryType());
+        assertEquals(new BigDecimal("3"), entries.get(1).getDays());
+    }
+
+    @Test
+    void releasePendingFailsWithoutBalance() {
+        when(leaveBalanceRepository.applyDeltas(anyLong(), anyLong(), anyInt(), any(), any(), any(), any(), any()))
+            .thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> leaveLedger.releasePending(leaveRequest, "Rejected"));
+        verify(leaveLedgerEntryRepository, never()).save(any());
+    }
+
+    @Test
+    void carryForwardAppendsOnlyTheDifference() {
+        LeaveBalance balance = new LeaveBalance(employee, leaveType, 2026);
+        balance.setCarriedForwardDays(new BigDecimal("4"));
+        when(leaveBalanceRepository.existsByEmployeeIdAndLeaveTypeIdAndYear(7L, 3L, 2026)).thenReturn(true);
+        when(leaveBalanceRepository.findForUpdate(7L, 3L, 2026)).thenReturn(Optional.of(balance));
+
+        leaveLedger.carryForward(employee, leaveType, 2026, new BigDecimal("5"));
+
+        verify(leaveBalanceRepository).applyDeltas(eq(7L), eq(3L), eq(2026), eq(BigDecimal.ZERO),
+            eq(new BigDecimal("1")), eq(BigDecimal.ZERO), eq(BigDecimal.ZERO), any());
+        List<LeaveLedgerEntry> entries = savedEntries(1);
+        assertEquals(LeaveLedgerEntryType.CARRY_FORWARD, entries.get(0).getEntryType());
+
+        balance.setCarriedForwardDays(new BigDecimal("5"));
+        leaveLedger.carryForward(employee, leaveType, 2026, new BigDecimal("5"));
+        verify(leaveBalanceRepository, times(1)).applyDeltas(anyLong(), anyLong(), anyInt(), any(), any(), any(),
+            any(), any());
+    }
+
+    private List<LeaveLedgerEntry> savedEntries(int expected) {
+        ArgumentCaptor<LeaveLedgerEntry> captor = ArgumentCaptor.forClass(LeaveLedgerEntry.class);
+        verify(leaveLedgerEntryRepository, times(expected)).save(captor.capture());
+        return captor.getAllValues();
+    }
+}
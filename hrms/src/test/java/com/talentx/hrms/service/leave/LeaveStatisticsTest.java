@@ -0,0 +1,222 @@
+package com.talentx.hrms.service.leave;
+
+import com.talentx.hrms.entity.enums.LeaveStatus;
+import com.talentx.hrms.entity.leave.LeaveDailyOccupancy;
+import com.talentx.hrms.entity.leave.LeaveRequestCounter;
+import com.talentx.hrms.entity.leave.LeaveType;
+import com.talentx.hrms.repository.LeaveDailyOccupancyRepository;
+import com.talentx.hrms.repository.LeaveRequestCounterRepository;
+import com.talentx.hrms.repository.LeaveRequestRepository;
+import com.talentx.hrms.repository.LeaveTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for LeaveStatistics to ensure request changes are applied as deltas and match a rebuild
+ */
+@ExtendWith(MockitoExtension.class)
+class LeaveStatisticsTest {
+
+    private static final Long ORGANIZATION_ID = 1L;
+    private static final Long DEPARTMENT_ID = 5L;
+    private static final Long LEAVE_TYPE_ID = 3L;
+    private static final LocalDate START = LocalDate.of(2025, 3, 3);
+    private static final LocalDate END = LocalDate.of(2025, 3, 5);
+
+    @Mock
+    private LeaveDailyOccupancyRepository occupancyRepository;
+
+    @Mock
+    private LeaveRequestCounterRepository counterRepository;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private LeaveTypeRepository leaveTypeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LeaveStatistics leaveStatistics;
+
+    @BeforeEach
+    void setUp() {
+        leaveStatistics = new LeaveStatistics(occupancyRepository, counterRepository, leaveRequestRepository,
+            leaveTypeRepository, transactionManager);
+    }
+
+    @Test
+    void newRequestCreatesMissingDaysAndCounter() {
+        LeaveStatistics.Facts request = facts(11L, LeaveStatus.PENDING, START, END, "3");
+        when(occupancyRepository.findExistingDates(ORGANIZATION_ID, DEPARTMENT_ID, LEAVE_TYPE_ID, 3, START, END))
+            .thenReturn(List.of(START));
+
+        leaveStatistics.record(null, request);
+
+        List<LeaveDailyOccupancy> created = savedOccupancy();
+        assertEquals(List.of(START.plusDays(1), END),
+            created.stream().map(LeaveDailyOccupancy::getLeaveDate).toList());
+        verify(occupancyRepository).applyDeltas(ORGANIZATION_ID, DEPARTMENT_ID, LEAVE_TYPE_ID, 3, START, END, 0, 1);
+
+        ArgumentCaptor<LeaveRequestCounter> counter = ArgumentCaptor.forClass(LeaveRequestCounter.class);
+        verify(counterRepository).save(counter.capture());
+        assertEquals(LeaveStatus.PENDING, counter.getValue().getStatus());
+        assertEquals(2025, counter.getValue().getYear());
+        verify(counterRepository).applyDeltas(ORGANIZATION_ID, 2025, DEPARTMENT_ID, LEAVE_TYPE_ID,
+            LeaveStatus.PENDING, 3, 1L, new BigDecimal("3"));
+    }
+
+    @Test
+    void approvalMovesPendingToApprovedInOneUpdatePerDayRange() {
+        LeaveStatistics.Facts before = facts(11L, LeaveStatus.PENDING, START, END, "3");
+        LeaveStatistics.Facts after = facts(11L, LeaveStatus.APPROVED, START, END, "3");
+        when(occupancyRepository.findExistingDates(anyLong(), anyLong(), anyLong(), anyInt(), any(), any()))
+            .thenReturn(List.of(START, START.plusDays(1), END));
+        when(counterRepository.existsByOrganizationIdAndYearAndDepartmentIdAndLeaveTypeIdAndStatusAndSlot(
+            ORGANIZATION_ID, 2025, DEPARTMENT_ID, LEAVE_TYPE_ID, LeaveStatus.APPROVED, 3)).thenReturn(true);
+
+        leaveStatistics.record(before, after);
+
+        verify(occupancyRepository, never()).saveAll(any());
+        verify(occupancyRepository).applyDeltas(ORGANIZATION_ID, DEPARTMENT_ID, LEAVE_TYPE_ID, 3, START, END, 1, -1);
+        verify(occupancyRepository, times(1)).applyDeltas(anyLong(), anyLong(), anyLong(), anyInt(), any(), any(),
+            anyInt(), anyInt());
+        verify(counterRepository).applyDeltas(ORGANIZATION_ID, 2025, DEPARTMENT_ID, LEAVE_TYPE_ID,
+            LeaveStatus.PENDING, 3, -1L, new BigDecimal("-3"));
+        verify(counterRepository).applyDeltas(ORGANIZATION_ID, 2025, DEPARTMENT_ID, LEAVE_TYPE_ID,
+            LeaveStatus.APPROVED, 3, 1L, new BigDecimal("3"));
+        verify(counterRepository, never()).save(any());
+    }
+
+    @Test
+    void rejectionOnlyReleasesTheDays() {
+        LeaveStatistics.Facts before = facts(11L, LeaveStatus.PENDING, START, END, "3");
+        LeaveStatistics.Facts after = facts(11L, LeaveStatus.REJECTED, START, END, "3");
+        when(counterRepository.existsByOrganizationIdAndYearAndDepartmentIdAndLeaveTypeIdAndStatusAndSlot(
+            anyLong(), anyInt(), anyLong(), anyLong(), any(), anyInt())).thenReturn(true);
+
+        leaveStatistics.record(before, after);
+
+        verify(occupancyRepository, never()).findExistingDates(anyLong(), anyLong(), anyLong(), anyInt(), any(),
+            any());
+        verify(occupancyRepository).applyDeltas(ORGANIZATION_ID, DEPARTMENT_ID, LEAVE_TYPE_ID, 3, START, END, 0, -1);
+    }
+
+    @Test
+    void dateChangeMovesOccupancyAndKeepsTheCount() {
+        LeaveStatistics.Facts before = facts(11L, LeaveStatus.PENDING, START, END, "3");
+        LocalDate newEnd = END.plusDays(1);
+        LeaveStatistics.Facts after = facts(11L, LeaveStatus.PENDING, START, newEnd, "4");
+        when(occupancyRepository.findExistingDates(anyLong(), anyLong(), anyLong(), anyInt(), any(), any()))
+            .thenReturn(List.of(START, START.plusDays(1), END, newEnd));
+
+        leaveStatistics.record(before, after);
+
+        verify(occupancyRepository).applyDeltas(ORGANIZATION_ID, DEPARTMENT_ID, LEAVE_TYPE_ID, 3, START, END, 0, -1);
+        verify(occupancyRepository).applyDeltas(ORGANIZATION_ID, DEPARTMENT_ID, LEAVE_TYPE_ID, 3, START, newEnd,
+            0, 1);
+        verify(counterRepository).applyDeltas(ORGANIZATION_ID, 2025, DEPARTMENT_ID, LEAVE_TYPE_ID,
+            LeaveStatus.PENDING, 3, 0L, new BigDecimal("1"));
+    }
+
+    @Test
+    void rebuildCountsRequestsPerSlotAndDay() {
+        when(leaveRequestRepository.findStatisticsRowsByOrganizationId(ORGANIZATION_ID)).thenReturn(List.of(
+            new Object[] {11L, DEPARTMENT_ID, LEAVE_TYPE_ID, LeaveStatus.APPROVED, START, END, new BigDecimal("3")},
+            new Object[] {19L, DEPARTMENT_ID, LEAVE_TYPE_ID, LeaveStatus.PENDING, END, END, new BigDecimal("1")},
+            new Object[] {12L, null, LEAVE_TYPE_ID, LeaveStatus.REJECTED, START, START, new BigDecimal("1")}));
+
+        assertEquals(3, leaveStatistics.rebuild(ORGANIZATION_ID));
+
+        verify(leaveRequestRepository).recordMissingDepartments(ORGANIZATION_ID);
+        verify(occupancyRepository).deleteByOrganizationId(ORGANIZATION_ID);
+        verify(counterRepository).deleteByOrganizationId(ORGANIZATION_ID);
+
+        List<LeaveRequestCounter> counters = savedCounters();
+        assertEquals(3, counters.size());
+        LeaveRequestCounter rejected = counters.stream()
+            .filter(counter -> counter.getStatus() == LeaveStatus.REJECTED).findFirst().orElseThrow();
+        assertEquals(LeaveStatistics.NO_DEPARTMENT, rejected.getDepartmentId());
+
+        // Requests 11 and 19 share slot 3, so the last day has one approved and one pending request
+        List<LeaveDailyOccupancy> days = savedOccupancy();
+        assertEquals(3, days.size());
+        LeaveDailyOccupancy lastDay = days.stream()
+            .filter(day -> day.getLeaveDate().equals(END)).findFirst().orElseThrow();
+        assertEquals(1, lastDay.getApprovedCount());
+        assertEquals(1, lastDay.getPendingCount());
+    }
+
+    @Test
+    void yearStatisticsAddUpStatusesAndLeaveTypes() {
+        LeaveType annual = new LeaveType();
+        annual.setId(LEAVE_TYPE_ID);
+        annual.setName("Annual");
+        when(counterRepository.findYearTotals(ORGANIZATION_ID, 2025, null)).thenReturn(List.of(
+            new Object[] {LEAVE_TYPE_ID, LeaveStatus.APPROVED, 4L, new BigDecimal("9")},
+            new Object[] {LEAVE_TYPE_ID, LeaveStatus.PENDING, 2L, new BigDecimal("3")},
+            new Object[] {LEAVE_TYPE_ID, LeaveStatus.REJECTED, 1L, new BigDecimal("1")}));
+        when(leaveTypeRepository.findAllById(any())).thenReturn(List.of(annual));
+
+        Map<String, Object> statistics = leaveStatistics.getYearStatistics(ORGANIZATION_ID, 2025, null);
+
+        assertEquals(7L, statistics.get("totalRequests"));
+        assertEquals(4L, statistics.get("approvedRequests"));
+        assertEquals(2L, statistics.get("pendingRequests"));
+        assertEquals(1L, statistics.get("rejectedRequests"));
+        assertEquals(0L, statistics.get("cancelledRequests"));
+        assertEquals(new BigDecimal("9"), statistics.get("approvedDays"));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> byLeaveType = (List<Map<String, Object>>) statistics.get("byLeaveType");
+        assertEquals(1, byLeaveType.size());
+        assertEquals("Annual", byLeaveType.get(0).get("leaveTypeName"));
+        assertEquals(7L, byLeaveType.get(0).get("totalRequests"));
+    }
+
+    @Test
+    void calendarRejectsReversedRange() {
+        assertThrows(IllegalArgumentException.class,
+            () -> leaveStatistics.getCalendar(ORGANIZATION_ID, null, END, START));
+    }
+
+    private LeaveStatistics.Facts facts(Long requestId, LeaveStatus status, LocalDate startDate, LocalDate endDate,
+                                        String days) {
+        return new LeaveStatistics.Facts(ORGANIZATION_ID, DEPARTMENT_ID, LEAVE_TYPE_ID, requestId, status,
+            startDate, endDate, new BigDecimal(days));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LeaveDailyOccupancy> savedOccupancy() {
+        ArgumentCaptor<Iterable<LeaveDailyOccupancy>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(occupancyRepository).saveAll(captor.capture());
+        List<LeaveDailyOccupancy> rows = new ArrayList<>();
+        captor.getValue().forEach(rows::add);
+        rows.sort((a, b) -> a.getLeaveDate().compareTo(b.getLeaveDate()));
+        return rows;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LeaveRequestCounter> savedCounters() {
+        ArgumentCaptor<Collection<LeaveRequestCounter>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(counterRepository).saveAll(captor.capture());
+        return new ArrayList<>(captor.getValue());
+    }
+}
@@ -0,0 +1,160 @@
+package com.talentx.hrms.service.notification;
+
+import com.talentx.hrms.common.exception.ValidationException;
+import com.talentx.hrms.entity.analytics.NotificationReadState;
+import com.talentx.hrms.entity.analytics.SystemNotification;
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.core.User;
+import com.talentx.hrms.repository.NotificationReadStateRepository;
+import com.talentx.hrms.repository.OrganizationRepository;
+import com.talentx.hrms.repository.SystemNotificationRepository;
+import com.talentx.hrms.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for NotificationInbox to ensure organization-wide read state stays compact and inboxes merge both streams
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationInboxTest {
+
+    private static final Long USER_ID = 42L;
+    private static final Long ORGANIZATION_ID = 5L;
+
+    @Mock
+    private SystemNotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationReadStateRepository readStateRepository;
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationInbox inbox;
+
+    @BeforeEach
+    void setUp() {
+        inbox = new NotificationInbox(notificationRepository, readStateRepository, organizationRepository,
+            userRepository, transactionManager);
+    }
+
+    @Test
+    void watermarkAdvancesOverReadAndDeletedNotifications() {
+        NotificationReadState state = new NotificationReadState(USER_ID, ORGANIZATION_ID);
+        when(readStateRepository.findForUpdate(USER_ID)).thenReturn(Optional.of(state));
+        // Sequence 4 was deleted
+        when(notificationRepository.findGlobalSequencesAbove(eq(ORGANIZATION_ID), eq(0L), any()))
+            .thenReturn(List.of(1L, 2L, 3L));
+        when(notificationRepository.findGlobalSequencesAbove(eq(ORGANIZATION_ID), eq(2L), any()))
+            .thenReturn(List.of(3L, 5L));
+
+        assertTrue(inbox.markRead(USER_ID, global(11L, 2L)));
+        assertEquals(0L, state.getWatermark());
+        assertTrue(state.isRead(2L));
+        assertFalse(state.isRead(1L));
+
+        assertTrue(inbox.markRead(USER_ID, global(10L, 1L)));
+        assertEquals(2L, state.getWatermark());
+        assertNull(state.getReadBitmap());
+
+        assertTrue(inbox.markRead(USER_ID, global(14L, 5L)));
+        assertEquals(2L, state.getWatermark());
+        assertFalse(inbox.markRead(USER_ID, global(14L, 5L)));
+
+        assertTrue(inbox.markRead(USER_ID, global(12L, 3L)));
+        assertEquals(5L, state.getWatermark());
+        assertNull(state.getReadBitmap());
+        verify(readStateRepository, times(4)).save(state);
+    }
+
+    @Test
+    void unreadCountMergesPersonalAndOrganizationWideNotifications() {
+        NotificationReadState state = new NotificationReadState(USER_ID, ORGANIZATION_ID);
+        state.advanceTo(2L);
+        state.markRead(5L);
+        when(readStateRepository.findByUserId(USER_ID)).thenReturn(Optional.of(state));
+        when(notificationRepository.countUnreadByUserId(USER_ID)).thenReturn(3L);
+        when(notificationRepository.countGlobalAbove(ORGANIZATION_ID, 2L)).thenReturn(2L);
+        when(notificationRepository.countGlobalSequencesIn(ORGANIZATION_ID, List.of(5L))).thenReturn(1L);
+
+        assertEquals(4, inbox.countUnread(USER_ID));
+    }
+
+    @Test
+    void inboxMergesStreamsNewestFirstWithPerUserReadState() {
+        NotificationReadState state = new NotificationReadState(USER_ID, ORGANIZATION_ID);
+        state.advanceTo(1L);
+        when(readStateRepository.findByUserId(USER_ID)).thenReturn(Optional.of(state));
+        SystemNotification personalOld = personal(1L, "2025-06-01T00:00:00Z");
+        SystemNotification personalNew = personal(3L, "2025-06-03T00:00:00Z");
+        SystemNotification globalRead = global(2L, 1L);
+        globalRead.setCreatedAt(Instant.parse("2025-06-02T00:00:00Z"));
+        SystemNotification globalUnread = global(4L, 2L);
+        globalUnread.setCreatedAt(Instant.parse("2025-06-04T00:00:00Z"));
+        when(notificationRepository.findByUserIdOrderByCreatedAtDesc(USER_ID, PageRequest.of(0, 3)))
+            .thenReturn(List.of(personalNew, personalOld));
+        when(notificationRepository.findGlobalNotificationsByOrganization(ORGANIZATION_ID, PageRequest.of(0, 3)))
+            .thenReturn(List.of(globalUnread, globalRead));
+
+        List<SystemNotification> page = inbox.getInbox(USER_ID, 0, 3);
+
+        assertEquals(List.of(globalUnread, personalNew, globalRead), page);
+        assertFalse(globalUnread.getIsRead());
+        assertTrue(globalRead.getIsRead());
+    }
+
+    @Test
+    void markAllReadMovesWatermarkToLatestSequence() {
+        NotificationReadState state = new NotificationReadState(USER_ID, ORGANIZATION_ID);
+        state.markRead(3L);
+        when(readStateRepository.findForUpdate(USER_ID)).thenReturn(Optional.of(state));
+        when(notificationRepository.countGlobalAbove(ORGANIZATION_ID, 0L)).thenReturn(6L);
+        when(notificationRepository.countGlobalSequencesIn(ORGANIZATION_ID, List.of(3L))).thenReturn(1L);
+        when(organizationRepository.findNotificationSequence(ORGANIZATION_ID)).thenReturn(7L);
+
+        assertEquals(5, inbox.markAllRead(USER_ID));
+        assertEquals(7L, state.getWatermark());
+        assertNull(state.getReadBitmap());
+
+        SystemNotification foreign = global(30L, 1L);
+        foreign.getOrganization().setId(6L);
+        assertThrows(ValidationException.class, () -> inbox.markRead(USER_ID, foreign));
+    }
+
+    private static SystemNotification global(Long id, Long sequence) {
+        Organization organization = new Organization();
+        organization.setId(ORGANIZATION_ID);
+        SystemNotification notification = new SystemNotification(organization, null, "INFO", "Title " + id, "Message");
+        notification.setId(id);
+        notification.setGlobalSequence(sequence);
+        return notification;
+    }
+
+    private static SystemNotification personal(Long id, String createdAt) {
+        User user = new User();
+        user.setId(USER_ID);
+        SystemNotification notification = new SystemNotification(new Organization(), user, "INFO", "Title " + id, "Message");
+        notification.setId(id);
+        notification.setCreatedAt(Instant.parse(createdAt));
+        return notification;
+    }
+}
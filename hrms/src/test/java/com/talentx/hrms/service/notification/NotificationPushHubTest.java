@@ -0,0 +1,169 @@
+package com.talentx.hrms.service.notification;
+
+import com.talentx.hrms.entity.analytics.SystemNotification;
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.entity.core.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for NotificationPushHub to ensure unread counts stay in memory and streams resume after the last seen id
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationPushHubTest {
+
+    private static final Long USER_ID = 42L;
+
+    @Mock
+    private NotificationInbox inbox;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private NotificationPushHub hub;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(Instant.parse("2025-06-30T09:00:00Z"), ZoneOffset.UTC);
+        hub = new NotificationPushHub(inbox, Runnable::run, 60000, 3, 300, clock) {
+            @Override
+            SseEmitter newEmitter(long timeoutMs) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @Test
+    void unreadCountIsLoadedOnceAndMaintainedInMemory() {
+        when(inbox.countUnread(USER_ID)).thenReturn(4L);
+
+        assertEquals(4, hub.getUnreadCount(USER_ID));
+        hub.notificationCreated(notification(10L));
+        hub.notificationCreated(notification(11L));
+        assertEquals(6, hub.getUnreadCount(USER_ID));
+        hub.notificationRead(USER_ID);
+        assertEquals(5, hub.getUnreadCount(USER_ID));
+        hub.allRead(USER_ID);
+        assertEquals(0, hub.getUnreadCount(USER_ID));
+
+        verify(inbox, times(1)).countUnread(USER_ID);
+        assertEquals(3L, hub.getStatistics().get("counterHits"));
+    }
+
+    @Test
+    void pushesCreatedNotificationsAndCountToOpenStreams() {
+        when(inbox.countUnread(USER_ID)).thenReturn(0L);
+        hub.subscribe(USER_ID, null);
+        RecordingEmitter stream = emitters.get(0);
+        assertEquals(List.of("event:unread-count data:{unreadCount=0}"), stream.events);
+
+        hub.notificationCreated(notification(10L));
+
+        assertEquals(3, stream.events.size());
+        assertTrue(stream.events.get(1).startsWith("id:10 event:notification"));
+        assertEquals("event:unread-count data:{unreadCount=1}", stream.events.get(2));
+        verify(inbox, times(1)).countUnread(USER_ID);
+    }
+
+    @Test
+    void reconnectResumesFromBufferAfterLastSeenId() {
+        when(inbox.countUnread(USER_ID)).thenReturn(0L);
+        hub.subscribe(USER_ID, null);
+        hub.notificationCreated(notification(10L));
+        hub.notificationCreated(notification(11L));
+        hub.notificationCreated(notification(12L));
+
+        hub.subscribe(USER_ID, 10L);
+        RecordingEmitter resumed = emitters.get(1);
+
+        assertEquals(List.of("11", "12"), resumed.notificationIds());
+        assertEquals("event:unread-count data:{unreadCount=3}", resumed.events.get(2));
+        verify(inbox, never()).getUnreadAfter(anyLong(), anyLong(), anyInt());
+        assertEquals(2L, hub.getStatistics().get("replayedFromBuffer"));
+    }
+
+    @Test
+    void reconnectFallsBackToDatabaseWhenLastSeenIdIsNotBuffered() {
+        when(inbox.countUnread(USER_ID)).thenReturn(2L);
+        when(inbox.getUnreadAfter(USER_ID, 7L, 3))
+            .thenReturn(List.of(notification(8L), notification(9L)));
+
+        hub.subscribe(USER_ID, 7L);
+
+        assertEquals(List.of("8", "9"), emitters.get(0).notificationIds());
+        assertEquals(2L, hub.getStatistics().get("replayedFromDatabase"));
+    }
+
+    @Test
+    void organizationWideNotificationIsPushedToConnectedMembersOnly() {
+        Long otherUserId = 43L;
+        when(inbox.countUnread(anyLong())).thenReturn(0L);
+        when(inbox.organizationOf(USER_ID)).thenReturn(5L);
+        when(inbox.organizationOf(otherUserId)).thenReturn(6L);
+        hub.subscribe(USER_ID, null);
+        hub.subscribe(otherUserId, null);
+
+        Organization organization = new Organization();
+        organization.setId(5L);
+        SystemNotification global = new SystemNotification(organization, null, "INFO", "Holiday", "Office closed");
+        global.setId(20L);
+        hub.notificationCreated(global);
+
+        assertEquals(List.of("20"), emitters.get(0).notificationIds());
+        assertEquals("event:unread-count data:{unreadCount=1}", emitters.get(0).events.get(2));
+        assertEquals(List.of(), emitters.get(1).notificationIds());
+    }
+
+    private static SystemNotification notification(Long id) {
+        User user = new User();
+        user.setId(USER_ID);
+        SystemNotification notification = new SystemNotification(new Organization(), user, "INFO",
+            "Title " + id, "Message " + id);
+        notification.setId(id);
+        return notification;
+    }
+
+    /**
+     * Emitter that records the text of each event instead of writing to a response
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            String event = builder.build().stream()
+                .map(part -> String.valueOf(part.getData()))
+                .collect(Collectors.joining())
+                .replace("\n\n", "")
+                .replace('\n', ' ')
+                .replace("data: ", "data:")
+                .trim();
+            if (!event.startsWith(":")) {
+                events.add(event);
+            }
+        }
+
+        List<String> notificationIds() {
+            return events.stream()
+                .filter(event -> event.contains("event:notification"))
+                .map(event -> event.substring(3, event.indexOf(' ')))
+                .toList();
+        }
+    }
+}
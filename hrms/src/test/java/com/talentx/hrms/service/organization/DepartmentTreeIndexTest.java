@@ -0,0 +1,140 @@
+package com.talentx.hrms.service.organization;
+
+import com.talentx.hrms.dto.organization.DepartmentTreeRow;
+import com.talentx.hrms.entity.core.Department;
+import com.talentx.hrms.entity.core.Organization;
+import com.talentx.hrms.repository.DepartmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for DepartmentTree and DepartmentTreeIndex to ensure hierarchy lookups are answered
+ * from one load and snapshots are replaced when the hierarchy changes or expire
+ */
+class DepartmentTreeIndexTest {
+
+    private static final Long ORG_ID = 7L;
+    private static final Instant NOW = Instant.parse("2025-06-30T09:00:00Z");
+
+    private DepartmentRepository departmentRepository;
+    private Clock clock;
+    private DepartmentTreeIndex index;
+
+    @BeforeEach
+    void setUp() {
+        departmentRepository = mock(DepartmentRepository.class);
+        clock = mock(Clock.class);
+        when(clock.instant()).thenReturn(NOW);
+        index = new DepartmentTreeIndex(departmentRepository, 300, clock);
+    }
+
+    @Test
+    void treeAnswersHierarchyQueries() {
+        // 1 -> (2 -> 4, 3), 5
+        DepartmentTree tree = DepartmentTree.build(ORG_ID, List.of(
+            row(1L, null), row(2L, 1L), row(3L, 1L), row(4L, 2L), row(5L, null)));
+
+        assertEquals(List.of(1L, 5L), tree.getRoots());
+        assertEquals(List.of(2L, 3L), tree.getChildren(1L));
+        assertEquals(List.of(1L, 2L, 4L, 3L), tree.getSubtree(1L));
+        assertEquals(List.of(1L, 2L), tree.getAncestors(4L));
+        assertEquals("/1/2/4/", tree.getPath(4L));
+        assertTrue(tree.isInSubtree(1L, 4L));
+        assertFalse(tree.isInSubtree(2L, 3L));
+        assertFalse(tree.isInSubtree(4L, 1L));
+    }
+
+    @Test
+    void departmentWithUnknownParentBecomesRoot() {
+        DepartmentTree tree = DepartmentTree.build(ORG_ID, List.of(row(1L, null), row(2L, 99L)));
+
+        assertEquals(List.of(1L, 2L), tree.getRoots());
+        assertEquals(List.of(), tree.getAncestors(2L));
+    }
+
+    @Test
+    void snapshotIsLoadedOnceUntilInvalidated() {
+        when(departmentRepository.findTreeRowsByOrganizationId(ORG_ID)).thenReturn(List.of(row(1L, null)));
+
+        DepartmentTree first = index.getTree(ORG_ID);
+        assertSame(first, index.getTree(ORG_ID));
+        verify(departmentRepository, times(1)).findTreeRowsByOrganizationId(ORG_ID);
+
+        index.invalidate(ORG_ID);
+        assertNotSame(first, index.getTree(ORG_ID));
+        verify(departmentRepository, times(2)).findTreeRowsByOrganizationId(ORG_ID);
+    }
+
+    @Test
+    void snapshotIsReloadedOnceExpired() {
+        when(departmentRepository.findTreeRowsByOrganizationId(ORG_ID)).thenReturn(List.of(row(1L, null)));
+
+        DepartmentTree first = index.getTree(ORG_ID);
+        when(clock.instant()).thenReturn(NOW.plusSeconds(299));
+        assertSame(first, index.getTree(ORG_ID));
+
+        // A change made on another node is picked up once the snapshot expires
+        when(departmentRepository.findTreeRowsByOrganizationId(ORG_ID)).thenReturn(List.of(row(1L, null), row(2L, 1L)));
+        when(clock.instant()).thenReturn(NOW.plusSeconds(300));
+        assertEquals(List.of(2L), index.getTree(ORG_ID).getChildren(1L));
+        assertEquals(1L, index.getStatistics().get("expirations"));
+    }
+
+    @Test
+    void loadOverlappingAnInvalidationIsNotInstalled() {
+        when(departmentRepository.findTreeRowsByOrganizationId(ORG_ID)).thenAnswer(invocation -> {
+            // The hierarchy changes while the snapshot is being loaded
+            index.invalidate(ORG_ID);
+            return List.of(row(1L, null));
+        });
+
+        index.getTree(ORG_ID);
+        index.getTree(ORG_ID);
+
+        verify(departmentRepository, times(2)).findTreeRowsByOrganizationId(ORG_ID);
+    }
+
+    @Test
+    void movingRewritesSubtreePathPrefix() {
+        Organization organization = new Organization();
+        organization.setId(ORG_ID);
+        Department parent = department(organization, 3L, "/1/3/", null);
+        Department moved = department(organization, 4L, "/1/2/4/", parent);
+
+        index.move(moved);
+
+        verify(departmentRepository).replacePathPrefix(ORG_ID, "/1/2/4/", 7, "/1/3/4/");
+        assertEquals("/1/3/4/", moved.getPath());
+    }
+
+    @Test
+    void newRootDepartmentGetsOwnPath() {
+        Organization organization = new Organization();
+        organization.setId(ORG_ID);
+        Department created = department(organization, 8L, null, null);
+
+        index.assignPath(created);
+
+        assertEquals("/8/", created.getPath());
+        verify(departmentRepository).updatePath(8L, "/8/");
+    }
+
+    private static Department department(Organization organization, Long id, String path, Department parent) {
+        Department department = new Department("Dept " + id, "D" + id, organization);
+        department.setId(id);
+        department.setPath(path);
+        department.setParentDepartment(parent);
+        return department;
+    }
+
+    private static DepartmentTreeRow row(Long id, Long parentId) {
+        return new DepartmentTreeRow(id, parentId, "Dept " + id, "D" + id, null, null, null, null, null);
+    }
+}
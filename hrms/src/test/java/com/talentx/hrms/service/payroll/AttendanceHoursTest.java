@@ -0,0 +1,60 @@
+package com.talentx.hrms.service.payroll;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for AttendanceHours to ensure aggregated hours match per-record summation
+ */
+public class AttendanceHoursTest {
+
+    @Test
+    public void testPresentGroupsCountTowardsRegularAndOvertime() {
+        AttendanceHours hours = new AttendanceHours();
+        hours.add(42L, true, new BigDecimal("80.50"), new BigDecimal("4.25"));
+        hours.add(42L, true, new BigDecimal("8.00"), null);
+
+        assertEquals(new BigDecimal("88.50"), hours.getRegularHours(42L));
+        assertEquals(new BigDecimal("4.25"), hours.getOvertimeHours(42L));
+        assertEquals(new BigDecimal("88.50"), hours.getTotalHours(42L));
+    }
+
+    @Test
+    public void testAbsentGroupsCountOnlyTowardsTotal() {
+        AttendanceHours hours = new AttendanceHours();
+        hours.add(7L, true, new BigDecimal("40.00"), new BigDecimal("2.00"));
+        hours.add(7L, false, new BigDecimal("6.00"), new BigDecimal("1.00"));
+
+        assertEquals(new BigDecimal("40.00"), hours.getRegularHours(7L));
+        assertEquals(new BigDecimal("2.00"), hours.getOvertimeHours(7L));
+        assertEquals(new BigDecimal("46.00"), hours.getTotalHours(7L));
+    }
+
+    @Test
+    public void testMissingEmployeeHasZeroHours() {
+        AttendanceHours hours = new AttendanceHours();
+        hours.add(1L, true, new BigDecimal("8.00"), null);
+
+        assertFalse(hours.contains(2L));
+        assertEquals(0, BigDecimal.ZERO.compareTo(hours.getTotalHours(2L)));
+        assertEquals(0L, hours.getRegularHundredths(2L));
+    }
+
+    @Test
+    public void testGrowsBeyondInitialCapacity() {
+        AttendanceHours hours = new AttendanceHours(4);
+        for (long id = 1; id <= 10_000; id++) {
+            hours.add(id, id, 0L, id * 2);
+        }
+
+        assertEquals(10_000, hours.size());
+        for (long id = 1; id <= 10_000; id++) {
+            assertTrue(hours.contains(id));
+            assertEquals(id, hours.getRegularHundredths(id));
+            assertEquals(id * 2, hours.getTotalHundredths(id));
+        }
+    }
+}
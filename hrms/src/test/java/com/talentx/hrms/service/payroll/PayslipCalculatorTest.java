@@ -0,0 +1,98 @@
+package com.talentx.hrms.service.payroll;
+
+import com.talentx.hrms.entity.employee.Employee;
+import com.talentx.hrms.entity.enums.EmploymentType;
+import com.talentx.hrms.entity.enums.PayrollRuleBasis;
+import com.talentx.hrms.entity.enums.PayrollRuleType;
+import com.talentx.hrms.entity.enums.PayslipComponent;
+import com.talentx.hrms.entity.payroll.PayrollRule;
+import com.talentx.hrms.entity.payroll.Payslip;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for PayslipCalculator to ensure compiled payroll rules produce the expected payslip amounts
+ */
+public class PayslipCalculatorTest {
+
+    private final PayslipCalculator calculator = new PayslipCalculator();
+
+    @Test
+    public void testDefaultRulesForSalariedEmployee() {
+        Payslip payslip = calculator.calculate(
+            new Payslip(null, salariedEmployee(1L, "5000.00")), new AttendanceHours(), PayrollRuleSet.defaults());
+
+        assertEquals(new BigDecimal("5000.00"), payslip.getGrossPay());
+        assertEquals(new BigDecimal("1100.00"), payslip.getFederalTax());
+        assertEquals(new BigDecimal("250.00"), payslip.getStateTax());
+        assertEquals(new BigDecimal("310.00"), payslip.getSocialSecurityTax());
+        assertEquals(new BigDecimal("72.50"), payslip.getMedicareTax());
+        assertEquals(new BigDecimal("30.00"), payslip.getUnemploymentTax());
+        assertEquals(new BigDecimal("250.00"), payslip.getRetirement401k());
+        assertEquals(new BigDecimal("150.00"), payslip.getHealthInsurance());
+        assertEquals(new BigDecimal("1762.50"), payslip.getTotalTaxes());
+        assertEquals(new BigDecimal("2217.50"), payslip.getTotalDeductions());
+        assertEquals(new BigDecimal("2782.50"), payslip.getNetPay());
+    }
+
+    @Test
+    public void testOvertimeIsPaidAtOneAndAHalfTimesHourlyEquivalent() {
+        AttendanceHours hours = new AttendanceHours();
+        hours.add(2L, true, new BigDecimal("176.00"), new BigDecimal("4.00"));
+
+        Payslip payslip = calculator.calculate(
+            new Payslip(null, salariedEmployee(2L, "5280.00")), hours, PayrollRuleSet.defaults());
+
+        // 5280 / 176 = 30.00 per hour, 45.00 for overtime
+        assertEquals(new BigDecimal("45.00"), payslip.getOvertimeRate());
+        assertEquals(new BigDecimal("180.00"), payslip.getOvertimePay());
+        assertEquals(new BigDecimal("5460.00"), payslip.getGrossPay());
+        assertEquals(new BigDecimal("1201.20"), payslip.getFederalTax());
+    }
+
+    @Test
+    public void testTaxesOnTaxablePayAfterPreTaxDeductions() {
+        List<PayrollRule> rules = new ArrayList<>();
+        rules.add(rule(PayslipComponent.ALLOWANCES, PayrollRuleType.FIXED_AMOUNT, null, null, "500.00"));
+        rules.add(rule(PayslipComponent.RETIREMENT_401K, PayrollRuleType.PERCENTAGE, PayrollRuleBasis.BASIC_SALARY, "0.10", null));
+        rules.add(rule(PayslipComponent.FEDERAL_TAX, PayrollRuleType.PERCENTAGE, PayrollRuleBasis.TAXABLE_PAY, "0.20", null));
+
+        Payslip payslip = calculator.calculate(
+            new Payslip(null, salariedEmployee(3L, "4000.00")), new AttendanceHours(), PayrollRuleSet.compile(rules));
+
+        // Taxable = 4000 + 500 - 400
+        assertEquals(new BigDecimal("4500.00"), payslip.getGrossPay());
+        assertEquals(new BigDecimal("400.00"), payslip.getRetirement401k());
+        assertEquals(new BigDecimal("820.00"), payslip.getFederalTax());
+        assertEquals(new BigDecimal("0.00"), payslip.getStateTax());
+        assertEquals(new BigDecimal("3280.00"), payslip.getNetPay());
+    }
+
+    @Test
+    public void testPercentagesRoundHalfUpToTheCent() {
+        assertEquals(7L, PayrollRuleSet.percentOf(50L, 145_000L));
+        assertEquals(-7L, PayrollRuleSet.percentOf(-50L, 145_000L));
+        assertEquals(1235L, PayrollRuleSet.toCents(new BigDecimal("12.345")));
+    }
+
+    private Employee salariedEmployee(Long id, String salary) {
+        Employee employee = new Employee();
+        employee.setId(id);
+        employee.setEmploymentType(EmploymentType.FULL_TIME);
+        employee.setSalaryAmount(new BigDecimal(salary));
+        return employee;
+    }
+
+    private PayrollRule rule(PayslipComponent component, PayrollRuleType type, PayrollRuleBasis basis,
+                             String rate, String amount) {
+        PayrollRule rule = new PayrollRule(null, component, type, basis);
+        rule.setRate(rate != null ? new BigDecimal(rate) : null);
+        rule.setAmount(amount != null ? new BigDecimal(amount) : null);
+        return rule;
+    }
+}
@@ -156,5 +156,15 @@ public class PaginationUtilsTest {
     public void testGetMaxPageSize() {
         assertEquals(100, PaginationUtils.getMaxPageSize());
     }
-}
 
+    @Test
+    public void testCreateKeysetPageableFetchesOneExtraRow() {
+        Pageable pageable = PaginationUtils.createKeysetPageable(20);
+
+        assertEquals(0, pageable.getPageNumber());
+        assertEquals(21, pageable.getPageSize());
+        assertEquals(Sort.unsorted(), pageable.getSort());
+        assertEquals(101, PaginationUtils.createKeysetPageable(500).getPageSize());
+        assertEquals(2, PaginationUtils.createKeysetPageable(0).getPageSize());
+    }
+}